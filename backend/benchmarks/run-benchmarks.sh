@@ -0,0 +1,22 @@
+#!/usr/bin/env bash
+# Builds the backend and the benchmarks, then runs JMH and stores the report as
+# results/<commit>.json so runs on different commits can be compared.
+# Extra arguments are passed to JMH, e.g. a benchmark filter:
+#   ./run-benchmarks.sh InvoiceBenchmark
+set -euo pipefail
+
+BENCHMARKS_DIR="$(cd "$(dirname "$0")" && pwd)"
+BACKEND_DIR="$(dirname "$BENCHMARKS_DIR")"
+
+COMMIT="$(git -C "$BACKEND_DIR" rev-parse --short HEAD)"
+if [ -n "$(git -C "$BACKEND_DIR" status --porcelain -- src pom.xml)" ]; then
+	COMMIT="$COMMIT-dirty"
+fi
+
+(cd "$BACKEND_DIR" && mvn -B -q install -DskipTests)
+(cd "$BENCHMARKS_DIR" && mvn -B -q package)
+
+mkdir -p "$BENCHMARKS_DIR/results"
+# run from the backend directory: the invoice reads its images from relative paths
+cd "$BACKEND_DIR"
+java -jar "$BENCHMARKS_DIR/target/benchmarks.jar" -rf json -rff "$BENCHMARKS_DIR/results/$COMMIT.json" "$@"
@@ -0,0 +1,150 @@
+package com.endava.example.benchmarks;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.endava.example.analytics.DashboardAggregates;
+import com.endava.example.analytics.MovieSimilarity;
+import com.endava.example.analytics.MovieTrends;
+import com.endava.example.cache.MovieCatalog;
+import com.endava.example.cache.UserDirectory;
+import com.endava.example.cache.UserEntitlements;
+import com.endava.example.controller.NotificationController;
+import com.endava.example.dto.PurchaseDTO;
+import com.endava.example.dto.PurchaseRequestDTO;
+import com.endava.example.entity.Movie;
+import com.endava.example.entity.Purchase;
+import com.endava.example.mapper.PurchaseMapper;
+import com.endava.example.payment.PaymentAuthorization;
+import com.endava.example.payment.PaymentGateway;
+import com.endava.example.payment.PaymentProcessor;
+import com.endava.example.payment.PaymentRequest;
+import com.endava.example.repository.CartRepository;
+import com.endava.example.repository.IdempotencyKeyRepository;
+import com.endava.example.repository.MovieRepository;
+import com.endava.example.repository.PurchaseDetailRepository;
+import com.endava.example.repository.PurchaseRepository;
+import com.endava.example.repository.UserRepository;
+import com.endava.example.service.impl.PurchaseServiceImpl;
+import com.endava.example.utils.ApplicationMetrics;
+import com.endava.example.utils.EmailService;
+import com.endava.example.utils.TransactionIdGenerator;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Checkouts of purchases of 1, 3 and 10 movies on a single thread, so the
+ * score is the checkouts per second per core. The repositories, the JDBC
+ * template, the transaction manager and the mail sender are stubbed and the
+ * payment gateway approves at once, so the numbers cover the work of the
+ * checkout pipeline itself, not the database or network round trips. The user
+ * and movie caches are real, the lookups hit them after the first checkout.
+ *
+ * The stubs do not record their invocations, which would grow without bound
+ * over millions of checkouts.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+@State(Scope.Benchmark)
+public class CheckoutBenchmark {
+
+	private static final int USER_ID = 1;
+
+	@Param({ "1", "3", "10" })
+	private int movies;
+
+	private PurchaseServiceImpl purchaseService;
+	private PurchaseRequestDTO request;
+
+	@Setup
+	public void setUp() {
+		List<Movie> purchased = new ArrayList<>(movies);
+		List<Integer> movieIds = new ArrayList<>(movies);
+		for (int i = 1; i <= movies; i++) {
+			purchased.add(Fixtures.movie(i));
+			movieIds.add(i);
+		}
+		request = new PurchaseRequestDTO();
+		request.setUserId(USER_ID);
+		request.setMovieIds(movieIds);
+		request.setPaymentMethod("CARD");
+
+		UserRepository userRepository = stub(UserRepository.class);
+		when(userRepository.findById(USER_ID)).thenReturn(Optional.of(Fixtures.user(USER_ID)));
+		MovieRepository movieRepository = stub(MovieRepository.class);
+		when(movieRepository.findAllById(movieIds)).thenReturn(purchased);
+		List<Object[]> versions = movieIds.stream().map(movieId -> new Object[] { movieId, 0L }).toList();
+		when(movieRepository.findVersions(movieIds)).thenReturn(versions);
+		PurchaseRepository purchaseRepository = stub(PurchaseRepository.class);
+		when(purchaseRepository.save(any(Purchase.class))).thenAnswer(invocation -> invocation.getArgument(0));
+		when(purchaseRepository.updatePendingStatus(anyInt(), anyString())).thenReturn(1);
+
+		purchaseService = new PurchaseServiceImpl(purchaseRepository, new UserDirectory(userRepository, 1_800_000),
+				userRepository, new MovieCatalog(movieRepository), movieRepository,
+				stub(PurchaseDetailRepository.class), stub(CartRepository.class), stub(EmailService.class),
+				new PurchaseMapper(),
+				new ApplicationMetrics(new SimpleMeterRegistry()), stub(DashboardAggregates.class),
+				stub(UserEntitlements.class), stub(MovieSimilarity.class), stub(MovieTrends.class),
+				stub(IdempotencyKeyRepository.class), new TransactionIdGenerator(0),
+				new PaymentProcessor(new ApprovingPaymentGateway(), 5000),
+				new TransactionTemplate(stub(PlatformTransactionManager.class)), stub(JdbcTemplate.class),
+				stub(NotificationController.class));
+	}
+
+	@Benchmark
+	public PurchaseDTO createPurchase() {
+		return purchaseService.createPurchase(request, null);
+	}
+
+	private static <T> T stub(Class<T> type) {
+		return mock(type, withSettings().stubOnly());
+	}
+
+	private static final class ApprovingPaymentGateway implements PaymentGateway {
+
+		@Override
+		public CompletableFuture<PaymentAuthorization> authorize(PaymentRequest request) {
+			return CompletableFuture.completedFuture(PaymentAuthorization.approved(request.reference()));
+		}
+
+		@Override
+		public CompletableFuture<Void> capture(PaymentAuthorization authorization) {
+			return CompletableFuture.completedFuture(null);
+		}
+
+		@Override
+		public CompletableFuture<Void> voidAuthorization(String reference) {
+			return CompletableFuture.completedFuture(null);
+		}
+	}
+}
@@ -0,0 +1,78 @@
+package com.endava.example.benchmarks;
+
+import java.util.List;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.converter.StringHttpMessageConverter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.async.StandardServletAsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitterReturnValueHandler;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+
+/**
+ * Connects SseEmitters to responses which drop what is written to them. The
+ * emitters are handed to Spring MVC's return value handler, as when they are
+ * returned from a controller, so events are formatted and written as usual
+ * through the public API only.
+ */
+final class DiscardingSseConnections {
+
+	private static final ResponseBodyEmitterReturnValueHandler RETURN_VALUE_HANDLER = new ResponseBodyEmitterReturnValueHandler(
+			List.of(new StringHttpMessageConverter()));
+
+	private DiscardingSseConnections() {
+	}
+
+	/**
+	 * Connects the emitter returned by the given controller method.
+	 *
+	 * @param emitter          the emitter to connect.
+	 * @param controllerMethod the controller method the emitter was returned
+	 *                         from.
+	 * @throws Exception if the emitter fails to flush its early events.
+	 */
+	static void connect(SseEmitter emitter, MethodParameter controllerMethod) throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/notifications");
+		request.setAsyncSupported(true);
+		DiscardingResponse response = new DiscardingResponse();
+		ServletWebRequest webRequest = new ServletWebRequest(request, response);
+		WebAsyncUtils.getAsyncManager(webRequest)
+				.setAsyncWebRequest(new StandardServletAsyncWebRequest(request, response));
+		RETURN_VALUE_HANDLER.handleReturnValue(emitter, controllerMethod, new ModelAndViewContainer(), webRequest);
+	}
+
+	private static final class DiscardingResponse extends MockHttpServletResponse {
+
+		private final ServletOutputStream outputStream = new ServletOutputStream() {
+
+			@Override
+			public void write(int b) {
+			}
+
+			@Override
+			public void write(byte[] b, int off, int len) {
+			}
+
+			@Override
+			public boolean isReady() {
+				return true;
+			}
+
+			@Override
+			public void setWriteListener(WriteListener writeListener) {
+			}
+		};
+
+		@Override
+		public ServletOutputStream getOutputStream() {
+			return outputStream;
+		}
+	}
+}
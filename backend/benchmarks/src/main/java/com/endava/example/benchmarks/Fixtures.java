@@ -0,0 +1,70 @@
+package com.endava.example.benchmarks;
+
+import java.time.LocalDate;
+
+import com.endava.example.entity.Movie;
+import com.endava.example.entity.Purchase;
+import com.endava.example.entity.PurchaseDetail;
+import com.endava.example.entity.User;
+
+/**
+ * Entities shared by the benchmarks. Values are deterministic so runs on
+ * different commits work on the same data.
+ */
+final class Fixtures {
+
+	private static final String[] GENRES = { "Action", "Drama", "Comedy", "Thriller", "Sci-Fi", "Horror" };
+
+	private Fixtures() {
+	}
+
+	static Movie movie(int id) {
+		Movie movie = new Movie();
+		movie.setMovieId(id);
+		movie.setTitle("Movie " + id);
+		movie.setDescription("A short description of movie number " + id + " used for benchmarking.");
+		movie.setGenre(GENRES[id % GENRES.length]);
+		movie.setReleaseDate(LocalDate.of(2000 + id % 25, 1 + id % 12, 1 + id % 28));
+		movie.setAverageRating(1 + id % 5);
+		movie.setPrice(99.0 + id % 400);
+		movie.setPosterURL("https://example.com/posters/" + id + ".jpg");
+		movie.setTrailerURL("https://example.com/trailers/" + id);
+		movie.setStatus("AVAILABLE");
+		movie.setCreatedAt(LocalDate.of(2025, 1, 1));
+		movie.setUpdatedAt(LocalDate.of(2025, 1, 1));
+		return movie;
+	}
+
+	static User user(int id) {
+		User user = new User();
+		user.setUserId(id);
+		user.setFullName("User " + id);
+		user.setAge(30);
+		user.setEmail("user" + id + "@example.com");
+		user.setCreatedAt(LocalDate.of(2025, 1, 1));
+		user.setUpdatedAt(LocalDate.of(2025, 1, 1));
+		return user;
+	}
+
+	static Purchase purchase(int id, User user, double totalPrice) {
+		Purchase purchase = new Purchase();
+		purchase.setPurchaseId(id);
+		purchase.setTransactionId("TXN-" + id);
+		purchase.setUser(user);
+		purchase.setPaymentMethod("CARD");
+		purchase.setTotalPrice(totalPrice);
+		purchase.setPurchaseDate(LocalDate.of(2025, 1, 1));
+		return purchase;
+	}
+
+	static PurchaseDetail purchaseDetail(int id, Purchase purchase, Movie movie) {
+		PurchaseDetail purchaseDetail = new PurchaseDetail();
+		purchaseDetail.setPurchaseDetailId(id);
+		purchaseDetail.setPurchase(purchase);
+		purchaseDetail.setMovie(movie);
+		purchaseDetail.setUnitPrice(movie.getPrice());
+		purchaseDetail.setTitle(movie.getTitle());
+		purchaseDetail.setGenre(movie.getGenre());
+		return purchaseDetail;
+	}
+}
@@ -0,0 +1,107 @@
+package com.endava.example.benchmarks;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.endava.example.analytics.DashboardAggregates;
+import com.endava.example.analytics.MovieSimilarity;
+import com.endava.example.analytics.MovieTrends;
+import com.endava.example.cache.MovieCatalog;
+import com.endava.example.cache.UserDirectory;
+import com.endava.example.cache.UserEntitlements;
+import com.endava.example.constants.Constants;
+import com.endava.example.controller.NotificationController;
+import com.endava.example.entity.Movie;
+import com.endava.example.entity.Purchase;
+import com.endava.example.entity.PurchaseDetail;
+import com.endava.example.mapper.PurchaseMapper;
+import com.endava.example.payment.PaymentProcessor;
+import com.endava.example.repository.CartRepository;
+import com.endava.example.repository.IdempotencyKeyRepository;
+import com.endava.example.repository.MovieRepository;
+import com.endava.example.repository.PurchaseDetailRepository;
+import com.endava.example.repository.PurchaseRepository;
+import com.endava.example.repository.UserRepository;
+import com.endava.example.service.impl.PurchaseServiceImpl;
+import com.endava.example.utils.ApplicationMetrics;
+import com.endava.example.utils.EmailService;
+import com.endava.example.utils.TransactionIdGenerator;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Invoice PDF rendering for purchases of different sizes. The repositories are
+ * stubbed so only the PDF generation is measured.
+ *
+ * The invoice loads its logo and footer images from paths relative to the
+ * backend directory, so the benchmarks must be started from there (see
+ * run-benchmarks.sh).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InvoiceBenchmark {
+
+	private static final int PURCHASE_ID = 1;
+
+	@Param({ "1", "10", "100" })
+	private int lines;
+
+	private PurchaseServiceImpl purchaseService;
+
+	@Setup
+	public void setUp() {
+		PurchaseRepository purchaseRepository = mock(PurchaseRepository.class);
+		PurchaseDetailRepository purchaseDetailRepository = mock(PurchaseDetailRepository.class);
+
+		List<PurchaseDetail> details = new ArrayList<>(lines);
+		double total = 0;
+		Purchase purchase = Fixtures.purchase(PURCHASE_ID, Fixtures.user(1), 0);
+		for (int i = 1; i <= lines; i++) {
+			Movie movie = Fixtures.movie(i);
+			total += movie.getPrice();
+			details.add(Fixtures.purchaseDetail(i, purchase, movie));
+		}
+		purchase.setTotalPrice(total);
+
+		when(purchaseRepository.findByPurchaseIdAndStatus(PURCHASE_ID, Constants.PURCHASE_COMPLETED))
+				.thenReturn(Optional.of(purchase));
+		when(purchaseDetailRepository.findByPurchase_PurchaseId(PURCHASE_ID)).thenReturn(details);
+
+		purchaseService = new PurchaseServiceImpl(purchaseRepository, mock(UserDirectory.class),
+				mock(UserRepository.class), mock(MovieCatalog.class), mock(MovieRepository.class),
+				purchaseDetailRepository, mock(CartRepository.class), mock(EmailService.class),
+				mock(PurchaseMapper.class), new ApplicationMetrics(new SimpleMeterRegistry()),
+				mock(DashboardAggregates.class), mock(UserEntitlements.class), mock(MovieSimilarity.class),
+				mock(MovieTrends.class), mock(IdempotencyKeyRepository.class), mock(TransactionIdGenerator.class),
+				mock(PaymentProcessor.class), mock(TransactionTemplate.class), mock(JdbcTemplate.class),
+				mock(NotificationController.class));
+	}
+
+	@Benchmark
+	public byte[] generateInvoicePdf() {
+		return purchaseService.generateInvoicePdf(PURCHASE_ID);
+	}
+}
@@ -0,0 +1,60 @@
+package com.endava.example.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.endava.example.utils.ApplicationMetrics;
+import com.endava.example.utils.JwtUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Token issuing (login) and token parsing (every authenticated request, twice:
+ * once in the rate limiter and once in the authentication filter).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtUtilsBenchmark {
+
+	static final String SECRET = "benchmark-secret-key-which-is-long-enough-for-hs256";
+
+	private JwtUtils jwtUtils;
+	private String token;
+
+	@Setup
+	public void setUp() {
+		jwtUtils = jwtUtils();
+		token = jwtUtils.generateToken(42, "USER");
+	}
+
+	@Benchmark
+	public String generateToken() {
+		return jwtUtils.generateToken(42, "USER");
+	}
+
+	@Benchmark
+	public int parseToken() {
+		return jwtUtils.extractUserId(token);
+	}
+
+	static JwtUtils jwtUtils() {
+		JwtUtils jwtUtils = new JwtUtils(new ApplicationMetrics(new SimpleMeterRegistry()));
+		ReflectionTestUtils.setField(jwtUtils, "secret", SECRET);
+		return jwtUtils;
+	}
+}
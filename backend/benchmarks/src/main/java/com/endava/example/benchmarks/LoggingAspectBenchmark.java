@@ -0,0 +1,93 @@
+package com.endava.example.benchmarks;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import com.endava.example.analytics.AlsoBoughtIndex;
+import com.endava.example.analytics.DashboardAggregates;
+import com.endava.example.analytics.MovieSimilarity;
+import com.endava.example.analytics.MovieTrends;
+import com.endava.example.cache.MovieCatalog;
+import com.endava.example.cache.UserEntitlements;
+import com.endava.example.controller.NotificationController;
+import com.endava.example.dto.MovieDTO;
+import com.endava.example.entity.Movie;
+import com.endava.example.mapper.MovieMapper;
+import com.endava.example.repository.MovieRepository;
+import com.endava.example.service.MovieService;
+import com.endava.example.service.impl.MovieServiceImpl;
+import com.endava.example.utils.LoggingAspect;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Overhead of the logging aspect on a service call returning 100 movies: the
+ * plain service, the service advised by the previous per-call logging aspect
+ * and the service advised by the current sampled LoggingAspect. Log output goes
+ * to target/benchmark.log (see logback.xml).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LoggingAspectBenchmark {
+
+	private MovieService plain;
+	private MovieService legacyAspect;
+	private MovieService sampledAspect;
+
+	@Setup
+	public void setUp() {
+		List<Movie> movies = new ArrayList<>();
+		for (int i = 1; i <= 100; i++) {
+			movies.add(Fixtures.movie(i));
+		}
+		MovieRepository movieRepository = mock(MovieRepository.class);
+		when(movieRepository.findAll()).thenReturn(movies);
+
+		plain = new MovieServiceImpl(movieRepository, mock(NotificationController.class), new MovieMapper(),
+				mock(DashboardAggregates.class), mock(MovieSimilarity.class), mock(UserEntitlements.class),
+				mock(MovieTrends.class), mock(AlsoBoughtIndex.class), mock(MovieCatalog.class));
+		legacyAspect = advise(plain, new LegacyLoggingAspect());
+		sampledAspect = advise(plain, new LoggingAspect(new SimpleMeterRegistry(), 0.01, 500, 200));
+	}
+
+	@Benchmark
+	public List<MovieDTO> noAspect() {
+		return plain.getAllMovies();
+	}
+
+	@Benchmark
+	public List<MovieDTO> legacyLoggingAspect() {
+		return legacyAspect.getAllMovies();
+	}
+
+	@Benchmark
+	public List<MovieDTO> sampledLoggingAspect() {
+		return sampledAspect.getAllMovies();
+	}
+
+	private static MovieService advise(MovieService target, Object aspect) {
+		AspectJProxyFactory proxyFactory = new AspectJProxyFactory(target);
+		proxyFactory.addAspect(aspect);
+		return proxyFactory.getProxy();
+	}
+}
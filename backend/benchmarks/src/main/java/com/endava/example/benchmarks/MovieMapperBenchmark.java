@@ -0,0 +1,62 @@
+package com.endava.example.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.endava.example.dto.MovieDTO;
+import com.endava.example.entity.Movie;
+import com.endava.example.mapper.MovieMapper;
+
+/**
+ * Mapping cost of MovieMapper for the list sizes returned by the movie listing
+ * endpoints.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MovieMapperBenchmark {
+
+	@Param({ "100", "1000", "10000" })
+	private int size;
+
+	private final MovieMapper movieMapper = new MovieMapper();
+
+	private List<Movie> movies;
+	private List<MovieDTO> dtos;
+
+	@Setup
+	public void setUp() {
+		movies = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			movies.add(Fixtures.movie(i + 1));
+		}
+		dtos = movies.stream().map(movieMapper::toDto).toList();
+	}
+
+	@Benchmark
+	public List<MovieDTO> toDto() {
+		return movies.stream().map(movieMapper::toDto).toList();
+	}
+
+	@Benchmark
+	public List<Movie> toEntity() {
+		return dtos.stream().map(movieMapper::toEntity).toList();
+	}
+
+}
@@ -0,0 +1,55 @@
+package com.endava.example.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.MethodParameter;
+
+import com.endava.example.controller.NotificationController;
+import com.endava.example.utils.ApplicationMetrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Broadcast of one notification to all connected SSE subscribers. The
+ * subscribers are connected to responses which drop the written event, so the
+ * cost measured is the fan-out loop and the event formatting and writing.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NotificationFanoutBenchmark {
+
+	@Param({ "10", "100", "1000" })
+	private int subscribers;
+
+	private NotificationController notificationController;
+
+	@Setup
+	public void setUp() throws Exception {
+		notificationController = new NotificationController(new ApplicationMetrics(new SimpleMeterRegistry()));
+		MethodParameter subscribe = new MethodParameter(
+				NotificationController.class.getMethod("subscribeToNotifications"), -1);
+		for (int i = 0; i < subscribers; i++) {
+			DiscardingSseConnections.connect(notificationController.subscribeToNotifications(), subscribe);
+		}
+	}
+
+	@Benchmark
+	public void sendNotificationToAllClients() {
+		notificationController.sendNotificationToAllClients("New movie added: Movie 1");
+	}
+}
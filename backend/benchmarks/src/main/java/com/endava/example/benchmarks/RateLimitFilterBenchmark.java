@@ -0,0 +1,107 @@
+package com.endava.example.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.endava.example.utils.ApplicationMetrics;
+import com.endava.example.utils.JwtUtils;
+import com.endava.example.utils.RateLimitFilter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.servlet.ServletException;
+
+/**
+ * Bucket lookup of the RateLimitFilter under contention. Token parsing is
+ * replaced by a trivial lookup (see JwtUtilsBenchmark for its cost), so what is
+ * measured is the bucket map and the Bucket4j token consumption.
+ *
+ * "shared" sends every request as the same user, which is the worst case for
+ * contention on a single bucket; "distinct" spreads the threads over their own
+ * users. Each user's bucket drains after its first 100 requests, so the steady
+ * state is the rejection path, which is also what a client flooding the API
+ * hits.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class RateLimitFilterBenchmark {
+
+	@Param({ "shared", "distinct" })
+	private String users;
+
+	@Param({ "1000" })
+	private int knownUsers;
+
+	private RateLimitFilter rateLimitFilter;
+
+	@Setup
+	public void setUp() {
+		rateLimitFilter = new RateLimitFilter();
+		ReflectionTestUtils.setField(rateLimitFilter, "jwtUtils", new TokenIsUserIdJwtUtils());
+		ReflectionTestUtils.setField(rateLimitFilter, "applicationMetrics",
+				new ApplicationMetrics(new SimpleMeterRegistry()));
+		ReflectionTestUtils.setField(rateLimitFilter, "observationRegistry", ObservationRegistry.NOOP);
+	}
+
+	@State(Scope.Thread)
+	public static class Caller {
+
+		private static int nextUser = 0;
+
+		private MockHttpServletRequest request;
+
+		@Setup
+		public void setUp(RateLimitFilterBenchmark benchmark) {
+			int userId;
+			synchronized (Caller.class) {
+				userId = "shared".equals(benchmark.users) ? 1 : ++nextUser % benchmark.knownUsers + 1;
+			}
+			request = new MockHttpServletRequest("GET", "/api/movies");
+			request.addHeader("Authorization", "Bearer " + userId);
+		}
+	}
+
+	@Benchmark
+	public int filter(Caller caller) throws ServletException, IOException {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		rateLimitFilter.doFilter(caller.request, response, new MockFilterChain());
+		return response.getStatus();
+	}
+
+	/**
+	 * Reads the user id straight from the token text.
+	 */
+	private static final class TokenIsUserIdJwtUtils extends JwtUtils {
+
+		TokenIsUserIdJwtUtils() {
+			super(new ApplicationMetrics(new SimpleMeterRegistry()));
+		}
+
+		@Override
+		public int extractUserId(String token) {
+			return Integer.parseInt(token);
+		}
+	}
+}
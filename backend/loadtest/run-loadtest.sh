@@ -0,0 +1,21 @@
+#!/usr/bin/env bash
+# Builds the backend and the load test, then runs it. Without arguments the
+# load test starts Postgres with Testcontainers (Docker required), boots the
+# backend against it, seeds it and runs all scenarios. Options are passed on,
+# e.g. --mode=run --base-url=http://localhost:8080 --duration-seconds=300
+set -euo pipefail
+
+LOADTEST_DIR="$(cd "$(dirname "$0")" && pwd)"
+BACKEND_DIR="$(dirname "$LOADTEST_DIR")"
+
+COMMIT="$(git -C "$BACKEND_DIR" rev-parse --short HEAD)"
+if [ -n "$(git -C "$BACKEND_DIR" status --porcelain -- src pom.xml)" ]; then
+	COMMIT="$COMMIT-dirty"
+fi
+
+(cd "$BACKEND_DIR" && mvn -B -q install -DskipTests)
+(cd "$LOADTEST_DIR" && mvn -B -q package)
+
+# run from the backend directory: the invoice reads its images from relative paths
+cd "$BACKEND_DIR"
+java -jar "$LOADTEST_DIR/target/loadtest.jar" --report="loadtest/results/$COMMIT-$(date +%Y%m%d-%H%M%S).json" "$@"
@@ -0,0 +1,72 @@
+package com.endava.example.loadtest;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.endava.example.loadtest.LoadTestClient.Session;
+
+/**
+ * Admins keeping the dashboard open: the summary and every chart are reloaded
+ * each poll interval. Every few polls an admin also adds a movie, which makes
+ * the backend broadcast a notification to all SSE subscribers.
+ */
+class AdminDashboardScenario extends Scenario {
+
+	private static final List<String> CHART_TYPES = List.of("moviesByGenre", "revenueByGenre", "topUsers");
+
+	private final LoadTestClient client;
+	private final LoadTestOptions options;
+
+	private final AtomicInteger polls = new AtomicInteger();
+	private final AtomicInteger addedMovies = new AtomicInteger();
+
+	// one session per virtual user, created on its first poll
+	private final Session[] sessions;
+
+	AdminDashboardScenario(LoadTestClient client, LoadTestOptions options) {
+		this.client = client;
+		this.options = options;
+		this.sessions = new Session[options.dashboardPollers()];
+	}
+
+	@Override
+	String name() {
+		return "admin";
+	}
+
+	@Override
+	int virtualUsers() {
+		return options.admins() == 0 ? 0 : options.dashboardPollers();
+	}
+
+	@Override
+	void iteration(int virtualUser) throws InterruptedException {
+		if (sessions[virtualUser] == null) {
+			sessions[virtualUser] = client.login("admin-login",
+					LoadTestOptions.adminEmail(virtualUser % options.admins() + 1));
+			if (sessions[virtualUser] == null) {
+				Thread.sleep(options.pollIntervalMs());
+				return;
+			}
+		}
+		Session session = sessions[virtualUser];
+
+		client.get("GET /api/admin/summary", "/api/admin/summary", session);
+		for (String type : CHART_TYPES) {
+			client.get("GET /api/admin/chart?type=" + type, "/api/admin/chart?type=" + type, session);
+		}
+
+		if (options.movieEveryPolls() > 0 && polls.incrementAndGet() % options.movieEveryPolls() == 0) {
+			int movie = addedMovies.incrementAndGet();
+			client.post("POST /api/movies/add", "/api/movies/add", session,
+					Map.of("title", "Load Test Release " + System.currentTimeMillis() + "-" + movie, "description",
+							"Added during the load test", "genre", "Drama", "releaseDate",
+							LocalDate.now().toString(), "price", 199.0, "posterURL",
+							"https://example.com/posters/new.jpg", "trailerURL", "https://example.com/trailers/new"));
+		}
+
+		Thread.sleep(options.pollIntervalMs());
+	}
+}
@@ -0,0 +1,94 @@
+package com.endava.example.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.endava.example.loadtest.LoadTestClient.Response;
+import com.endava.example.loadtest.LoadTestClient.Session;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * The shopping journey of the frontend: browse the catalogue, open a few movie
+ * pages (with the purchased / in cart / favorite checks each page makes), add
+ * two movies to the cart, check out the cart, clear the bought movies from the
+ * cart and download the invoice.
+ *
+ * Consecutive passes log in as different seeded users so no single user runs
+ * into the per-user rate limit.
+ */
+class BrowseAndCheckoutScenario extends Scenario {
+
+	private final LoadTestClient client;
+	private final LoadTestOptions options;
+
+	private final AtomicInteger nextUser = new AtomicInteger();
+	private final Map<Integer, Session> sessions = new ConcurrentHashMap<>();
+
+	BrowseAndCheckoutScenario(LoadTestClient client, LoadTestOptions options) {
+		this.client = client;
+		this.options = options;
+	}
+
+	@Override
+	String name() {
+		return "shopper";
+	}
+
+	@Override
+	int virtualUsers() {
+		return options.shoppers();
+	}
+
+	@Override
+	void iteration(int virtualUser) {
+		int userIndex = Math.floorMod(nextUser.getAndIncrement(), options.users()) + 1;
+		Session session = sessions.computeIfAbsent(userIndex,
+				index -> client.login("user-login", LoadTestOptions.userEmail(index)));
+		if (session == null) {
+			sessions.remove(userIndex);
+			return;
+		}
+		int userId = session.userId();
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+
+		Response catalogue = client.get("GET /api/movies/all/available", "/api/movies/all/available", session);
+		if (!catalogue.ok() || catalogue.data().isEmpty()) {
+			return;
+		}
+		JsonNode movies = catalogue.data();
+
+		List<Integer> viewed = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			int movieId = movies.get(random.nextInt(movies.size())).path("movieId").asInt();
+			viewed.add(movieId);
+			client.get("GET /api/movies/{movieId}", "/api/movies/" + movieId, session);
+			client.get("GET /api/users/{userId}/movie-status",
+					"/api/users/" + userId + "/movie-status?movieIds=" + movieId, session);
+		}
+
+		for (int movieId : viewed.subList(0, 2)) {
+			client.post("POST /api/carts", "/api/carts", session, Map.of("userId", userId, "movieId", movieId));
+		}
+
+		Response cart = client.get("GET /api/carts/user/{userId}", "/api/carts/user/" + userId, session);
+		if (!cart.ok() || cart.data().isEmpty()) {
+			return;
+		}
+
+		// the purchase is built from the cart on the server, which also removes the bought movies from it
+		Response purchase = client.post("POST /api/purchases", "/api/purchases", session,
+				Map.of("userId", userId, "paymentMethod", "CARD"));
+		if (!purchase.ok()) {
+			return; // declined payment, the movies stay in the cart
+		}
+
+		client.download("GET /api/purchases/invoice/{purchaseId}",
+				"/api/purchases/invoice/" + purchase.data().path("purchaseId").asInt() + "?transactionId="
+						+ purchase.data().path("transactionId").asText(),
+				session);
+	}
+}
@@ -0,0 +1,218 @@
+package com.endava.example.loadtest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.endava.example.entity.Cart;
+import com.endava.example.entity.Favorite;
+import com.endava.example.entity.Movie;
+import com.endava.example.entity.Purchase;
+import com.endava.example.entity.PurchaseDetail;
+import com.endava.example.entity.Review;
+import com.endava.example.entity.User;
+import com.endava.example.repository.CartRepository;
+import com.endava.example.repository.FavoriteRepository;
+import com.endava.example.repository.MovieRepository;
+import com.endava.example.repository.PurchaseDetailRepository;
+import com.endava.example.repository.PurchaseRepository;
+import com.endava.example.repository.ReviewRepository;
+import com.endava.example.repository.UserRepository;
+
+/**
+ * Seeds users, admins, movies, carts, favorites, reviews and purchases through
+ * the application's repositories. The data only depends on the options and the
+ * random seed, so two runs with the same options produce the same database.
+ */
+class DataSeeder {
+
+	private static final Logger log = LoggerFactory.getLogger(DataSeeder.class);
+
+	private static final String[] GENRES = { "Action", "Drama", "Comedy", "Thriller", "Sci-Fi", "Horror",
+			"Romance", "Animation" };
+
+	private static final String[] PAYMENT_METHODS = { "CARD", "UPI", "NET_BANKING" };
+
+	// rows written per transaction
+	private static final int CHUNK_SIZE = 500;
+
+	private final UserRepository userRepository;
+	private final MovieRepository movieRepository;
+	private final CartRepository cartRepository;
+	private final FavoriteRepository favoriteRepository;
+	private final ReviewRepository reviewRepository;
+	private final PurchaseRepository purchaseRepository;
+	private final PurchaseDetailRepository purchaseDetailRepository;
+	private final PasswordEncoder passwordEncoder;
+	private final TransactionTemplate transactionTemplate;
+
+	DataSeeder(ApplicationContext context) {
+		this.userRepository = context.getBean(UserRepository.class);
+		this.movieRepository = context.getBean(MovieRepository.class);
+		this.cartRepository = context.getBean(CartRepository.class);
+		this.favoriteRepository = context.getBean(FavoriteRepository.class);
+		this.reviewRepository = context.getBean(ReviewRepository.class);
+		this.purchaseRepository = context.getBean(PurchaseRepository.class);
+		this.purchaseDetailRepository = context.getBean(PurchaseDetailRepository.class);
+		this.passwordEncoder = context.getBean(PasswordEncoder.class);
+		this.transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+	}
+
+	/**
+	 * Seeds the database unless it already holds load test data.
+	 *
+	 * @param options the sizes of the data set and the random seed.
+	 */
+	void seed(LoadTestOptions options) {
+		if (userRepository.findByEmail(LoadTestOptions.userEmail(1)).isPresent()) {
+			log.info("Load test data already present, skipping the data generator");
+			return;
+		}
+
+		long startTime = System.nanoTime();
+		Random random = new Random(options.randomSeed());
+		// every seeded account shares the password, so it is hashed only once
+		String passwordHash = passwordEncoder.encode(LoadTestOptions.PASSWORD);
+
+		List<User> users = new ArrayList<>(options.users());
+		for (int i = 1; i <= options.users(); i++) {
+			users.add(user(LoadTestOptions.userEmail(i), "Load Test User " + i, "USER", passwordHash, random));
+		}
+		for (int i = 1; i <= options.admins(); i++) {
+			users.add(user(LoadTestOptions.adminEmail(i), "Load Test Admin " + i, "ADMIN", passwordHash, random));
+		}
+		users = saveInChunks(users, userRepository::saveAll);
+		List<User> customers = users.subList(0, options.users());
+
+		List<Movie> movies = new ArrayList<>(options.movies());
+		for (int i = 1; i <= options.movies(); i++) {
+			movies.add(movie(i, random));
+		}
+		movies = saveInChunks(movies, movieRepository::saveAll);
+
+		List<Cart> carts = new ArrayList<>();
+		List<Favorite> favorites = new ArrayList<>();
+		List<Review> reviews = new ArrayList<>();
+		for (User user : customers) {
+			for (Movie movie : pick(movies, options.cartItemsPerUser(), random)) {
+				Cart cart = new Cart();
+				cart.setUser(user);
+				cart.setMovie(movie);
+				carts.add(cart);
+			}
+			for (Movie movie : pick(movies, options.favoritesPerUser(), random)) {
+				Favorite favorite = new Favorite();
+				favorite.setUser(user);
+				favorite.setMovie(movie);
+				favorites.add(favorite);
+			}
+			for (Movie movie : pick(movies, options.reviewsPerUser(), random)) {
+				Review review = new Review();
+				review.setUser(user);
+				review.setMovie(movie);
+				review.setReviewText("Load test review of " + movie.getTitle() + " by " + user.getFullName());
+				review.setRating(1 + random.nextInt(5));
+				review.setReported(random.nextInt(20) == 0);
+				reviews.add(review);
+			}
+		}
+		saveInChunks(carts, cartRepository::saveAll);
+		saveInChunks(favorites, favoriteRepository::saveAll);
+		saveInChunks(reviews, reviewRepository::saveAll);
+		// the reviews are saved directly, compute the rating statistics of the movies from them
+		transactionTemplate.executeWithoutResult(status -> movieRepository.reconcileRatings());
+
+		List<Purchase> purchases = new ArrayList<>();
+		List<List<Movie>> purchasedMovies = new ArrayList<>();
+		for (User user : customers) {
+			for (int p = 0; p < options.purchasesPerUser(); p++) {
+				List<Movie> bought = pick(movies, 1 + random.nextInt(3), random);
+				Purchase purchase = new Purchase();
+				purchase.setUser(user);
+				purchase.setTransactionId("TXN-LT-" + user.getUserId() + "-" + p);
+				purchase.setPaymentMethod(PAYMENT_METHODS[random.nextInt(PAYMENT_METHODS.length)]);
+				purchase.setTotalPrice(bought.stream().mapToDouble(Movie::getPrice).sum());
+				purchase.setPurchaseDate(LocalDate.now().minusDays(random.nextInt(365)));
+				purchases.add(purchase);
+				purchasedMovies.add(bought);
+			}
+		}
+		purchases = saveInChunks(purchases, purchaseRepository::saveAll);
+
+		List<PurchaseDetail> purchaseDetails = new ArrayList<>();
+		for (int i = 0; i < purchases.size(); i++) {
+			for (Movie movie : purchasedMovies.get(i)) {
+				PurchaseDetail purchaseDetail = new PurchaseDetail();
+				purchaseDetail.setPurchase(purchases.get(i));
+				purchaseDetail.setMovie(movie);
+				// snapshot of the movie as purchased, like the checkout writes it
+				purchaseDetail.setUnitPrice(movie.getPrice());
+				purchaseDetail.setTitle(movie.getTitle());
+				purchaseDetail.setGenre(movie.getGenre());
+				purchaseDetails.add(purchaseDetail);
+			}
+		}
+		saveInChunks(purchaseDetails, purchaseDetailRepository::saveAll);
+
+		log.info("Seeded {} users, {} admins, {} movies, {} cart items, {} favorites, {} reviews, {} purchases "
+				+ "({} purchase details) in {} ms", options.users(), options.admins(), movies.size(), carts.size(),
+				favorites.size(), reviews.size(), purchases.size(), purchaseDetails.size(),
+				(System.nanoTime() - startTime) / 1_000_000);
+	}
+
+	private <T> List<T> saveInChunks(List<T> entities, Function<List<T>, List<T>> saveAll) {
+		List<T> saved = new ArrayList<>(entities.size());
+		for (int from = 0; from < entities.size(); from += CHUNK_SIZE) {
+			List<T> chunk = entities.subList(from, Math.min(from + CHUNK_SIZE, entities.size()));
+			saved.addAll(transactionTemplate.execute(status -> saveAll.apply(chunk)));
+		}
+		return saved;
+	}
+
+	private static User user(String email, String fullName, String role, String passwordHash, Random random) {
+		User user = new User();
+		user.setEmail(email);
+		user.setFullName(fullName);
+		user.setAge(18 + random.nextInt(50));
+		user.setPassword(passwordHash);
+		user.setRole(role);
+		user.setCreatedAt(LocalDate.now().minusDays(random.nextInt(730)));
+		user.setUpdatedAt(user.getCreatedAt());
+		return user;
+	}
+
+	private static Movie movie(int index, Random random) {
+		Movie movie = new Movie();
+		movie.setTitle("Load Test Movie " + index);
+		movie.setDescription("Generated movie number " + index + " for load testing.");
+		movie.setGenre(GENRES[random.nextInt(GENRES.length)]);
+		movie.setReleaseDate(LocalDate.of(1980 + random.nextInt(45), 1 + random.nextInt(12), 1 + random.nextInt(28)));
+		movie.setPrice(99 + random.nextInt(401));
+		movie.setPosterURL("https://example.com/posters/" + index + ".jpg");
+		movie.setTrailerURL("https://example.com/trailers/" + index);
+		movie.setCreatedAt(LocalDate.now().minusDays(random.nextInt(730)));
+		movie.setUpdatedAt(movie.getCreatedAt());
+		return movie;
+	}
+
+	// distinct random movies
+	private static List<Movie> pick(List<Movie> movies, int count, Random random) {
+		Set<Movie> picked = new LinkedHashSet<>();
+		int wanted = Math.min(count, movies.size());
+		while (picked.size() < wanted) {
+			picked.add(movies.get(random.nextInt(movies.size())));
+		}
+		return new ArrayList<>(picked);
+	}
+}
@@ -0,0 +1,98 @@
+package com.endava.example.loadtest;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Collects the latency of every request per endpoint into an HdrHistogram,
+ * together with the response status counts. Samples taken during the warmup
+ * are discarded.
+ */
+class LatencyRecorder {
+
+	// 1 µs to 1 minute at 3 significant digits
+	private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+	private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+
+	private volatile long measuringFromNanos;
+	private volatile long measuringUntilNanos = Long.MAX_VALUE;
+
+	/**
+	 * Starts the measurement window once the warmup is over.
+	 */
+	void startMeasuring() {
+		measuringFromNanos = System.nanoTime();
+		endpoints.clear();
+	}
+
+	void stopMeasuring() {
+		measuringUntilNanos = System.nanoTime();
+	}
+
+	/**
+	 * Records one request.
+	 *
+	 * @param endpoint   the method and path template of the request, e.g. "GET
+	 *                   /api/movies/{id}"
+	 * @param startNanos the System.nanoTime value taken before sending
+	 * @param status     the response status, or 0 when no response arrived
+	 */
+	void record(String endpoint, long startNanos, int status) {
+		long endNanos = System.nanoTime();
+		if (startNanos < measuringFromNanos || endNanos > measuringUntilNanos) {
+			return;
+		}
+		EndpointStats stats = endpoints.computeIfAbsent(endpoint, e -> new EndpointStats());
+		stats.latency.recordValue(
+				Math.min(TimeUnit.NANOSECONDS.toMicros(endNanos - startNanos), HIGHEST_TRACKABLE_MICROS));
+		stats.statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+	}
+
+	/**
+	 * Summarises the measurement window, one row per endpoint.
+	 */
+	List<EndpointReport> report() {
+		double seconds = (measuringUntilNanos - measuringFromNanos) / 1e9;
+		List<EndpointReport> rows = new ArrayList<>();
+		new TreeMap<>(endpoints).forEach((endpoint, stats) -> {
+			Histogram latency = stats.latency.copy();
+			Map<Integer, Long> statuses = new LinkedHashMap<>();
+			new TreeMap<>(stats.statuses).forEach((status, count) -> statuses.put(status, count.sum()));
+			long errors = statuses.entrySet().stream().filter(e -> e.getKey() == 0 || e.getKey() >= 500)
+					.mapToLong(Map.Entry::getValue).sum();
+			rows.add(new EndpointReport(endpoint, latency.getTotalCount(), errors, statuses,
+					latency.getTotalCount() / seconds, millis(latency.getValueAtPercentile(50)),
+					millis(latency.getValueAtPercentile(90)), millis(latency.getValueAtPercentile(95)),
+					millis(latency.getValueAtPercentile(99)), millis(latency.getMaxValue())));
+		});
+		return rows;
+	}
+
+	private static double millis(long micros) {
+		return micros / 1000.0;
+	}
+
+	private static final class EndpointStats {
+		private final Histogram latency = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+		private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+	}
+
+	/**
+	 * Results of one endpoint. Errors are transport failures and 5xx responses;
+	 * the 4xx responses the application returns on purpose (declined payments,
+	 * duplicate cart items, rate limiting) are only listed in the status counts.
+	 */
+	record EndpointReport(String endpoint, long requests, long errors, Map<Integer, Long> statuses,
+			double throughputPerSecond, double p50Ms, double p90Ms, double p95Ms, double p99Ms, double maxMs) {
+	}
+}
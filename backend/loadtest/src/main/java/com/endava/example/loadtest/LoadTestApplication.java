@@ -0,0 +1,81 @@
+package com.endava.example.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import com.endava.example.GxMoviesFinalProjectApplication;
+
+/**
+ * Entry point of the load test. See LoadTestOptions for the modes and options
+ * and loadtest/README.md for how to run it.
+ */
+public class LoadTestApplication {
+
+	private static final String POSTGRES_IMAGE = "postgres:16-alpine";
+
+	// settings which must not come from the developer's environment
+	private static final List<String> BACKEND_ARGS = List.of(
+			// confirmation emails fail fast instead of going out to a real SMTP server
+			"--spring.mail.host=localhost", "--spring.mail.port=2525",
+			"--logging.file.name=loadtest/target/backend.log");
+
+	public static void main(String[] args) throws Exception {
+		LoadTestOptions options = LoadTestOptions.parse(args);
+
+		switch (options.mode()) {
+		case SEED -> {
+			// the security configuration needs the web context, so it listens on a random port
+			try (ConfigurableApplicationContext context = backend().run(withArgs("--server.port=0"))) {
+				new DataSeeder(context).seed(options);
+			}
+		}
+		case RUN -> new LoadTestRunner(options).run(options.baseUrl());
+		case ALL -> runSelfContained(options);
+		}
+		System.exit(0);
+	}
+
+	/**
+	 * Starts a throwaway Postgres, boots the backend against it on a random port,
+	 * seeds it and runs the scenarios. The backend shares the JVM with the load
+	 * generator, so use the seed and run modes against a separately started
+	 * backend when the absolute numbers matter.
+	 */
+	private static void runSelfContained(LoadTestOptions options) throws Exception {
+		try (PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(POSTGRES_IMAGE)) {
+			postgres.start();
+
+			try (ConfigurableApplicationContext context = backend().run(withArgs("--server.port=0",
+					"--spring.datasource.url=" + postgres.getJdbcUrl(),
+					"--spring.datasource.username=" + postgres.getUsername(),
+					"--spring.datasource.password=" + postgres.getPassword()))) {
+				new DataSeeder(context).seed(options);
+				String port = context.getEnvironment().getProperty("local.server.port");
+				new LoadTestRunner(options).run("http://localhost:" + port);
+			}
+		}
+	}
+
+	/**
+	 * The backend with defaults for the settings it otherwise reads from its
+	 * .env, so the load test needs no external services. Environment variables
+	 * still win over these defaults.
+	 */
+	private static SpringApplicationBuilder backend() {
+		return new SpringApplicationBuilder(GxMoviesFinalProjectApplication.class).properties(Map.of("JWT_SECRET",
+				"load-test-secret-key-which-is-long-enough-for-hs256", "FRONTEND_URL", "http://localhost:5173",
+				"EMAIL_USERNAME", "loadtest@example.com", "EMAIL_PASSWORD", "", "MANAGEMENT_PORT", "0",
+				"OTLP_TRACING_EXPORT_ENABLED", "false"));
+	}
+
+	private static String[] withArgs(String... args) {
+		List<String> all = new ArrayList<>(BACKEND_ARGS);
+		all.addAll(List.of(args));
+		return all.toArray(String[]::new);
+	}
+}
@@ -0,0 +1,154 @@
+package com.endava.example.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Thin HTTP client for the backend API. Every call is recorded in the
+ * LatencyRecorder under its endpoint name, so the report groups e.g. all
+ * "GET /api/movies/{id}" calls together regardless of the id.
+ */
+class LoadTestClient {
+
+	private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+	private final HttpClient httpClient;
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final String baseUrl;
+	private final LatencyRecorder recorder;
+
+	LoadTestClient(String baseUrl, LatencyRecorder recorder) {
+		this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+		this.recorder = recorder;
+		this.httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1)
+				.connectTimeout(Duration.ofSeconds(10)).build();
+	}
+
+	/**
+	 * Response of a JSON endpoint; the body is the "data" of the
+	 * GenericResponse, or null when the call failed.
+	 */
+	record Response(int status, JsonNode data) {
+
+		boolean ok() {
+			return status >= 200 && status < 300;
+		}
+	}
+
+	/**
+	 * A logged in user.
+	 */
+	record Session(int userId, String token) {
+	}
+
+	Session login(String endpointPath, String email) {
+		Response response = send("POST /api/users/auth/" + endpointPath, "/api/users/auth/" + endpointPath, null,
+				"POST", Map.of("email", email, "password", LoadTestOptions.PASSWORD));
+		if (!response.ok()) {
+			return null;
+		}
+		String token = response.data().asText();
+		return new Session(userIdFromToken(token), token);
+	}
+
+	Response get(String endpoint, String path, Session session) {
+		return send(endpoint, path, session, "GET", null);
+	}
+
+	Response post(String endpoint, String path, Session session, Object body) {
+		return send(endpoint, path, session, "POST", body);
+	}
+
+	Response delete(String endpoint, String path, Session session, Object body) {
+		return send(endpoint, path, session, "DELETE", body);
+	}
+
+	/**
+	 * Downloads a binary resource (e.g. an invoice) and returns its size, or -1
+	 * when the call failed.
+	 */
+	long download(String endpoint, String path, Session session) {
+		HttpRequest request = request(path, session).GET().build();
+		long startTime = System.nanoTime();
+		try {
+			HttpResponse<byte[]> response = httpClient.send(request, BodyHandlers.ofByteArray());
+			recorder.record(endpoint, startTime, response.statusCode());
+			return response.statusCode() == 200 ? response.body().length : -1;
+		} catch (IOException e) {
+			recorder.record(endpoint, startTime, 0);
+			return -1;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return -1;
+		}
+	}
+
+	HttpClient httpClient() {
+		return httpClient;
+	}
+
+	URI uri(String path) {
+		return URI.create(baseUrl + path);
+	}
+
+	private Response send(String endpoint, String path, Session session, String method, Object body) {
+		HttpRequest request;
+		try {
+			request = request(path, session).header("Content-Type", "application/json")
+					.method(method, body == null ? BodyPublishers.noBody()
+							: BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+					.build();
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Cannot serialize request body", e);
+		}
+
+		long startTime = System.nanoTime();
+		try {
+			HttpResponse<byte[]> response = httpClient.send(request, BodyHandlers.ofByteArray());
+			recorder.record(endpoint, startTime, response.statusCode());
+			JsonNode data = null;
+			if (response.body().length > 0) {
+				data = objectMapper.readTree(response.body()).path("data");
+			}
+			return new Response(response.statusCode(), data);
+		} catch (IOException e) {
+			recorder.record(endpoint, startTime, 0);
+			return new Response(0, null);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return new Response(0, null);
+		}
+	}
+
+	private HttpRequest.Builder request(String path, Session session) {
+		HttpRequest.Builder builder = HttpRequest.newBuilder(uri(path)).timeout(REQUEST_TIMEOUT);
+		if (session != null) {
+			builder.header("Authorization", "Bearer " + session.token());
+		}
+		return builder;
+	}
+
+	// the backend puts the user id in the JWT subject
+	private int userIdFromToken(String token) {
+		String payload = token.split("\\.")[1];
+		try {
+			JsonNode claims = objectMapper
+					.readTree(new String(Base64.getUrlDecoder().decode(payload), StandardCharsets.UTF_8));
+			return claims.path("sub").asInt();
+		} catch (IOException e) {
+			throw new IllegalStateException("Unexpected token format", e);
+		}
+	}
+}
@@ -0,0 +1,80 @@
+package com.endava.example.loadtest;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Command line options of the load test, given as --name=value. Every option
+ * has a default so a bare run is reproducible.
+ */
+record LoadTestOptions(Mode mode, String baseUrl, long randomSeed,
+		// data generator
+		int users, int admins, int movies, int cartItemsPerUser, int favoritesPerUser, int reviewsPerUser,
+		int purchasesPerUser,
+		// scenarios
+		int shoppers, int dashboardPollers, long pollIntervalMs, int movieEveryPolls, int sseSubscribers,
+		int warmupSeconds, int durationSeconds, String report) {
+
+	/**
+	 * all: start Postgres in a container, start the backend against it, seed and
+	 * run the scenarios. seed: only seed the database configured through
+	 * DB_DATASOURCE_URL / DB_USERNAME / DB_PASSWORD. run: only run the scenarios
+	 * against an already seeded backend at base-url.
+	 */
+	enum Mode {
+		ALL, SEED, RUN
+	}
+
+	static final String PASSWORD = "LoadTest@123";
+
+	private static final Set<String> KNOWN_OPTIONS = Set.of("mode", "base-url", "random-seed",
+			"users", "admins", "movies", "cart-items-per-user", "favorites-per-user", "reviews-per-user",
+			"purchases-per-user", "shoppers", "dashboard-pollers", "poll-interval-ms", "movie-every-polls",
+			"sse-subscribers", "warmup-seconds", "duration-seconds", "report");
+
+	static LoadTestOptions parse(String[] args) {
+		Map<String, String> values = new HashMap<>();
+		for (String arg : args) {
+			if (!arg.startsWith("--") || !arg.contains("=")) {
+				throw new IllegalArgumentException("Options are given as --name=value, got: " + arg);
+			}
+			int separator = arg.indexOf('=');
+			values.put(arg.substring(2, separator), arg.substring(separator + 1));
+		}
+
+		LoadTestOptions options = new LoadTestOptions(
+				Mode.valueOf(values.getOrDefault("mode", "all").toUpperCase()),
+				values.getOrDefault("base-url", "http://localhost:8080"), longValue(values, "random-seed", 42),
+				intValue(values, "users", 200), intValue(values, "admins", 2), intValue(values, "movies", 300),
+				intValue(values, "cart-items-per-user", 2), intValue(values, "favorites-per-user", 3),
+				intValue(values, "reviews-per-user", 2), intValue(values, "purchases-per-user", 2),
+				intValue(values, "shoppers", 20), intValue(values, "dashboard-pollers", 2),
+				longValue(values, "poll-interval-ms", 5000), intValue(values, "movie-every-polls", 12),
+				intValue(values, "sse-subscribers", 50), intValue(values, "warmup-seconds", 10),
+				intValue(values, "duration-seconds", 60),
+				values.getOrDefault("report", "loadtest/results/loadtest-report.json"));
+
+		values.keySet().removeAll(KNOWN_OPTIONS);
+		if (!values.isEmpty()) {
+			throw new IllegalArgumentException("Unknown options: " + values.keySet());
+		}
+		return options;
+	}
+
+	private static int intValue(Map<String, String> values, String name, int defaultValue) {
+		return values.containsKey(name) ? Integer.parseInt(values.get(name)) : defaultValue;
+	}
+
+	private static long longValue(Map<String, String> values, String name, long defaultValue) {
+		return values.containsKey(name) ? Long.parseLong(values.get(name)) : defaultValue;
+	}
+
+	static String userEmail(int index) {
+		return "loadtest-user-" + index + "@example.com";
+	}
+
+	static String adminEmail(int index) {
+		return "loadtest-admin-" + index + "@example.com";
+	}
+}
@@ -0,0 +1,95 @@
+package com.endava.example.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.endava.example.loadtest.LatencyRecorder.EndpointReport;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Runs the scenarios against a running backend: shoppers and dashboard
+ * pollers warm up first, then the measurement window opens, the SSE
+ * subscribers connect, and after the configured duration the per-endpoint
+ * report is printed and written as JSON.
+ */
+class LoadTestRunner {
+
+	private static final Logger log = LoggerFactory.getLogger(LoadTestRunner.class);
+
+	private final LoadTestOptions options;
+
+	LoadTestRunner(LoadTestOptions options) {
+		this.options = options;
+	}
+
+	void run(String baseUrl) throws InterruptedException, IOException {
+		LatencyRecorder recorder = new LatencyRecorder();
+		LoadTestClient client = new LoadTestClient(baseUrl, recorder);
+
+		List<Scenario> scenarios = List.of(new BrowseAndCheckoutScenario(client, options),
+				new AdminDashboardScenario(client, options));
+		SseSubscribersScenario sse = new SseSubscribersScenario(client, recorder, options.sseSubscribers());
+
+		log.info("Load test against {}: {} shoppers, {} dashboard pollers, {} SSE subscribers, {} s warmup, {} s run",
+				baseUrl, options.shoppers(), options.dashboardPollers(), options.sseSubscribers(),
+				options.warmupSeconds(), options.durationSeconds());
+		scenarios.forEach(Scenario::start);
+		TimeUnit.SECONDS.sleep(options.warmupSeconds());
+
+		recorder.startMeasuring();
+		sse.start();
+		TimeUnit.SECONDS.sleep(options.durationSeconds());
+		recorder.stopMeasuring();
+		int sseConnected = sse.connected();
+		long sseEvents = sse.events();
+
+		for (Scenario scenario : scenarios) {
+			scenario.stop();
+		}
+		sse.stop();
+
+		List<EndpointReport> rows = recorder.report();
+		print(rows, sseConnected, sseEvents);
+		write(rows, sseConnected, sseEvents);
+	}
+
+	private void print(List<EndpointReport> rows, int sseConnected, long sseEvents) {
+		StringBuilder table = new StringBuilder(String.format("%n%-58s %8s %7s %9s %9s %9s %9s %9s %9s  %s%n",
+				"Endpoint", "Requests", "Errors", "Req/s", "p50 ms", "p90 ms", "p95 ms", "p99 ms", "Max ms",
+				"Statuses"));
+		for (EndpointReport row : rows) {
+			table.append(String.format("%-58s %8d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f  %s%n", row.endpoint(),
+					row.requests(), row.errors(), row.throughputPerSecond(), row.p50Ms(), row.p90Ms(), row.p95Ms(),
+					row.p99Ms(), row.maxMs(), row.statuses()));
+		}
+		table.append(String.format("%nSSE subscribers connected: %d/%d, events received: %d%n", sseConnected,
+				options.sseSubscribers(), sseEvents));
+		log.info(table.toString());
+	}
+
+	private void write(List<EndpointReport> rows, int sseConnected, long sseEvents) throws IOException {
+		Map<String, Object> report = new LinkedHashMap<>();
+		report.put("finishedAt", Instant.now().toString());
+		report.put("options", options);
+		report.put("endpoints", rows);
+		report.put("sse", Map.of("subscribers", options.sseSubscribers(), "connected", sseConnected, "events",
+				sseEvents));
+
+		Path path = Path.of(options.report());
+		if (path.getParent() != null) {
+			Files.createDirectories(path.getParent());
+		}
+		new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(path.toFile(), report);
+		log.info("Report written to {}", path.toAbsolutePath());
+	}
+}
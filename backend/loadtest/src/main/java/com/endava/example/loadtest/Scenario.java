@@ -0,0 +1,56 @@
+package com.endava.example.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A scripted user journey executed in a loop by a number of virtual users,
+ * each on its own thread, until the load test stops.
+ */
+abstract class Scenario {
+
+	private final List<Thread> threads = new ArrayList<>();
+
+	private volatile boolean running;
+
+	abstract String name();
+
+	abstract int virtualUsers();
+
+	/**
+	 * Runs one pass of the journey.
+	 *
+	 * @param virtualUser index of the virtual user running the pass.
+	 * @throws InterruptedException when the load test stops during a pause.
+	 */
+	abstract void iteration(int virtualUser) throws InterruptedException;
+
+	void start() {
+		running = true;
+		for (int i = 0; i < virtualUsers(); i++) {
+			int virtualUser = i;
+			Thread thread = new Thread(() -> {
+				try {
+					while (running) {
+						iteration(virtualUser);
+					}
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}, name() + "-" + i);
+			thread.setDaemon(true);
+			threads.add(thread);
+			thread.start();
+		}
+	}
+
+	void stop() throws InterruptedException {
+		running = false;
+		for (Thread thread : threads) {
+			thread.interrupt();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+	}
+}
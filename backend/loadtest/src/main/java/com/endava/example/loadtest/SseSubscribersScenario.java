@@ -0,0 +1,118 @@
+package com.endava.example.loadtest;
+
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse.BodySubscribers;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Browser tabs listening on /notifications. Each subscriber holds one SSE
+ * connection open for the whole run; the time until the stream is open is
+ * recorded as the latency of "GET /notifications" and the received events are
+ * counted. Subscribers connect when the measurement window opens and count as
+ * connected until the stream ends.
+ */
+class SseSubscribersScenario {
+
+	private final LoadTestClient client;
+	private final LatencyRecorder recorder;
+	private final int subscribers;
+
+	private final AtomicInteger connected = new AtomicInteger();
+	private final AtomicLong events = new AtomicLong();
+	private final List<Flow.Subscription> subscriptions = new ArrayList<>();
+	private final List<CompletableFuture<?>> streams = new ArrayList<>();
+
+	SseSubscribersScenario(LoadTestClient client, LatencyRecorder recorder, int subscribers) {
+		this.client = client;
+		this.recorder = recorder;
+		this.subscribers = subscribers;
+	}
+
+	void start() {
+		for (int i = 0; i < subscribers; i++) {
+			HttpRequest request = HttpRequest.newBuilder(client.uri("/notifications"))
+					.header("Accept", "text/event-stream").GET().build();
+			long startTime = System.nanoTime();
+			AtomicBoolean opened = new AtomicBoolean();
+			// the handler is applied once the response headers arrived, which is when
+			// the stream counts as connected
+			streams.add(client.httpClient().sendAsync(request, responseInfo -> {
+				opened.set(true);
+				recorder.record("GET /notifications", startTime, responseInfo.statusCode());
+				boolean streaming = responseInfo.statusCode() == 200;
+				if (streaming) {
+					connected.incrementAndGet();
+				}
+				return BodySubscribers.fromLineSubscriber(new EventCounter(streaming));
+			}).whenComplete((response, failure) -> {
+				if (failure != null && !opened.get()) {
+					recorder.record("GET /notifications", startTime, 0);
+				}
+			}));
+		}
+	}
+
+	void stop() {
+		synchronized (subscriptions) {
+			subscriptions.forEach(Flow.Subscription::cancel);
+		}
+		streams.forEach(stream -> stream.cancel(true));
+	}
+
+	int connected() {
+		return connected.get();
+	}
+
+	long events() {
+		return events.get();
+	}
+
+	/**
+	 * Counts the "data:" lines of the event stream.
+	 */
+	private final class EventCounter implements Flow.Subscriber<String> {
+
+		private final boolean streaming;
+
+		EventCounter(boolean streaming) {
+			this.streaming = streaming;
+		}
+
+		@Override
+		public void onSubscribe(Flow.Subscription subscription) {
+			synchronized (subscriptions) {
+				subscriptions.add(subscription);
+			}
+			subscription.request(Long.MAX_VALUE);
+		}
+
+		@Override
+		public void onNext(String line) {
+			if (line.startsWith("data:")) {
+				events.incrementAndGet();
+			}
+		}
+
+		@Override
+		public void onError(Throwable throwable) {
+			disconnected();
+		}
+
+		@Override
+		public void onComplete() {
+			disconnected();
+		}
+
+		private void disconnected() {
+			if (streaming) {
+				connected.decrementAndGet();
+			}
+		}
+	}
+}
@@ -0,0 +1,346 @@
+package com.endava.example.analytics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.endava.example.dto.MovieDTO;
+import com.endava.example.entity.Movie;
+import com.endava.example.mapper.MovieMapper;
+import com.endava.example.repository.MovieAlsoBoughtRepository;
+import com.endava.example.repository.MovieRepository;
+import com.endava.example.repository.PurchaseDetailRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * AlsoBoughtIndex answers "customers who bought this movie also bought" from
+ * memory. For every movie it holds the available movies purchased together
+ * with it most often, in an array indexed by movie id, so a lookup costs no
+ * query.
+ *
+ * A nightly job reads the purchase details grouped by purchase and counts how
+ * many purchases contain each pair of movies. The purchases are split into
+ * ranges counted in parallel with fork-join, each into a primitive hash map,
+ * and the maps are merged. The top MAX_ALSO_BOUGHT movies of each movie are
+ * written to movie_also_bought, replacing the previous rows in one
+ * transaction. The index is loaded from that table after the job, at startup
+ * and periodically, which also picks up movies made unavailable or edited in
+ * between.
+ */
+@Component
+@Slf4j
+public class AlsoBoughtIndex {
+
+	static final int MAX_ALSO_BOUGHT = 20;
+
+	// larger purchases, e.g. of a whole genre, say little about the movies' relation
+	private static final int MAX_PURCHASE_MOVIES = 200;
+
+	// purchases counted by one fork-join task
+	private static final int PURCHASES_PER_TASK = 10_000;
+
+	private static final int BATCH_SIZE = 1000;
+
+	private static final MovieDTO[] NONE = new MovieDTO[0];
+
+	private final PurchaseDetailRepository purchaseDetailRepository;
+	private final MovieAlsoBoughtRepository movieAlsoBoughtRepository;
+	private final MovieRepository movieRepository;
+	private final MovieMapper movieMapper;
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+
+	// the also bought movies of each movie, best first, indexed by movie id
+	private volatile MovieDTO[][] alsoBought = new MovieDTO[0][];
+
+	public AlsoBoughtIndex(PurchaseDetailRepository purchaseDetailRepository,
+			MovieAlsoBoughtRepository movieAlsoBoughtRepository, MovieRepository movieRepository,
+			MovieMapper movieMapper, JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+		this.purchaseDetailRepository = purchaseDetailRepository;
+		this.movieAlsoBoughtRepository = movieAlsoBoughtRepository;
+		this.movieRepository = movieRepository;
+		this.movieMapper = movieMapper;
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = transactionTemplate;
+	}
+
+	/**
+	 * @return the movies most often purchased together with the movie, best
+	 *         first; none for unknown movies and movies not purchased with others.
+	 */
+	public List<MovieDTO> getAlsoBought(int movieId) {
+		MovieDTO[][] current = alsoBought;
+		if (movieId < 0 || movieId >= current.length) {
+			return List.of();
+		}
+		return List.of(current[movieId]);
+	}
+
+	/**
+	 * Loads the index from movie_also_bought, running the job instead while the
+	 * table is empty.
+	 */
+	@Scheduled(fixedDelayString = "${analytics.also-bought.reload-interval-ms:3600000}")
+	public void load() {
+		long startTime = System.nanoTime();
+		List<Object[]> rows = movieAlsoBoughtRepository.findAllRanked();
+		if (rows.isEmpty()) {
+			rebuild();
+			return;
+		}
+
+		List<Integer> otherIds = rows.stream().map(row -> (Integer) row[1]).distinct().toList();
+		Map<Integer, MovieDTO> available = movieRepository.findAllById(otherIds).stream()
+				.filter(movie -> "AVAILABLE".equalsIgnoreCase(movie.getStatus()))
+				.collect(Collectors.toMap(Movie::getMovieId, movieMapper::toDto));
+
+		int movies = rows.stream().mapToInt(row -> (Integer) row[0]).max().orElse(-1) + 1;
+		MovieDTO[][] loaded = new MovieDTO[movies][];
+		Arrays.fill(loaded, NONE);
+		List<MovieDTO> movieAlsoBought = new ArrayList<>(MAX_ALSO_BOUGHT);
+		for (int i = 0; i < rows.size(); i++) {
+			MovieDTO other = available.get((Integer) rows.get(i)[1]);
+			if (other != null) {
+				movieAlsoBought.add(other);
+			}
+			int movieId = (Integer) rows.get(i)[0];
+			if (i + 1 == rows.size() || (Integer) rows.get(i + 1)[0] != movieId) {
+				loaded[movieId] = movieAlsoBought.toArray(NONE);
+				movieAlsoBought.clear();
+			}
+		}
+		alsoBought = loaded;
+		log.debug("Also bought index loaded, {} entries in {} ms", rows.size(),
+				(System.nanoTime() - startTime) / 1_000_000);
+	}
+
+	/**
+	 * Recomputes movie_also_bought from the purchase details and loads the index.
+	 */
+	@Scheduled(cron = "${analytics.also-bought.rebuild-cron:0 0 3 * * *}")
+	public synchronized void rebuild() {
+		long startTime = System.nanoTime();
+		int[][] purchases = transactionTemplate.execute(status -> readPurchases());
+		PairCounts pairs = ForkJoinPool.commonPool().invoke(new CountPairs(purchases, 0, purchases.length));
+		List<Object[]> rows = topRows(pairs);
+		transactionTemplate.executeWithoutResult(status -> {
+			movieAlsoBoughtRepository.deleteAllRows();
+			for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+				jdbcTemplate.batchUpdate(MovieAlsoBoughtRepository.INSERT,
+						rows.subList(from, Math.min(rows.size(), from + BATCH_SIZE)));
+			}
+		});
+		log.info("Also bought rebuilt from {} purchases, {} pairs and {} rows in {} ms", purchases.length,
+				pairs.size, rows.size(), (System.nanoTime() - startTime) / 1_000_000);
+		if (!rows.isEmpty()) {
+			load();
+		}
+	}
+
+	/**
+	 * @return the distinct movie ids of every purchase of two or more movies.
+	 */
+	private int[][] readPurchases() {
+		List<int[]> purchases = new ArrayList<>();
+		try (Stream<Object[]> rows = purchaseDetailRepository.streamAllByPurchase()) {
+			int[] purchaseId = { -1 };
+			int[] movies = new int[MAX_PURCHASE_MOVIES + 1];
+			int[] size = { 0 };
+			rows.forEach(row -> {
+				if ((Integer) row[0] != purchaseId[0]) {
+					addPurchase(purchases, movies, size[0]);
+					purchaseId[0] = (Integer) row[0];
+					size[0] = 0;
+				}
+				if (size[0] < movies.length) {
+					movies[size[0]++] = (Integer) row[1];
+				}
+			});
+			addPurchase(purchases, movies, size[0]);
+		}
+		return purchases.toArray(new int[0][]);
+	}
+
+	private static void addPurchase(List<int[]> purchases, int[] movies, int size) {
+		if (size < 2 || size > MAX_PURCHASE_MOVIES) {
+			return;
+		}
+		int[] purchase = Arrays.copyOf(movies, size);
+		Arrays.sort(purchase);
+		int distinct = 1;
+		for (int i = 1; i < purchase.length; i++) {
+			if (purchase[i] != purchase[distinct - 1]) {
+				purchase[distinct++] = purchase[i];
+			}
+		}
+		if (distinct >= 2) {
+			purchases.add(Arrays.copyOf(purchase, distinct));
+		}
+	}
+
+	/**
+	 * @return the [movieId, ranking, otherMovieId, purchases] rows of the top
+	 *         MAX_ALSO_BOUGHT movies of every movie.
+	 */
+	static List<Object[]> topRows(PairCounts pairs) {
+		// every pair counts for both of its movies; the entries of a movie are
+		// encoded to sort by count descending, then by movie id
+		int maxMovieId = -1;
+		for (int i = 0; i < pairs.keys.length; i++) {
+			if (pairs.keys[i] != PairCounts.EMPTY) {
+				maxMovieId = Math.max(maxMovieId, (int) (pairs.keys[i] >>> 32));
+				maxMovieId = Math.max(maxMovieId, (int) pairs.keys[i]);
+			}
+		}
+		int[] offsets = new int[maxMovieId + 2];
+		for (int i = 0; i < pairs.keys.length; i++) {
+			if (pairs.keys[i] != PairCounts.EMPTY) {
+				offsets[(int) (pairs.keys[i] >>> 32) + 1]++;
+				offsets[(int) pairs.keys[i] + 1]++;
+			}
+		}
+		for (int movieId = 0; movieId <= maxMovieId; movieId++) {
+			offsets[movieId + 1] += offsets[movieId];
+		}
+		long[] entries = new long[pairs.size * 2];
+		int[] fill = Arrays.copyOf(offsets, offsets.length);
+		for (int i = 0; i < pairs.keys.length; i++) {
+			if (pairs.keys[i] != PairCounts.EMPTY) {
+				int movieId = (int) (pairs.keys[i] >>> 32);
+				int otherMovieId = (int) pairs.keys[i];
+				long rank = (long) (Integer.MAX_VALUE - pairs.counts[i]) << 32;
+				entries[fill[movieId]++] = rank | otherMovieId;
+				entries[fill[otherMovieId]++] = rank | movieId;
+			}
+		}
+
+		List<Object[]> rows = new ArrayList<>();
+		for (int movieId = 0; movieId <= maxMovieId; movieId++) {
+			Arrays.sort(entries, offsets[movieId], offsets[movieId + 1]);
+			int end = Math.min(offsets[movieId + 1], offsets[movieId] + MAX_ALSO_BOUGHT);
+			for (int i = offsets[movieId]; i < end; i++) {
+				rows.add(new Object[] { movieId, i - offsets[movieId] + 1, (int) entries[i],
+						Integer.MAX_VALUE - (int) (entries[i] >>> 32) });
+			}
+		}
+		return rows;
+	}
+
+	/**
+	 * Counts the pairs of movies of a range of purchases, splitting it in halves
+	 * counted in parallel down to PURCHASES_PER_TASK purchases.
+	 */
+	static final class CountPairs extends RecursiveTask<PairCounts> {
+
+		private final int[][] purchases;
+		private final int from;
+		private final int to;
+
+		CountPairs(int[][] purchases, int from, int to) {
+			this.purchases = purchases;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected PairCounts compute() {
+			if (to - from <= PURCHASES_PER_TASK) {
+				PairCounts pairs = new PairCounts();
+				for (int p = from; p < to; p++) {
+					int[] movies = purchases[p];
+					for (int i = 0; i < movies.length; i++) {
+						for (int j = i + 1; j < movies.length; j++) {
+							pairs.add(PairCounts.key(movies[i], movies[j]), 1);
+						}
+					}
+				}
+				return pairs;
+			}
+			int middle = (from + to) >>> 1;
+			CountPairs left = new CountPairs(purchases, from, middle);
+			left.fork();
+			PairCounts right = new CountPairs(purchases, middle, to).compute();
+			PairCounts leftPairs = left.join();
+			// the smaller map is added to the larger one
+			if (leftPairs.size < right.size) {
+				right.addAll(leftPairs);
+				return right;
+			}
+			leftPairs.addAll(right);
+			return leftPairs;
+		}
+	}
+
+	/**
+	 * Counts per pair of movies in an open addressing hash map of primitive
+	 * arrays. A pair is keyed by the smaller movie id in the upper and the
+	 * larger one in the lower 32 bits, which is never 0.
+	 */
+	static final class PairCounts {
+
+		static final long EMPTY = 0;
+
+		long[] keys = new long[1024];
+		int[] counts = new int[1024];
+		int size;
+
+		static long key(int movieId, int otherMovieId) {
+			return ((long) Math.min(movieId, otherMovieId) << 32) | Math.max(movieId, otherMovieId);
+		}
+
+		void add(long key, int count) {
+			int slot = slot(keys, key);
+			if (keys[slot] == EMPTY) {
+				keys[slot] = key;
+				if (++size * 2 > keys.length) {
+					counts[slot] = count;
+					grow();
+					return;
+				}
+			}
+			counts[slot] += count;
+		}
+
+		void addAll(PairCounts other) {
+			for (int i = 0; i < other.keys.length; i++) {
+				if (other.keys[i] != EMPTY) {
+					add(other.keys[i], other.counts[i]);
+				}
+			}
+		}
+
+		private void grow() {
+			long[] oldKeys = keys;
+			int[] oldCounts = counts;
+			keys = new long[oldKeys.length * 2];
+			counts = new int[oldKeys.length * 2];
+			for (int i = 0; i < oldKeys.length; i++) {
+				if (oldKeys[i] != EMPTY) {
+					int slot = slot(keys, oldKeys[i]);
+					keys[slot] = oldKeys[i];
+					counts[slot] = oldCounts[i];
+				}
+			}
+		}
+
+		private static int slot(long[] keys, long key) {
+			int mask = keys.length - 1;
+			int slot = (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+			while (keys[slot] != EMPTY && keys[slot] != key) {
+				slot = (slot + 1) & mask;
+			}
+			return slot;
+		}
+	}
+}
@@ -0,0 +1,67 @@
+package com.endava.example.analytics;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.endava.example.repository.CartDailyAddsRepository;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * CartActivity counts the movies added to carts per day for the cart
+ * conversion chart. Adding to a cart only increments an in-memory counter, the
+ * counts are written to cart_daily_adds with one upsert per day at the rollup
+ * refresh interval and on shutdown. Counts of an interval are lost if the
+ * application is killed before they are written.
+ */
+@Component
+@Slf4j
+public class CartActivity {
+
+	private final CartDailyAddsRepository cartDailyAddsRepository;
+
+	private final Map<LocalDate, LongAdder> pendingAdds = new ConcurrentHashMap<>();
+
+	public CartActivity(CartDailyAddsRepository cartDailyAddsRepository) {
+		this.cartDailyAddsRepository = cartDailyAddsRepository;
+	}
+
+	public void movieAdded() {
+		pendingAdds.computeIfAbsent(LocalDate.now(), day -> new LongAdder()).increment();
+	}
+
+	public void moviesAdded(int count) {
+		pendingAdds.computeIfAbsent(LocalDate.now(), day -> new LongAdder()).add(count);
+	}
+
+	/**
+	 * Writes the pending counts. A failed write is added back to be retried at
+	 * the next flush.
+	 */
+	@Scheduled(fixedDelayString = "${analytics.rollup.refresh-interval-ms:60000}")
+	@PreDestroy
+	public void flush() {
+		for (Map.Entry<LocalDate, LongAdder> entry : pendingAdds.entrySet()) {
+			long adds = entry.getValue().sumThenReset();
+			if (adds == 0) {
+				// idle past days are dropped, today's counter is kept for reuse
+				if (entry.getKey().isBefore(LocalDate.now())) {
+					pendingAdds.remove(entry.getKey(), entry.getValue());
+				}
+				continue;
+			}
+			try {
+				cartDailyAddsRepository.addToDay(entry.getKey(), adds);
+			} catch (RuntimeException e) {
+				entry.getValue().add(adds);
+				log.warn("Could not record {} cart adds of {}", adds, entry.getKey(), e);
+			}
+		}
+	}
+}
@@ -0,0 +1,77 @@
+package com.endava.example.analytics;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * The bucket sizes of the time series admin charts. Weeks start on Monday.
+ * Each interval limits the range a chart may cover, so a request cannot
+ * allocate an unbounded number of buckets.
+ */
+public enum ChartInterval {
+
+	DAY(Period.ofYears(5)), WEEK(Period.ofYears(20)), MONTH(Period.ofYears(100));
+
+	private final Period maxSpan;
+
+	ChartInterval(Period maxSpan) {
+		this.maxSpan = maxSpan;
+	}
+
+	/**
+	 * Parses the interval request parameter, defaulting to days.
+	 *
+	 * @param value "day", "week" or "month" (any case), or null
+	 * @return the interval
+	 * @throws IllegalArgumentException if the value is not a known interval
+	 */
+	public static ChartInterval parse(String value) {
+		if (value == null || value.isBlank()) {
+			return DAY;
+		}
+		for (ChartInterval interval : values()) {
+			if (interval.name().equalsIgnoreCase(value)) {
+				return interval;
+			}
+		}
+		throw new IllegalArgumentException("Invalid chart interval: " + value);
+	}
+
+	/**
+	 * Checks that a chart from the first to the last day stays within the range
+	 * allowed for this interval.
+	 *
+	 * @throws IllegalArgumentException if the range is too long
+	 */
+	public void checkSpan(LocalDate first, LocalDate last) {
+		if (first.plus(maxSpan).isBefore(last)) {
+			throw new IllegalArgumentException("Date range cannot exceed " + maxSpan.getYears() + " years for interval "
+					+ name().toLowerCase() + ".");
+		}
+	}
+
+	/**
+	 * @return the first day of the bucket the given day falls into
+	 */
+	public LocalDate bucketOf(LocalDate day) {
+		return switch (this) {
+		case DAY -> day;
+		case WEEK -> day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+		case MONTH -> day.withDayOfMonth(1);
+		};
+	}
+
+	/**
+	 * @return the first day of the bucket following the one starting on the
+	 *         given day
+	 */
+	public LocalDate nextBucket(LocalDate bucket) {
+		return switch (this) {
+		case DAY -> bucket.plusDays(1);
+		case WEEK -> bucket.plusWeeks(1);
+		case MONTH -> bucket.plusMonths(1);
+		};
+	}
+}
@@ -0,0 +1,76 @@
+package com.endava.example.analytics;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.endava.example.repository.RollupRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * ChartRollups maintains the daily rollup tables the admin charts read when a
+ * date range or a time series is requested, e.g. revenue per genre per day,
+ * purchases per user per day or copies sold per movie per day. A year of
+ * history is then a few thousand rollup rows instead of a join over every
+ * purchase detail.
+ *
+ * Purchases and movies are dated with the day they are created on, so a
+ * refresh only recomputes the latest rolled up day and everything after it.
+ * A nightly rebuild recomputes all days, picking up edits to a movie's genre
+ * for the movies added per genre. The revenue is based on the price and genre
+ * each purchase detail was purchased with, so later edits to a movie do not
+ * change it. Hourly rollups are not possible because purchases only
+ * record their date.
+ *
+ * Each table is refreshed by deleting and re-inserting the affected days in
+ * one transaction, so the charts never see a partially refreshed day.
+ */
+@Component
+@Slf4j
+public class ChartRollups {
+
+	private final List<RollupRepository> rollupRepositories;
+
+	public ChartRollups(List<RollupRepository> rollupRepositories) {
+		this.rollupRepositories = rollupRepositories;
+	}
+
+	/**
+	 * Recomputes the rollups from the latest rolled up day on, or all of them
+	 * while a table is still empty.
+	 */
+	@Scheduled(fixedDelayString = "${analytics.rollup.refresh-interval-ms:60000}")
+	@Transactional
+	public void refresh() {
+		long startTime = System.nanoTime();
+		int rows = 0;
+		for (RollupRepository rollupRepository : rollupRepositories) {
+			LocalDate latestDay = rollupRepository.findLatestDay();
+			rows += refreshFrom(rollupRepository, latestDay != null ? latestDay : LocalDate.EPOCH);
+		}
+		log.debug("Chart rollups refreshed, {} rows in {} ms", rows, (System.nanoTime() - startTime) / 1_000_000);
+	}
+
+	/**
+	 * Recomputes all days of the rollups.
+	 */
+	@Scheduled(cron = "${analytics.rollup.rebuild-cron:0 30 3 * * *}")
+	@Transactional
+	public void rebuild() {
+		long startTime = System.nanoTime();
+		int rows = 0;
+		for (RollupRepository rollupRepository : rollupRepositories) {
+			rows += refreshFrom(rollupRepository, LocalDate.EPOCH);
+		}
+		log.info("Chart rollups rebuilt, {} rows in {} ms", rows, (System.nanoTime() - startTime) / 1_000_000);
+	}
+
+	private static int refreshFrom(RollupRepository rollupRepository, LocalDate from) {
+		rollupRepository.deleteFrom(from);
+		return rollupRepository.insertFrom(from);
+	}
+}
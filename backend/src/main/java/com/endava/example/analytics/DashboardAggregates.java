@@ -0,0 +1,258 @@
+package com.endava.example.analytics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.endava.example.dto.SummaryDTO;
+import com.endava.example.entity.Movie;
+import com.endava.example.entity.User;
+import com.endava.example.repository.MovieRepository;
+import com.endava.example.repository.PurchaseRepository;
+import com.endava.example.repository.UserRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * DashboardAggregates keeps the figures of the admin dashboard (summary, movies
+ * by genre, revenue by genre and top users) in memory. The services report
+ * every registration, new movie and purchase, and the aggregates are updated
+ * in place once the change is committed, so reading the dashboard costs the
+ * same no matter how many purchases exist.
+ *
+ * The aggregates are loaded from the database on first use and rebuilt from it
+ * periodically. The rebuild corrects any drift, e.g. from an update racing
+ * with a rebuild.
+ */
+@Component
+@Slf4j
+public class DashboardAggregates {
+
+	private static final int TOP_USERS = 5;
+
+	private final UserRepository userRepository;
+	private final MovieRepository movieRepository;
+	private final PurchaseRepository purchaseRepository;
+
+	// null until the first read loads it from the database
+	private volatile Aggregates aggregates;
+
+	public DashboardAggregates(UserRepository userRepository, MovieRepository movieRepository,
+			PurchaseRepository purchaseRepository) {
+		this.userRepository = userRepository;
+		this.movieRepository = movieRepository;
+		this.purchaseRepository = purchaseRepository;
+	}
+
+	/**
+	 * @return the number of users and movies and the total revenue.
+	 */
+	public SummaryDTO getSummary() {
+		Aggregates current = current();
+		SummaryDTO dto = new SummaryDTO();
+		dto.setNumberOfUsers(current.users.sum());
+		dto.setNumberOfMovies(current.movies.sum());
+		dto.setTotalRevenue(current.revenue.sum());
+		return dto;
+	}
+
+	/**
+	 * @return [genre, number of movies] pairs.
+	 */
+	public List<Object[]> getMoviesByGenre() {
+		List<Object[]> series = new ArrayList<>();
+		current().moviesByGenre.forEach((genre, count) -> series.add(new Object[] { genre, count.sum() }));
+		return series;
+	}
+
+	/**
+	 * @return [genre, revenue] pairs.
+	 */
+	public List<Object[]> getRevenueByGenre() {
+		List<Object[]> series = new ArrayList<>();
+		current().revenueByGenre.forEach((genre, revenue) -> series.add(new Object[] { genre, revenue.sum() }));
+		return series;
+	}
+
+	/**
+	 * @return [full name, number of purchases] of the users with the most
+	 *         purchases, most purchases first.
+	 */
+	public List<Object[]> getTopUsers() {
+		return current().topUsers.stream().map(user -> new Object[] { user.fullName(), user.purchases() })
+				.toList();
+	}
+
+	public void userRegistered() {
+		afterCommit(current -> current.users.increment());
+	}
+
+	public void movieAdded(String genre) {
+		afterCommit(current -> {
+			current.movies.increment();
+			current.moviesByGenre.computeIfAbsent(genre, g -> new LongAdder()).increment();
+		});
+	}
+
+	/**
+	 * Adds the movies of a bulk import.
+	 *
+	 * @param moviesByGenre number of movies added per genre.
+	 */
+	public void moviesAdded(Map<String, Integer> moviesByGenre) {
+		Map<String, Integer> added = Map.copyOf(moviesByGenre);
+		afterCommit(current -> added.forEach((genre, count) -> {
+			current.movies.add(count);
+			current.moviesByGenre.computeIfAbsent(genre, g -> new LongAdder()).add(count);
+		}));
+	}
+
+	public void movieGenreChanged(String oldGenre, String newGenre) {
+		if (oldGenre == null ? newGenre == null : oldGenre.equals(newGenre)) {
+			return;
+		}
+		afterCommit(current -> {
+			current.moviesByGenre.computeIfAbsent(oldGenre, g -> new LongAdder()).decrement();
+			current.moviesByGenre.computeIfAbsent(newGenre, g -> new LongAdder()).increment();
+		});
+	}
+
+	/**
+	 * Adds a completed purchase.
+	 *
+	 * @param user       the buyer.
+	 * @param totalPrice the amount paid.
+	 * @param movies     the movies bought.
+	 */
+	public void purchaseCompleted(User user, double totalPrice, List<Movie> movies) {
+		int userId = user.getUserId();
+		String fullName = user.getFullName();
+		afterCommit(current -> {
+			current.revenue.add(totalPrice);
+			for (Movie movie : movies) {
+				current.revenueByGenre.computeIfAbsent(movie.getGenre(), g -> new DoubleAdder()).add(movie.getPrice());
+			}
+			long purchases = current.purchasesByUser.computeIfAbsent(userId, id -> new AtomicLong())
+					.incrementAndGet();
+			current.updateTopUsers(new TopUser(userId, fullName, purchases));
+		});
+	}
+
+	/**
+	 * Rebuilds the aggregates from the database.
+	 */
+	@Scheduled(fixedDelayString = "${analytics.dashboard.reconcile-interval-ms:300000}", initialDelayString = "${analytics.dashboard.reconcile-interval-ms:300000}")
+	public void reconcile() {
+		long startTime = System.nanoTime();
+		Aggregates rebuilt = load();
+		Aggregates previous = aggregates;
+		aggregates = rebuilt;
+		if (previous != null && Math.abs(previous.revenue.sum() - rebuilt.revenue.sum()) > 0.005) {
+			log.info("Dashboard revenue drifted by {}, corrected", previous.revenue.sum() - rebuilt.revenue.sum());
+		}
+		log.debug("Dashboard aggregates reconciled in {} ms", (System.nanoTime() - startTime) / 1_000_000);
+	}
+
+	private Aggregates current() {
+		Aggregates current = aggregates;
+		if (current == null) {
+			synchronized (this) {
+				current = aggregates;
+				if (current == null) {
+					current = load();
+					aggregates = current;
+				}
+			}
+		}
+		return current;
+	}
+
+	private Aggregates load() {
+		Aggregates loaded = new Aggregates();
+		loaded.users.add(userRepository.count());
+		loaded.movies.add(movieRepository.count());
+		Double totalRevenue = purchaseRepository.getTotalRevenue();
+		loaded.revenue.add(totalRevenue != null ? totalRevenue : 0.0);
+		for (Object[] row : movieRepository.countMoviesByGenre()) {
+			loaded.moviesByGenre.computeIfAbsent((String) row[0], g -> new LongAdder()).add((Long) row[1]);
+		}
+		for (Object[] row : purchaseRepository.getRevenueByGenre()) {
+			loaded.revenueByGenre.computeIfAbsent((String) row[0], g -> new DoubleAdder()).add((Double) row[1]);
+		}
+		for (Object[] row : purchaseRepository.getPurchaseCountPerUser()) {
+			TopUser user = new TopUser((Integer) row[0], (String) row[1], (Long) row[2]);
+			loaded.purchasesByUser.put(user.userId(), new AtomicLong(user.purchases()));
+			loaded.updateTopUsers(user);
+		}
+		return loaded;
+	}
+
+	/**
+	 * Applies the update once the surrounding transaction has committed, or right
+	 * away outside of a transaction. Updates arriving before the aggregates are
+	 * loaded are skipped, the load reads them from the database.
+	 */
+	private void afterCommit(Consumer<Aggregates> update) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					apply(update);
+				}
+			});
+		} else {
+			apply(update);
+		}
+	}
+
+	private void apply(Consumer<Aggregates> update) {
+		Aggregates current = aggregates;
+		if (current != null) {
+			update.accept(current);
+		}
+	}
+
+	private record TopUser(int userId, String fullName, long purchases) {
+	}
+
+	private static final class Aggregates {
+		private final LongAdder users = new LongAdder();
+		private final LongAdder movies = new LongAdder();
+		private final DoubleAdder revenue = new DoubleAdder();
+		private final Map<String, LongAdder> moviesByGenre = new ConcurrentHashMap<>();
+		private final Map<String, DoubleAdder> revenueByGenre = new ConcurrentHashMap<>();
+		private final Map<Integer, AtomicLong> purchasesByUser = new ConcurrentHashMap<>();
+
+		// immutable, replaced on change
+		private volatile List<TopUser> topUsers = List.of();
+
+		/**
+		 * Puts the user's new purchase count into the top list. Purchase counts only
+		 * grow, so a user outside of the list can only enter it and a user inside it
+		 * can only move up.
+		 */
+		private synchronized void updateTopUsers(TopUser user) {
+			List<TopUser> top = topUsers;
+			if (top.size() == TOP_USERS && user.purchases() <= top.get(TOP_USERS - 1).purchases()
+					&& top.stream().noneMatch(entry -> entry.userId() == user.userId())) {
+				return;
+			}
+			List<TopUser> updated = new ArrayList<>(top);
+			updated.removeIf(entry -> entry.userId() == user.userId());
+			updated.add(user);
+			updated.sort(Comparator.comparingLong(TopUser::purchases).reversed());
+			topUsers = List.copyOf(updated.subList(0, Math.min(TOP_USERS, updated.size())));
+		}
+	}
+}
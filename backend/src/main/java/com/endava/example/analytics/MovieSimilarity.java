@@ -0,0 +1,552 @@
+package com.endava.example.analytics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.endava.example.dto.MovieStatusDTO;
+import com.endava.example.repository.PurchaseDetailRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * MovieSimilarity recommends movies from what other users did: two movies are
+ * similar when the same users purchased them, added them to their favorites or
+ * put them in their carts. It holds an item-to-item index with the most
+ * similar movies of every movie, so a recommendation costs a few array reads
+ * per movie of the user and no query.
+ *
+ * Interactions weigh 3 for a purchase, 2 for a favorite and 1 for a cart item,
+ * and the similarity of two movies is the cosine of their weighted user
+ * vectors. The interactions and the neighbors are held as sparse rows of
+ * primitive arrays indexed by user and movie id; the rows of the movies are
+ * computed in parallel.
+ *
+ * The index is built in the background after startup and rebuilt nightly.
+ * Committed purchases are applied in between: a refresh adds them to the
+ * interactions and recomputes only the rows of the movies of their users. The
+ * rows of other movies may lag slightly until the nightly rebuild. Nothing is
+ * recommended until the first build has finished.
+ */
+@Component
+@Slf4j
+public class MovieSimilarity {
+
+	static final byte PURCHASE = 3;
+	static final byte FAVORITE = 2;
+	static final byte CART = 1;
+
+	// users with more movies add little to the similarities at a quadratic cost
+	private static final int MAX_USER_MOVIES = 1000;
+
+	// movies whose rows one parallel task computes, sharing its scratch arrays
+	private static final int ROWS_PER_TASK = 256;
+
+	private static final int[] NO_IDS = new int[0];
+	private static final byte[] NO_WEIGHTS = new byte[0];
+	private static final float[] NO_SIMILARITIES = new float[0];
+
+	private final PurchaseDetailRepository purchaseDetailRepository;
+	private final TransactionTemplate transactionTemplate;
+	private final int maxNeighbors;
+
+	// committed purchases not applied yet, as [userId, movieId] pairs
+	private final Queue<int[]> pendingPurchases = new ConcurrentLinkedQueue<>();
+
+	// null until the first build has finished
+	private volatile Index index;
+
+	public MovieSimilarity(PurchaseDetailRepository purchaseDetailRepository, TransactionTemplate transactionTemplate,
+			@Value("${recommendations.neighbors:50}") int maxNeighbors) {
+		this.purchaseDetailRepository = purchaseDetailRepository;
+		this.transactionTemplate = transactionTemplate;
+		this.maxNeighbors = maxNeighbors;
+	}
+
+	/**
+	 * Ranks the movies similar to the movies of a user. The user's own movies are
+	 * not ranked.
+	 *
+	 * @param history the flags of the movies the user has purchased, has in the
+	 *                cart or in the favorites.
+	 * @param limit   the most movies ranked.
+	 * @return the ids of the movies, best first; none while the index is not built
+	 *         or when no other user shares a movie with the user.
+	 */
+	public List<Integer> recommend(List<MovieStatusDTO> history, int limit) {
+		Index current = index;
+		if (current == null || history.isEmpty() || limit <= 0) {
+			return List.of();
+		}
+
+		float[] scores = new float[current.neighbors.length];
+		int[] touched = new int[scores.length];
+		int touchedCount = 0;
+		BitSet owned = new BitSet();
+		for (MovieStatusDTO status : history) {
+			owned.set(status.getMovieId());
+		}
+		for (MovieStatusDTO status : history) {
+			int movieId = status.getMovieId();
+			if (movieId >= scores.length) {
+				continue;
+			}
+			float weight = weight(status);
+			int[] neighbors = current.neighbors[movieId];
+			float[] similarities = current.similarities[movieId];
+			for (int i = 0; i < neighbors.length; i++) {
+				int neighbor = neighbors[i];
+				if (scores[neighbor] == 0) {
+					touched[touchedCount++] = neighbor;
+				}
+				scores[neighbor] += weight * similarities[i];
+			}
+		}
+
+		TopK top = new TopK(limit);
+		for (int i = 0; i < touchedCount; i++) {
+			if (!owned.get(touched[i])) {
+				top.offer(touched[i], scores[touched[i]]);
+			}
+		}
+		List<Integer> movieIds = new ArrayList<>(top.size);
+		for (int movieId : top.sortedIds()) {
+			movieIds.add(movieId);
+		}
+		return movieIds;
+	}
+
+	/**
+	 * Queues a purchase for the next refresh once the surrounding transaction has
+	 * committed.
+	 */
+	public void purchased(int userId, List<Integer> movieIds) {
+		List<Integer> purchased = List.copyOf(movieIds);
+		Runnable queue = () -> purchased.forEach(movieId -> pendingPurchases.add(new int[] { userId, movieId }));
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					queue.run();
+				}
+			});
+		} else {
+			queue.run();
+		}
+	}
+
+	/**
+	 * Applies the queued purchases, or builds the index when it is not built yet.
+	 */
+	@Scheduled(fixedDelayString = "${recommendations.refresh-interval-ms:60000}")
+	public synchronized void refresh() {
+		Index current = index;
+		if (current == null) {
+			build();
+			return;
+		}
+		List<int[]> purchases = new ArrayList<>();
+		int[] purchase;
+		while ((purchase = pendingPurchases.poll()) != null) {
+			purchases.add(purchase);
+		}
+		if (purchases.isEmpty()) {
+			return;
+		}
+		long startTime = System.nanoTime();
+		Index next = current.copy();
+		int[] movieIds = next.add(purchases);
+		computeRows(next, movieIds);
+		index = next;
+		log.debug("Movie similarity refreshed, {} purchases and {} movies in {} ms", purchases.size(),
+				movieIds.length, (System.nanoTime() - startTime) / 1_000_000);
+	}
+
+	/**
+	 * Builds the index again from all interactions.
+	 */
+	@Scheduled(cron = "${recommendations.rebuild-cron:0 0 4 * * *}")
+	public synchronized void rebuild() {
+		build();
+	}
+
+	// the interactions are streamed in a transaction which ends before the rows
+	// are computed, so no connection is held meanwhile
+	private void build() {
+		long startTime = System.nanoTime();
+		// purchases committed from here on are read below or applied again later,
+		// which changes nothing
+		pendingPurchases.clear();
+		Interactions interactions = new Interactions();
+		transactionTemplate.executeWithoutResult(status -> {
+			try (Stream<Object[]> rows = purchaseDetailRepository.streamAllInteractions()) {
+				rows.forEach(row -> interactions.add(((Number) row[0]).intValue(), ((Number) row[1]).intValue(),
+						((Number) row[2]).byteValue()));
+			}
+		});
+		Index built = interactions.toIndex();
+		computeRows(built, IntStream.range(0, built.neighbors.length).toArray());
+		index = built;
+		log.info("Movie similarity built from {} interactions of {} movies in {} ms", interactions.size,
+				built.neighbors.length, (System.nanoTime() - startTime) / 1_000_000);
+	}
+
+	/**
+	 * Computes the neighbors of the movies in parallel; each task reuses its
+	 * scratch arrays for ROWS_PER_TASK movies.
+	 */
+	private void computeRows(Index target, int[] movieIds) {
+		int tasks = (movieIds.length + ROWS_PER_TASK - 1) / ROWS_PER_TASK;
+		IntStream.range(0, tasks).parallel().forEach(task -> {
+			float[] scores = new float[target.neighbors.length];
+			int[] touched = new int[scores.length];
+			int end = Math.min(movieIds.length, (task + 1) * ROWS_PER_TASK);
+			for (int i = task * ROWS_PER_TASK; i < end; i++) {
+				computeRow(target, movieIds[i], scores, touched);
+			}
+		});
+	}
+
+	private void computeRow(Index target, int movieId, float[] scores, int[] touched) {
+		int touchedCount = 0;
+		int[] users = target.movieUsers[movieId];
+		byte[] userWeights = target.movieUserWeights[movieId];
+		for (int i = 0; i < users.length; i++) {
+			int[] movies = target.userMovies[users[i]];
+			if (movies.length > MAX_USER_MOVIES) {
+				continue;
+			}
+			byte[] movieWeights = target.userWeights[users[i]];
+			for (int j = 0; j < movies.length; j++) {
+				int other = movies[j];
+				if (other != movieId) {
+					if (scores[other] == 0) {
+						touched[touchedCount++] = other;
+					}
+					scores[other] += userWeights[i] * movieWeights[j];
+				}
+			}
+		}
+
+		TopK top = new TopK(maxNeighbors);
+		for (int i = 0; i < touchedCount; i++) {
+			int other = touched[i];
+			top.offer(other, scores[other] / (target.norms[movieId] * target.norms[other]));
+			scores[other] = 0;
+		}
+		target.neighbors[movieId] = top.sortedIds();
+		target.similarities[movieId] = top.sortedScores();
+	}
+
+	private static float weight(MovieStatusDTO status) {
+		if (status.isPurchased()) {
+			return PURCHASE;
+		}
+		return status.isFavorite() ? FAVORITE : CART;
+	}
+
+	/**
+	 * The interactions as read from the database, one entry per user and movie.
+	 */
+	private static final class Interactions {
+
+		private int[] userIds = new int[1024];
+		private int[] movieIds = new int[1024];
+		private byte[] weights = new byte[1024];
+		private int size;
+		private int maxUserId = -1;
+		private int maxMovieId = -1;
+
+		private void add(int userId, int movieId, byte weight) {
+			if (size == userIds.length) {
+				userIds = Arrays.copyOf(userIds, size * 2);
+				movieIds = Arrays.copyOf(movieIds, size * 2);
+				weights = Arrays.copyOf(weights, size * 2);
+			}
+			userIds[size] = userId;
+			movieIds[size] = movieId;
+			weights[size] = weight;
+			size++;
+			maxUserId = Math.max(maxUserId, userId);
+			maxMovieId = Math.max(maxMovieId, movieId);
+		}
+
+		private Index toIndex() {
+			Index built = new Index(maxUserId + 1, maxMovieId + 1);
+			int[] userCounts = new int[maxUserId + 1];
+			int[] movieCounts = new int[maxMovieId + 1];
+			for (int i = 0; i < size; i++) {
+				userCounts[userIds[i]]++;
+				movieCounts[movieIds[i]]++;
+			}
+			for (int userId = 0; userId <= maxUserId; userId++) {
+				if (userCounts[userId] > 0) {
+					built.userMovies[userId] = new int[userCounts[userId]];
+					built.userWeights[userId] = new byte[userCounts[userId]];
+				}
+			}
+			for (int movieId = 0; movieId <= maxMovieId; movieId++) {
+				if (movieCounts[movieId] > 0) {
+					built.movieUsers[movieId] = new int[movieCounts[movieId]];
+					built.movieUserWeights[movieId] = new byte[movieCounts[movieId]];
+				}
+			}
+			// the counts are used again as the fill positions, from the end of each row
+			for (int i = 0; i < size; i++) {
+				int userSlot = --userCounts[userIds[i]];
+				built.userMovies[userIds[i]][userSlot] = movieIds[i];
+				built.userWeights[userIds[i]][userSlot] = weights[i];
+				int movieSlot = --movieCounts[movieIds[i]];
+				built.movieUsers[movieIds[i]][movieSlot] = userIds[i];
+				built.movieUserWeights[movieIds[i]][movieSlot] = weights[i];
+			}
+			for (int movieId = 0; movieId <= maxMovieId; movieId++) {
+				built.updateNorm(movieId);
+			}
+			return built;
+		}
+	}
+
+	/**
+	 * One version of the index. Its rows are never changed once it is published;
+	 * a refresh works on a copy and replaces the rows it changes.
+	 */
+	private static final class Index {
+
+		// the movies of each user and their weights, indexed by user id
+		private int[][] userMovies;
+		private byte[][] userWeights;
+		// the users of each movie and their weights, indexed by movie id
+		private int[][] movieUsers;
+		private byte[][] movieUserWeights;
+		private float[] norms;
+		// the most similar movies of each movie, best first, and their similarity
+		private int[][] neighbors;
+		private float[][] similarities;
+
+		private Index(int users, int movies) {
+			userMovies = new int[users][];
+			userWeights = new byte[users][];
+			Arrays.fill(userMovies, NO_IDS);
+			Arrays.fill(userWeights, NO_WEIGHTS);
+			movieUsers = new int[movies][];
+			movieUserWeights = new byte[movies][];
+			Arrays.fill(movieUsers, NO_IDS);
+			Arrays.fill(movieUserWeights, NO_WEIGHTS);
+			norms = new float[movies];
+			neighbors = new int[movies][];
+			similarities = new float[movies][];
+			Arrays.fill(neighbors, NO_IDS);
+			Arrays.fill(similarities, NO_SIMILARITIES);
+		}
+
+		private Index copy() {
+			Index copy = new Index(0, 0);
+			copy.userMovies = userMovies.clone();
+			copy.userWeights = userWeights.clone();
+			copy.movieUsers = movieUsers.clone();
+			copy.movieUserWeights = movieUserWeights.clone();
+			copy.norms = norms.clone();
+			copy.neighbors = neighbors.clone();
+			copy.similarities = similarities.clone();
+			return copy;
+		}
+
+		/**
+		 * Adds the purchases to the interactions.
+		 *
+		 * @return the ids of the movies whose rows must be computed again: all
+		 *         movies of the purchasing users.
+		 */
+		private int[] add(List<int[]> purchases) {
+			int maxUserId = userMovies.length - 1;
+			int maxMovieId = neighbors.length - 1;
+			for (int[] purchase : purchases) {
+				maxUserId = Math.max(maxUserId, purchase[0]);
+				maxMovieId = Math.max(maxMovieId, purchase[1]);
+			}
+			grow(maxUserId + 1, maxMovieId + 1);
+
+			BitSet users = new BitSet();
+			for (int[] purchase : purchases) {
+				int userId = purchase[0];
+				int movieId = purchase[1];
+				users.set(userId);
+				int userSlot = indexOf(userMovies[userId], movieId);
+				if (userSlot < 0) {
+					userMovies[userId] = append(userMovies[userId], movieId);
+					userWeights[userId] = append(userWeights[userId], PURCHASE);
+				} else {
+					userWeights[userId] = replace(userWeights[userId], userSlot, PURCHASE);
+				}
+				int movieSlot = indexOf(movieUsers[movieId], userId);
+				if (movieSlot < 0) {
+					movieUsers[movieId] = append(movieUsers[movieId], userId);
+					movieUserWeights[movieId] = append(movieUserWeights[movieId], PURCHASE);
+				} else {
+					movieUserWeights[movieId] = replace(movieUserWeights[movieId], movieSlot, PURCHASE);
+				}
+				updateNorm(movieId);
+			}
+
+			BitSet movies = new BitSet();
+			users.stream().forEach(userId -> {
+				for (int movieId : userMovies[userId]) {
+					movies.set(movieId);
+				}
+			});
+			return movies.stream().toArray();
+		}
+
+		private void grow(int users, int movies) {
+			if (users > userMovies.length) {
+				int from = userMovies.length;
+				userMovies = Arrays.copyOf(userMovies, users);
+				userWeights = Arrays.copyOf(userWeights, users);
+				Arrays.fill(userMovies, from, users, NO_IDS);
+				Arrays.fill(userWeights, from, users, NO_WEIGHTS);
+			}
+			if (movies > neighbors.length) {
+				int from = neighbors.length;
+				movieUsers = Arrays.copyOf(movieUsers, movies);
+				movieUserWeights = Arrays.copyOf(movieUserWeights, movies);
+				norms = Arrays.copyOf(norms, movies);
+				neighbors = Arrays.copyOf(neighbors, movies);
+				similarities = Arrays.copyOf(similarities, movies);
+				Arrays.fill(movieUsers, from, movies, NO_IDS);
+				Arrays.fill(movieUserWeights, from, movies, NO_WEIGHTS);
+				Arrays.fill(neighbors, from, movies, NO_IDS);
+				Arrays.fill(similarities, from, movies, NO_SIMILARITIES);
+			}
+		}
+
+		private void updateNorm(int movieId) {
+			long sum = 0;
+			for (byte weight : movieUserWeights[movieId]) {
+				sum += weight * weight;
+			}
+			norms[movieId] = (float) Math.sqrt(sum);
+		}
+
+		private static int indexOf(int[] row, int id) {
+			for (int i = 0; i < row.length; i++) {
+				if (row[i] == id) {
+					return i;
+				}
+			}
+			return -1;
+		}
+
+		private static int[] append(int[] row, int id) {
+			int[] appended = Arrays.copyOf(row, row.length + 1);
+			appended[row.length] = id;
+			return appended;
+		}
+
+		private static byte[] append(byte[] row, byte weight) {
+			byte[] appended = Arrays.copyOf(row, row.length + 1);
+			appended[row.length] = weight;
+			return appended;
+		}
+
+		private static byte[] replace(byte[] row, int slot, byte weight) {
+			byte[] replaced = row.clone();
+			replaced[slot] = (byte) Math.max(replaced[slot], weight);
+			return replaced;
+		}
+	}
+
+	/**
+	 * Keeps the ids with the highest scores in a min-heap of primitive arrays.
+	 */
+	private static final class TopK {
+
+		private final int[] ids;
+		private final float[] scores;
+		private int size;
+
+		private TopK(int capacity) {
+			ids = new int[capacity];
+			scores = new float[capacity];
+		}
+
+		private void offer(int id, float score) {
+			if (size < ids.length) {
+				ids[size] = id;
+				scores[size] = score;
+				siftUp(size++);
+			} else if (size > 0 && score > scores[0]) {
+				ids[0] = id;
+				scores[0] = score;
+				siftDown(0, size);
+			}
+		}
+
+		/**
+		 * Sorts the heap best first; it is no heap afterwards.
+		 */
+		private int[] sortedIds() {
+			for (int end = size - 1; end > 0; end--) {
+				swap(0, end);
+				siftDown(0, end);
+			}
+			return Arrays.copyOf(ids, size);
+		}
+
+		// only after sortedIds
+		private float[] sortedScores() {
+			return Arrays.copyOf(scores, size);
+		}
+
+		private void siftUp(int i) {
+			while (i > 0) {
+				int parent = (i - 1) / 2;
+				if (scores[parent] <= scores[i]) {
+					return;
+				}
+				swap(i, parent);
+				i = parent;
+			}
+		}
+
+		private void siftDown(int i, int end) {
+			while (true) {
+				int smallest = i;
+				int left = 2 * i + 1;
+				int right = left + 1;
+				if (left < end && scores[left] < scores[smallest]) {
+					smallest = left;
+				}
+				if (right < end && scores[right] < scores[smallest]) {
+					smallest = right;
+				}
+				if (smallest == i) {
+					return;
+				}
+				swap(i, smallest);
+				i = smallest;
+			}
+		}
+
+		private void swap(int a, int b) {
+			int id = ids[a];
+			ids[a] = ids[b];
+			ids[b] = id;
+			float score = scores[a];
+			scores[a] = scores[b];
+			scores[b] = score;
+		}
+	}
+}
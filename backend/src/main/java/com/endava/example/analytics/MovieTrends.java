@@ -0,0 +1,194 @@
+package com.endava.example.analytics;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.endava.example.constants.Constants;
+import com.endava.example.dto.MovieDTO;
+import com.endava.example.entity.Movie;
+import com.endava.example.mapper.MovieMapper;
+import com.endava.example.repository.MovieRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * MovieTrends ranks the movies by what users are doing with them right now:
+ * viewing their details, adding them to carts or favorites and purchasing
+ * them. Every event only increments a LongAdder of an array indexed by movie
+ * id, so recording costs no query and no lock, no matter how many requests
+ * record at once.
+ *
+ * At the snapshot interval the counters are drained into a score per movie
+ * that decays exponentially with the configured half-life, weighted by the
+ * kind of event, and the top MAX_TRENDING_MOVIES available movies are loaded
+ * once and served from memory until the next snapshot. The counters are not
+ * persisted: the ranking starts empty after a restart and fills up with the
+ * events that follow.
+ */
+@Component
+@Slf4j
+public class MovieTrends {
+
+	/**
+	 * The kinds of events counted and how much each adds to a movie's score.
+	 */
+	enum Signal {
+		VIEW(1), CART(3), FAVORITE(3), PURCHASE(5);
+
+		private final int weight;
+
+		Signal(int weight) {
+			this.weight = weight;
+		}
+	}
+
+	private static final int INITIAL_CAPACITY = 1024;
+
+	// scores below it are dropped from the ranking, about 1 view 10 half-lives ago
+	private static final double MIN_SCORE = 0.001;
+
+	private final MovieRepository movieRepository;
+	private final MovieMapper movieMapper;
+	private final double halfLifeMillis;
+
+	// the counters of each signal, indexed by movie id; grown by copying, the
+	// counters themselves are kept
+	private volatile LongAdder[][] counters;
+	private final Object growLock = new Object();
+
+	// only used by the snapshot
+	private double[] scores = new double[0];
+	private long lastSnapshotNanos = System.nanoTime();
+
+	private volatile List<MovieDTO> trending = List.of();
+
+	public MovieTrends(MovieRepository movieRepository, MovieMapper movieMapper,
+			@Value("${trending.half-life-ms:21600000}") long halfLifeMillis) {
+		this.movieRepository = movieRepository;
+		this.movieMapper = movieMapper;
+		this.halfLifeMillis = halfLifeMillis;
+		LongAdder[][] initial = new LongAdder[Signal.values().length][];
+		for (int signal = 0; signal < initial.length; signal++) {
+			initial[signal] = new LongAdder[INITIAL_CAPACITY];
+			Arrays.setAll(initial[signal], movieId -> new LongAdder());
+		}
+		counters = initial;
+	}
+
+	/**
+	 * @return the trending movies, most trending first, as of the last snapshot.
+	 */
+	public List<MovieDTO> getTrending(int limit) {
+		List<MovieDTO> current = trending;
+		return current.subList(0, Math.min(limit, current.size()));
+	}
+
+	public void viewed(int movieId) {
+		record(Signal.VIEW, movieId);
+	}
+
+	// the following are counted once the surrounding transaction has committed
+
+	public void addedToCart(int movieId) {
+		afterCommit(() -> record(Signal.CART, movieId));
+	}
+
+	public void addedToFavorites(int movieId) {
+		afterCommit(() -> record(Signal.FAVORITE, movieId));
+	}
+
+	public void purchased(List<Integer> movieIds) {
+		List<Integer> purchased = List.copyOf(movieIds);
+		afterCommit(() -> purchased.forEach(movieId -> record(Signal.PURCHASE, movieId)));
+	}
+
+	/**
+	 * Drains the counters into the decayed scores and loads the top movies.
+	 */
+	@Scheduled(fixedDelayString = "${trending.snapshot-interval-ms:60000}")
+	public synchronized void snapshot() {
+		long now = System.nanoTime();
+		double decay = Math.pow(0.5, (now - lastSnapshotNanos) / 1_000_000.0 / halfLifeMillis);
+		lastSnapshotNanos = now;
+
+		LongAdder[][] current = counters;
+		if (scores.length < current[0].length) {
+			scores = Arrays.copyOf(scores, current[0].length);
+		}
+		for (int movieId = 0; movieId < scores.length; movieId++) {
+			double score = scores[movieId] * decay;
+			for (Signal signal : Signal.values()) {
+				score += signal.weight * current[signal.ordinal()][movieId].sumThenReset();
+			}
+			scores[movieId] = score < MIN_SCORE ? 0 : score;
+		}
+
+		// some of the top movies may be unavailable
+		List<Integer> topIds = IntStream.range(0, scores.length).filter(movieId -> scores[movieId] > 0).boxed()
+				.sorted(Comparator.comparingDouble((Integer movieId) -> scores[movieId]).reversed())
+				.limit(Constants.MAX_TRENDING_MOVIES * 2L).toList();
+		if (topIds.isEmpty()) {
+			trending = List.of();
+			return;
+		}
+		Map<Integer, Movie> movies = movieRepository.findAllById(topIds).stream()
+				.collect(Collectors.toMap(Movie::getMovieId, Function.identity()));
+		trending = topIds.stream().map(movies::get)
+				.filter(movie -> movie != null && "AVAILABLE".equalsIgnoreCase(movie.getStatus()))
+				.limit(Constants.MAX_TRENDING_MOVIES).map(movieMapper::toDto).toList();
+		log.debug("Trending movies snapshot of {} scored movies", topIds.size());
+	}
+
+	private void record(Signal signal, int movieId) {
+		LongAdder[][] current = counters;
+		if (movieId >= current[0].length) {
+			current = grow(movieId);
+		}
+		current[signal.ordinal()][movieId].increment();
+	}
+
+	private LongAdder[][] grow(int movieId) {
+		synchronized (growLock) {
+			LongAdder[][] current = counters;
+			int length = current[0].length;
+			if (movieId < length) {
+				return current;
+			}
+			int capacity = Math.max(movieId + 1, length * 2);
+			LongAdder[][] grown = new LongAdder[current.length][];
+			for (int signal = 0; signal < current.length; signal++) {
+				grown[signal] = Arrays.copyOf(current[signal], capacity);
+				for (int id = length; id < capacity; id++) {
+					grown[signal][id] = new LongAdder();
+				}
+			}
+			counters = grown;
+			return grown;
+		}
+	}
+
+	private static void afterCommit(Runnable update) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					update.run();
+				}
+			});
+		} else {
+			update.run();
+		}
+	}
+}
@@ -0,0 +1,83 @@
+package com.endava.example.analytics;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * TimeSeries collects daily values into the buckets of a chart interval and
+ * renders them as columns: one "labels" array with the first day of every
+ * bucket and one array of numbers per column, all of the same length. Buckets
+ * without values are zero, so the columns can be plotted as they are.
+ */
+public class TimeSeries {
+
+	private final ChartInterval interval;
+
+	private final List<LocalDate> buckets = new ArrayList<>();
+
+	private final Map<LocalDate, Integer> indexOfBucket = new HashMap<>();
+
+	private final Map<String, double[]> columns = new LinkedHashMap<>();
+
+	/**
+	 * @param interval the bucket size
+	 * @param first    first day to cover
+	 * @param last     last day to cover, no buckets are created if it is before
+	 *                 the first day
+	 */
+	public TimeSeries(ChartInterval interval, LocalDate first, LocalDate last) {
+		this.interval = interval;
+		for (LocalDate bucket = interval.bucketOf(first); !bucket.isAfter(last); bucket = interval
+				.nextBucket(bucket)) {
+			indexOfBucket.put(bucket, buckets.size());
+			buckets.add(bucket);
+		}
+	}
+
+	/**
+	 * Adds a value of the given day to its bucket. Days outside of the covered
+	 * range are ignored.
+	 */
+	public void add(String column, LocalDate day, double value) {
+		Integer index = indexOfBucket.get(interval.bucketOf(day));
+		if (index != null) {
+			column(column)[index] += value;
+		}
+	}
+
+	/**
+	 * @return the values of the column, one per bucket, created with zeros if
+	 *         needed.
+	 */
+	public double[] column(String column) {
+		return columns.computeIfAbsent(column, name -> new double[buckets.size()]);
+	}
+
+	/**
+	 * Adds a column holding the ratio of two columns per bucket, rounded to 2
+	 * decimals and zero where the divisor is zero.
+	 */
+	public void ratio(String column, String dividend, String divisor) {
+		double[] numerators = column(dividend);
+		double[] denominators = column(divisor);
+		double[] ratios = column(column);
+		for (int i = 0; i < ratios.length; i++) {
+			ratios[i] = denominators[i] == 0 ? 0 : Math.round(numerators[i] / denominators[i] * 100) / 100.0;
+		}
+	}
+
+	/**
+	 * @return the chart data: the interval, the labels and the columns.
+	 */
+	public Map<String, Object> toChartData() {
+		Map<String, Object> chartData = new LinkedHashMap<>();
+		chartData.put("interval", interval.name().toLowerCase());
+		chartData.put("labels", buckets.stream().map(LocalDate::toString).toList());
+		chartData.putAll(columns);
+		return chartData;
+	}
+}
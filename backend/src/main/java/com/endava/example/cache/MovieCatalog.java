@@ -0,0 +1,82 @@
+package com.endava.example.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.endava.example.entity.Movie;
+import com.endava.example.repository.MovieRepository;
+
+/**
+ * MovieCatalog serves the movies read by the checkout without a query per
+ * purchase. Movies are loaded on their first lookup, all the missing ones of a
+ * lookup with one query, and held until the movie service reports a change to
+ * them once it has committed.
+ *
+ * The checkout checks the versions of the movies it purchases when completing
+ * the purchase. A movie changed outside of the service, or loaded while a
+ * change was committing, fails that checkout, is evicted and is loaded again
+ * on the next lookup.
+ *
+ * The movies are shared by all requests and must not be modified.
+ */
+@Component
+public class MovieCatalog {
+
+	private final MovieRepository movieRepository;
+
+	private final Map<Integer, Movie> movies = new ConcurrentHashMap<>();
+
+	public MovieCatalog(MovieRepository movieRepository) {
+		this.movieRepository = movieRepository;
+	}
+
+	/**
+	 * @return the movies found, in the order of the ids.
+	 */
+	public List<Movie> getMovies(Collection<Integer> movieIds) {
+		Map<Integer, Movie> loaded = new HashMap<>();
+		List<Integer> missing = movieIds.stream().filter(movieId -> !movies.containsKey(movieId)).toList();
+		if (!missing.isEmpty()) {
+			for (Movie movie : movieRepository.findAllById(missing)) {
+				loaded.put(movie.getMovieId(), movie);
+				movies.put(movie.getMovieId(), movie);
+			}
+		}
+
+		List<Movie> found = new ArrayList<>(movieIds.size());
+		for (int movieId : movieIds) {
+			// a movie evicted since it was loaded is still returned once
+			Movie movie = movies.getOrDefault(movieId, loaded.get(movieId));
+			if (movie != null) {
+				found.add(movie);
+			}
+		}
+		return found;
+	}
+
+	/**
+	 * Drops the movies once the surrounding transaction has committed, or right
+	 * away outside of a transaction.
+	 */
+	public void evict(Collection<Integer> movieIds) {
+		List<Integer> evicted = List.copyOf(movieIds);
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					evicted.forEach(movies::remove);
+				}
+			});
+		} else {
+			evicted.forEach(movies::remove);
+		}
+	}
+}
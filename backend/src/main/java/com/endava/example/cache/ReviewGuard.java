@@ -0,0 +1,349 @@
+package com.endava.example.cache;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.endava.example.exceptions.ResourceAlreadyExistsException;
+import com.endava.example.exceptions.TooManyRequestsException;
+import com.endava.example.repository.ReviewRepository;
+
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.Refill;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * ReviewGuard admits new reviews before they are written, so rejected reviews
+ * cost no query. It throttles every user to a number of reviews per minute and
+ * rejects a second review of the same movie by a user as well as copies of an
+ * existing review: the same text posted by the user on another movie or by
+ * anyone on the same movie. Texts are compared by a 64 bit fingerprint of their
+ * letters and digits, in lower case; short texts such as "Great movie!" are
+ * not fingerprinted, as many users legitimately write them.
+ *
+ * The (user, movie) pairs and the fingerprints of all reviews are held in hash
+ * sets, loaded from the database on first use and rebuilt from it
+ * periodically. Admitting a review adds its entries right away, which also
+ * stops a concurrent duplicate, and removes them again if the surrounding
+ * transaction rolls back. The reviews admitted while the entries are loaded
+ * may be missing from the database snapshot, either uncommitted or committed
+ * after the snapshot was taken, so they are added to the loaded entries before
+ * these replace the current ones.
+ *
+ * The throttling bucket of a user is dropped once it is full again, i.e. after
+ * a minute without reviews, as it then admits the same as a new bucket.
+ */
+@Component
+@Slf4j
+public class ReviewGuard {
+
+	// texts with fewer letters and digits are not fingerprinted
+	static final int MIN_FINGERPRINT_LENGTH = 32;
+
+	private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+	private static final long FNV_PRIME = 0x100000001b3L;
+
+	private final ReviewRepository reviewRepository;
+	private final int maxReviewsPerMinute;
+
+	private final Map<Integer, Bucket> buckets = new ConcurrentHashMap<>();
+
+	// null until the first review loads it from the database
+	private volatile Entries entries;
+
+	// the reviews admitted since the last load started, or still uncommitted
+	private final Set<Admission> recentAdmissions = ConcurrentHashMap.newKeySet();
+
+	// admits hold the read lock while they use the entries, the entries are
+	// replaced holding the write lock
+	private final ReadWriteLock entriesLock = new ReentrantReadWriteLock();
+
+	public ReviewGuard(ReviewRepository reviewRepository,
+			@Value("${reviews.ingestion.max-per-minute:5}") int maxReviewsPerMinute) {
+		this.reviewRepository = reviewRepository;
+		this.maxReviewsPerMinute = maxReviewsPerMinute;
+	}
+
+	/**
+	 * Admits a new review. Must be called in the transaction writing the review.
+	 *
+	 * @throws TooManyRequestsException       if the user has written too many
+	 *                                        reviews in the last minute.
+	 * @throws ResourceAlreadyExistsException if the user has reviewed the movie
+	 *                                        already or the text copies a review.
+	 */
+	public void admit(int userId, int movieId, String reviewText) {
+		if (!buckets.computeIfAbsent(userId, id -> newBucket()).tryConsume(1)) {
+			throw new TooManyRequestsException("Too many reviews, please wait a minute before writing another one.");
+		}
+
+		Admission admission = new Admission(pair(userId, movieId), fingerprints(userId, movieId, reviewText));
+		Entries current = lockCurrent();
+		try {
+			if (!current.pairs.add(admission.pair)) {
+				throw new ResourceAlreadyExistsException("You have already reviewed this movie.");
+			}
+			for (int i = 0; i < admission.fingerprints.length; i++) {
+				if (!current.fingerprints.add(admission.fingerprints[i])) {
+					current.pairs.remove(admission.pair);
+					for (int j = 0; j < i; j++) {
+						current.fingerprints.remove(admission.fingerprints[j]);
+					}
+					throw new ResourceAlreadyExistsException("This review copies an existing review.");
+				}
+			}
+			recentAdmissions.add(admission);
+		} finally {
+			entriesLock.readLock().unlock();
+		}
+
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCompletion(int status) {
+					if (status == STATUS_COMMITTED) {
+						admission.committed();
+					} else {
+						release(admission);
+					}
+				}
+			});
+		} else {
+			admission.committed();
+		}
+	}
+
+	/**
+	 * Removes a deleted review, so the user can review the movie again. Applied
+	 * once the surrounding transaction has committed.
+	 */
+	public void removed(int userId, int movieId, String reviewText) {
+		long pair = pair(userId, movieId);
+		long[] fingerprints = fingerprints(userId, movieId, reviewText);
+		Runnable remove = () -> {
+			entriesLock.readLock().lock();
+			try {
+				recentAdmissions.removeIf(admission -> admission.pair == pair);
+				Entries current = entries;
+				if (current != null) {
+					current.remove(pair, fingerprints);
+				}
+			} finally {
+				entriesLock.readLock().unlock();
+			}
+		};
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					remove.run();
+				}
+			});
+		} else {
+			remove.run();
+		}
+	}
+
+	/**
+	 * Drops the entries, e.g. after reviews were deleted in bulk; the next review
+	 * loads them again.
+	 */
+	public void invalidate() {
+		entriesLock.writeLock().lock();
+		try {
+			entries = null;
+		} finally {
+			entriesLock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Drops the throttling buckets which are full again.
+	 */
+	@Scheduled(fixedDelayString = "${reviews.ingestion.eviction-interval-ms:60000}")
+	public void evictIdle() {
+		buckets.values().removeIf(bucket -> bucket.getAvailableTokens() >= maxReviewsPerMinute);
+	}
+
+	/**
+	 * Rebuilds the entries from the database.
+	 */
+	@Scheduled(fixedDelayString = "${reviews.ingestion.rebuild-interval-ms:3600000}", initialDelayString = "${reviews.ingestion.rebuild-interval-ms:3600000}")
+	@Transactional(readOnly = true)
+	public void rebuild() {
+		if (entries != null) {
+			long startTime = System.nanoTime();
+			replace(load(), startTime);
+		}
+	}
+
+	// the current entries, loaded if needed, with the read lock held
+	private Entries lockCurrent() {
+		while (true) {
+			if (entries == null) {
+				synchronized (this) {
+					if (entries == null) {
+						long startTime = System.nanoTime();
+						replace(load(), startTime);
+					}
+				}
+			}
+			entriesLock.readLock().lock();
+			Entries current = entries;
+			if (current != null) {
+				return current;
+			}
+			// invalidated in the meantime
+			entriesLock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Replaces the entries with the loaded ones, adding the reviews admitted
+	 * since the load started, or still uncommitted. The reviews committed before
+	 * are in the loaded entries and no longer tracked.
+	 */
+	private void replace(Entries loaded, long loadStartTime) {
+		entriesLock.writeLock().lock();
+		try {
+			recentAdmissions.removeIf(admission -> admission.committedBefore(loadStartTime));
+			for (Admission admission : recentAdmissions) {
+				loaded.add(admission.pair, admission.fingerprints);
+			}
+			entries = loaded;
+		} finally {
+			entriesLock.writeLock().unlock();
+		}
+	}
+
+	// removes the entries of a review which was rolled back
+	private void release(Admission admission) {
+		entriesLock.readLock().lock();
+		try {
+			if (recentAdmissions.remove(admission)) {
+				Entries current = entries;
+				if (current != null) {
+					current.remove(admission.pair, admission.fingerprints);
+				}
+			}
+		} finally {
+			entriesLock.readLock().unlock();
+		}
+	}
+
+	// must run in a transaction, the reviews are streamed
+	private Entries load() {
+		long startTime = System.nanoTime();
+		Entries loaded = new Entries();
+		try (Stream<Object[]> rows = reviewRepository.streamAllForIngestion()) {
+			rows.forEach(row -> {
+				int userId = (Integer) row[0];
+				int movieId = (Integer) row[1];
+				loaded.pairs.add(pair(userId, movieId));
+				for (long fingerprint : fingerprints(userId, movieId, (String) row[2])) {
+					loaded.fingerprints.add(fingerprint);
+				}
+			});
+		}
+		log.debug("Review guard loaded {} reviews in {} ms", loaded.pairs.size(),
+				(System.nanoTime() - startTime) / 1_000_000);
+		return loaded;
+	}
+
+	private Bucket newBucket() {
+		return Bucket.builder().addLimit(Bandwidth.classic(maxReviewsPerMinute,
+				Refill.greedy(maxReviewsPerMinute, Duration.ofMinutes(1)))).build();
+	}
+
+	private static long pair(int userId, int movieId) {
+		return ((long) userId << 32) | (movieId & 0xffffffffL);
+	}
+
+	/**
+	 * @return the fingerprints of the text posted by the user and of the text
+	 *         posted on the movie, none for short texts.
+	 */
+	static long[] fingerprints(int userId, int movieId, String reviewText) {
+		if (reviewText == null) {
+			return new long[0];
+		}
+		long hash = FNV_OFFSET_BASIS;
+		int length = 0;
+		for (int i = 0; i < reviewText.length(); i++) {
+			char c = reviewText.charAt(i);
+			if (Character.isLetterOrDigit(c)) {
+				hash = (hash ^ Character.toLowerCase(c)) * FNV_PRIME;
+				length++;
+			}
+		}
+		if (length < MIN_FINGERPRINT_LENGTH) {
+			return new long[0];
+		}
+		// the scope is mixed in last, keeping the user and the movie scopes apart
+		return new long[] { mix(hash, 'u', userId), mix(hash, 'm', movieId) };
+	}
+
+	private static long mix(long hash, char scope, int id) {
+		hash = (hash ^ scope) * FNV_PRIME;
+		for (int shift = 0; shift < 32; shift += 8) {
+			hash = (hash ^ ((id >>> shift) & 0xff)) * FNV_PRIME;
+		}
+		return hash;
+	}
+
+	private static final class Entries {
+		private final Set<Long> pairs = ConcurrentHashMap.newKeySet();
+		private final Set<Long> fingerprints = ConcurrentHashMap.newKeySet();
+
+		private void add(long pair, long[] reviewFingerprints) {
+			pairs.add(pair);
+			for (long fingerprint : reviewFingerprints) {
+				fingerprints.add(fingerprint);
+			}
+		}
+
+		private void remove(long pair, long[] reviewFingerprints) {
+			pairs.remove(pair);
+			for (long fingerprint : reviewFingerprints) {
+				fingerprints.remove(fingerprint);
+			}
+		}
+	}
+
+	/**
+	 * An admitted review. Its entries are added to reloaded entries until it has
+	 * committed before a load started.
+	 */
+	private static final class Admission {
+		private final long pair;
+		private final long[] fingerprints;
+		private volatile boolean committed;
+		private volatile long committedAt;
+
+		private Admission(long pair, long[] fingerprints) {
+			this.pair = pair;
+			this.fingerprints = fingerprints;
+		}
+
+		private void committed() {
+			committedAt = System.nanoTime();
+			committed = true;
+		}
+
+		private boolean committedBefore(long nanoTime) {
+			return committed && committedAt - nanoTime < 0;
+		}
+	}
+}
@@ -0,0 +1,85 @@
+package com.endava.example.cache;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.endava.example.entity.User;
+import com.endava.example.repository.UserRepository;
+
+/**
+ * UserDirectory serves the users read by the checkout without a query per
+ * purchase. A user is loaded on the first lookup and held until the user
+ * service reports a change to it once it has committed, or until it has not
+ * been looked up for longer than the idle timeout, which bounds the memory to
+ * the active users.
+ *
+ * The users are shared by all requests and must not be modified.
+ */
+@Component
+public class UserDirectory {
+
+	private final UserRepository userRepository;
+	private final long idleTimeoutMillis;
+
+	private final Map<Integer, Entry> users = new ConcurrentHashMap<>();
+
+	public UserDirectory(UserRepository userRepository,
+			@Value("${checkout.users.idle-timeout-ms:1800000}") long idleTimeoutMillis) {
+		this.userRepository = userRepository;
+		this.idleTimeoutMillis = idleTimeoutMillis;
+	}
+
+	public Optional<User> findById(int userId) {
+		Entry entry = users.get(userId);
+		if (entry == null) {
+			Optional<User> user = userRepository.findById(userId);
+			user.ifPresent(found -> users.put(userId, new Entry(found)));
+			return user;
+		}
+		entry.lastAccess = System.currentTimeMillis();
+		return Optional.of(entry.user);
+	}
+
+	/**
+	 * Drops the user once the surrounding transaction has committed, or right
+	 * away outside of a transaction.
+	 */
+	public void evict(int userId) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					users.remove(userId);
+				}
+			});
+		} else {
+			users.remove(userId);
+		}
+	}
+
+	/**
+	 * Drops the users not looked up for longer than the idle timeout.
+	 */
+	@Scheduled(fixedDelayString = "${checkout.users.eviction-interval-ms:60000}")
+	public void evictIdle() {
+		long cutoff = System.currentTimeMillis() - idleTimeoutMillis;
+		users.values().removeIf(entry -> entry.lastAccess < cutoff);
+	}
+
+	private static final class Entry {
+
+		private final User user;
+		private volatile long lastAccess = System.currentTimeMillis();
+
+		private Entry(User user) {
+			this.user = user;
+		}
+	}
+}
@@ -0,0 +1,217 @@
+package com.endava.example.cache;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.endava.example.dto.MovieStatusDTO;
+import com.endava.example.repository.CartRepository;
+import com.endava.example.repository.FavoriteRepository;
+import com.endava.example.repository.PurchaseDetailRepository;
+
+/**
+ * UserEntitlements answers whether a user has purchased a movie, has it in the
+ * cart or has it in the favorites without a query per check. For every active
+ * user it holds three bitmaps indexed by movie id, loaded with one query each
+ * on the user's first check. The cart, favorite and purchase services report
+ * their writes and the bitmaps are updated once the write has committed, so
+ * they stay in line with the database for the rest of the session.
+ *
+ * Users without a check for longer than the idle timeout are dropped and loaded
+ * again on their next check, which bounds the memory to the active users and
+ * corrects any drift, e.g. from rows changed outside of the services.
+ */
+@Component
+public class UserEntitlements {
+
+	private final PurchaseDetailRepository purchaseDetailRepository;
+	private final CartRepository cartRepository;
+	private final FavoriteRepository favoriteRepository;
+	private final long idleTimeoutMillis;
+
+	private final Map<Integer, Entitlements> users = new ConcurrentHashMap<>();
+
+	public UserEntitlements(PurchaseDetailRepository purchaseDetailRepository, CartRepository cartRepository,
+			FavoriteRepository favoriteRepository,
+			@Value("${entitlements.idle-timeout-ms:1800000}") long idleTimeoutMillis) {
+		this.purchaseDetailRepository = purchaseDetailRepository;
+		this.cartRepository = cartRepository;
+		this.favoriteRepository = favoriteRepository;
+		this.idleTimeoutMillis = idleTimeoutMillis;
+	}
+
+	public boolean isPurchased(int userId, int movieId) {
+		return get(userId).status(movieId).isPurchased();
+	}
+
+	public boolean isInCart(int userId, int movieId) {
+		return get(userId).status(movieId).isInCart();
+	}
+
+	public boolean isFavorite(int userId, int movieId) {
+		return get(userId).status(movieId).isFavorite();
+	}
+
+	/**
+	 * @return the flags of each of the movies, in the order of the ids.
+	 */
+	public List<MovieStatusDTO> getStatuses(int userId, Collection<Integer> movieIds) {
+		Entitlements entitlements = get(userId);
+		List<MovieStatusDTO> statuses = new ArrayList<>(movieIds.size());
+		for (int movieId : movieIds) {
+			statuses.add(entitlements.status(movieId));
+		}
+		return statuses;
+	}
+
+	/**
+	 * @return the flags of every movie the user has purchased, has in the cart or
+	 *         in the favorites, in the order of the ids.
+	 */
+	public List<MovieStatusDTO> getStatuses(int userId) {
+		return get(userId).statuses();
+	}
+
+	/**
+	 * Marks the movies as owned and takes them out of the cart, as the checkout
+	 * does.
+	 */
+	public void purchased(int userId, Collection<Integer> movieIds) {
+		List<Integer> purchased = List.copyOf(movieIds);
+		afterCommit(userId, entitlements -> purchased.forEach(movieId -> {
+			entitlements.owned.set(movieId);
+			entitlements.inCart.clear(movieId);
+		}));
+	}
+
+	public void addedToCart(int userId, Collection<Integer> movieIds) {
+		List<Integer> added = List.copyOf(movieIds);
+		afterCommit(userId, entitlements -> added.forEach(entitlements.inCart::set));
+	}
+
+	public void removedFromCart(int userId, Collection<Integer> movieIds) {
+		List<Integer> removed = List.copyOf(movieIds);
+		afterCommit(userId, entitlements -> removed.forEach(entitlements.inCart::clear));
+	}
+
+	public void cartCleared(int userId) {
+		afterCommit(userId, entitlements -> entitlements.inCart.clear());
+	}
+
+	public void addedToFavorites(int userId, int movieId) {
+		afterCommit(userId, entitlements -> entitlements.favorite.set(movieId));
+	}
+
+	public void removedFromFavorites(int userId, int movieId) {
+		afterCommit(userId, entitlements -> entitlements.favorite.clear(movieId));
+	}
+
+	/**
+	 * Drops the users without a check for longer than the idle timeout.
+	 */
+	@Scheduled(fixedDelayString = "${entitlements.eviction-interval-ms:60000}")
+	public void evictIdle() {
+		long cutoff = System.currentTimeMillis() - idleTimeoutMillis;
+		users.values().removeIf(entitlements -> entitlements.lastAccess < cutoff);
+	}
+
+	private Entitlements get(int userId) {
+		Entitlements entitlements = users.computeIfAbsent(userId, id -> new Entitlements());
+		entitlements.load(userId);
+		return entitlements;
+	}
+
+	/**
+	 * Applies the update to the user's bitmaps once the surrounding transaction
+	 * has committed, or right away outside of a transaction. Users not held are
+	 * skipped, their first check loads the change from the database.
+	 */
+	private void afterCommit(int userId, Consumer<Entitlements> update) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					apply(userId, update);
+				}
+			});
+		} else {
+			apply(userId, update);
+		}
+	}
+
+	private void apply(int userId, Consumer<Entitlements> update) {
+		Entitlements entitlements = users.get(userId);
+		if (entitlements != null) {
+			entitlements.update(update);
+		}
+	}
+
+	private static BitSet bits(List<Integer> movieIds) {
+		BitSet bits = new BitSet();
+		movieIds.forEach(bits::set);
+		return bits;
+	}
+
+	/**
+	 * The bitmaps of one user. They are loaded and changed under the object's
+	 * lock, so an update committed while the user is being loaded waits for the
+	 * load and is applied on top of it; an update before the load is skipped, as
+	 * the load reads it from the database.
+	 */
+	private final class Entitlements {
+
+		private BitSet owned;
+		private BitSet inCart;
+		private BitSet favorite;
+		private volatile long lastAccess = System.currentTimeMillis();
+
+		private synchronized void load(int userId) {
+			lastAccess = System.currentTimeMillis();
+			if (owned == null) {
+				BitSet loadedCart = bits(cartRepository.findMovieIdsByUserId(userId));
+				BitSet loadedFavorites = bits(favoriteRepository.findMovieIdsByUserId(userId));
+				// set last, it marks the user as loaded
+				BitSet loadedOwned = bits(purchaseDetailRepository.findPurchasedMovieIdsByUserId(userId));
+				inCart = loadedCart;
+				favorite = loadedFavorites;
+				owned = loadedOwned;
+			}
+		}
+
+		private synchronized void update(Consumer<Entitlements> update) {
+			if (owned != null) {
+				update.accept(this);
+			}
+		}
+
+		private synchronized MovieStatusDTO status(int movieId) {
+			MovieStatusDTO status = new MovieStatusDTO();
+			status.setMovieId(movieId);
+			if (movieId >= 0) {
+				status.setPurchased(owned.get(movieId));
+				status.setInCart(inCart.get(movieId));
+				status.setFavorite(favorite.get(movieId));
+			}
+			return status;
+		}
+
+		private synchronized List<MovieStatusDTO> statuses() {
+			BitSet movies = (BitSet) owned.clone();
+			movies.or(inCart);
+			movies.or(favorite);
+			List<MovieStatusDTO> statuses = new ArrayList<>(movies.cardinality());
+			movies.stream().forEach(movieId -> statuses.add(status(movieId)));
+			return statuses;
+		}
+	}
+}
@@ -0,0 +1,56 @@
+package com.endava.example.config;
+
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Removes the movies that are in the cart of a user more than once, keeping
+ * the row added first. The schema update cannot add the unique constraint on
+ * the user and movie of the carts while such rows exist; it logs the failure
+ * and starts without it, and the bulk add to the cart (ON CONFLICT) then fails.
+ *
+ * Runs before the entity manager factory is created, so the schema update adds
+ * the constraint on the same startup. Once the constraint exists there is
+ * nothing to remove, and on a new database the table does not exist yet.
+ */
+@Component
+@Slf4j
+public class CartDeduplication {
+
+	private static final String DELETE_DUPLICATES = "DELETE FROM carts c USING carts d "
+			+ "WHERE c.user_id = d.user_id AND c.movie_id = d.movie_id AND c.cart_id > d.cart_id";
+
+	private final JdbcTemplate jdbcTemplate;
+
+	public CartDeduplication(JdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	@PostConstruct
+	public void deduplicate() {
+		Boolean cartsExist = jdbcTemplate.queryForObject("SELECT to_regclass('carts') IS NOT NULL", Boolean.class);
+		if (!Boolean.TRUE.equals(cartsExist)) {
+			return;
+		}
+		int rows = jdbcTemplate.update(DELETE_DUPLICATES);
+		if (rows > 0) {
+			log.info("Removed {} movies which were in a cart more than once", rows);
+		}
+	}
+
+	/**
+	 * Makes the entity manager factory, and with it the schema update, wait for
+	 * the deduplication.
+	 */
+	@Component
+	static class EntityManagerFactoryDependsOnCartDeduplication extends EntityManagerFactoryDependsOnPostProcessor {
+
+		EntityManagerFactoryDependsOnCartDeduplication() {
+			super(CartDeduplication.class);
+		}
+	}
+}
@@ -0,0 +1,38 @@
+package com.endava.example.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Keeps an EntityManager open for the whole request (open in view) like Spring
+ * Boot does by default, which is turned off with spring.jpa.open-in-view=false
+ * to exclude the checkout.
+ *
+ * The EntityManager of a request holds on to its database connection once it
+ * has used one, until the request ends. The checkout waits for the payment
+ * gateway between its transactions, so it runs without one and each of its
+ * transactions releases the connection when it ends.
+ */
+@Configuration
+public class OpenEntityManagerInViewConfig {
+
+	private static final String CHECKOUT_PATH = "/api/purchases";
+
+	@Bean
+	OpenEntityManagerInViewInterceptor openEntityManagerInViewInterceptor() {
+		return new OpenEntityManagerInViewInterceptor();
+	}
+
+	@Bean
+	WebMvcConfigurer openEntityManagerInViewConfigurer(OpenEntityManagerInViewInterceptor interceptor) {
+		return new WebMvcConfigurer() {
+			@Override
+			public void addInterceptors(InterceptorRegistry registry) {
+				registry.addWebRequestInterceptor(interceptor).excludePathPatterns(CHECKOUT_PATH);
+			}
+		};
+	}
+}
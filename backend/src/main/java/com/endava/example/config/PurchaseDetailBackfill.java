@@ -0,0 +1,41 @@
+package com.endava.example.config;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.endava.example.repository.PurchaseDetailRepository;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Copies the unit price, title and genre of the movies onto the purchase
+ * details written before the checkout snapshotted them. The schema update adds
+ * the columns empty, so the details are backfilled with the current movie
+ * values, which are the ones the revenue figures used so far.
+ *
+ * Runs once the schema is updated and before the scheduled jobs and the web
+ * server start, so the rollups and the dashboard never read an empty detail.
+ * Backfilled details are skipped afterwards, so later startups update nothing.
+ */
+@Component
+@Slf4j
+public class PurchaseDetailBackfill {
+
+	private final PurchaseDetailRepository purchaseDetailRepository;
+	private final TransactionTemplate transactionTemplate;
+
+	public PurchaseDetailBackfill(PurchaseDetailRepository purchaseDetailRepository,
+			TransactionTemplate transactionTemplate) {
+		this.purchaseDetailRepository = purchaseDetailRepository;
+		this.transactionTemplate = transactionTemplate;
+	}
+
+	@PostConstruct
+	public void backfill() {
+		Integer rows = transactionTemplate.execute(status -> purchaseDetailRepository.backfillSnapshots());
+		if (rows != null && rows > 0) {
+			log.info("Backfilled the price, title and genre of {} purchase details", rows);
+		}
+	}
+}
@@ -0,0 +1,14 @@
+package com.endava.example.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables the @Scheduled background jobs (analytics reconciliation and
+ * refreshes). They share a pool of spring.task.scheduling.pool.size threads.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+}
@@ -5,6 +5,7 @@ import java.util.List;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -18,6 +19,7 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+import com.endava.example.constants.Constants;
 import com.endava.example.utils.JwtAuthenticationFilter;
 
 @Configuration
@@ -39,6 +41,10 @@ public class SecurityConfig {
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .authorizeHttpRequests(auth -> auth
                 .requestMatchers("/api/users/auth/**", "/notifications").permitAll() // Allow login, register, OTP APIs
+                .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll() // Served on the local management port
+                .requestMatchers("/api/admin/exports/**").hasRole(Constants.ROLE_ADMIN) // Exports contain every user's data
+                .requestMatchers("/api/reviews/reported/**", "/notifications/admin").hasRole(Constants.ROLE_ADMIN) // Moderation queue
+                .requestMatchers(HttpMethod.POST, "/api/movies/import").hasRole(Constants.ROLE_ADMIN) // Bulk writes to the catalog
                 .anyRequest().authenticated()) // Secure all other APIs
             .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
 
@@ -62,7 +68,7 @@ public class SecurityConfig {
         // Allow frontend domains and wildcard patterns
         corsConfig.setAllowedOriginPatterns(List.of(frontendURL.split(","))); // Supports multiple origins
         corsConfig.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS"));
-        corsConfig.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "Accept"));
+        corsConfig.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "Accept", "Idempotency-Key"));
         corsConfig.setAllowCredentials(true);
         corsConfig.setMaxAge(3600L);
 
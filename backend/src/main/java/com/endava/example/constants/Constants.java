@@ -31,6 +31,37 @@ public class Constants {
     public static final String LOGIN_INVALID_CREDENTIALS = "Invalid email or password.";
     public static final String USER_UPDATE_DTO_REQUIRED = "UserUpdateDto cannot be null.";
     public static final String EMAIL_UPDATE_REQUIRED = "Email cannot be null or empty.";
+
+    // Rows fetched per round trip while streaming exports
+    public static final String EXPORT_FETCH_SIZE = "1000";
+
+    // Reviews rate a movie with 1 to MAX_RATING stars
+    public static final int MAX_RATING = 5;
+
+    // Most movies whose status can be requested at once
+    public static final int MAX_MOVIE_STATUS_IDS = 500;
+
+    // Most reviews returned in one page of a movie's review feed
+    public static final int MAX_REVIEW_PAGE_SIZE = 50;
+
+    // Most reviews an admin can approve or delete at once
+    public static final int MAX_MODERATION_REVIEW_IDS = 500;
+
+    // Most movies recommended to a user at once
+    public static final int RECOMMENDATION_LIMIT = 12;
+
+    // Most movies in the trending ranking
+    public static final int MAX_TRENDING_MOVIES = 20;
+
+    // Longest Idempotency-Key accepted with a purchase, and how long it is kept
+    public static final int MAX_IDEMPOTENCY_KEY_LENGTH = 100;
+    public static final int IDEMPOTENCY_KEY_TTL_HOURS = 24;
+
+    // Purchase statuses, and how long a purchase may stay pending before it is voided
+    public static final String PURCHASE_PENDING = "PENDING";
+    public static final String PURCHASE_COMPLETED = "COMPLETED";
+    public static final String PURCHASE_VOIDED = "VOIDED";
+    public static final int PENDING_PURCHASE_EXPIRY_MINUTES = 10;
    
 
     private Constants() {
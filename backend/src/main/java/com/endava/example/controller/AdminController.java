@@ -1,8 +1,10 @@
 
 package com.endava.example.controller;
 
+import java.time.LocalDate;
 import java.util.Map;
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -41,14 +43,22 @@ public class AdminController {
 	}
 
 	/**
-	 * fetches chart data based on specified chart type
+	 * fetches chart data based on specified chart type, optionally limited to a
+	 * date range
 	 * 
-	 * @param type the type of the chart data to fetch (bar,line)
+	 * @param type     the type of the chart data to fetch (bar,line)
+	 * @param from     first day of the range (yyyy-MM-dd, inclusive), optional
+	 * @param to       last day of the range (yyyy-MM-dd, inclusive), optional
+	 * @param interval bucket size of time series charts (day, week, month),
+	 *                 optional
 	 * @return ResponseEntity containing the chart data or error response
 	 */
 	@GetMapping("/chart")
-	public ResponseEntity<GenericResponse<Map<String, Object>>> getChartData(@RequestParam String type) {
-		return ResponseEntity
-				.ok(new GenericResponse<>(true, "Chart Fetched successfully", adminService.getChartData(type)));
+	public ResponseEntity<GenericResponse<Map<String, Object>>> getChartData(@RequestParam String type,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+			@RequestParam(required = false) String interval) {
+		return ResponseEntity.ok(new GenericResponse<>(true, "Chart Fetched successfully",
+				adminService.getChartData(type, from, to, interval)));
 	}
 }
\ No newline at end of file
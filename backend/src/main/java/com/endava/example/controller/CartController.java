@@ -44,6 +44,22 @@ public class CartController {
 		return ResponseEntity.ok(new GenericResponse<>(true, "Item added to cart", addedItem));
 	}
 
+	/**
+	 * Adds multiple movies to the user's cart at once. Movies already in the cart
+	 * or unavailable are skipped.
+	 *
+	 * @param userId   the userId whose cart the movies will be added to.
+	 * @param movieIds the list of movieIds to be added.
+	 * @return ResponseEntity containing the updated cart wrapped in
+	 *         GenericResponse.
+	 */
+	@PostMapping("/user/{userId}/movies")
+	public ResponseEntity<GenericResponse<List<CartDTO>>> addMoviesToCart(@PathVariable int userId,
+			@RequestBody List<Integer> movieIds) {
+		List<CartDTO> cartItems = cartService.addMoviesToCartOfUser(userId, movieIds);
+		return ResponseEntity.ok(new GenericResponse<>(true, "Movies added to cart", cartItems));
+	}
+
 	/**
 	 * Retrieves all the items in the user's cart.
 	 *
@@ -62,13 +78,14 @@ public class CartController {
 	 *
 	 * @param userId  the userId from whose cart the movie will be removed.
 	 * @param movieId the movieId to be removed from the cart.
-	 * @return ResponseEntity with a success message wrapped in GenericResponse.
+	 * @return ResponseEntity containing the updated cart wrapped in
+	 *         GenericResponse.
 	 */
 	@DeleteMapping("/user/{userId}/movie/{movieId}")
-	public ResponseEntity<GenericResponse<Void>> removeFromCartOfUser(@PathVariable int userId,
+	public ResponseEntity<GenericResponse<List<CartDTO>>> removeFromCartOfUser(@PathVariable int userId,
 			@PathVariable int movieId) {
-		cartService.removeFromCartOfUser(userId, movieId);
-		return ResponseEntity.ok(new GenericResponse<>(true, "Movie removed from cart", null));
+		List<CartDTO> cartItems = cartService.removeFromCartOfUser(userId, movieId);
+		return ResponseEntity.ok(new GenericResponse<>(true, "Movie removed from cart", cartItems));
 	}
 
 	/**
@@ -76,13 +93,14 @@ public class CartController {
 	 *
 	 * @param userId   the userId whose cart items will be removed.
 	 * @param movieIds the list of movieIds to be removed.
-	 * @return ResponseEntity with a success message wrapped in GenericResponse.
+	 * @return ResponseEntity containing the updated cart wrapped in
+	 *         GenericResponse.
 	 */
 	@DeleteMapping("/user/remove-multiple-cartItems")
-	public ResponseEntity<GenericResponse<Void>> removeMultipleMovies(@RequestParam int userId,
+	public ResponseEntity<GenericResponse<List<CartDTO>>> removeMultipleMovies(@RequestParam int userId,
 			@RequestBody List<Integer> movieIds) {
-		cartService.removeMultipleMoviesFromCartOfUser(userId, movieIds);
-		return ResponseEntity.ok(new GenericResponse<>(true, "Selected movies removed from cart", null));
+		List<CartDTO> cartItems = cartService.removeMultipleMoviesFromCartOfUser(userId, movieIds);
+		return ResponseEntity.ok(new GenericResponse<>(true, "Selected movies removed from cart", cartItems));
 	}
 
 	/**
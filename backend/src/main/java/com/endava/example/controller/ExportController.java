@@ -0,0 +1,82 @@
+package com.endava.example.controller;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.endava.example.service.ExportService;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * ExportController provides endpoints for admins to download whole tables
+ * (purchases, purchase details, users, reviews) as CSV files. The rows are
+ * written to the response while they are read, so exports of any size use
+ * constant memory.
+ */
+@RestController
+@RequestMapping("/api/admin/exports")
+public class ExportController {
+
+	// Injecting required service
+	private ExportService exportService;
+
+	public ExportController(ExportService exportService) {
+		this.exportService = exportService;
+	}
+
+	/**
+	 * downloads all purchases as CSV
+	 * 
+	 * @param response the response the CSV is written to
+	 */
+	@GetMapping("/purchases")
+	public void exportPurchases(HttpServletResponse response) throws IOException {
+		exportService.exportPurchases(csvAttachment(response, "purchases"));
+	}
+
+	/**
+	 * downloads all purchase details as CSV
+	 * 
+	 * @param response the response the CSV is written to
+	 */
+	@GetMapping("/purchase-details")
+	public void exportPurchaseDetails(HttpServletResponse response) throws IOException {
+		exportService.exportPurchaseDetails(csvAttachment(response, "purchase-details"));
+	}
+
+	/**
+	 * downloads all users as CSV
+	 * 
+	 * @param response the response the CSV is written to
+	 */
+	@GetMapping("/users")
+	public void exportUsers(HttpServletResponse response) throws IOException {
+		exportService.exportUsers(csvAttachment(response, "users"));
+	}
+
+	/**
+	 * downloads all reviews as CSV
+	 * 
+	 * @param response the response the CSV is written to
+	 */
+	@GetMapping("/reviews")
+	public void exportReviews(HttpServletResponse response) throws IOException {
+		exportService.exportReviews(csvAttachment(response, "reviews"));
+	}
+
+	private Writer csvAttachment(HttpServletResponse response, String name) throws IOException {
+		response.setContentType("text/csv");
+		response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+		response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+				ContentDisposition.attachment().filename(name + "-" + LocalDate.now() + ".csv").build().toString());
+		return response.getWriter();
+	}
+}
@@ -1,7 +1,10 @@
 package com.endava.example.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -11,8 +14,11 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
 
 import com.endava.example.dto.MovieDTO;
+import com.endava.example.dto.MovieImportResultDTO;
+import com.endava.example.service.MovieImportService;
 import com.endava.example.service.MovieService;
 import com.endava.example.utils.GenericResponse;
 
@@ -26,9 +32,12 @@ public class MovieController {
 
 	private MovieService movieService;
 
-	public MovieController(MovieService movieService) {
+	private MovieImportService movieImportService;
+
+	public MovieController(MovieService movieService, MovieImportService movieImportService) {
 		super();
 		this.movieService = movieService;
+		this.movieImportService = movieImportService;
 	}
 
 	/**
@@ -43,6 +52,25 @@ public class MovieController {
 		return ResponseEntity.status(201).body(new GenericResponse<>(true, "Movie added successfully", createdMovie));
 	}
 
+	/**
+	 * Imports a catalog of movies from a CSV file (with a header row naming the
+	 * columns) or a JSON lines file (one movie per line).
+	 *
+	 * @param file   the file to import.
+	 * @param format "csv" or "jsonl", by default taken from the file extension.
+	 * @return ResponseEntity containing GenericResponse with the number of movies
+	 *         imported and skipped.
+	 */
+	@PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+	public ResponseEntity<GenericResponse<MovieImportResultDTO>> importMovies(@RequestParam MultipartFile file,
+			@RequestParam(required = false) String format) throws IOException {
+		try (InputStream input = file.getInputStream()) {
+			MovieImportResultDTO result = movieImportService.importMovies(input,
+					format != null ? format : importFormatOf(file.getOriginalFilename()));
+			return ResponseEntity.ok(new GenericResponse<>(true, "Movies imported successfully", result));
+		}
+	}
+
 	/**
 	 * Updates an existing movie's details.
 	 *
@@ -82,6 +110,18 @@ public class MovieController {
 		return ResponseEntity.ok(new GenericResponse<>(true, "Movie retrieved successfully", movieDTO));
 	}
 
+	/**
+	 * Retrieves the movies most often purchased together with a movie.
+	 *
+	 * @param movieId the ID of the movie.
+	 * @return ResponseEntity containing GenericResponse with a list of movies.
+	 */
+	@GetMapping("/{movieId}/also-bought")
+	public ResponseEntity<GenericResponse<List<MovieDTO>>> getAlsoBoughtMovies(@PathVariable int movieId) {
+		List<MovieDTO> alsoBoughtMovies = movieService.getAlsoBoughtMovies(movieId);
+		return ResponseEntity.ok(new GenericResponse<>(true, "Movies retrieved successfully", alsoBoughtMovies));
+	}
+
 	/**
 	 * Retrieves all movies from the database.
 	 *
@@ -107,15 +147,42 @@ public class MovieController {
 	}
 
 	/**
-	 * Retrieves movies based on genre.
+	 * Retrieves movies recommended to a user, filled up with movies of the genre,
+	 * or all movies of the genre without a user.
 	 *
-	 * @param genre the genre to filter movies by (optional).
+	 * @param userId the user to recommend movies to (optional).
+	 * @param genre  the genre to filter movies by (optional).
 	 * @return ResponseEntity containing GenericResponse with a list of movies.
 	 */
 	@GetMapping("/recommended")
-	public ResponseEntity<GenericResponse<List<MovieDTO>>> getMoviesByGenre(
-			@RequestParam(required = false) String genre) {
-		List<MovieDTO> moviesByGenre = movieService.getMoviesByGenre(genre);
-		return ResponseEntity.ok(new GenericResponse<>(true, "Movies retrieved successfully", moviesByGenre));
+	public ResponseEntity<GenericResponse<List<MovieDTO>>> getRecommendedMovies(
+			@RequestParam(required = false) Integer userId, @RequestParam(required = false) String genre) {
+		List<MovieDTO> recommendedMovies = movieService.getRecommendedMovies(userId, genre);
+		return ResponseEntity.ok(new GenericResponse<>(true, "Movies retrieved successfully", recommendedMovies));
+	}
+
+	/**
+	 * Retrieves the movies users are most active with lately.
+	 *
+	 * @param limit the most movies returned, 10 by default.
+	 * @return ResponseEntity containing GenericResponse with a list of movies.
+	 */
+	@GetMapping("/trending")
+	public ResponseEntity<GenericResponse<List<MovieDTO>>> getTrendingMovies(
+			@RequestParam(defaultValue = "10") int limit) {
+		List<MovieDTO> trendingMovies = movieService.getTrendingMovies(limit);
+		return ResponseEntity.ok(new GenericResponse<>(true, "Movies retrieved successfully", trendingMovies));
+	}
+
+	// csv for .csv files, jsonl for .jsonl and .ndjson files
+	private static String importFormatOf(String fileName) {
+		String name = fileName == null ? "" : fileName.toLowerCase();
+		if (name.endsWith(".csv")) {
+			return "csv";
+		}
+		if (name.endsWith(".jsonl") || name.endsWith(".ndjson")) {
+			return "jsonl";
+		}
+		return name.substring(name.lastIndexOf('.') + 1);
 	}
 }
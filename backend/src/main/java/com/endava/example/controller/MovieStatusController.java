@@ -0,0 +1,46 @@
+package com.endava.example.controller;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.endava.example.dto.MovieStatusDTO;
+import com.endava.example.service.MovieStatusService;
+import com.endava.example.utils.GenericResponse;
+
+/**
+ * MovieStatusController handles the API endpoint returning, for a list of
+ * movies, whether the user has purchased them, has them in the cart and has
+ * them in the favorites.
+ */
+@RestController
+@RequestMapping("/api/users/{userId}/movie-status")
+public class MovieStatusController {
+
+	// Injecting the required dependencies
+	private final MovieStatusService movieStatusService;
+
+	public MovieStatusController(MovieStatusService movieStatusService) {
+		this.movieStatusService = movieStatusService;
+	}
+
+	/**
+	 * Gets the purchased, in cart and favorite flags of the movies for the user.
+	 *
+	 * @param userId   the ID of the user.
+	 * @param movieIds the IDs of the movies, comma separated.
+	 * @return ResponseEntity with the list of MovieStatusDTO wrapped in
+	 *         GenericResponse.
+	 */
+	@GetMapping
+	public ResponseEntity<GenericResponse<List<MovieStatusDTO>>> getMovieStatuses(@PathVariable int userId,
+			@RequestParam List<Integer> movieIds) {
+		List<MovieStatusDTO> statuses = movieStatusService.getMovieStatuses(userId, movieIds);
+		return ResponseEntity.ok(new GenericResponse<>(true, "Movie status fetched successfully", statuses));
+	}
+}
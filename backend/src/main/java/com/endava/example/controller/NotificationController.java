@@ -7,12 +7,17 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.endava.example.utils.ApplicationMetrics;
+
 /**
  * NotificationController provides real-time communication with clients using
  * Server-Sent Events(SSE). This allows the server to push updates (such as
  * notifications) to clients over a single HTTP connection. The class manages
  * the list of connected clients and allows notifications to be sent to all
  * connected clients.
+ * 
+ * Admins subscribe to a separate stream for moderation events, e.g. a review
+ * being reported, which only admins may receive.
  */
 @RestController
 public class NotificationController {
@@ -21,6 +26,14 @@ public class NotificationController {
 	// The CopyOnWriteArrayList is thread-safe.
 	private final List<SseEmitter> clients = new CopyOnWriteArrayList<>();
 
+	// admins connected to the moderation events
+	private final List<SseEmitter> admins = new CopyOnWriteArrayList<>();
+
+	public NotificationController(ApplicationMetrics applicationMetrics) {
+		applicationMetrics.registerGauge("gxmovies.sse.subscribers", "Connected SSE notification clients", clients,
+				List::size);
+	}
+
 	/**
 	 * EndPoint that clients use to subscribe to notifications. The client will
 	 * receive events in the form of SSE from the server.
@@ -29,18 +42,33 @@ public class NotificationController {
 	 */
 	@GetMapping(value = "/notifications", produces = "text/event-stream")
 	public SseEmitter subscribeToNotifications() {
+		return subscribe(clients);
+	}
+
+	/**
+	 * EndPoint that admins use to subscribe to moderation events. Restricted to
+	 * admins by the security configuration.
+	 *
+	 * @return An SseEmitter object that represents the event stream for the admin.
+	 */
+	@GetMapping(value = "/notifications/admin", produces = "text/event-stream")
+	public SseEmitter subscribeToAdminNotifications() {
+		return subscribe(admins);
+	}
+
+	private SseEmitter subscribe(List<SseEmitter> subscribers) {
 		// Create a new emitter with a long timeout (5 hours)
 		SseEmitter emitter = new SseEmitter(5 * 60 * 60 * 1000L); // 5 hours in milliseconds
 		// Add the emitter to the list of connected clients
-		clients.add(emitter);
+		subscribers.add(emitter);
 
 		// Clean up when the emitter completes the connection
-		emitter.onCompletion(() -> clients.remove(emitter)); // Remove the client from the list when the connection is
-																// completed.
+		emitter.onCompletion(() -> subscribers.remove(emitter)); // Remove the client from the list when the
+																	// connection is completed.
 
 		// Clean up when the emitter times out (due to inactivity)
 		emitter.onTimeout(() -> {
-			clients.remove(emitter); // Remove client if timeout occurs
+			subscribers.remove(emitter); // Remove client if timeout occurs
 			emitter.complete(); // Complete the emitter to indicate end of stream
 		});
 
@@ -67,4 +95,20 @@ public class NotificationController {
 			}
 		}
 	}
+
+	/**
+	 * Sends a named event to all connected admins.
+	 *
+	 * @param name The event name, e.g. "review-reported".
+	 * @param data The event data, sent as JSON.
+	 */
+	public void sendEventToAdmins(String name, Object data) {
+		for (SseEmitter admin : admins) {
+			try {
+				admin.send(SseEmitter.event().name(name).data(data));
+			} catch (Exception e) {
+				admins.remove(admin);
+			}
+		}
+	}
 }
@@ -9,6 +9,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -38,15 +39,19 @@ public class PurchaseController {
 
 	/**
 	 * Creates a new Purchase in the database. This method takes a
-	 * PurchaseRequestDTO and returns the PurchaseDTO.
+	 * PurchaseRequestDTO and returns the PurchaseDTO. A request repeated with the
+	 * same Idempotency-Key returns the purchase created by the first one.
 	 * 
-	 * @param dto purchase request details (userId, totalPrice, payment info).
+	 * @param dto            purchase request details (userId, totalPrice, payment
+	 *                       info).
+	 * @param idempotencyKey optional key identifying the request, e.g. a UUID.
 	 * @return ResponseEntity containing the created PurchaseDTO wrapped in
 	 *         GenericResponse.
 	 */
 	@PostMapping
-	public ResponseEntity<GenericResponse<PurchaseDTO>> createPurchase(@RequestBody PurchaseRequestDTO dto) {
-		PurchaseDTO createdPurchase = purchaseService.createPurchase(dto);
+	public ResponseEntity<GenericResponse<PurchaseDTO>> createPurchase(@RequestBody PurchaseRequestDTO dto,
+			@RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+		PurchaseDTO createdPurchase = purchaseService.createPurchase(dto, idempotencyKey);
 		return ResponseEntity.ok(new GenericResponse<>(true, "Purchase created successfully", createdPurchase));
 	}
 
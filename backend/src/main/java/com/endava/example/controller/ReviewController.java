@@ -12,9 +12,12 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.endava.example.dto.ReportedReviewPageDTO;
 import com.endava.example.dto.ReviewDTO;
+import com.endava.example.dto.ReviewPageDTO;
 import com.endava.example.service.ReviewService;
 import com.endava.example.utils.GenericResponse;
 
@@ -47,14 +50,17 @@ public class ReviewController {
     }
 
     /**
-     * Retrieves all reviews for a specific movie.
+     * Retrieves one page of the reviews of a specific movie, newest first.
      * 
      * @param movieId the ID of the movie whose reviews are being fetched.
-     * @return ResponseEntity containing a list of ReviewDTO for the specified movie.
+     * @param cursor  the nextCursor of the previous page, omitted for the first page.
+     * @param size    the number of reviews per page.
+     * @return ResponseEntity containing the page of reviews, empty when the movie has none.
      */
     @GetMapping("/movie/{movieId}")
-    public ResponseEntity<GenericResponse<List<ReviewDTO>>> getAllReviewsOfMovie(@PathVariable int movieId) {
-        List<ReviewDTO> reviews = reviewService.getAllReviewsOfMovie(movieId);
+    public ResponseEntity<GenericResponse<ReviewPageDTO>> getReviewsOfMovie(@PathVariable int movieId,
+            @RequestParam(required = false) Integer cursor, @RequestParam(defaultValue = "10") int size) {
+        ReviewPageDTO reviews = reviewService.getReviewsOfMovie(movieId, cursor, size);
         return ResponseEntity.ok(new GenericResponse<>(true, "Reviews fetched successfully", reviews));
     }
 
@@ -71,25 +77,56 @@ public class ReviewController {
     }
 
     /**
-     * Retrieves all reviews that have been reported for inappropriate content.
+     * Retrieves one page of the moderation queue, most reported reviews first.
      * 
-     * @return ResponseEntity containing a list of all reported reviews as ReviewDTO.
+     * @param title    part of the movie title to filter by, omitted for all.
+     * @param username part of the author's name to filter by, omitted for all.
+     * @param page     the page number, starting at 0.
+     * @param size     the number of reviews per page.
+     * @return ResponseEntity containing the reported reviews of the page and their total count.
      */
     @GetMapping("/reported")
-    public ResponseEntity<GenericResponse<List<ReviewDTO>>> getAllReportedReviews() {
-        List<ReviewDTO> reportedReviews = reviewService.getAllReportedReviews();
+    public ResponseEntity<GenericResponse<ReportedReviewPageDTO>> getReportedReviews(
+            @RequestParam(defaultValue = "") String title, @RequestParam(defaultValue = "") String username,
+            @RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "10") int size) {
+        ReportedReviewPageDTO reportedReviews = reviewService.getReportedReviews(title, username, page, size);
         return ResponseEntity.ok(new GenericResponse<>(true, "Reported reviews fetched successfully", reportedReviews));
     }
 
     /**
-     * Reports a review for inappropriate content.
+     * Approves reported reviews, which keeps them and takes them out of the moderation queue.
+     * 
+     * @param reviewIds the IDs of the reviews to approve.
+     * @return ResponseEntity containing the number of reviews approved.
+     */
+    @PatchMapping("/reported/approve")
+    public ResponseEntity<GenericResponse<Integer>> approveReviews(@RequestBody List<Integer> reviewIds) {
+        int approved = reviewService.approveReviews(reviewIds);
+        return ResponseEntity.ok(new GenericResponse<>(true, approved + " reviews approved", approved));
+    }
+
+    /**
+     * Deletes reported reviews.
+     * 
+     * @param reviewIds the IDs of the reviews to delete.
+     * @return ResponseEntity containing the number of reviews deleted.
+     */
+    @DeleteMapping("/reported")
+    public ResponseEntity<GenericResponse<Integer>> deleteReviews(@RequestBody List<Integer> reviewIds) {
+        int deleted = reviewService.deleteReviews(reviewIds);
+        return ResponseEntity.ok(new GenericResponse<>(true, deleted + " reviews deleted", deleted));
+    }
+
+    /**
+     * Reports a review for inappropriate content. Each user's report of a review is counted once.
      * 
      * @param reviewId the ID of the review to be reported.
+     * @param userId   the ID of the user reporting the review.
      * @return ResponseEntity containing a message indicating the result of the operation.
      */
     @PatchMapping("/report/{reviewId}")
-    public ResponseEntity<GenericResponse<String>> reportReview(@PathVariable int reviewId) {
-        String message = reviewService.reportReview(reviewId);
+    public ResponseEntity<GenericResponse<String>> reportReview(@PathVariable int reviewId, @RequestParam int userId) {
+        String message = reviewService.reportReview(reviewId, userId);
         return ResponseEntity.ok(new GenericResponse<>(true, message, null));
     }
 }
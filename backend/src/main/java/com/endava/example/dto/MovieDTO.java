@@ -7,7 +7,9 @@ import lombok.Data;
 /**
  * MovieDTO holds information about movies, including the movie's unique ID,
  * title , description , genre , releaseDate , averageRating , price , url's of
- * poster and trailer and its availability status..
+ * poster and trailer and its availability status.. The average rating, the
+ * number of ratings and the number of ratings per star (1 to 5, at index stars
+ * - 1) are computed from the reviews and ignored when a movie is saved.
  */
 @Data
 public class MovieDTO {
@@ -18,6 +20,8 @@ public class MovieDTO {
 	private String genre;
 	private LocalDate releaseDate;
 	private double averageRating;
+	private int ratingCount;
+	private int[] ratingHistogram;
 	private double price;
 	private String posterURL;
 	private String trailerURL;
@@ -0,0 +1,20 @@
+package com.endava.example.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+
+/**
+ * MovieImportResultDTO summarizes a bulk movie import: how many rows were read,
+ * imported, skipped as duplicates of existing or earlier titles and rejected
+ * as invalid, along with the first error messages.
+ */
+@Data
+public class MovieImportResultDTO {
+	private int rows;
+	private int imported;
+	private int duplicates;
+	private int invalid;
+	private List<String> errors = new ArrayList<>();
+}
@@ -0,0 +1,16 @@
+package com.endava.example.dto;
+
+import lombok.Data;
+
+/**
+ * MovieStatusDTO holds what a user has done with a movie: whether the user has
+ * purchased it, has it in the cart and has it in the favorites.
+ */
+@Data
+public class MovieStatusDTO {
+
+	private int movieId;
+	private boolean purchased;
+	private boolean inCart;
+	private boolean favorite;
+}
@@ -6,8 +6,8 @@ import lombok.Data;
 
 /**
  * PurchaseDTO holds information about a purchase, including the purchase ID,
- * transaction details, payment method, user ID, total price, and the date of
- * the purchase.
+ * transaction details, payment method, user ID, total price, the date of the
+ * purchase and its status.
  */
 @Data
 public class PurchaseDTO {
@@ -18,5 +18,6 @@ public class PurchaseDTO {
 	private int userId;
 	private double totalPrice;
 	private LocalDate purchaseDate;
+	private String status;
 
 }
@@ -7,7 +7,8 @@ import lombok.Data;
 /**
  * PurchaseRequestDTO contains the details of a purchase request made by a user,
  * including the user ID, list of selected movie IDs, total price, transactionId
- * and payment method..
+ * and payment method.. Without movie IDs the user's cart is purchased. The
+ * total price is always computed on the server.
  */
 @Data
 public class PurchaseRequestDTO {
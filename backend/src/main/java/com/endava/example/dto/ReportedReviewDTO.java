@@ -0,0 +1,26 @@
+package com.endava.example.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.Data;
+
+/**
+ * ReportedReviewDTO is an entry of the moderation queue: the review with its
+ * author and movie, how many users have reported it and when it was reported
+ * first and last.
+ */
+@Data
+public class ReportedReviewDTO {
+
+	private int reviewId;
+	private int userId;
+	private String username;
+	private int movieId;
+	private String moviename;
+	private String reviewText;
+	private Integer rating;
+	private int reportCount;
+	private LocalDateTime firstReportedAt;
+	private LocalDateTime lastReportedAt;
+
+}
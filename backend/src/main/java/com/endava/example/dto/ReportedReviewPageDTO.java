@@ -0,0 +1,16 @@
+package com.endava.example.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+
+/**
+ * ReportedReviewPageDTO holds one page of the moderation queue, most reported
+ * reviews first, and the number of reviews in the queue.
+ */
+@Data
+public class ReportedReviewPageDTO {
+	private List<ReportedReviewDTO> reviews = new ArrayList<>();
+	private long totalCount;
+}
@@ -5,7 +5,7 @@ import lombok.Data;
 /**
  * ReviewDTO contains the details of a movie review, including user information
  * - id and userName , movie info - movieId and movieName ,the review content,
- * and its report status.
+ * the rating (1 to 5 stars) and its report status.
  */
 @Data
 public class ReviewDTO {
@@ -16,6 +16,7 @@ public class ReviewDTO {
 	private String username;
 	private String moviename;
 	private String reviewText;
+	private Integer rating;
 	private boolean reported;
 
 }
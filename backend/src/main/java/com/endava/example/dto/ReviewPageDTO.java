@@ -0,0 +1,16 @@
+package com.endava.example.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+
+/**
+ * ReviewPageDTO holds one page of the reviews of a movie, newest first, and the
+ * cursor to pass for the next page, which is null on the last page.
+ */
+@Data
+public class ReviewPageDTO {
+	private List<ReviewDTO> reviews = new ArrayList<>();
+	private Integer nextCursor;
+}
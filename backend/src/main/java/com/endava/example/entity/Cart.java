@@ -8,6 +8,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.Data;
 
 /**
@@ -23,10 +24,15 @@ import lombok.Data;
  * 
  * The relationships use FetchType.LAZY to load the entities (User and Movie)
  * only when necessary, helps to optimize database queries.
+ * 
+ * A movie can be in the cart of a user only once, the unique constraint lets
+ * bulk adds skip movies already in the cart (ON CONFLICT DO NOTHING). Carts
+ * added to before the constraint existed are deduplicated at startup by
+ * CartDeduplication.
  */
 @Entity
 @Data
-@Table(name = "carts")
+@Table(name = "carts", uniqueConstraints = @UniqueConstraint(columnNames = { "userId", "movieId" }))
 public class Cart {
 
 	@Id
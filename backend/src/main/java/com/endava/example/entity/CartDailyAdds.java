@@ -0,0 +1,33 @@
+package com.endava.example.entity;
+
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+/**
+ * CartDailyAdds holds the number of movies added to carts on one day. Cart
+ * rows are deleted once bought or removed, so unlike the other rollups these
+ * counts cannot be derived afterwards and are recorded by CartActivity as the
+ * movies are added.
+ */
+@Entity
+@Data
+@Table(name = "cart_daily_adds")
+public class CartDailyAdds {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private int cartDailyAddsId;
+
+	@Column(nullable = false, unique = true)
+	private LocalDate day;
+
+	@Column(nullable = false)
+	private long adds;
+}
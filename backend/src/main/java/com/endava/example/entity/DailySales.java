@@ -0,0 +1,34 @@
+package com.endava.example.entity;
+
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+/**
+ * DailySales is a rollup row holding the number of purchases and the revenue
+ * of one day. The rows are derived from the purchases by ChartRollups.
+ */
+@Entity
+@Data
+@Table(name = "daily_sales")
+public class DailySales {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private int dailySalesId;
+
+	@Column(nullable = false, unique = true)
+	private LocalDate day;
+
+	@Column(nullable = false)
+	private long purchases;
+
+	@Column(nullable = false)
+	private double revenue;
+}
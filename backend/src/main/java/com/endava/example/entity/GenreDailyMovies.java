@@ -0,0 +1,36 @@
+package com.endava.example.entity;
+
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Data;
+
+/**
+ * GenreDailyMovies is a rollup row holding the number of movies of one genre
+ * added to the catalogue on one day. The rows are derived from the movies by
+ * ChartRollups.
+ */
+@Entity
+@Data
+@Table(name = "genre_daily_movies", uniqueConstraints = @UniqueConstraint(columnNames = { "day", "genre" }))
+public class GenreDailyMovies {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private int genreDailyMoviesId;
+
+	@Column(nullable = false)
+	private LocalDate day;
+
+	@Column(nullable = false)
+	private String genre;
+
+	@Column(nullable = false)
+	private long moviesAdded;
+}
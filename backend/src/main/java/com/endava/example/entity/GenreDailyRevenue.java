@@ -0,0 +1,42 @@
+package com.endava.example.entity;
+
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Data;
+
+/**
+ * GenreDailyRevenue is a rollup row holding the revenue and the number of
+ * movies sold of one genre on one day. The rows are derived from the purchases
+ * by ChartRollups and are never written by the application otherwise.
+ * 
+ * The unique constraint on (day, genre) also serves the date range scans of the
+ * admin charts.
+ */
+@Entity
+@Data
+@Table(name = "genre_daily_revenue", uniqueConstraints = @UniqueConstraint(columnNames = { "day", "genre" }))
+public class GenreDailyRevenue {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private int genreDailyRevenueId;
+
+	@Column(nullable = false)
+	private LocalDate day;
+
+	@Column(nullable = false)
+	private String genre;
+
+	@Column(nullable = false)
+	private double revenue;
+
+	@Column(nullable = false)
+	private long moviesSold;
+}
@@ -0,0 +1,53 @@
+package com.endava.example.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Data;
+
+/**
+ * IdempotencyKey Entity records the Idempotency-Key a user sent with a
+ * purchase request and the purchase it created. This class maps to the
+ * idempotency_keys table in the database.
+ *
+ * A key is claimed with an insert skipped on conflict with the unique
+ * constraint, in the transaction reserving the purchase as PENDING, which
+ * commits before the payment is authorized. A retry of the request finds the
+ * purchase: it gets the purchase once it is COMPLETED, and is rejected as a
+ * conflict while it is still PENDING. A purchase voided because its payment
+ * was declined, its completion failed or it expired releases its key, so the
+ * retry claims the key itself.
+ */
+@Entity
+@Data
+@Table(name = "idempotency_keys", uniqueConstraints = @UniqueConstraint(columnNames = { "userId",
+		"idempotencyKey" }))
+public class IdempotencyKey {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private int idempotencyKeyId;
+
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "userId", nullable = false)
+	private User user;
+
+	@Column(nullable = false, length = 100)
+	private String idempotencyKey;
+
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "purchaseId")
+	private Purchase purchase;
+
+	@Column(nullable = false)
+	private LocalDateTime createdAt;
+}
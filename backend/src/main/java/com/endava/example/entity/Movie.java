@@ -2,14 +2,18 @@ package com.endava.example.entity;
 
 import java.time.LocalDate;
 
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.format.annotation.DateTimeFormat;
 
+import com.endava.example.constants.Constants;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.Data;
 
 /**
@@ -19,6 +23,15 @@ import lombok.Data;
  * for the poster and trailer. The movie can have different statuses such as
  * "AVAILABLE" or "UNAVAILABLE." This entity also contains creation and update
  * date.
+ * 
+ * The average rating and the rating statistics (number of ratings, their sum
+ * and the number of ratings per star) are computed from the reviews. They are
+ * only written by the single statement updates of MovieRepository, never from
+ * the entity, so saving a movie cannot overwrite a rating added meanwhile.
+ * 
+ * The version is incremented by every save of the movie, e.g. a price change.
+ * The checkout prices purchases from cached movies and checks their versions
+ * when completing them, so a purchase is never charged an outdated price.
  */
 
 @Entity
@@ -43,9 +56,22 @@ public class Movie {
 	@DateTimeFormat(pattern = "yyyy-MM-dd")
 	private LocalDate releaseDate;
 
-	@Column(nullable = false)
+	@Column(nullable = false, updatable = false)
 	private double averageRating;
 
+	@ColumnDefault("0")
+	@Column(nullable = false, insertable = false, updatable = false)
+	private int ratingCount;
+
+	@ColumnDefault("0")
+	@Column(nullable = false, insertable = false, updatable = false)
+	private long ratingSum;
+
+	// number of ratings with 1 to MAX_RATING stars, at index stars - 1
+	@ColumnDefault("'{0,0,0,0,0}'")
+	@Column(nullable = false, insertable = false, updatable = false)
+	private int[] ratingHistogram = new int[Constants.MAX_RATING];
+
 	@Column(nullable = false)
 	private double price;
 
@@ -64,4 +90,9 @@ public class Movie {
 	@Column
 	private LocalDate updatedAt;
 
+	@Version
+	@ColumnDefault("0")
+	@Column(nullable = false)
+	private long version;
+
 }
@@ -0,0 +1,43 @@
+package com.endava.example.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Data;
+
+/**
+ * MovieAlsoBought is one entry of a movie's "customers also bought" list: a
+ * movie purchased together with it, the number of purchases containing both
+ * and the entry's rank in the list. The rows are derived from the purchase
+ * details by AlsoBoughtIndex.
+ */
+@Entity
+@Data
+@Table(name = "movie_also_bought", uniqueConstraints = @UniqueConstraint(columnNames = { "movieId", "ranking" }))
+public class MovieAlsoBought {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private int movieAlsoBoughtId;
+
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "movieId", nullable = false)
+	private Movie movie;
+
+	@Column(nullable = false)
+	private int ranking;
+
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "otherMovieId", nullable = false)
+	private Movie otherMovie;
+
+	@Column(nullable = false)
+	private int purchases;
+}
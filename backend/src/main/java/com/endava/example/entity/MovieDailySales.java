@@ -0,0 +1,43 @@
+package com.endava.example.entity;
+
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Data;
+
+/**
+ * MovieDailySales is a rollup row holding the copies of one movie sold on one
+ * day and the revenue they made. The rows are derived from the purchases by
+ * ChartRollups.
+ */
+@Entity
+@Data
+@Table(name = "movie_daily_sales", uniqueConstraints = @UniqueConstraint(columnNames = { "day", "movieId" }))
+public class MovieDailySales {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private int movieDailySalesId;
+
+	@Column(nullable = false)
+	private LocalDate day;
+
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "movieId", nullable = false)
+	private Movie movie;
+
+	@Column(nullable = false)
+	private long copiesSold;
+
+	@Column(nullable = false)
+	private double revenue;
+}
@@ -1,6 +1,9 @@
 package com.endava.example.entity;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.ColumnDefault;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -11,6 +14,8 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import com.endava.example.constants.Constants;
+
 import lombok.Data;
 
 /**
@@ -19,6 +24,10 @@ import lombok.Data;
  * purchase, such as the transaction ID, the user who made the purchase, the
  * payment method, the total price of the purchase, and the date the purchase
  * was made.
+ * 
+ * A purchase is PENDING from its reservation until its payment is authorized,
+ * then COMPLETED, or VOIDED if the payment was declined or timed out. Only
+ * completed purchases have purchase details and count as sales.
  */
 
 @Entity
@@ -46,6 +55,14 @@ public class Purchase {
 	@Column(nullable = false)
 	private LocalDate purchaseDate;
 
+	@ColumnDefault("'COMPLETED'")
+	@Column(nullable = false)
+	private String status = Constants.PURCHASE_COMPLETED; // or PENDING or VOIDED
+
+	// when the purchase was reserved, to void the ones left pending
+	@Column
+	private LocalDateTime reservedAt;
+
 //	@OneToMany(mappedBy = "purchase", cascade = CascadeType.ALL)
 //	private List<PurchaseDetail> purchaseDetails;
 
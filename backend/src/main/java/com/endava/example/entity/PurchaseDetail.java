@@ -16,6 +16,12 @@ import lombok.Data;
  * contains two many-to-one relationships: 1. A reference to the Purchase
  * entity, indicating which purchase this detail belongs to. 2. A reference to
  * the Movie entity, indicating which movie is part of the purchase.
+ * 
+ * The unit price, title and genre of the movie are copied onto the detail at
+ * checkout, so invoices and revenue figures show what was paid even after the
+ * movie is edited, and are read from this table alone. They are only null for
+ * details written before the columns existed, until PurchaseDetailBackfill has
+ * copied them from the movies on the next startup.
  */
 @Entity
 @Data
@@ -34,4 +40,10 @@ public class PurchaseDetail {
 	@JoinColumn(name = "movieId")
 	private Movie movie;
 
+	private Double unitPrice;
+
+	private String title;
+
+	private String genre;
+
 }
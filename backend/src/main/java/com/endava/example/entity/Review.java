@@ -1,11 +1,16 @@
 package com.endava.example.entity;
 
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.ColumnDefault;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -16,17 +21,29 @@ import lombok.Data;
  * reviews table in the database.
  * 
  * The review entity contains information related to the review, such as
- * reviewText, user who has written that review , movie in which that review is
- * written, reported field which shows that the review is reported or not.
+ * reviewText, the rating given to the movie (1 to 5 stars, null for reviews
+ * written before ratings existed), user who has written that review , movie in
+ * which that review is written, reported field which shows that the review is
+ * reported or not.
  * 
  * --Mappings: A single user can write many reviews, but each review is tied to
  * one specific user. A single movie can have many reviews, but each review is
  * tied to one specific movie.
+ * 
+ * The index on (movieId, reviewId) serves the review feed of a movie, which is
+ * read newest first one page at a time.
+ * 
+ * A reported review waits in the moderation queue until an admin approves or
+ * deletes it. The number of users who reported it and the time of the first and
+ * last report are kept on the review for the queue; like the reported flag they
+ * are only written by the single statement updates of ReviewRepository. The
+ * index on (reported, reportCount) serves the queue, most reported first.
  */
 
 @Entity
 @Data
-@Table(name = "reviews")
+@Table(name = "reviews", indexes = { @Index(name = "idx_reviews_movie_review", columnList = "movieId, reviewId"),
+		@Index(name = "idx_reviews_reported_count", columnList = "reported, reportCount") })
 public class Review {
 
 	@Id
@@ -35,6 +52,8 @@ public class Review {
 
 	private String reviewText;
 
+	private Integer rating;
+
 	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "userId", nullable = false)
 	private User user;
@@ -46,4 +65,14 @@ public class Review {
 	@Column(nullable = false)
 	private boolean reported;
 
+	@ColumnDefault("0")
+	@Column(nullable = false, insertable = false, updatable = false)
+	private int reportCount;
+
+	@Column(insertable = false, updatable = false)
+	private LocalDateTime firstReportedAt;
+
+	@Column(insertable = false, updatable = false)
+	private LocalDateTime lastReportedAt;
+
 }
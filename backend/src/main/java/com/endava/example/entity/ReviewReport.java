@@ -0,0 +1,49 @@
+package com.endava.example.entity;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Data;
+
+/**
+ * ReviewReport Entity represents a user's report of a review as inappropriate.
+ * This class maps to the review_reports table in the database.
+ * 
+ * A user can report a review only once, the unique constraint lets a repeated
+ * report be skipped in the insert (ON CONFLICT DO NOTHING), so it is counted
+ * once in the review's report count. The reports of a review are removed with
+ * it by the database (ON DELETE CASCADE).
+ */
+@Entity
+@Data
+@Table(name = "review_reports", uniqueConstraints = @UniqueConstraint(columnNames = { "reviewId", "userId" }))
+public class ReviewReport {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private int reportId;
+
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "reviewId", nullable = false)
+	@OnDelete(action = OnDeleteAction.CASCADE)
+	private Review review;
+
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "userId", nullable = false)
+	private User user;
+
+	@Column(nullable = false)
+	private LocalDateTime reportedAt;
+}
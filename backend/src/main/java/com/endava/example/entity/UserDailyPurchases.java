@@ -0,0 +1,43 @@
+package com.endava.example.entity;
+
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Data;
+
+/**
+ * UserDailyPurchases is a rollup row holding the number of purchases a user
+ * made on one day and the amount spent. The rows are derived from the
+ * purchases by ChartRollups.
+ */
+@Entity
+@Data
+@Table(name = "user_daily_purchases", uniqueConstraints = @UniqueConstraint(columnNames = { "day", "userId" }))
+public class UserDailyPurchases {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private int userDailyPurchasesId;
+
+	@Column(nullable = false)
+	private LocalDate day;
+
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "userId", nullable = false)
+	private User user;
+
+	@Column(nullable = false)
+	private long purchases;
+
+	@Column(nullable = false)
+	private double amountSpent;
+}
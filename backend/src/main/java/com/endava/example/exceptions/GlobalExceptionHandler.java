@@ -1,5 +1,6 @@
 package com.endava.example.exceptions;
 
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -24,12 +25,19 @@ import com.endava.example.utils.GenericResponse;
  * - ResourceAlreadyExistsException: Returns a 409 - CONFLICT response with the
  * exception message.
  * 
+ * - OptimisticLockingFailureException: Returns a 409 - CONFLICT response with
+ * the exception message, e.g. when the price of a movie changed during a
+ * checkout.
+ * 
  * - InvalidCredentialException: Returns a 401 - UNAUTHORIZED response with the
  * exception message.
  * 
  * - PaymentFailedException: Returns a 402 - PAYMENT_REQUIRED response with the
  * exception message.
  * 
+ * - TooManyRequestsException: Returns a 429 - TOO_MANY_REQUESTS response with
+ * the exception message.
+ * 
  * - IllegalArgumentException: Returns a 500 - INTERNAL_SERVER_ERROR response
  * with the exception message.
  * 
@@ -58,6 +66,17 @@ public class GlobalExceptionHandler {
 		return new ResponseEntity<>(new GenericResponse<>(false, ex.getMessage(), null), HttpStatus.CONFLICT);
 	}
 
+	@ExceptionHandler(OptimisticLockingFailureException.class)
+	public ResponseEntity<GenericResponse<String>> handleOptimisticLockingFailureException(
+			OptimisticLockingFailureException ex) {
+		return new ResponseEntity<>(new GenericResponse<>(false, ex.getMessage(), null), HttpStatus.CONFLICT);
+	}
+
+	@ExceptionHandler(TooManyRequestsException.class)
+	public ResponseEntity<GenericResponse<String>> handleTooManyRequestsException(TooManyRequestsException ex) {
+		return new ResponseEntity<>(new GenericResponse<>(false, ex.getMessage(), null), HttpStatus.TOO_MANY_REQUESTS);
+	}
+
 	@ExceptionHandler(IllegalArgumentException.class)
 	public ResponseEntity<GenericResponse<String>> handleIllegalArgumentException(IllegalArgumentException ex) {
 		return new ResponseEntity<>(new GenericResponse<>(false, ex.getMessage(), null),
@@ -0,0 +1,9 @@
+package com.endava.example.exceptions;
+
+public class TooManyRequestsException extends RuntimeException {
+
+	public TooManyRequestsException(String message) {
+		super(message);
+	}
+
+}
@@ -18,6 +18,8 @@ public class MovieMapper {
 		dto.setGenre(movie.getGenre());
 		dto.setReleaseDate(movie.getReleaseDate());
 		dto.setAverageRating(movie.getAverageRating());
+		dto.setRatingCount(movie.getRatingCount());
+		dto.setRatingHistogram(movie.getRatingHistogram());
 		dto.setPrice(movie.getPrice());
 		dto.setPosterURL(movie.getPosterURL());
 		dto.setTrailerURL(movie.getTrailerURL());
@@ -32,7 +34,6 @@ public class MovieMapper {
 		movie.setDescription(dto.getDescription());
 		movie.setGenre(dto.getGenre());
 		movie.setReleaseDate(dto.getReleaseDate());
-		movie.setAverageRating(dto.getAverageRating());
 		movie.setPrice(dto.getPrice());
 		movie.setPosterURL(dto.getPosterURL());
 		movie.setTrailerURL(dto.getTrailerURL());
@@ -18,6 +18,9 @@ public class PurchaseDetailMapper {
 		PurchaseDetail purchaseDetail = new PurchaseDetail();
 		purchaseDetail.setMovie(movie);
 		purchaseDetail.setPurchase(purchase);
+		purchaseDetail.setUnitPrice(movie.getPrice());
+		purchaseDetail.setTitle(movie.getTitle());
+		purchaseDetail.setGenre(movie.getGenre());
 		return purchaseDetail;
 	}
 
@@ -27,6 +27,7 @@ public class PurchaseMapper {
 		dto.setTotalPrice(purchase.getTotalPrice());
 		dto.setPurchaseDate(purchase.getPurchaseDate());
 		dto.setPaymentMethod(purchase.getPaymentMethod());
+		dto.setStatus(purchase.getStatus());
 		return dto;
 	}
 
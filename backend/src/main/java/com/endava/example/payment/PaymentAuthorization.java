@@ -0,0 +1,16 @@
+package com.endava.example.payment;
+
+/**
+ * The outcome of a payment authorization: whether it was approved and, if not,
+ * why it was declined.
+ */
+public record PaymentAuthorization(String reference, boolean approved, String declineReason) {
+
+	public static PaymentAuthorization approved(String reference) {
+		return new PaymentAuthorization(reference, true, null);
+	}
+
+	public static PaymentAuthorization declined(String reference, String declineReason) {
+		return new PaymentAuthorization(reference, false, declineReason);
+	}
+}
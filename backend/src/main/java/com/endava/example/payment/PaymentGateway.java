@@ -0,0 +1,34 @@
+package com.endava.example.payment;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * PaymentGateway is the interface to the provider charging the users. A
+ * payment is authorized first, which reserves the amount, and then captured
+ * once the purchase is recorded, or voided when it is not.
+ *
+ * All operations are asynchronous and must not block the calling thread while
+ * waiting for the provider. The reference of a payment identifies it in every
+ * operation, so voiding works even when the authorization never completed,
+ * e.g. after a timeout.
+ */
+public interface PaymentGateway {
+
+	/**
+	 * Requests the authorization of a payment.
+	 *
+	 * @return completes with the approval or decline of the payment, or
+	 *         exceptionally if the provider could not be reached.
+	 */
+	CompletableFuture<PaymentAuthorization> authorize(PaymentRequest request);
+
+	/**
+	 * Charges an approved payment.
+	 */
+	CompletableFuture<Void> capture(PaymentAuthorization authorization);
+
+	/**
+	 * Releases the amount reserved for the payment, if it was authorized.
+	 */
+	CompletableFuture<Void> voidAuthorization(String reference);
+}
@@ -0,0 +1,77 @@
+package com.endava.example.payment;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * PaymentProcessor runs the payments of purchases through the PaymentGateway.
+ * It waits for an authorization up to the configured timeout and treats a
+ * timed out or failed authorization as declined, voiding it in case the
+ * provider approves it later. Captures and voids are not waited for, their
+ * failures are logged.
+ *
+ * Authorizing waits for a network round trip, so it is refused inside a
+ * database transaction, which would hold its connection all the while.
+ */
+@Component
+@Slf4j
+public class PaymentProcessor {
+
+	private final PaymentGateway paymentGateway;
+	private final long timeoutMillis;
+
+	public PaymentProcessor(PaymentGateway paymentGateway,
+			@Value("${payments.authorization-timeout-ms:5000}") long timeoutMillis) {
+		this.paymentGateway = paymentGateway;
+		this.timeoutMillis = timeoutMillis;
+	}
+
+	/**
+	 * @return the authorization of the payment, declined if the gateway did not
+	 *         answer in time or failed.
+	 * @throws IllegalStateException if called in a transaction.
+	 */
+	public PaymentAuthorization authorize(PaymentRequest request) {
+		if (TransactionSynchronizationManager.isActualTransactionActive()) {
+			throw new IllegalStateException("Payments must not be authorized in a database transaction");
+		}
+		try {
+			return paymentGateway.authorize(request).get(timeoutMillis, TimeUnit.MILLISECONDS);
+		} catch (TimeoutException e) {
+			log.warn("Authorization of payment {} timed out after {} ms", request.reference(), timeoutMillis);
+			voidAuthorization(request.reference());
+			return PaymentAuthorization.declined(request.reference(), "Authorization timed out");
+		} catch (ExecutionException e) {
+			log.warn("Authorization of payment {} failed: {}", request.reference(), e.getCause().getMessage());
+			voidAuthorization(request.reference());
+			return PaymentAuthorization.declined(request.reference(), "Authorization failed");
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			voidAuthorization(request.reference());
+			return PaymentAuthorization.declined(request.reference(), "Authorization interrupted");
+		}
+	}
+
+	public void capture(PaymentAuthorization authorization) {
+		paymentGateway.capture(authorization).whenComplete((result, failure) -> {
+			if (failure != null) {
+				log.error("Capture of payment {} failed: {}", authorization.reference(), failure.getMessage());
+			}
+		});
+	}
+
+	public void voidAuthorization(String reference) {
+		paymentGateway.voidAuthorization(reference).whenComplete((result, failure) -> {
+			if (failure != null) {
+				log.error("Void of payment {} failed: {}", reference, failure.getMessage());
+			}
+		});
+	}
+}
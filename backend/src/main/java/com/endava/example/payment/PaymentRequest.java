@@ -0,0 +1,8 @@
+package com.endava.example.payment;
+
+/**
+ * A payment to authorize: the reference identifying it, i.e. the transaction
+ * ID of the purchase, the paying user, the amount and the payment method.
+ */
+public record PaymentRequest(String reference, int userId, double amount, String paymentMethod) {
+}
@@ -0,0 +1,63 @@
+package com.endava.example.payment;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * SimulatedPaymentGateway stands in for a payment provider. Every operation
+ * completes after a random latency of 0.5 to 1.5 times the configured one, and
+ * authorizations are declined at the configured failure rate.
+ *
+ * The latency is waited for on a timer, not by a sleeping thread, like the
+ * network round trip of a real provider's asynchronous client.
+ */
+@Component
+@Slf4j
+public class SimulatedPaymentGateway implements PaymentGateway {
+
+	private final long latencyMillis;
+	private final double failureRate;
+
+	public SimulatedPaymentGateway(@Value("${payments.simulator.latency-ms:100}") long latencyMillis,
+			@Value("${payments.simulator.failure-rate:0.2}") double failureRate) {
+		if (failureRate < 0 || failureRate > 1) {
+			throw new IllegalArgumentException("Payment simulator failure rate must be between 0 and 1");
+		}
+		this.latencyMillis = latencyMillis;
+		this.failureRate = failureRate;
+	}
+
+	@Override
+	public CompletableFuture<PaymentAuthorization> authorize(PaymentRequest request) {
+		return CompletableFuture.supplyAsync(() -> {
+			if (ThreadLocalRandom.current().nextDouble() < failureRate) {
+				return PaymentAuthorization.declined(request.reference(), "Declined by the payment simulator");
+			}
+			return PaymentAuthorization.approved(request.reference());
+		}, afterLatency());
+	}
+
+	@Override
+	public CompletableFuture<Void> capture(PaymentAuthorization authorization) {
+		return CompletableFuture.runAsync(() -> log.debug("Simulated capture of payment {}", authorization.reference()),
+				afterLatency());
+	}
+
+	@Override
+	public CompletableFuture<Void> voidAuthorization(String reference) {
+		return CompletableFuture.runAsync(() -> log.debug("Simulated void of payment {}", reference), afterLatency());
+	}
+
+	private Executor afterLatency() {
+		long latency = latencyMillis <= 0 ? 0
+				: ThreadLocalRandom.current().nextLong(latencyMillis / 2, latencyMillis * 3 / 2 + 1);
+		return CompletableFuture.delayedExecutor(latency, TimeUnit.MILLISECONDS);
+	}
+}
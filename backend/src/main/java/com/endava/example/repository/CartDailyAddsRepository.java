@@ -0,0 +1,29 @@
+package com.endava.example.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.endava.example.entity.CartDailyAdds;
+
+@Repository
+public interface CartDailyAddsRepository extends JpaRepository<CartDailyAdds, Integer> {
+
+	// adds to the count of the given day, creating its row if needed
+	@Transactional
+	@Modifying
+	@Query(value = """
+			INSERT INTO cart_daily_adds (day, adds) VALUES (:day, :adds)
+			ON CONFLICT (day) DO UPDATE SET adds = cart_daily_adds.adds + EXCLUDED.adds""", nativeQuery = true)
+	int addToDay(@Param("day") LocalDate day, @Param("adds") long adds);
+
+	// get the days between the given days (inclusive) which had cart adds, ordered by day
+	@Query("SELECT r FROM CartDailyAdds r WHERE r.day BETWEEN :from AND :to ORDER BY r.day")
+	List<CartDailyAdds> findBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
@@ -1,9 +1,11 @@
 package com.endava.example.repository;
 
 import java.util.List;
-import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.endava.example.entity.Cart;
@@ -11,17 +13,29 @@ import com.endava.example.entity.Cart;
 @Repository
 public interface CartRepository extends JpaRepository<Cart, Integer> {
 
-    // To find the list of cart items of the user
-    List<Cart> findByUser_UserId(int userId);
-
-    // To get multiple cart items by userId and list of movieIds
-    List<Cart> findByUser_UserIdAndMovie_MovieIdIn(int userId, List<Integer> movieIds);
-
-    // To check if a movie is already in the user's cart
-    boolean existsByUser_UserIdAndMovie_MovieId(int userId, int movieId);
-
-    // To find a specific cart item by userId and movieId
-    Optional<Cart> findByUser_UserIdAndMovie_MovieId(int userId, int movieId);
+    // To find the cart items of the user whose movie is available, with the movie loaded in the same query
+    @Query("SELECT c FROM Cart c JOIN FETCH c.movie m WHERE c.user.userId = :userId AND m.status = 'AVAILABLE'")
+    List<Cart> findAvailableByUserId(@Param("userId") int userId);
+
+    // To find the ids of all movies in the user's cart
+    @Query("SELECT c.movie.movieId FROM Cart c WHERE c.user.userId = :userId")
+    List<Integer> findMovieIdsByUserId(@Param("userId") int userId);
+
+    // To add the available movies among the given ones to the user's cart in one statement,
+    // skipping movies already in it. Returns the number of movies added
+    @Modifying
+    @Query(value = "INSERT INTO carts (user_id, movie_id) SELECT :userId, m.movie_id FROM movies m "
+            + "WHERE m.movie_id IN (:movieIds) AND m.status = 'AVAILABLE' "
+            + "ON CONFLICT (user_id, movie_id) DO NOTHING", nativeQuery = true)
+    int addMoviesToCart(@Param("userId") int userId, @Param("movieIds") List<Integer> movieIds);
+
+    // To delete the given movies from the user's cart in one statement. Returns the number of movies deleted
+    @Modifying
+    @Query("DELETE FROM Cart c WHERE c.user.userId = :userId AND c.movie.movieId IN :movieIds")
+    int deleteByUserIdAndMovieIds(@Param("userId") int userId, @Param("movieIds") List<Integer> movieIds);
+
+    // To delete all movies from the user's cart in one statement. Returns the number of movies deleted
+    @Modifying
+    @Query("DELETE FROM Cart c WHERE c.user.userId = :userId")
+    int deleteByUserId(@Param("userId") int userId);
 }
-
-
@@ -0,0 +1,39 @@
+package com.endava.example.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.endava.example.entity.DailySales;
+
+@Repository
+public interface DailySalesRepository extends JpaRepository<DailySales, Integer>, RollupRepository {
+
+	@Override
+	@Query("SELECT MAX(r.day) FROM DailySales r")
+	LocalDate findLatestDay();
+
+	@Override
+	@Modifying
+	@Query("DELETE FROM DailySales r WHERE r.day >= :from")
+	int deleteFrom(@Param("from") LocalDate from);
+
+	@Override
+	@Modifying
+	@Query(value = """
+			INSERT INTO daily_sales (day, purchases, revenue)
+			SELECT p.purchase_date, COUNT(*), SUM(p.total_price)
+			FROM purchases p
+			WHERE p.purchase_date >= :from AND p.status = 'COMPLETED'
+			GROUP BY p.purchase_date""", nativeQuery = true)
+	int insertFrom(@Param("from") LocalDate from);
+
+	// get the days between the given days (inclusive) which had purchases, ordered by day
+	@Query("SELECT r FROM DailySales r WHERE r.day BETWEEN :from AND :to ORDER BY r.day")
+	List<DailySales> findBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
@@ -4,6 +4,8 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.endava.example.entity.Favorite;
@@ -17,4 +19,8 @@ public interface FavoriteRepository extends JpaRepository<Favorite, Integer> {
 	// To check if that movie is already added as favorite by user
 	Optional<Favorite> findByUser_UserIdAndMovie_MovieId(int userId, int movieId);
 
+	// to find the ids of all movies the user has added as favorite
+	@Query("SELECT f.movie.movieId FROM Favorite f WHERE f.user.userId = :userId")
+	List<Integer> findMovieIdsByUserId(@Param("userId") int userId);
+
 }
@@ -0,0 +1,39 @@
+package com.endava.example.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.endava.example.entity.GenreDailyMovies;
+
+@Repository
+public interface GenreDailyMoviesRepository extends JpaRepository<GenreDailyMovies, Integer>, RollupRepository {
+
+	@Override
+	@Query("SELECT MAX(r.day) FROM GenreDailyMovies r")
+	LocalDate findLatestDay();
+
+	@Override
+	@Modifying
+	@Query("DELETE FROM GenreDailyMovies r WHERE r.day >= :from")
+	int deleteFrom(@Param("from") LocalDate from);
+
+	@Override
+	@Modifying
+	@Query(value = """
+			INSERT INTO genre_daily_movies (day, genre, movies_added)
+			SELECT m.created_at, m.genre, COUNT(*)
+			FROM movies m
+			WHERE m.created_at >= :from
+			GROUP BY m.created_at, m.genre""", nativeQuery = true)
+	int insertFrom(@Param("from") LocalDate from);
+
+	// get count of movies added per genre between the given days (inclusive)
+	@Query("SELECT r.genre, SUM(r.moviesAdded) FROM GenreDailyMovies r WHERE r.day BETWEEN :from AND :to GROUP BY r.genre")
+	List<Object[]> countMoviesByGenre(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
@@ -0,0 +1,44 @@
+package com.endava.example.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.endava.example.entity.GenreDailyRevenue;
+
+@Repository
+public interface GenreDailyRevenueRepository extends JpaRepository<GenreDailyRevenue, Integer>, RollupRepository {
+
+	@Override
+	@Query("SELECT MAX(r.day) FROM GenreDailyRevenue r")
+	LocalDate findLatestDay();
+
+	@Override
+	@Modifying
+	@Query("DELETE FROM GenreDailyRevenue r WHERE r.day >= :from")
+	int deleteFrom(@Param("from") LocalDate from);
+
+	@Override
+	@Modifying
+	@Query(value = """
+			INSERT INTO genre_daily_revenue (day, genre, revenue, movies_sold)
+			SELECT p.purchase_date, pd.genre, SUM(pd.unit_price), COUNT(*)
+			FROM purchase_details pd
+			JOIN purchases p ON p.purchase_id = pd.purchase_id
+			WHERE p.purchase_date >= :from
+			GROUP BY p.purchase_date, pd.genre""", nativeQuery = true)
+	int insertFrom(@Param("from") LocalDate from);
+
+	// get revenue per genre between the given days (inclusive)
+	@Query("SELECT r.genre, SUM(r.revenue) FROM GenreDailyRevenue r WHERE r.day BETWEEN :from AND :to GROUP BY r.genre")
+	List<Object[]> getRevenueByGenre(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+	// get [day, movies sold] of the days between the given days (inclusive), ordered by day
+	@Query("SELECT r.day, SUM(r.moviesSold) FROM GenreDailyRevenue r WHERE r.day BETWEEN :from AND :to GROUP BY r.day ORDER BY r.day")
+	List<Object[]> getMoviesSoldPerDay(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
@@ -0,0 +1,42 @@
+package com.endava.example.repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.endava.example.entity.IdempotencyKey;
+import com.endava.example.entity.Purchase;
+
+@Repository
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, Integer> {
+
+	// claim the user's key, skipped when it is claimed already. Waits for a
+	// transaction claiming the same key to end. Returns 1 if claimed
+	@Modifying
+	@Query(value = "INSERT INTO idempotency_keys (user_id, idempotency_key, created_at) "
+			+ "VALUES (:userId, :idempotencyKey, :createdAt) ON CONFLICT (user_id, idempotency_key) DO NOTHING", nativeQuery = true)
+	int claim(@Param("userId") int userId, @Param("idempotencyKey") String idempotencyKey,
+			@Param("createdAt") LocalDateTime createdAt);
+
+	@Query("SELECT k.purchase FROM IdempotencyKey k WHERE k.user.userId = :userId AND k.idempotencyKey = :idempotencyKey")
+	Optional<Purchase> findPurchase(@Param("userId") int userId, @Param("idempotencyKey") String idempotencyKey);
+
+	@Modifying
+	@Query("UPDATE IdempotencyKey k SET k.purchase = :purchase WHERE k.user.userId = :userId AND k.idempotencyKey = :idempotencyKey")
+	int setPurchase(@Param("userId") int userId, @Param("idempotencyKey") String idempotencyKey,
+			@Param("purchase") Purchase purchase);
+
+	// release the key of a voided purchase, so the request can be retried
+	@Modifying
+	@Query("DELETE FROM IdempotencyKey k WHERE k.purchase.purchaseId = :purchaseId")
+	int deleteByPurchaseId(@Param("purchaseId") int purchaseId);
+
+	@Modifying
+	@Query("DELETE FROM IdempotencyKey k WHERE k.createdAt < :createdBefore")
+	int deleteCreatedBefore(@Param("createdBefore") LocalDateTime createdBefore);
+}
@@ -0,0 +1,25 @@
+package com.endava.example.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.endava.example.entity.MovieAlsoBought;
+
+@Repository
+public interface MovieAlsoBoughtRepository extends JpaRepository<MovieAlsoBought, Integer> {
+
+	// insert of one row, for the JDBC batches of the rebuild
+	String INSERT = "INSERT INTO movie_also_bought (movie_id, ranking, other_movie_id, purchases) VALUES (?, ?, ?, ?)";
+
+	// get movieId and otherMovieId of all rows, by movie and ranking
+	@Query("SELECT a.movie.movieId, a.otherMovie.movieId FROM MovieAlsoBought a ORDER BY a.movie.movieId, a.ranking")
+	List<Object[]> findAllRanked();
+
+	@Modifying
+	@Query("DELETE FROM MovieAlsoBought a")
+	int deleteAllRows();
+}
@@ -0,0 +1,44 @@
+package com.endava.example.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.endava.example.entity.MovieDailySales;
+
+@Repository
+public interface MovieDailySalesRepository extends JpaRepository<MovieDailySales, Integer>, RollupRepository {
+
+	@Override
+	@Query("SELECT MAX(r.day) FROM MovieDailySales r")
+	LocalDate findLatestDay();
+
+	@Override
+	@Modifying
+	@Query("DELETE FROM MovieDailySales r WHERE r.day >= :from")
+	int deleteFrom(@Param("from") LocalDate from);
+
+	@Override
+	@Modifying
+	@Query(value = """
+			INSERT INTO movie_daily_sales (day, movie_id, copies_sold, revenue)
+			SELECT p.purchase_date, pd.movie_id, COUNT(*), SUM(pd.unit_price)
+			FROM purchase_details pd
+			JOIN purchases p ON p.purchase_id = pd.purchase_id
+			WHERE p.purchase_date >= :from
+			GROUP BY p.purchase_date, pd.movie_id""", nativeQuery = true)
+	int insertFrom(@Param("from") LocalDate from);
+
+	// get id, title, copies sold and revenue of the 10 best selling movies between
+	// the given days (inclusive)
+	@Query("""
+			SELECT m.movieId, m.title, SUM(r.copiesSold), SUM(r.revenue) FROM MovieDailySales r JOIN r.movie m
+			WHERE r.day BETWEEN :from AND :to
+			GROUP BY m.movieId, m.title ORDER BY SUM(r.copiesSold) DESC, m.movieId LIMIT 10""")
+	List<Object[]> getBestSellingMovies(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
@@ -1,10 +1,13 @@
 package com.endava.example.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.endava.example.entity.Movie;
@@ -19,6 +22,14 @@ public interface MovieRepository extends JpaRepository<Movie, Integer> {
 	@Query("SELECT m FROM Movie m WHERE m.status = 'AVAILABLE'")
 	List<Movie> getAllAvailableMovies();
 
+	// get the titles of all movies in lower case, to find duplicates when importing
+	@Query("SELECT LOWER(m.title) FROM Movie m")
+	List<String> findAllTitlesInLowerCase();
+
+	// get the id and version of each of the movies, to check prices read from the cache
+	@Query("SELECT m.movieId, m.version FROM Movie m WHERE m.movieId IN :movieIds")
+	List<Object[]> findVersions(@Param("movieIds") Collection<Integer> movieIds);
+
 	// get all movies with the given status
 	List<Movie> findByStatus(String status);
 
@@ -33,4 +44,51 @@ public interface MovieRepository extends JpaRepository<Movie, Integer> {
 	@Query("SELECT m.genre , COUNT(m) FROM Movie m GROUP BY m.genre")
 	List<Object[]> countMoviesByGenre();
 
+	// add a review's rating to the rating statistics and average of the movie in
+	// one statement, the right hand sides all read the values before the update
+	@Modifying
+	@Query(value = "UPDATE movies SET rating_count = rating_count + 1, rating_sum = rating_sum + :rating, "
+			+ "rating_histogram[:rating] = rating_histogram[:rating] + 1, "
+			+ "average_rating = CAST(rating_sum + :rating AS double precision) / (rating_count + 1) "
+			+ "WHERE movie_id = :movieId", nativeQuery = true)
+	int addRating(@Param("movieId") int movieId, @Param("rating") int rating);
+
+	// remove a deleted review's rating from the rating statistics and average of
+	// the movie in one statement
+	@Modifying
+	@Query(value = "UPDATE movies SET rating_count = rating_count - 1, rating_sum = rating_sum - :rating, "
+			+ "rating_histogram[:rating] = rating_histogram[:rating] - 1, "
+			+ "average_rating = CASE WHEN rating_count > 1 "
+			+ "THEN CAST(rating_sum - :rating AS double precision) / (rating_count - 1) ELSE 0 END "
+			+ "WHERE movie_id = :movieId", nativeQuery = true)
+	int removeRating(@Param("movieId") int movieId, @Param("rating") int rating);
+
+	// the rating statistics and average of movies computed from the reviews, as
+	// a subquery named s
+	String RATING_STATISTICS = "(SELECT mv.movie_id, COUNT(r.rating) AS rating_count, "
+			+ "COALESCE(SUM(r.rating), 0) AS rating_sum, "
+			+ "CAST(ARRAY[COUNT(*) FILTER (WHERE r.rating = 1), COUNT(*) FILTER (WHERE r.rating = 2), "
+			+ "COUNT(*) FILTER (WHERE r.rating = 3), COUNT(*) FILTER (WHERE r.rating = 4), "
+			+ "COUNT(*) FILTER (WHERE r.rating = 5)] AS integer[]) AS rating_histogram, "
+			+ "COALESCE(CAST(SUM(r.rating) AS double precision) / NULLIF(COUNT(r.rating), 0), 0) AS average_rating "
+			+ "FROM movies mv LEFT JOIN reviews r ON r.movie_id = mv.movie_id ";
+
+	String SET_RATING_STATISTICS = "UPDATE movies m SET rating_count = s.rating_count, rating_sum = s.rating_sum, "
+			+ "rating_histogram = s.rating_histogram, average_rating = s.average_rating FROM ";
+
+	// recompute the rating statistics and average of all movies from the reviews,
+	// only rows which differ are written. Returns the number of movies corrected
+	@Modifying
+	@Query(value = SET_RATING_STATISTICS + RATING_STATISTICS + "GROUP BY mv.movie_id) s "
+			+ "WHERE m.movie_id = s.movie_id AND (m.rating_count <> s.rating_count OR m.rating_sum <> s.rating_sum "
+			+ "OR m.rating_histogram <> s.rating_histogram OR m.average_rating <> s.average_rating)", nativeQuery = true)
+	int reconcileRatings();
+
+	// recompute the rating statistics and average of the movies from their
+	// reviews, e.g. after deleting reviews in bulk
+	@Modifying
+	@Query(value = SET_RATING_STATISTICS + RATING_STATISTICS + "WHERE mv.movie_id IN (:movieIds) "
+			+ "GROUP BY mv.movie_id) s WHERE m.movie_id = s.movie_id", nativeQuery = true)
+	int recomputeRatings(@Param("movieIds") List<Integer> movieIds);
+
 }
@@ -1,13 +1,22 @@
 package com.endava.example.repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.endava.example.constants.Constants;
 import com.endava.example.entity.Purchase;
 import com.endava.example.entity.PurchaseDetail;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface PurchaseDetailRepository extends JpaRepository<PurchaseDetail, Integer> {
 
@@ -20,6 +29,41 @@ public interface PurchaseDetailRepository extends JpaRepository<PurchaseDetail,
 	// Retrieves a list of PurchaseDetails for a user based on the user's ID.
 	List<PurchaseDetail> findByPurchase_User_UserId(int userId);
 
-	// to check if movie is already purchased by user....
-	boolean existsByPurchase_User_UserIdAndMovie_MovieId(int userId, int movieId);
+	// get the ids of all movies the user has purchased
+	@Query("SELECT DISTINCT pd.movie.movieId FROM PurchaseDetail pd WHERE pd.purchase.user.userId = :userId")
+	List<Integer> findPurchasedMovieIdsByUserId(@Param("userId") int userId);
+
+	// get which of the given movies the user has already purchased
+	@Query("SELECT DISTINCT pd.movie.movieId FROM PurchaseDetail pd WHERE pd.purchase.user.userId = :userId AND pd.movie.movieId IN :movieIds")
+	List<Integer> findPurchasedMovieIds(@Param("userId") int userId, @Param("movieIds") List<Integer> movieIds);
+
+	// streams purchaseDetailId, purchaseId, movieId, title and price paid of all
+	// purchase details for the export, must run in a transaction
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = Constants.EXPORT_FETCH_SIZE))
+	@Query("SELECT pd.purchaseDetailId, pd.purchase.purchaseId, pd.movie.movieId, pd.title, pd.unitPrice FROM PurchaseDetail pd ORDER BY pd.purchaseDetailId")
+	Stream<Object[]> streamAllForExport();
+
+	// streams purchaseId and movieId of all purchase details, by purchase, must
+	// run in a transaction
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = Constants.EXPORT_FETCH_SIZE))
+	@Query("SELECT pd.purchase.purchaseId, pd.movie.movieId FROM PurchaseDetail pd ORDER BY pd.purchase.purchaseId")
+	Stream<Object[]> streamAllByPurchase();
+
+	// streams userId, movieId and the strongest interaction of every user with a
+	// movie: 3 for a purchase, 2 for a favorite and 1 for a cart item, must run
+	// in a transaction
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = Constants.EXPORT_FETCH_SIZE))
+	@Query(value = "SELECT user_id, movie_id, MAX(weight) FROM ("
+			+ "SELECT p.user_id, pd.movie_id, 3 AS weight FROM purchase_details pd JOIN purchases p ON p.purchase_id = pd.purchase_id "
+			+ "UNION ALL SELECT f.user_id, f.movie_id, 2 FROM favorites f "
+			+ "UNION ALL SELECT c.user_id, c.movie_id, 1 FROM carts c) interactions "
+			+ "GROUP BY user_id, movie_id", nativeQuery = true)
+	Stream<Object[]> streamAllInteractions();
+
+	// copy the current unit price, title and genre of the movie onto the purchase
+	// details written before they were snapshotted. Returns the number updated
+	@Modifying
+	@Query(value = "UPDATE purchase_details pd SET unit_price = m.price, title = m.title, genre = m.genre "
+			+ "FROM movies m WHERE m.movie_id = pd.movie_id AND pd.unit_price IS NULL", nativeQuery = true)
+	int backfillSnapshots();
 }
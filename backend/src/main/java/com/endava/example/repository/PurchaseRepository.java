@@ -1,13 +1,23 @@
 package com.endava.example.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.endava.example.constants.Constants;
 import com.endava.example.entity.Purchase;
 
+import jakarta.persistence.QueryHint;
+
 /**
  * 
  */
@@ -15,15 +25,35 @@ import com.endava.example.entity.Purchase;
 @Repository
 public interface PurchaseRepository extends JpaRepository<Purchase, Integer> {
 
-	List<Purchase> findByUser_UserId(int userId);
+	List<Purchase> findByUser_UserIdAndStatus(int userId, String status);
+
+	Optional<Purchase> findByPurchaseIdAndStatus(int purchaseId, String status);
+
+	// the purchases reserved before the given time which are still pending
+	@Query("SELECT p FROM Purchase p WHERE p.status = 'PENDING' AND p.reservedAt < :reservedBefore")
+	List<Purchase> findPendingReservedBefore(@Param("reservedBefore") LocalDateTime reservedBefore);
 
-	@Query("SELECT SUM(p.totalPrice) FROM Purchase p")
+	// complete or void the purchase if it is still pending. Returns 1 if updated
+	@Modifying
+	@Query("UPDATE Purchase p SET p.status = :status WHERE p.purchaseId = :purchaseId AND p.status = 'PENDING'")
+	int updatePendingStatus(@Param("purchaseId") int purchaseId, @Param("status") String status);
+
+	@Query("SELECT SUM(p.totalPrice) FROM Purchase p WHERE p.status = 'COMPLETED'")
 	Double getTotalRevenue();
     
-	@Query("SELECT m.genre, SUM(m.price) FROM PurchaseDetail pd JOIN pd.movie m GROUP BY m.genre")
+	@Query("SELECT pd.genre, SUM(pd.unitPrice) FROM PurchaseDetail pd GROUP BY pd.genre")
 	List<Object[]> getRevenueByGenre();
     
-    @Query("SELECT u.fullName, COUNT(p) FROM Purchase p JOIN p.user u GROUP BY u ORDER BY COUNT(p) DESC LIMIT 5")
+    @Query("SELECT u.fullName, COUNT(p) FROM Purchase p JOIN p.user u WHERE p.status = 'COMPLETED' GROUP BY u ORDER BY COUNT(p) DESC LIMIT 5")
     List<Object[]> getTopUsers();
-	
+
+	@Query("SELECT u.userId, u.fullName, COUNT(p) FROM Purchase p JOIN p.user u WHERE p.status = 'COMPLETED' GROUP BY u.userId, u.fullName")
+	List<Object[]> getPurchaseCountPerUser();
+
+	// streams purchaseId, transactionId, userId, paymentMethod, totalPrice and
+	// purchaseDate of all completed purchases for the export, must run in a
+	// transaction
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = Constants.EXPORT_FETCH_SIZE))
+	@Query("SELECT p.purchaseId, p.transactionId, p.user.userId, p.paymentMethod, p.totalPrice, p.purchaseDate FROM Purchase p WHERE p.status = 'COMPLETED' ORDER BY p.purchaseId")
+	Stream<Object[]> streamAllForExport();
 }
@@ -0,0 +1,30 @@
+package com.endava.example.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.endava.example.entity.ReviewReport;
+
+@Repository
+public interface ReviewReportRepository extends JpaRepository<ReviewReport, Integer> {
+
+	// record the user's report of the review, skipped when the user has reported
+	// it already or the review or the user does not exist. Returns 1 if recorded
+	@Modifying
+	@Query(value = "INSERT INTO review_reports (review_id, user_id, reported_at) "
+			+ "SELECT r.review_id, u.user_id, :reportedAt FROM reviews r JOIN users u ON u.user_id = :userId "
+			+ "WHERE r.review_id = :reviewId ON CONFLICT (review_id, user_id) DO NOTHING", nativeQuery = true)
+	int addReport(@Param("reviewId") int reviewId, @Param("userId") int userId,
+			@Param("reportedAt") LocalDateTime reportedAt);
+
+	// remove the reports of the reviews, e.g. once they are approved
+	@Modifying
+	@Query("DELETE FROM ReviewReport rr WHERE rr.review.reviewId IN :reviewIds")
+	int deleteByReviewIds(@Param("reviewIds") List<Integer> reviewIds);
+}
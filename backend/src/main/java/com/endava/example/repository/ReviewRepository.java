@@ -1,16 +1,92 @@
 package com.endava.example.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.endava.example.constants.Constants;
 import com.endava.example.entity.Review;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface ReviewRepository extends JpaRepository<Review, Integer> {
 
-	// Retrieves a list of reviews for a given movie based on the movie's ID.
-	List<Review> findByMovie_MovieId(int movieId);
+	// one page of the reviews of a movie with an id below the cursor, newest first, as
+	// [reviewId, userId, username, title, reviewText, rating, reported]; served by the
+	// (movieId, reviewId) index
+	@Query("SELECT r.reviewId, u.userId, u.fullName, m.title, r.reviewText, r.rating, r.reported "
+			+ "FROM Review r JOIN r.user u JOIN r.movie m "
+			+ "WHERE m.movieId = :movieId AND r.reviewId < :cursor ORDER BY r.reviewId DESC")
+	List<Object[]> findPageOfMovie(@Param("movieId") int movieId, @Param("cursor") int cursor, Limit limit);
+
+	// insert a review of the movie by the user in one statement, which also checks
+	// that both exist. Returns [reviewId, username, title], no row if the user or
+	// the movie does not exist
+	@Query(value = "WITH inserted AS (INSERT INTO reviews (user_id, movie_id, review_text, rating, reported) "
+			+ "SELECT u.user_id, m.movie_id, :reviewText, :rating, false FROM users u JOIN movies m "
+			+ "ON m.movie_id = :movieId WHERE u.user_id = :userId RETURNING review_id, user_id, movie_id) "
+			+ "SELECT i.review_id, u.full_name, m.title FROM inserted i JOIN users u ON u.user_id = i.user_id "
+			+ "JOIN movies m ON m.movie_id = i.movie_id", nativeQuery = true)
+	List<Object[]> insertReview(@Param("userId") int userId, @Param("movieId") int movieId,
+			@Param("reviewText") String reviewText, @Param("rating") int rating);
+
+	// count a new report of the review and put it in the moderation queue
+	@Modifying
+	@Query(value = "UPDATE reviews SET reported = true, report_count = report_count + 1, "
+			+ "first_reported_at = COALESCE(first_reported_at, :reportedAt), last_reported_at = :reportedAt "
+			+ "WHERE review_id = :reviewId", nativeQuery = true)
+	int addReport(@Param("reviewId") int reviewId, @Param("reportedAt") LocalDateTime reportedAt);
+
+	// one page of the moderation queue, most reported first, as [reviewId, userId,
+	// username, movieId, title, reviewText, rating, reportCount, firstReportedAt,
+	// lastReportedAt]; the title and username patterns are lower case
+	@Query(value = "SELECT r.reviewId, u.userId, u.fullName, m.movieId, m.title, r.reviewText, r.rating, "
+			+ "r.reportCount, r.firstReportedAt, r.lastReportedAt FROM Review r JOIN r.user u JOIN r.movie m "
+			+ "WHERE r.reported = true AND LOWER(m.title) LIKE :title AND LOWER(u.fullName) LIKE :username "
+			+ "ORDER BY r.reportCount DESC, r.lastReportedAt DESC, r.reviewId DESC",
+			countQuery = "SELECT COUNT(r) FROM Review r JOIN r.user u JOIN r.movie m "
+					+ "WHERE r.reported = true AND LOWER(m.title) LIKE :title AND LOWER(u.fullName) LIKE :username")
+	Page<Object[]> findReported(@Param("title") String title, @Param("username") String username,
+			Pageable pageable);
+
+	// take the reviews out of the moderation queue, keeping them. Returns the
+	// number of reviews approved
+	@Modifying
+	@Query(value = "UPDATE reviews SET reported = false, report_count = 0, first_reported_at = NULL, "
+			+ "last_reported_at = NULL WHERE review_id IN (:reviewIds) AND reported", nativeQuery = true)
+	int approveReported(@Param("reviewIds") List<Integer> reviewIds);
+
+	// the movies whose rating statistics change when the reviews are deleted
+	@Query("SELECT DISTINCT r.movie.movieId FROM Review r WHERE r.reviewId IN :reviewIds AND r.rating IS NOT NULL")
+	List<Integer> findRatedMovieIds(@Param("reviewIds") List<Integer> reviewIds);
+
+	// delete the reviews, their reports are deleted by the database. Returns the
+	// number of reviews deleted
+	@Modifying
+	@Query("DELETE FROM Review r WHERE r.reviewId IN :reviewIds")
+	int deleteByReviewIds(@Param("reviewIds") List<Integer> reviewIds);
+
+	// streams userId, movieId and reviewText of all reviews for the review guard,
+	// must run in a transaction
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = Constants.EXPORT_FETCH_SIZE))
+	@Query("SELECT r.user.userId, r.movie.movieId, r.reviewText FROM Review r")
+	Stream<Object[]> streamAllForIngestion();
 
+	// streams reviewId, userId, movieId, reviewText and reported of all reviews
+	// for the export, must run in a transaction
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = Constants.EXPORT_FETCH_SIZE))
+	@Query("SELECT r.reviewId, r.user.userId, r.movie.movieId, r.reviewText, r.reported FROM Review r ORDER BY r.reviewId")
+	Stream<Object[]> streamAllForExport();
 }
@@ -0,0 +1,19 @@
+package com.endava.example.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Operations ChartRollups needs on every daily rollup table. Each rollup
+ * repository implements them with queries on its own table.
+ */
+public interface RollupRepository {
+
+	// latest day rolled up so far, null while the table is empty
+	LocalDate findLatestDay();
+
+	// deletes the rows of every day since the given one
+	int deleteFrom(LocalDate from);
+
+	// recomputes the rows of every day since the given one from the source tables
+	int insertFrom(LocalDate from);
+}
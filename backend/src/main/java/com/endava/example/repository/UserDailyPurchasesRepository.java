@@ -0,0 +1,42 @@
+package com.endava.example.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.endava.example.entity.UserDailyPurchases;
+
+@Repository
+public interface UserDailyPurchasesRepository extends JpaRepository<UserDailyPurchases, Integer>, RollupRepository {
+
+	@Override
+	@Query("SELECT MAX(r.day) FROM UserDailyPurchases r")
+	LocalDate findLatestDay();
+
+	@Override
+	@Modifying
+	@Query("DELETE FROM UserDailyPurchases r WHERE r.day >= :from")
+	int deleteFrom(@Param("from") LocalDate from);
+
+	@Override
+	@Modifying
+	@Query(value = """
+			INSERT INTO user_daily_purchases (day, user_id, purchases, amount_spent)
+			SELECT p.purchase_date, p.user_id, COUNT(*), SUM(p.total_price)
+			FROM purchases p
+			WHERE p.purchase_date >= :from AND p.status = 'COMPLETED'
+			GROUP BY p.purchase_date, p.user_id""", nativeQuery = true)
+	int insertFrom(@Param("from") LocalDate from);
+
+	// get the 5 users with the most purchases between the given days (inclusive)
+	@Query("""
+			SELECT u.fullName, SUM(r.purchases) FROM UserDailyPurchases r JOIN r.user u
+			WHERE r.day BETWEEN :from AND :to
+			GROUP BY u.userId, u.fullName ORDER BY SUM(r.purchases) DESC LIMIT 5""")
+	List<Object[]> getTopUsers(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
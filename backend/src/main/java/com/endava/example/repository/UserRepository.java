@@ -2,13 +2,20 @@ package com.endava.example.repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.endava.example.constants.Constants;
 import com.endava.example.entity.User;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface UserRepository extends JpaRepository<User, Integer> {
 
@@ -16,6 +23,11 @@ public interface UserRepository extends JpaRepository<User, Integer> {
 	@Query("SELECT u FROM User u WHERE u.status = 'ACTIVE'")
 	List<User> getAllActiveUsers();
 
+	// locks the user's row until the end of the transaction, serializing the
+	// checkouts of the user. Returns the user ID, or null if not found
+	@Query(value = "SELECT user_id FROM users WHERE user_id = :userId FOR UPDATE", nativeQuery = true)
+	Integer lockById(@Param("userId") int userId);
+
 	// gets the user by their email
 	Optional<User> findByEmail(String email);
 
@@ -25,4 +37,9 @@ public interface UserRepository extends JpaRepository<User, Integer> {
 	// gets the count of the user based on given role
 	int countByRole(String role);
 
+	// streams userId, fullName, email, age, role, status, createdAt and updatedAt
+	// of all users (never the password) for the export, must run in a transaction
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = Constants.EXPORT_FETCH_SIZE))
+	@Query("SELECT u.userId, u.fullName, u.email, u.age, u.role, u.status, u.createdAt, u.updatedAt FROM User u ORDER BY u.userId")
+	Stream<Object[]> streamAllForExport();
 }
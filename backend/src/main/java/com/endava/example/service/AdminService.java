@@ -1,5 +1,6 @@
 package com.endava.example.service;
 
+import java.time.LocalDate;
 import java.util.Map;
 
 import com.endava.example.dto.SummaryDTO;
@@ -9,6 +10,8 @@ public interface AdminService {
 	SummaryDTO getSummary();
 
 	Map<String, Object> getChartData(String type);
+
+	Map<String, Object> getChartData(String type, LocalDate from, LocalDate to, String interval);
 	
 
 }
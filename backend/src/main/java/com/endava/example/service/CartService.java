@@ -8,11 +8,13 @@ public interface CartService {
 
 	CartDTO addToCart(CartDTO dto);
 
+	List<CartDTO> addMoviesToCartOfUser(int userId, List<Integer> movieIds);
+
 	List<CartDTO> getAllCartItemsOfUser(int userId);
 
-	void removeFromCartOfUser(int userId, int movieId);
+	List<CartDTO> removeFromCartOfUser(int userId, int movieId);
 	
-    void removeMultipleMoviesFromCartOfUser(int userId, List<Integer> movieIds); 
+    List<CartDTO> removeMultipleMoviesFromCartOfUser(int userId, List<Integer> movieIds); 
 
 	void clearCartOfUser(int userId);
 
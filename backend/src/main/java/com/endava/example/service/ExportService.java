@@ -0,0 +1,15 @@
+package com.endava.example.service;
+
+import java.io.Writer;
+
+public interface ExportService {
+
+	void exportPurchases(Writer writer);
+
+	void exportPurchaseDetails(Writer writer);
+
+	void exportUsers(Writer writer);
+
+	void exportReviews(Writer writer);
+
+}
@@ -0,0 +1,11 @@
+package com.endava.example.service;
+
+import java.io.InputStream;
+
+import com.endava.example.dto.MovieImportResultDTO;
+
+public interface MovieImportService {
+
+	MovieImportResultDTO importMovies(InputStream input, String format);
+
+}
@@ -21,4 +21,10 @@ public interface MovieService {
 
 	List<MovieDTO> getMoviesByGenre(String genre);
 
+	List<MovieDTO> getRecommendedMovies(Integer userId, String genre);
+
+	List<MovieDTO> getTrendingMovies(int limit);
+
+	List<MovieDTO> getAlsoBoughtMovies(int movieId);
+
 }
\ No newline at end of file
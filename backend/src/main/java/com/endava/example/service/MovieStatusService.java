@@ -0,0 +1,11 @@
+package com.endava.example.service;
+
+import java.util.List;
+
+import com.endava.example.dto.MovieStatusDTO;
+
+public interface MovieStatusService {
+
+	List<MovieStatusDTO> getMovieStatuses(int userId, List<Integer> movieIds);
+
+}
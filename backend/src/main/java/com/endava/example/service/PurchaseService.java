@@ -8,7 +8,7 @@ import com.endava.example.dto.PurchasedMovieDTO;
 
 public interface PurchaseService {
 
-	PurchaseDTO createPurchase(PurchaseRequestDTO dto);
+	PurchaseDTO createPurchase(PurchaseRequestDTO dto, String idempotencyKey);
 
 	List<PurchaseDTO> getPurchaseByUserId(int userId);
 
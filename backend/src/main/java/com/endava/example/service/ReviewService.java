@@ -2,7 +2,9 @@ package com.endava.example.service;
 
 import java.util.List;
 
+import com.endava.example.dto.ReportedReviewPageDTO;
 import com.endava.example.dto.ReviewDTO;
+import com.endava.example.dto.ReviewPageDTO;
 
 public interface ReviewService {
 
@@ -10,10 +12,14 @@ public interface ReviewService {
 
 	void deleteReview(int reviewId);
 
-	List<ReviewDTO> getAllReviewsOfMovie(int movieId);
+	ReviewPageDTO getReviewsOfMovie(int movieId, Integer cursor, int size);
 
-	List<ReviewDTO> getAllReportedReviews();
-	
-	String reportReview(int reviewId);
+	ReportedReviewPageDTO getReportedReviews(String title, String username, int page, int size);
+
+	String reportReview(int reviewId, int userId);
+
+	int approveReviews(List<Integer> reviewIds);
+
+	int deleteReviews(List<Integer> reviewIds);
 
 }
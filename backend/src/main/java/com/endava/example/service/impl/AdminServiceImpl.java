@@ -1,14 +1,27 @@
 package com.endava.example.service.impl;
 
+import java.time.LocalDate;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 
 import org.springframework.stereotype.Service;
 
+import com.endava.example.analytics.ChartInterval;
+import com.endava.example.analytics.DashboardAggregates;
+import com.endava.example.analytics.TimeSeries;
 import com.endava.example.dto.SummaryDTO;
-import com.endava.example.repository.MovieRepository;
-import com.endava.example.repository.PurchaseRepository;
-import com.endava.example.repository.UserRepository;
+import com.endava.example.entity.CartDailyAdds;
+import com.endava.example.entity.DailySales;
+import com.endava.example.repository.CartDailyAddsRepository;
+import com.endava.example.repository.DailySalesRepository;
+import com.endava.example.repository.GenreDailyMoviesRepository;
+import com.endava.example.repository.GenreDailyRevenueRepository;
+import com.endava.example.repository.MovieDailySalesRepository;
+import com.endava.example.repository.UserDailyPurchasesRepository;
 import com.endava.example.service.AdminService;
 
 /**
@@ -18,21 +31,45 @@ import com.endava.example.service.AdminService;
  * data for different types of reports (e.g., movies by genre, revenue by genre,
  * top users).
  * 
+ * The figures come from DashboardAggregates, which keeps them up to date in
+ * memory instead of querying the purchases on every request. Charts over a
+ * date range and the sales charts (revenue over time, best selling movies,
+ * cart conversion, average basket size) are read from the daily rollup tables
+ * maintained by ChartRollups and CartActivity. The sales charts are returned as
+ * columns: a "labels" array and one array of numbers per measure.
  */
 @Service
 public class AdminServiceImpl implements AdminService {
 
-	private UserRepository userRepository;
+	private DashboardAggregates dashboardAggregates;
 
-	private MovieRepository movieRepository;
+	private GenreDailyMoviesRepository genreDailyMoviesRepository;
 
-	private PurchaseRepository purchaseRepository;
+	private GenreDailyRevenueRepository genreDailyRevenueRepository;
 
-	public AdminServiceImpl(UserRepository userRepository, MovieRepository movieRepository,
-			PurchaseRepository purchaseRepository) {
-		this.userRepository = userRepository;
-		this.movieRepository = movieRepository;
-		this.purchaseRepository = purchaseRepository;
+	private UserDailyPurchasesRepository userDailyPurchasesRepository;
+
+	private DailySalesRepository dailySalesRepository;
+
+	private MovieDailySalesRepository movieDailySalesRepository;
+
+	private CartDailyAddsRepository cartDailyAddsRepository;
+
+	// chart types served from the in-memory aggregates when no range is given
+	private static final Set<String> AGGREGATED_CHART_TYPES = Set.of("moviesByGenre", "revenueByGenre", "topUsers");
+
+	public AdminServiceImpl(DashboardAggregates dashboardAggregates,
+			GenreDailyMoviesRepository genreDailyMoviesRepository,
+			GenreDailyRevenueRepository genreDailyRevenueRepository,
+			UserDailyPurchasesRepository userDailyPurchasesRepository, DailySalesRepository dailySalesRepository,
+			MovieDailySalesRepository movieDailySalesRepository, CartDailyAddsRepository cartDailyAddsRepository) {
+		this.dashboardAggregates = dashboardAggregates;
+		this.genreDailyMoviesRepository = genreDailyMoviesRepository;
+		this.genreDailyRevenueRepository = genreDailyRevenueRepository;
+		this.userDailyPurchasesRepository = userDailyPurchasesRepository;
+		this.dailySalesRepository = dailySalesRepository;
+		this.movieDailySalesRepository = movieDailySalesRepository;
+		this.cartDailyAddsRepository = cartDailyAddsRepository;
 	}
 
 	/**
@@ -44,12 +81,7 @@ public class AdminServiceImpl implements AdminService {
 	 */
 	@Override
 	public SummaryDTO getSummary() {
-		SummaryDTO dto = new SummaryDTO();
-		dto.setNumberOfUsers(userRepository.count());
-		dto.setNumberOfMovies(movieRepository.count());
-		Double totalRevenue = purchaseRepository.getTotalRevenue();
-		dto.setTotalRevenue(totalRevenue != null ? totalRevenue : 0.0);
-		return dto;
+		return dashboardAggregates.getSummary();
 	}
 
 	/**
@@ -70,13 +102,151 @@ public class AdminServiceImpl implements AdminService {
 		Map<String, Object> chartData = new HashMap<>();
 
 		switch (type) {
-		case "moviesByGenre" -> chartData.put("series", movieRepository.countMoviesByGenre());
-		case "revenueByGenre" -> chartData.put("series", purchaseRepository.getRevenueByGenre());
-		case "topUsers" -> chartData.put("series", purchaseRepository.getTopUsers());
+		case "moviesByGenre" -> chartData.put("series", dashboardAggregates.getMoviesByGenre());
+		case "revenueByGenre" -> chartData.put("series", dashboardAggregates.getRevenueByGenre());
+		case "topUsers" -> chartData.put("series", dashboardAggregates.getTopUsers());
+		default -> throw new IllegalArgumentException("Invalid chart type: " + type);
+		}
+
+		return chartData;
+	}
+
+	/**
+	 * Retrieves chart data of the specified type limited to a date range. For
+	 * moviesByGenre the range applies to the day the movies were added, for the
+	 * other charts to the purchase date. Data of the current day may lag by the
+	 * rollup refresh interval.
+	 * 
+	 * Besides the chart types of getChartData(type), which return a "series" of
+	 * [label, value] pairs, these columnar chart types are supported:
+	 * - revenueOverTime: "revenue" and "purchases" per bucket.
+	 * - averageBasketSize: "averageValue" and "averageMovies" per purchase per
+	 * bucket.
+	 * - cartConversion: "cartAdds", "moviesPurchased" and "conversionRate" per
+	 * bucket, from the day cart adds were first recorded on.
+	 * - bestSellingMovies: the titles as "labels" with "movieIds", "copiesSold"
+	 * and "revenue" of the 10 best selling movies.
+	 *
+	 * @param type     of chart data to retrieve (e.g., "moviesByGenre",
+	 *                 "revenueOverTime")
+	 * @param from     first day of the range (inclusive), or null for no lower
+	 *                 bound
+	 * @param to       last day of the range (inclusive), or null for today
+	 * @param interval bucket size of the time series charts ("day", "week" or
+	 *                 "month"), null for days
+	 * @return a map containing the chart data.
+	 * @throws IllegalArgumentException if the chart type, the range or the
+	 *                                  interval is invalid, or the range of a
+	 *                                  time series is too long for its interval
+	 *                                  (5 years of days, 20 years of weeks or
+	 *                                  100 years of months)
+	 */
+	@Override
+	public Map<String, Object> getChartData(String type, LocalDate from, LocalDate to, String interval) {
+		if (type == null || type.isBlank()) {
+			throw new IllegalArgumentException("Chart type cannot be null or empty.");
+		}
+		if (from == null && to == null && AGGREGATED_CHART_TYPES.contains(type)) {
+			return getChartData(type);
+		}
+
+		LocalDate start = from != null ? from : LocalDate.EPOCH;
+		LocalDate end = to != null ? to : LocalDate.now();
+		if (start.isAfter(end)) {
+			throw new IllegalArgumentException("Start date cannot be after end date.");
+		}
+		ChartInterval chartInterval = ChartInterval.parse(interval);
+
+		Map<String, Object> chartData = new HashMap<>();
+
+		switch (type) {
+		case "moviesByGenre" -> chartData.put("series", genreDailyMoviesRepository.countMoviesByGenre(start, end));
+		case "revenueByGenre" -> chartData.put("series", genreDailyRevenueRepository.getRevenueByGenre(start, end));
+		case "topUsers" -> chartData.put("series", userDailyPurchasesRepository.getTopUsers(start, end));
+		case "revenueOverTime" -> chartData = getRevenueOverTime(from, start, end, chartInterval);
+		case "averageBasketSize" -> chartData = getAverageBasketSize(from, start, end, chartInterval);
+		case "cartConversion" -> chartData = getCartConversion(from, start, end, chartInterval);
+		case "bestSellingMovies" -> chartData = getBestSellingMovies(start, end);
 		default -> throw new IllegalArgumentException("Invalid chart type: " + type);
 		}
 
 		return chartData;
 	}
 
+	private Map<String, Object> getRevenueOverTime(LocalDate from, LocalDate start, LocalDate end,
+			ChartInterval interval) {
+		List<DailySales> days = dailySalesRepository.findBetween(start, end);
+		TimeSeries series = timeSeries(interval, firstDay(from, days, DailySales::getDay, end), end);
+		series.column("revenue");
+		series.column("purchases");
+		for (DailySales day : days) {
+			series.add("revenue", day.getDay(), day.getRevenue());
+			series.add("purchases", day.getDay(), day.getPurchases());
+		}
+		return series.toChartData();
+	}
+
+	private Map<String, Object> getAverageBasketSize(LocalDate from, LocalDate start, LocalDate end,
+			ChartInterval interval) {
+		List<DailySales> days = dailySalesRepository.findBetween(start, end);
+		TimeSeries series = timeSeries(interval, firstDay(from, days, DailySales::getDay, end), end);
+		for (DailySales day : days) {
+			series.add("revenue", day.getDay(), day.getRevenue());
+			series.add("purchases", day.getDay(), day.getPurchases());
+		}
+		for (Object[] row : genreDailyRevenueRepository.getMoviesSoldPerDay(start, end)) {
+			series.add("moviesSold", (LocalDate) row[0], ((Number) row[1]).doubleValue());
+		}
+		series.ratio("averageValue", "revenue", "purchases");
+		series.ratio("averageMovies", "moviesSold", "purchases");
+		Map<String, Object> chartData = series.toChartData();
+		chartData.keySet().removeAll(List.of("revenue", "purchases", "moviesSold"));
+		return chartData;
+	}
+
+	private Map<String, Object> getCartConversion(LocalDate from, LocalDate start, LocalDate end,
+			ChartInterval interval) {
+		List<CartDailyAdds> days = cartDailyAddsRepository.findBetween(start, end);
+		TimeSeries series = timeSeries(interval, firstDay(from, days, CartDailyAdds::getDay, end), end);
+		series.column("cartAdds");
+		series.column("moviesPurchased");
+		for (CartDailyAdds day : days) {
+			series.add("cartAdds", day.getDay(), day.getAdds());
+		}
+		for (Object[] row : genreDailyRevenueRepository.getMoviesSoldPerDay(start, end)) {
+			series.add("moviesPurchased", (LocalDate) row[0], ((Number) row[1]).doubleValue());
+		}
+		series.ratio("conversionRate", "moviesPurchased", "cartAdds");
+		return series.toChartData();
+	}
+
+	private Map<String, Object> getBestSellingMovies(LocalDate start, LocalDate end) {
+		List<Object[]> rows = movieDailySalesRepository.getBestSellingMovies(start, end);
+		Map<String, Object> chartData = new LinkedHashMap<>();
+		chartData.put("labels", rows.stream().map(row -> row[1]).toList());
+		chartData.put("movieIds", rows.stream().map(row -> row[0]).toList());
+		chartData.put("copiesSold", rows.stream().map(row -> row[2]).toList());
+		chartData.put("revenue", rows.stream().map(row -> row[3]).toList());
+		return chartData;
+	}
+
+	// creates the time series after checking its range against the interval
+	private static TimeSeries timeSeries(ChartInterval interval, LocalDate first, LocalDate last) {
+		interval.checkSpan(first, last);
+		return new TimeSeries(interval, first, last);
+	}
+
+	/**
+	 * The first day a time series covers: the requested start, or without one the
+	 * first day with data (the end when there is none), so that an open range
+	 * does not produce buckets back to 1970.
+	 */
+	private static <T> LocalDate firstDay(LocalDate from, List<T> days,
+			Function<T, LocalDate> dayOf, LocalDate end) {
+		if (from != null) {
+			return from;
+		}
+		return days.isEmpty() ? end : dayOf.apply(days.get(0));
+	}
+
 }
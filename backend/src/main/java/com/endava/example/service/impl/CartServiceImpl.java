@@ -2,13 +2,16 @@ package com.endava.example.service.impl;
 
 import java.util.List;
 
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.endava.example.analytics.CartActivity;
+import com.endava.example.analytics.MovieTrends;
+import com.endava.example.cache.UserEntitlements;
 import com.endava.example.dto.CartDTO;
 import com.endava.example.entity.Cart;
 import com.endava.example.entity.Movie;
-import com.endava.example.entity.User;
 import com.endava.example.exceptions.ResourceAlreadyExistsException;
 import com.endava.example.exceptions.ResourceNotFoundException;
 import com.endava.example.mapper.CartMapper;
@@ -16,6 +19,7 @@ import com.endava.example.repository.CartRepository;
 import com.endava.example.repository.MovieRepository;
 import com.endava.example.repository.UserRepository;
 import com.endava.example.service.CartService;
+import com.endava.example.utils.ApplicationMetrics;
 
 @Service
 public class CartServiceImpl implements CartService {
@@ -29,17 +33,32 @@ public class CartServiceImpl implements CartService {
 
 	private CartMapper cartMapper;
 
+	private ApplicationMetrics applicationMetrics;
+
+	private CartActivity cartActivity;
+
+	private UserEntitlements userEntitlements;
+
+	private MovieTrends movieTrends;
+
 	public CartServiceImpl(CartRepository cartRepository, UserRepository userRepository,
-			MovieRepository movieRepository, CartMapper cartMapper) {
+			MovieRepository movieRepository, CartMapper cartMapper, ApplicationMetrics applicationMetrics,
+			CartActivity cartActivity, UserEntitlements userEntitlements, MovieTrends movieTrends) {
 		super();
 		this.cartRepository = cartRepository;
 		this.userRepository = userRepository;
 		this.movieRepository = movieRepository;
 		this.cartMapper = cartMapper;
+		this.applicationMetrics = applicationMetrics;
+		this.cartActivity = cartActivity;
+		this.userEntitlements = userEntitlements;
+		this.movieTrends = movieTrends;
 	}
 
 	/**
-	 * Adds the movie to the cart of the user
+	 * Adds the movie to the cart of the user. The unique constraint on the user
+	 * and movie rejects a movie already in the cart, so no query checks for it
+	 * beforehand, and the user is only looked up when the insert fails.
 	 * 
 	 * @param CartDTO containing details of user and movie
 	 * @return CartDTO which is added in the repository
@@ -50,21 +69,57 @@ public class CartServiceImpl implements CartService {
 	@Override
 	public CartDTO addToCart(CartDTO dto) {
 
-		User user = userRepository.findById(dto.getUserId())
-				.orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + dto.getUserId()));
-
 		Movie movie = movieRepository.findById(dto.getMovieId())
 				.orElseThrow(() -> new ResourceNotFoundException("Movie not found with ID: " + dto.getMovieId()));
 
-		if (cartRepository.existsByUser_UserIdAndMovie_MovieId(dto.getUserId(), dto.getMovieId())) {
+		Cart cart = cartMapper.toEntity(dto, userRepository.getReferenceById(dto.getUserId()), movie);
+		try {
+			cart = cartRepository.save(cart);
+		} catch (DataIntegrityViolationException e) {
+			if (!userRepository.existsById(dto.getUserId())) {
+				throw new ResourceNotFoundException("User not found with ID: " + dto.getUserId());
+			}
 			throw new ResourceAlreadyExistsException("Movie already in your cart");
 		}
-
-		Cart cart = cartMapper.toEntity(dto, user, movie);
-		cart = cartRepository.save(cart);
+		applicationMetrics.recordCartMutation("add", 1);
+		cartActivity.movieAdded();
+		userEntitlements.addedToCart(dto.getUserId(), List.of(movie.getMovieId()));
+		movieTrends.addedToCart(movie.getMovieId());
 		return cartMapper.toDto(cart);
 	}
 
+	/**
+	 * Adds the movies to the cart of the user with a single insert. Movies
+	 * already in the cart, unavailable and unknown movies are skipped.
+	 * 
+	 * @param userId   the id of the user
+	 * @param movieIds the ids of the movies to add
+	 * @return the cart of the user after adding the movies
+	 * @throws IllegalArgumentException  if movieIds is null or empty
+	 * @throws ResourceNotFoundException if the userId is invalid
+	 */
+	@Override
+	@Transactional
+	public List<CartDTO> addMoviesToCartOfUser(int userId, List<Integer> movieIds) {
+
+		if (movieIds == null || movieIds.isEmpty()) {
+			throw new IllegalArgumentException("Movie IDs cannot be null or empty.");
+		}
+		if (!userRepository.existsById(userId)) {
+			throw new ResourceNotFoundException("User not found with ID: " + userId);
+		}
+
+		int added = cartRepository.addMoviesToCart(userId, movieIds);
+		List<CartDTO> cart = getAllCartItemsOfUser(userId);
+		if (added > 0) {
+			applicationMetrics.recordCartMutation("add", added);
+			cartActivity.moviesAdded(added);
+			// the insert does not tell which movies it added, they are all in the cart now
+			userEntitlements.addedToCart(userId, cart.stream().map(CartDTO::getMovieId).toList());
+		}
+		return cart;
+	}
+
 	/**
 	 * Fetches all the cart items of the user and filters out unavailable movies..
 	 * 
@@ -73,9 +128,7 @@ public class CartServiceImpl implements CartService {
 	 */
 	@Override
 	public List<CartDTO> getAllCartItemsOfUser(int userId) {
-		return cartRepository.findByUser_UserId(userId).stream()
-				.filter(cart -> "AVAILABLE".equalsIgnoreCase(cart.getMovie().getStatus())).map(cartMapper::toDto)
-				.toList();
+		return cartRepository.findAvailableByUserId(userId).stream().map(cartMapper::toDto).toList();
 	}
 
 	/**
@@ -83,42 +136,52 @@ public class CartServiceImpl implements CartService {
 	 * 
 	 * @param userId  the id of the user from which we have to remove the movie..
 	 * @param movieId the id of the movie to be removed
+	 * @return the cart of the user after removing the movie
 	 * @throws ResourceNotFoundException if the movieId or userId is invalid
 	 */
 	@Override
-	public void removeFromCartOfUser(int userId, int movieId) {
+	@Transactional
+	public List<CartDTO> removeFromCartOfUser(int userId, int movieId) {
 
-		cartRepository.findByUser_UserIdAndMovie_MovieId(userId, movieId)
-				.ifPresentOrElse(cartRepository::delete, () -> {
-					throw new ResourceNotFoundException("Cart item not found for this user and movie.");
-				});
+		if (cartRepository.deleteByUserIdAndMovieIds(userId, List.of(movieId)) == 0) {
+			throw new ResourceNotFoundException("Cart item not found for this user and movie.");
+		}
+		applicationMetrics.recordCartMutation("remove", 1);
+		userEntitlements.removedFromCart(userId, List.of(movieId));
+		return getAllCartItemsOfUser(userId);
 	}
 
 	/**
-	 * Removes the list of movies from the user's cart
+	 * Removes the list of movies from the user's cart with a single delete. The
+	 * delete is rolled back if any of the movies is not in the cart.
 	 *
 	 * @param userId   the id of the user from which we have to remove the list of
 	 *                 movies
 	 * @param movieIds the list of movieIds which have to be removed
+	 * @return the cart of the user after removing the movies
 	 */
 	@Override
 	@Transactional
-	public void removeMultipleMoviesFromCartOfUser(int userId, List<Integer> movieIds) {
+	public List<CartDTO> removeMultipleMoviesFromCartOfUser(int userId, List<Integer> movieIds) {
 
-		List<Cart> cartItems = cartRepository.findByUser_UserIdAndMovie_MovieIdIn(userId, movieIds);
+		List<Integer> distinctMovieIds = movieIds.stream().distinct().toList();
+		int removed = distinctMovieIds.isEmpty() ? 0
+				: cartRepository.deleteByUserIdAndMovieIds(userId, distinctMovieIds);
 
-		if (cartItems.isEmpty()) {
+		if (removed == 0) {
 			throw new ResourceNotFoundException("Selected movies not found in cart of user : " + userId);
 		}
 
-		if (cartItems.size() != movieIds.size()) {
+		if (removed != distinctMovieIds.size()) {
 			throw new ResourceNotFoundException("Some movies not found in the cart of the user..");
 		}
-		cartRepository.deleteAll(cartItems);
+		applicationMetrics.recordCartMutation("remove", removed);
+		userEntitlements.removedFromCart(userId, distinctMovieIds);
+		return getAllCartItemsOfUser(userId);
 	}
 
 	/**
-	 * Clears all the items from the cart of the user
+	 * Clears all the items from the cart of the user with a single delete.
 	 * 
 	 * @param userId the id of the user whose cart has to be cleared..
 	 */
@@ -126,15 +189,17 @@ public class CartServiceImpl implements CartService {
 	@Transactional
 	public void clearCartOfUser(int userId) {
 
-		List<Cart> itemsInUserCarts = cartRepository.findByUser_UserId(userId);
-		if (itemsInUserCarts.isEmpty()) {
+		int removed = cartRepository.deleteByUserId(userId);
+		if (removed == 0) {
 			throw new ResourceNotFoundException("Cart is already empty for user: " + userId);
 		}
-		cartRepository.deleteAll(itemsInUserCarts);
+		applicationMetrics.recordCartMutation("clear", removed);
+		userEntitlements.cartCleared(userId);
 	}
 
 	/**
-	 * Checks if the movie is already in the cart of the user or not
+	 * Checks if the movie is already in the cart of the user or not, without a
+	 * query once the user's entitlements are loaded
 	 * 
 	 * @param userId  the id of the user
 	 * @param movieId the id of the movie
@@ -142,7 +207,7 @@ public class CartServiceImpl implements CartService {
 	 */
 	@Override
 	public boolean checkMovieInCartOfUser(int userId, int movieId) {
-		return cartRepository.existsByUser_UserIdAndMovie_MovieId(userId, movieId);
+		return userEntitlements.isInCart(userId, movieId);
 	}
 
 }
@@ -0,0 +1,115 @@
+package com.endava.example.service.impl;
+
+import java.io.Writer;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.endava.example.repository.PurchaseDetailRepository;
+import com.endava.example.repository.PurchaseRepository;
+import com.endava.example.repository.ReviewRepository;
+import com.endava.example.repository.UserRepository;
+import com.endava.example.service.ExportService;
+import com.endava.example.utils.CsvWriter;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Implementation of the ExportService interface that writes whole tables as CSV
+ * for the admins.
+ * 
+ * The rows are streamed from the database with a cursor (the fetch size is set
+ * on the repository queries) and written to the writer one at a time, so the
+ * memory used does not depend on the size of the table. Only plain columns are
+ * selected, so no entities pile up in the persistence context. The
+ * read-only transaction keeps the cursor open while streaming.
+ */
+@Service
+@Slf4j
+public class ExportServiceImpl implements ExportService {
+
+	private PurchaseRepository purchaseRepository;
+
+	private PurchaseDetailRepository purchaseDetailRepository;
+
+	private UserRepository userRepository;
+
+	private ReviewRepository reviewRepository;
+
+	public ExportServiceImpl(PurchaseRepository purchaseRepository, PurchaseDetailRepository purchaseDetailRepository,
+			UserRepository userRepository, ReviewRepository reviewRepository) {
+		this.purchaseRepository = purchaseRepository;
+		this.purchaseDetailRepository = purchaseDetailRepository;
+		this.userRepository = userRepository;
+		this.reviewRepository = reviewRepository;
+	}
+
+	/**
+	 * Writes all purchases as CSV.
+	 * 
+	 * @param writer the writer to write to, flushed but not closed.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public void exportPurchases(Writer writer) {
+		try (Stream<Object[]> rows = purchaseRepository.streamAllForExport()) {
+			write("purchases", writer, rows, "purchaseId", "transactionId", "userId", "paymentMethod", "totalPrice",
+					"purchaseDate");
+		}
+	}
+
+	/**
+	 * Writes all purchase details as CSV, with the title and price the movie was
+	 * purchased with.
+	 * 
+	 * @param writer the writer to write to, flushed but not closed.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public void exportPurchaseDetails(Writer writer) {
+		try (Stream<Object[]> rows = purchaseDetailRepository.streamAllForExport()) {
+			write("purchase details", writer, rows, "purchaseDetailId", "purchaseId", "movieId", "title", "price");
+		}
+	}
+
+	/**
+	 * Writes all users as CSV, without their passwords.
+	 * 
+	 * @param writer the writer to write to, flushed but not closed.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public void exportUsers(Writer writer) {
+		try (Stream<Object[]> rows = userRepository.streamAllForExport()) {
+			write("users", writer, rows, "userId", "fullName", "email", "age", "role", "status", "createdAt",
+					"updatedAt");
+		}
+	}
+
+	/**
+	 * Writes all reviews as CSV.
+	 * 
+	 * @param writer the writer to write to, flushed but not closed.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public void exportReviews(Writer writer) {
+		try (Stream<Object[]> rows = reviewRepository.streamAllForExport()) {
+			write("reviews", writer, rows, "reviewId", "userId", "movieId", "reviewText", "reported");
+		}
+	}
+
+	private void write(String table, Writer writer, Stream<Object[]> rows, Object... header) {
+		long startTime = System.nanoTime();
+		CsvWriter csv = new CsvWriter(writer);
+		csv.writeRow(header);
+		long count = 0;
+		for (Iterator<Object[]> iterator = rows.iterator(); iterator.hasNext(); count++) {
+			csv.writeRow(iterator.next());
+		}
+		csv.flush();
+		log.info("Exported {} {} in {} ms", count, table, (System.nanoTime() - startTime) / 1_000_000);
+	}
+}
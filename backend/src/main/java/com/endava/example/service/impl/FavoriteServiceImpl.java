@@ -4,6 +4,8 @@ import java.util.List;
 
 import org.springframework.stereotype.Service;
 
+import com.endava.example.analytics.MovieTrends;
+import com.endava.example.cache.UserEntitlements;
 import com.endava.example.dto.FavoriteDTO;
 import com.endava.example.entity.Favorite;
 import com.endava.example.entity.Movie;
@@ -15,6 +17,7 @@ import com.endava.example.repository.FavoriteRepository;
 import com.endava.example.repository.MovieRepository;
 import com.endava.example.repository.UserRepository;
 import com.endava.example.service.FavoriteService;
+import com.endava.example.utils.ApplicationMetrics;
 
 /**
  * Implementation of FavoriteService, responsible for managing users' favorite
@@ -33,13 +36,23 @@ public class FavoriteServiceImpl implements FavoriteService {
 
 	private FavoriteMapper favoriteMapper;
 
+	private ApplicationMetrics applicationMetrics;
+
+	private UserEntitlements userEntitlements;
+
+	private MovieTrends movieTrends;
+
 	public FavoriteServiceImpl(FavoriteRepository favoriteRepository, UserRepository userRepository,
-			MovieRepository movieRepository, FavoriteMapper favoriteMapper) {
+			MovieRepository movieRepository, FavoriteMapper favoriteMapper, ApplicationMetrics applicationMetrics,
+			UserEntitlements userEntitlements, MovieTrends movieTrends) {
 		super();
 		this.favoriteRepository = favoriteRepository;
 		this.userRepository = userRepository;
 		this.movieRepository = movieRepository;
 		this.favoriteMapper = favoriteMapper;
+		this.applicationMetrics = applicationMetrics;
+		this.userEntitlements = userEntitlements;
+		this.movieTrends = movieTrends;
 	}
 
 	/**
@@ -79,6 +92,9 @@ public class FavoriteServiceImpl implements FavoriteService {
 
 		Favorite favorite = favoriteMapper.toEntity(user, movie);
 		favorite = favoriteRepository.save(favorite);
+		applicationMetrics.recordFavoriteMutation("add");
+		userEntitlements.addedToFavorites(user.getUserId(), movie.getMovieId());
+		movieTrends.addedToFavorites(movie.getMovieId());
 		return favoriteMapper.toDto(favorite);
 	}
 
@@ -91,13 +107,16 @@ public class FavoriteServiceImpl implements FavoriteService {
 	 */
 	@Override
 	public void removeFavoriteById(int favoriteId) {
-		favoriteRepository.findById(favoriteId).ifPresentOrElse(favorite -> favoriteRepository.delete(favorite), () -> {
-			throw new ResourceNotFoundException("Favorite with this id doesn't exist..");
-		});
+		Favorite favorite = favoriteRepository.findById(favoriteId)
+				.orElseThrow(() -> new ResourceNotFoundException("Favorite with this id doesn't exist.."));
+		favoriteRepository.delete(favorite);
+		applicationMetrics.recordFavoriteMutation("remove");
+		userEntitlements.removedFromFavorites(favorite.getUser().getUserId(), favorite.getMovie().getMovieId());
 	}
 
 	/**
-	 * Checks if a specific movie is in the user's list of favorites..
+	 * Checks if a specific movie is in the user's list of favorites.. uses the
+	 * cached entitlements of the user.
 	 * 
 	 * @param userId  the ID of the user whose favorites we need to check..
 	 * @param movieId the ID of the movie for which we have to check..
@@ -105,7 +124,7 @@ public class FavoriteServiceImpl implements FavoriteService {
 	 */
 	@Override
 	public boolean checkMovieInFavoriteOfUser(int userId, int movieId) {
-		return favoriteRepository.findByUser_UserIdAndMovie_MovieId(userId, movieId).isPresent();
+		return userEntitlements.isFavorite(userId, movieId);
 	}
 
 	/**
@@ -120,6 +139,8 @@ public class FavoriteServiceImpl implements FavoriteService {
 		Favorite favorite = favoriteRepository.findByUser_UserIdAndMovie_MovieId(userId, movieId)
 				.orElseThrow(() -> new ResourceNotFoundException("Movie not found in user's favorites"));
 		favoriteRepository.delete(favorite);
+		applicationMetrics.recordFavoriteMutation("remove");
+		userEntitlements.removedFromFavorites(userId, movieId);
 	}
 
 }
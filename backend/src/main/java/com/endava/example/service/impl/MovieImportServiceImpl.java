@@ -0,0 +1,303 @@
+package com.endava.example.service.impl;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.endava.example.analytics.DashboardAggregates;
+import com.endava.example.controller.NotificationController;
+import com.endava.example.dto.MovieDTO;
+import com.endava.example.dto.MovieImportResultDTO;
+import com.endava.example.repository.MovieRepository;
+import com.endava.example.service.MovieImportService;
+import com.endava.example.utils.CsvReader;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Implementation of the MovieImportService interface that adds a whole catalog
+ * of movies from a CSV or JSON lines file.
+ *
+ * The file is read one row at a time. Every row is validated and its title is
+ * checked against an in-memory set holding the titles of the existing movies
+ * and of the rows read so far, so duplicates need no query. Valid rows are
+ * inserted BATCH_SIZE at a time by one statement taking every column as an
+ * array; each batch commits on its own, so memory use does not depend on the
+ * size of the file. The insert skips titles added by someone else during the
+ * import (ON CONFLICT DO NOTHING), which also makes importing the same file
+ * again safe, and returns the genre of every row it inserted, so the counts
+ * never depend on the update counts the driver reports for a JDBC batch (which
+ * are unknown once it rewrites the batch into multi-row inserts). Clients get
+ * one notification for the whole import instead of one per movie.
+ */
+@Service
+@Slf4j
+public class MovieImportServiceImpl implements MovieImportService {
+
+	private static final int BATCH_SIZE = 1000;
+
+	private static final int MAX_REPORTED_ERRORS = 100;
+
+	private static final String INSERT_MOVIES = "INSERT INTO movies (title, description, genre, release_date, "
+			+ "average_rating, price, posterurl, trailerurl, status, created_at, updated_at) "
+			+ "SELECT title, description, genre, release_date, 0, price, posterurl, trailerurl, status, ?, ? "
+			+ "FROM unnest(?, ?, ?, ?, ?, ?, ?, ?) "
+			+ "AS batch (title, description, genre, release_date, price, posterurl, trailerurl, status) "
+			+ "ON CONFLICT (title) DO NOTHING RETURNING genre";
+
+	// the SQL types of the batch columns, in the order of the unnest arguments
+	private static final String[] BATCH_COLUMN_TYPES = { "varchar", "varchar", "varchar", "date", "float8",
+			"varchar", "varchar", "varchar" };
+
+	private static final List<String> CSV_COLUMNS = List.of("title", "description", "genre", "releaseDate", "price",
+			"posterURL", "trailerURL");
+
+	private MovieRepository movieRepository;
+
+	private JdbcTemplate jdbcTemplate;
+
+	private ObjectMapper objectMapper;
+
+	private NotificationController notificationController;
+
+	private DashboardAggregates dashboardAggregates;
+
+	public MovieImportServiceImpl(MovieRepository movieRepository, JdbcTemplate jdbcTemplate,
+			ObjectMapper objectMapper, NotificationController notificationController,
+			DashboardAggregates dashboardAggregates) {
+		super();
+		this.movieRepository = movieRepository;
+		this.jdbcTemplate = jdbcTemplate;
+		this.objectMapper = objectMapper;
+		this.notificationController = notificationController;
+		this.dashboardAggregates = dashboardAggregates;
+	}
+
+	/**
+	 * Imports the movies in the input. Invalid and duplicate rows are skipped and
+	 * reported in the result, they do not stop the import.
+	 *
+	 * @param input  the file contents, UTF-8 encoded.
+	 * @param format "csv" (with a header row naming the columns) or "jsonl" (one
+	 *               movie object per line).
+	 * @return the number of rows read, imported and skipped.
+	 * @throws IllegalArgumentException if the format is unknown or a required CSV
+	 *                                  column is missing.
+	 */
+	@Override
+	public MovieImportResultDTO importMovies(InputStream input, String format) {
+		long startTime = System.nanoTime();
+		Import run = new Import(new HashSet<>(movieRepository.findAllTitlesInLowerCase()));
+
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+			switch (format == null ? "" : format.toLowerCase()) {
+			case "csv" -> readCsv(reader, run);
+			case "jsonl" -> readJsonLines(reader, run);
+			default -> throw new IllegalArgumentException("Unsupported import format: " + format);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		run.flush();
+		run.publish();
+
+		MovieImportResultDTO result = run.result;
+		log.info("Imported {} of {} movies ({} duplicates, {} invalid) in {} ms", result.getImported(),
+				result.getRows(), result.getDuplicates(), result.getInvalid(),
+				(System.nanoTime() - startTime) / 1_000_000);
+		return result;
+	}
+
+	private void readCsv(BufferedReader reader, Import run) {
+		CsvReader csv = new CsvReader(reader);
+		List<String> header = csv.readRow();
+		if (header == null) {
+			return;
+		}
+		Map<String, Integer> columns = new HashMap<>();
+		for (int i = 0; i < header.size(); i++) {
+			columns.put(header.get(i).trim(), i);
+		}
+		for (String column : CSV_COLUMNS) {
+			if (!columns.containsKey(column)) {
+				throw new IllegalArgumentException("Missing CSV column: " + column);
+			}
+		}
+
+		List<String> fields;
+		int row = 1;
+		while ((fields = csv.readRow()) != null) {
+			row++;
+			if (fields.size() == 1 && fields.get(0).isBlank()) {
+				continue;
+			}
+			try {
+				run.add(row, toMovie(fields, columns));
+			} catch (DateTimeParseException | NumberFormatException e) {
+				run.reject(row, "invalid releaseDate or price");
+			}
+		}
+	}
+
+	private void readJsonLines(BufferedReader reader, Import run) throws IOException {
+		String line;
+		int row = 0;
+		while ((line = reader.readLine()) != null) {
+			row++;
+			if (line.isBlank()) {
+				continue;
+			}
+			try {
+				run.add(row, objectMapper.readValue(line, MovieDTO.class));
+			} catch (JsonProcessingException e) {
+				run.reject(row, "malformed JSON");
+			}
+		}
+	}
+
+	private MovieDTO toMovie(List<String> fields, Map<String, Integer> columns) {
+		MovieDTO movie = new MovieDTO();
+		movie.setTitle(field(fields, columns, "title"));
+		movie.setDescription(field(fields, columns, "description"));
+		movie.setGenre(field(fields, columns, "genre"));
+		String releaseDate = field(fields, columns, "releaseDate");
+		movie.setReleaseDate(releaseDate == null ? null : LocalDate.parse(releaseDate));
+		String price = field(fields, columns, "price");
+		movie.setPrice(price == null ? -1 : Double.parseDouble(price));
+		movie.setPosterURL(field(fields, columns, "posterURL"));
+		movie.setTrailerURL(field(fields, columns, "trailerURL"));
+		movie.setStatus(field(fields, columns, "status"));
+		return movie;
+	}
+
+	// the trimmed field of the column, null when the column or the value is missing
+	private static String field(List<String> fields, Map<String, Integer> columns, String column) {
+		Integer index = columns.get(column);
+		if (index == null || index >= fields.size() || fields.get(index).isBlank()) {
+			return null;
+		}
+		return fields.get(index).trim();
+	}
+
+	// the reason the movie cannot be imported, null when it is valid
+	private static String validate(MovieDTO movie) {
+		if (isBlank(movie.getTitle()) || isBlank(movie.getDescription()) || isBlank(movie.getGenre())
+				|| isBlank(movie.getPosterURL()) || isBlank(movie.getTrailerURL())
+				|| movie.getReleaseDate() == null) {
+			return "title, description, genre, releaseDate, posterURL and trailerURL are required";
+		}
+		if (movie.getPrice() < 0) {
+			return "price must be zero or more";
+		}
+		if (movie.getStatus() != null && !"AVAILABLE".equalsIgnoreCase(movie.getStatus())
+				&& !"UNAVAILABLE".equalsIgnoreCase(movie.getStatus())) {
+			return "status must be AVAILABLE or UNAVAILABLE";
+		}
+		return null;
+	}
+
+	private static boolean isBlank(String value) {
+		return value == null || value.isBlank();
+	}
+
+	/**
+	 * The state of one import: the known titles, the batch waiting to be
+	 * inserted and the counts reported at the end.
+	 */
+	private final class Import {
+
+		private final Set<String> titles;
+		private List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+		private final Map<String, Integer> importedByGenre = new HashMap<>();
+		private final MovieImportResultDTO result = new MovieImportResultDTO();
+
+		private Import(Set<String> titles) {
+			this.titles = titles;
+		}
+
+		private void add(int row, MovieDTO movie) {
+			String error = validate(movie);
+			if (error != null) {
+				reject(row, error);
+				return;
+			}
+			String title = movie.getTitle().trim();
+			result.setRows(result.getRows() + 1);
+			if (!titles.add(title.toLowerCase())) {
+				result.setDuplicates(result.getDuplicates() + 1);
+				return;
+			}
+
+			String status = movie.getStatus() == null ? "AVAILABLE" : movie.getStatus().toUpperCase();
+			batch.add(new Object[] { title, movie.getDescription().trim(), movie.getGenre().trim(),
+					Date.valueOf(movie.getReleaseDate()), movie.getPrice(), movie.getPosterURL().trim(),
+					movie.getTrailerURL().trim(), status });
+			if (batch.size() == BATCH_SIZE) {
+				flush();
+			}
+		}
+
+		private void reject(int row, String error) {
+			result.setRows(result.getRows() + 1);
+			result.setInvalid(result.getInvalid() + 1);
+			if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+				result.getErrors().add("Row " + row + ": " + error);
+			}
+		}
+
+		private void flush() {
+			if (batch.isEmpty()) {
+				return;
+			}
+			List<Object[]> rows = batch;
+			Date today = Date.valueOf(LocalDate.now());
+			List<String> insertedGenres = jdbcTemplate.query(INSERT_MOVIES, statement -> {
+				statement.setDate(1, today);
+				statement.setDate(2, today);
+				Connection connection = statement.getConnection();
+				for (int column = 0; column < BATCH_COLUMN_TYPES.length; column++) {
+					Object[] values = new Object[rows.size()];
+					for (int i = 0; i < values.length; i++) {
+						values[i] = rows.get(i)[column];
+					}
+					statement.setArray(column + 3, connection.createArrayOf(BATCH_COLUMN_TYPES[column], values));
+				}
+			}, (resultSet, rowNum) -> resultSet.getString(1));
+
+			// the rows not returned were added by someone else since the titles were loaded
+			result.setImported(result.getImported() + insertedGenres.size());
+			result.setDuplicates(result.getDuplicates() + rows.size() - insertedGenres.size());
+			for (String genre : insertedGenres) {
+				importedByGenre.merge(genre, 1, Integer::sum);
+			}
+			batch = new ArrayList<>(BATCH_SIZE);
+		}
+
+		private void publish() {
+			if (result.getImported() == 0) {
+				return;
+			}
+			dashboardAggregates.moviesAdded(importedByGenre);
+			notificationController.sendNotificationToAllClients(
+					result.getImported() + " new movies have been added to the catalog");
+		}
+	}
+}
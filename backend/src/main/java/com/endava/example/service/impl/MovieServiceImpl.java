@@ -1,13 +1,27 @@
 package com.endava.example.service.impl;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
 
+import com.endava.example.analytics.AlsoBoughtIndex;
+import com.endava.example.analytics.DashboardAggregates;
+import com.endava.example.analytics.MovieSimilarity;
+import com.endava.example.analytics.MovieTrends;
+import com.endava.example.cache.MovieCatalog;
+import com.endava.example.cache.UserEntitlements;
+import com.endava.example.constants.Constants;
 import com.endava.example.controller.NotificationController;
 import com.endava.example.dto.MovieDTO;
+import com.endava.example.dto.MovieStatusDTO;
 import com.endava.example.entity.Movie;
 import com.endava.example.exceptions.ResourceAlreadyExistsException;
 import com.endava.example.exceptions.ResourceNotFoundException;
@@ -29,12 +43,32 @@ public class MovieServiceImpl implements MovieService {
 
 	private MovieMapper movieMapper;
 
+	private DashboardAggregates dashboardAggregates;
+
+	private MovieSimilarity movieSimilarity;
+
+	private UserEntitlements userEntitlements;
+
+	private MovieTrends movieTrends;
+
+	private AlsoBoughtIndex alsoBoughtIndex;
+
+	private MovieCatalog movieCatalog;
+
 	public MovieServiceImpl(MovieRepository movieRepository, NotificationController notificationController,
-			MovieMapper movieMapper) {
+			MovieMapper movieMapper, DashboardAggregates dashboardAggregates, MovieSimilarity movieSimilarity,
+			UserEntitlements userEntitlements, MovieTrends movieTrends, AlsoBoughtIndex alsoBoughtIndex,
+			MovieCatalog movieCatalog) {
 		super();
 		this.movieRepository = movieRepository;
 		this.notificationController = notificationController;
 		this.movieMapper = movieMapper;
+		this.dashboardAggregates = dashboardAggregates;
+		this.movieSimilarity = movieSimilarity;
+		this.userEntitlements = userEntitlements;
+		this.movieTrends = movieTrends;
+		this.alsoBoughtIndex = alsoBoughtIndex;
+		this.movieCatalog = movieCatalog;
 	}
 
 	/**
@@ -59,6 +93,7 @@ public class MovieServiceImpl implements MovieService {
 		Movie movie = movieMapper.toEntity(movieDTO);
 
 		movie = movieRepository.save(movie);
+		dashboardAggregates.movieAdded(movie.getGenre());
 
 		notificationController.sendNotificationToAllClients("A new movie has been added: " + movie.getTitle());
 
@@ -89,20 +124,24 @@ public class MovieServiceImpl implements MovieService {
 			}
 		});
 
+		String oldGenre = movie.getGenre();
+
 		// Update the movie details
 		movie.setTitle(movieDTO.getTitle());
 		movie.setDescription(movieDTO.getDescription());
 		movie.setGenre(movieDTO.getGenre());
 		movie.setReleaseDate(movieDTO.getReleaseDate());
 		movie.setPrice(movieDTO.getPrice());
-		movie.setAverageRating(movieDTO.getAverageRating());
 		movie.setPosterURL(movieDTO.getPosterURL());
 		movie.setTrailerURL(movieDTO.getTrailerURL());
 		movie.setStatus(movieDTO.getStatus());
 		movie.setUpdatedAt(LocalDate.now());
 
 		// Save the updated movie and return the DTO
-		return movieMapper.toDto(movieRepository.save(movie));
+		Movie updatedMovie = movieRepository.save(movie);
+		movieCatalog.evict(List.of(movieId));
+		dashboardAggregates.movieGenreChanged(oldGenre, updatedMovie.getGenre());
+		return movieMapper.toDto(updatedMovie);
 	}
 
 	/**
@@ -124,6 +163,7 @@ public class MovieServiceImpl implements MovieService {
 		}
 
 		movieRepository.save(movie);
+		movieCatalog.evict(List.of(movieId));
 	}
 
 	/**
@@ -139,8 +179,8 @@ public class MovieServiceImpl implements MovieService {
 	}
 
 	/**
-	 * Retrieves a movie by its ID. - Fetches the movie by ID. - Converts the entity
-	 * to DTO and returns it.
+	 * Retrieves a movie by its ID. - Fetches the movie by ID. - Counts the view
+	 * for the trending movies. - Converts the entity to DTO and returns it.
 	 *
 	 * @param movieId The ID of the movie to retrieve.
 	 * @return The movie as a DTO.
@@ -150,6 +190,7 @@ public class MovieServiceImpl implements MovieService {
 	public MovieDTO getMovieById(int movieId) {
 		Movie movie = movieRepository.findById(movieId)
 				.orElseThrow(() -> new ResourceNotFoundException("Movie not found with ID: " + movieId));
+		movieTrends.viewed(movieId);
 		return movieMapper.toDto(movie);
 	}
 
@@ -192,4 +233,87 @@ public class MovieServiceImpl implements MovieService {
 
 		return availableMovies;
 	}
+
+	/**
+	 * Recommends movies to a user from the movies other users purchased, added to
+	 * their favorites or to their carts together with the user's movies. While the
+	 * user has fewer than RECOMMENDATION_LIMIT recommendations, e.g. a new user,
+	 * the available movies of the genre fill the list; movies the user has
+	 * purchased are never recommended. Without a user, all available movies of the
+	 * genre are returned.
+	 *
+	 * @param userId The ID of the user, optional.
+	 * @param genre  The genre filling the recommendations, optional with a user.
+	 * @return List of recommended movies as DTOs, best first.
+	 * @throws IllegalArgumentException  if neither a user nor a genre is given.
+	 * @throws ResourceNotFoundException if no movie can be recommended.
+	 */
+	@Override
+	public List<MovieDTO> getRecommendedMovies(Integer userId, String genre) {
+		if (userId == null) {
+			return getMoviesByGenre(genre);
+		}
+
+		List<MovieStatusDTO> history = userEntitlements.getStatuses(userId);
+		// some of the ranked movies may be unavailable
+		List<Integer> rankedIds = movieSimilarity.recommend(history, Constants.RECOMMENDATION_LIMIT * 2);
+		Map<Integer, Movie> rankedMovies = movieRepository.findAllById(rankedIds).stream()
+				.collect(Collectors.toMap(Movie::getMovieId, Function.identity()));
+
+		List<MovieDTO> recommended = new ArrayList<>(Constants.RECOMMENDATION_LIMIT);
+		Set<Integer> skippedIds = new HashSet<>();
+		history.stream().filter(MovieStatusDTO::isPurchased).forEach(status -> skippedIds.add(status.getMovieId()));
+		for (Integer movieId : rankedIds) {
+			addRecommendation(recommended, skippedIds, rankedMovies.get(movieId));
+		}
+		if (genre != null && !genre.isEmpty()) {
+			for (Movie movie : movieRepository.findByGenre(genre)) {
+				addRecommendation(recommended, skippedIds, movie);
+			}
+		}
+
+		if (recommended.isEmpty()) {
+			throw new ResourceNotFoundException("No recommended movies found for user: " + userId);
+		}
+		return recommended;
+	}
+
+	/**
+	 * Retrieves the movies users are viewing, adding to carts and favorites and
+	 * purchasing the most lately. The ranking is held in memory and refreshed
+	 * periodically.
+	 *
+	 * @param limit The most movies returned.
+	 * @return List of trending movies as DTOs, most trending first.
+	 * @throws IllegalArgumentException if limit is not between 1 and
+	 *                                  MAX_TRENDING_MOVIES.
+	 */
+	@Override
+	public List<MovieDTO> getTrendingMovies(int limit) {
+		if (limit < 1 || limit > Constants.MAX_TRENDING_MOVIES) {
+			throw new IllegalArgumentException(
+					"Limit must be between 1 and " + Constants.MAX_TRENDING_MOVIES);
+		}
+		return movieTrends.getTrending(limit);
+	}
+
+	/**
+	 * Retrieves the available movies most often purchased together with a movie,
+	 * from an index rebuilt nightly and held in memory.
+	 *
+	 * @param movieId The ID of the movie.
+	 * @return List of movies as DTOs, most often purchased together first; empty
+	 *         when the movie was never purchased with others.
+	 */
+	@Override
+	public List<MovieDTO> getAlsoBoughtMovies(int movieId) {
+		return alsoBoughtIndex.getAlsoBought(movieId);
+	}
+
+	private void addRecommendation(List<MovieDTO> recommended, Set<Integer> skippedIds, Movie movie) {
+		if (movie != null && recommended.size() < Constants.RECOMMENDATION_LIMIT
+				&& "AVAILABLE".equalsIgnoreCase(movie.getStatus()) && skippedIds.add(movie.getMovieId())) {
+			recommended.add(movieMapper.toDto(movie));
+		}
+	}
 }
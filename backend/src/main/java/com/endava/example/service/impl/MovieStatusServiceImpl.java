@@ -0,0 +1,51 @@
+package com.endava.example.service.impl;
+
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+
+import com.endava.example.cache.UserEntitlements;
+import com.endava.example.constants.Constants;
+import com.endava.example.dto.MovieStatusDTO;
+import com.endava.example.service.MovieStatusService;
+
+/**
+ * Implementation of MovieStatusService, which tells for a list of movies
+ * whether the user has purchased them, has them in the cart and has them in
+ * the favorites, so a page showing many movies needs one request instead of
+ * three per movie.
+ */
+@Service
+public class MovieStatusServiceImpl implements MovieStatusService {
+
+	private UserEntitlements userEntitlements;
+
+	public MovieStatusServiceImpl(UserEntitlements userEntitlements) {
+		super();
+		this.userEntitlements = userEntitlements;
+	}
+
+	/**
+	 * Gets the purchased, in cart and favorite flags of the movies for the user,
+	 * from the user's entitlements held in memory.
+	 * 
+	 * @param userId   the id of the user
+	 * @param movieIds the ids of the movies, duplicates are returned once
+	 * @return the flags of each movie, in the order of the ids
+	 * @throws IllegalArgumentException if movieIds is null or empty, or has more
+	 *                                  than MAX_MOVIE_STATUS_IDS ids
+	 */
+	@Override
+	public List<MovieStatusDTO> getMovieStatuses(int userId, List<Integer> movieIds) {
+		if (movieIds == null || movieIds.isEmpty()) {
+			throw new IllegalArgumentException("Movie IDs cannot be null or empty.");
+		}
+		List<Integer> distinctMovieIds = movieIds.stream().distinct().toList();
+		if (distinctMovieIds.size() > Constants.MAX_MOVIE_STATUS_IDS) {
+			throw new IllegalArgumentException(
+					"At most " + Constants.MAX_MOVIE_STATUS_IDS + " movie IDs can be checked at once.");
+		}
+		return userEntitlements.getStatuses(userId, distinctMovieIds);
+	}
+
+}
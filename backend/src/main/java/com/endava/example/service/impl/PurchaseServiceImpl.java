@@ -2,28 +2,54 @@ package com.endava.example.service.impl;
 
 import java.io.ByteArrayOutputStream;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.endava.example.analytics.DashboardAggregates;
+import com.endava.example.analytics.MovieSimilarity;
+import com.endava.example.analytics.MovieTrends;
+import com.endava.example.cache.MovieCatalog;
+import com.endava.example.cache.UserDirectory;
+import com.endava.example.cache.UserEntitlements;
+import com.endava.example.constants.Constants;
+import com.endava.example.controller.NotificationController;
 import com.endava.example.dto.PurchaseDTO;
 import com.endava.example.dto.PurchaseRequestDTO;
 import com.endava.example.dto.PurchasedMovieDTO;
+import com.endava.example.entity.Cart;
 import com.endava.example.entity.Movie;
 import com.endava.example.entity.Purchase;
 import com.endava.example.entity.PurchaseDetail;
 import com.endava.example.entity.User;
 import com.endava.example.exceptions.PaymentFailedException;
+import com.endava.example.exceptions.ResourceAlreadyExistsException;
 import com.endava.example.exceptions.ResourceNotFoundException;
 import com.endava.example.mapper.PurchaseMapper;
+import com.endava.example.payment.PaymentAuthorization;
+import com.endava.example.payment.PaymentProcessor;
+import com.endava.example.payment.PaymentRequest;
+import com.endava.example.repository.CartRepository;
+import com.endava.example.repository.IdempotencyKeyRepository;
 import com.endava.example.repository.MovieRepository;
 import com.endava.example.repository.PurchaseDetailRepository;
 import com.endava.example.repository.PurchaseRepository;
 import com.endava.example.repository.UserRepository;
 import com.endava.example.service.PurchaseService;
+import com.endava.example.utils.ApplicationMetrics;
 import com.endava.example.utils.EmailService;
+import com.endava.example.utils.TransactionIdGenerator;
 import com.itextpdf.text.BaseColor;
 import com.itextpdf.text.Document;
 import com.itextpdf.text.Element;
@@ -40,55 +66,288 @@ import lombok.extern.slf4j.Slf4j;
 
 /**
  * Implementation of the PurchaseService interface that handles operations
- * related to movie purchases, including payment simulation, invoice generation,
- * and sending confirmation email.
+ * related to movie purchases, including payment authorization, invoice
+ * generation, and sending confirmation email.
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class PurchaseServiceImpl implements PurchaseService {
 
+	private static final String INSERT_PURCHASE_DETAIL = "INSERT INTO purchase_details "
+			+ "(purchase_id, movie_id, unit_price, title, genre) VALUES (?, ?, ?, ?, ?)";
+
 	private final PurchaseRepository purchaseRepository;
+	private final UserDirectory userDirectory;
 	private final UserRepository userRepository;
+	private final MovieCatalog movieCatalog;
 	private final MovieRepository movieRepository;
 	private final PurchaseDetailRepository purchaseDetailRepository;
+	private final CartRepository cartRepository;
 	private final EmailService emailService;
 	private final PurchaseMapper purchaseMapper;
+	private final ApplicationMetrics applicationMetrics;
+	private final DashboardAggregates dashboardAggregates;
+	private final UserEntitlements userEntitlements;
+	private final MovieSimilarity movieSimilarity;
+	private final MovieTrends movieTrends;
+	private final IdempotencyKeyRepository idempotencyKeyRepository;
+	private final TransactionIdGenerator transactionIdGenerator;
+	private final PaymentProcessor paymentProcessor;
+	private final TransactionTemplate transactionTemplate;
+	private final JdbcTemplate jdbcTemplate;
+	private final NotificationController notificationController;
 
 	/**
 	 * Creates a new purchase, saves the details, and sends a confirmation email.
+	 * Without movie IDs in the request, the available movies in the user's cart
+	 * are purchased.
 	 * 
-	 * @param dto The purchase request data transfer object.
+	 * The purchase is reserved as PENDING in a first transaction, priced from the
+	 * cached user and movies, then its payment is authorized with no transaction
+	 * open, so no database connection is held while waiting for the payment
+	 * gateway. An approved purchase is completed in a second transaction, which
+	 * locks the user, checks again that the user does not own any of the movies,
+	 * e.g. through a concurrent checkout, and that the movies' versions are
+	 * unchanged, saves its details in one
+	 * batch and removes its movies from the cart; the confirmation email and the
+	 * admin notification follow its commit, and its payment is captured. A
+	 * declined purchase, or one that cannot be completed, is voided with its
+	 * payment and leaves the cart as it was.
+	 * 
+	 * With an idempotency key, a request repeating one that created a purchase,
+	 * e.g. a retry after a timeout, returns that purchase without paying or
+	 * purchasing again. A request whose key is used by a purchase still in
+	 * progress is rejected.
+	 * 
+	 * @param dto            The purchase request data transfer object.
+	 * @param idempotencyKey The key identifying the request among the user's
+	 *                       requests, or null.
 	 * @return A DTO representation of the created purchase.
-	 * @throws ResourceNotFoundException If user or any movie is not found.
-	 * @throws RuntimeException          If payment fails.
+	 * @throws ResourceNotFoundException      If user or any movie is not found, or
+	 *                                        the cart is empty.
+	 * @throws ResourceAlreadyExistsException If the user already owns any of the
+	 *                                        movies, or the idempotency key is
+	 *                                        used by a pending purchase.
+	 * @throws IllegalArgumentException       If the idempotency key is blank or
+	 *                                        too long.
+	 * @throws PaymentFailedException         If the payment is declined or times
+	 *                                        out.
+	 * @throws OptimisticLockingFailureException If any of the movies changed
+	 *                                        during the checkout.
 	 */
-	@Transactional
 	@Override
-	public PurchaseDTO createPurchase(PurchaseRequestDTO dto) {
+	public PurchaseDTO createPurchase(PurchaseRequestDTO dto, String idempotencyKey) {
+
+		long startTime = System.nanoTime();
+		if (idempotencyKey != null
+				&& (idempotencyKey.isBlank() || idempotencyKey.length() > Constants.MAX_IDEMPOTENCY_KEY_LENGTH)) {
+			throw new IllegalArgumentException(
+					"Idempotency-Key must have 1 to " + Constants.MAX_IDEMPOTENCY_KEY_LENGTH + " characters");
+		}
+
+		Reservation reservation = transactionTemplate.execute(status -> reservePurchase(dto, idempotencyKey));
+		Purchase purchase = reservation.purchase();
+		if (reservation.movies() == null) {
+			return purchaseMapper.toDto(purchase);
+		}
+
+		PaymentAuthorization authorization = paymentProcessor.authorize(new PaymentRequest(
+				purchase.getTransactionId(), reservation.user().getUserId(), purchase.getTotalPrice(),
+				purchase.getPaymentMethod()));
+		if (!authorization.approved()) {
+			transactionTemplate.executeWithoutResult(status -> voidPurchase(purchase.getPurchaseId()));
+			applicationMetrics.recordPaymentFailure(startTime);
+			log.info("Payment {} of purchase {} declined: {}", authorization.reference(), purchase.getPurchaseId(),
+					authorization.declineReason());
+			throw new PaymentFailedException("Payment failed. Purchase " + purchase.getPurchaseId() + " was voided.");
+		}
+
+		try {
+			transactionTemplate.executeWithoutResult(status -> completePurchase(reservation));
+		} catch (RuntimeException e) {
+			failPurchase(reservation, authorization, e);
+			throw e;
+		}
+		paymentProcessor.capture(authorization);
+		purchase.setStatus(Constants.PURCHASE_COMPLETED);
+
+		applicationMetrics.recordPurchaseSuccess(startTime);
+		return purchaseMapper.toDto(purchase);
+	}
+
+	/**
+	 * A pending purchase, the buyer and the movies to purchase; without movies
+	 * for the completed purchase of a repeated request.
+	 */
+	private record Reservation(Purchase purchase, User user, List<Movie> movies) {
+	}
 
-		User user = userRepository.findById(dto.getUserId())
+	/**
+	 * Checks the purchase request and saves it as a pending purchase, claiming its
+	 * idempotency key.
+	 * 
+	 * @return The pending purchase, or the completed purchase of the idempotency
+	 *         key.
+	 */
+	private Reservation reservePurchase(PurchaseRequestDTO dto, String idempotencyKey) {
+		User user = userDirectory.findById(dto.getUserId())
 				.orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + dto.getUserId()));
 
-		List<Movie> movies = movieRepository.findAllById(dto.getMovieIds());
-		if (movies.size() != dto.getMovieIds().size()) {
-			throw new ResourceNotFoundException("Some movies not found.");
+		if (idempotencyKey != null && idempotencyKeyRepository.claim(user.getUserId(), idempotencyKey,
+				LocalDateTime.now()) == 0) {
+			Purchase purchase = idempotencyKeyRepository.findPurchase(user.getUserId(), idempotencyKey)
+					.filter(existing -> Constants.PURCHASE_COMPLETED.equals(existing.getStatus()))
+					.orElseThrow(() -> new ResourceAlreadyExistsException(
+							"A purchase with this Idempotency-Key is in progress: " + idempotencyKey));
+			log.info("Repeated purchase request {} of user {} returns purchase {}", idempotencyKey,
+					user.getUserId(), purchase.getPurchaseId());
+			return new Reservation(purchase, user, null);
 		}
 
-		double totalPrice = movies.stream().mapToDouble(Movie::getPrice).sum();
+		List<Movie> movies = getMoviesToPurchase(dto);
+		List<Integer> movieIds = movies.stream().map(Movie::getMovieId).toList();
 
-		String transactionId = simulatePayment();
-		if (transactionId == null) {
-			throw new PaymentFailedException("Payment failed. No purchase record created.");
+		List<Integer> ownedMovieIds = purchaseDetailRepository.findPurchasedMovieIds(user.getUserId(), movieIds);
+		if (!ownedMovieIds.isEmpty()) {
+			throw new ResourceAlreadyExistsException("Movies already purchased: " + ownedMovieIds);
 		}
 
-		Purchase purchase = createPurchaseRecord(dto, user, totalPrice, transactionId);
+		double totalPrice = movies.stream().mapToDouble(Movie::getPrice).sum();
+
+		Purchase purchase = createPurchaseRecord(dto, user, totalPrice, transactionIdGenerator.nextTransactionId());
+		if (idempotencyKey != null) {
+			idempotencyKeyRepository.setPurchase(user.getUserId(), idempotencyKey, purchase);
+		}
+		return new Reservation(purchase, user, movies);
+	}
 
+	/**
+	 * Completes a pending purchase whose payment is authorized. The user is
+	 * locked until the completion commits, so the ownership check and the
+	 * details saved cannot interleave with another checkout of the user, which
+	 * passed the same check in its reservation while this payment was being
+	 * authorized. The confirmation email with the invoice and the admin
+	 * notification are sent once the completion has committed.
+	 * 
+	 * @throws ResourceAlreadyExistsException    If the user owns any of the
+	 *                                           movies by now.
+	 * @throws OptimisticLockingFailureException If any of the movies changed
+	 *                                           since it was priced.
+	 * @throws PaymentFailedException            If the purchase is no longer
+	 *                                           pending, i.e. it was voided
+	 *                                           meanwhile.
+	 */
+	private void completePurchase(Reservation reservation) {
+		Purchase purchase = reservation.purchase();
+		User user = reservation.user();
+		List<Movie> movies = reservation.movies();
+		List<Integer> movieIds = movies.stream().map(Movie::getMovieId).toList();
+
+		userRepository.lockById(user.getUserId());
+		List<Integer> ownedMovieIds = purchaseDetailRepository.findPurchasedMovieIds(user.getUserId(), movieIds);
+		if (!ownedMovieIds.isEmpty()) {
+			throw new ResourceAlreadyExistsException("Movies already purchased: " + ownedMovieIds);
+		}
+		checkMovieVersions(movies);
+		if (purchaseRepository.updatePendingStatus(purchase.getPurchaseId(), Constants.PURCHASE_COMPLETED) == 0) {
+			throw new PaymentFailedException("Purchase " + purchase.getPurchaseId() + " expired before its payment.");
+		}
 		savePurchaseDetails(movies, purchase);
+		cartRepository.deleteByUserIdAndMovieIds(user.getUserId(), movieIds);
+		dashboardAggregates.purchaseCompleted(user, purchase.getTotalPrice(), movies);
+		userEntitlements.purchased(user.getUserId(), movieIds);
+		movieSimilarity.purchased(user.getUserId(), movieIds);
+		movieTrends.purchased(movieIds);
+
+		afterCommit(() -> {
+			sendConfirmationEmail(user, purchase);
+			notificationController.sendEventToAdmins("purchase-completed", purchase.getPurchaseId());
+		});
+	}
 
-		sendConfirmationEmail(user, transactionId);
+	/**
+	 * Checks that none of the movies changed since they were read, so the
+	 * purchase is charged their current prices.
+	 * 
+	 * @throws OptimisticLockingFailureException If any of the movies changed.
+	 */
+	private void checkMovieVersions(List<Movie> movies) {
+		Map<Integer, Long> versions = movieRepository
+				.findVersions(movies.stream().map(Movie::getMovieId).toList()).stream()
+				.collect(Collectors.toMap(row -> (Integer) row[0], row -> ((Number) row[1]).longValue()));
+		List<Integer> changedMovieIds = movies.stream()
+				.filter(movie -> !Long.valueOf(movie.getVersion()).equals(versions.get(movie.getMovieId())))
+				.map(Movie::getMovieId).toList();
+		if (!changedMovieIds.isEmpty()) {
+			throw new OptimisticLockingFailureException(
+					"Movies changed during checkout, please review the purchase: " + changedMovieIds);
+		}
+	}
 
-		return purchaseMapper.toDto(purchase);
+	/**
+	 * Voids a purchase whose completion failed and its authorized payment. Movies
+	 * that changed since they were priced are reloaded by the next checkout.
+	 */
+	private void failPurchase(Reservation reservation, PaymentAuthorization authorization, RuntimeException failure) {
+		boolean releasePayment;
+		try {
+			releasePayment = Boolean.TRUE.equals(
+					transactionTemplate.execute(status -> voidPurchase(reservation.purchase().getPurchaseId())));
+		} catch (RuntimeException e) {
+			// left pending and never completed, it is voided once it expires
+			failure.addSuppressed(e);
+			releasePayment = true;
+		}
+		// not pending anymore means the expiry voided it with its payment
+		if (releasePayment) {
+			paymentProcessor.voidAuthorization(authorization.reference());
+		}
+		if (failure instanceof OptimisticLockingFailureException) {
+			movieCatalog.evict(reservation.movies().stream().map(Movie::getMovieId).toList());
+		}
+	}
+
+	/**
+	 * Voids a purchase if it is still pending and releases its idempotency key,
+	 * so the request can be retried. A purchase completed or voided meanwhile
+	 * keeps its key.
+	 * 
+	 * @return true if the purchase was voided, false if it was no longer pending.
+	 */
+	private boolean voidPurchase(int purchaseId) {
+		if (purchaseRepository.updatePendingStatus(purchaseId, Constants.PURCHASE_VOIDED) == 0) {
+			return false;
+		}
+		idempotencyKeyRepository.deleteByPurchaseId(purchaseId);
+		return true;
+	}
+
+	/**
+	 * Resolves the movies of a purchase request: the requested movies, or the
+	 * available movies in the user's cart when none are requested.
+	 * 
+	 * @param dto The purchase request data transfer object.
+	 * @return The movies to purchase, without duplicates.
+	 * @throws ResourceNotFoundException If any requested movie is not found or the
+	 *                                   cart is empty.
+	 */
+	private List<Movie> getMoviesToPurchase(PurchaseRequestDTO dto) {
+		if (dto.getMovieIds() == null || dto.getMovieIds().isEmpty()) {
+			List<Movie> movies = cartRepository.findAvailableByUserId(dto.getUserId()).stream().map(Cart::getMovie)
+					.toList();
+			if (movies.isEmpty()) {
+				throw new ResourceNotFoundException("Cart is empty for user: " + dto.getUserId());
+			}
+			return movies;
+		}
+
+		List<Integer> movieIds = dto.getMovieIds().stream().distinct().toList();
+		List<Movie> movies = movieCatalog.getMovies(movieIds);
+		if (movies.size() != movieIds.size()) {
+			throw new ResourceNotFoundException("Some movies not found.");
+		}
+		return movies;
 	}
 
 	/**
@@ -100,7 +359,8 @@ public class PurchaseServiceImpl implements PurchaseService {
 	 */
 	@Override
 	public List<PurchaseDTO> getPurchaseByUserId(int userId) {
-		return purchaseRepository.findByUser_UserId(userId).stream().map(purchaseMapper::toDto)
+		return purchaseRepository.findByUser_UserIdAndStatus(userId, Constants.PURCHASE_COMPLETED).stream()
+				.map(purchaseMapper::toDto)
 				.sorted(Comparator.comparing(PurchaseDTO::getPurchaseId).reversed()).toList();
 	}
 
@@ -134,7 +394,8 @@ public class PurchaseServiceImpl implements PurchaseService {
 	}
 
 	/**
-	 * Checks if a particular movie has been purchased by a user.
+	 * Checks if a particular movie has been purchased by a user. The check is
+	 * answered from the user's entitlements held in memory.
 	 * 
 	 * @param userId  The ID of the user.
 	 * @param movieId The ID of the movie.
@@ -142,7 +403,7 @@ public class PurchaseServiceImpl implements PurchaseService {
 	 */
 	@Override
 	public boolean isMoviePurchasedByUser(int userId, int movieId) {
-		return purchaseDetailRepository.existsByPurchase_User_UserIdAndMovie_MovieId(userId, movieId);
+		return userEntitlements.isPurchased(userId, movieId);
 	}
 
 	/**
@@ -157,6 +418,7 @@ public class PurchaseServiceImpl implements PurchaseService {
 	@Override
 	public byte[] generateInvoicePdf(int purchaseId) {
 
+		long startTime = System.nanoTime();
 		Purchase purchase = getPurchase(purchaseId);
 		List<PurchaseDetail> purchaseDetails = getPurchaseDetails(purchaseId);
 
@@ -170,6 +432,7 @@ public class PurchaseServiceImpl implements PurchaseService {
 			addTableContent(purchaseDetails, document);
 			addTermsAndConditions(document);
 			document.close();
+			applicationMetrics.recordInvoiceRender(startTime);
 			return out.toByteArray();
 		} catch (Exception e) {
 			throw new RuntimeException("Error generating invoice PDF", e);
@@ -177,17 +440,37 @@ public class PurchaseServiceImpl implements PurchaseService {
 	}
 
 	/**
-	 * Simulates a payment process with an 80% success rate.
-	 * 
-	 * @return A transaction ID if payment is successful, null otherwise.
+	 * Voids the purchases left pending longer than
+	 * PENDING_PURCHASE_EXPIRY_MINUTES, e.g. by a restart while their payment was
+	 * authorized, and their payments.
 	 */
-	String simulatePayment() {
-		boolean paymentSuccess = Math.random() < 0.8; // 80% chance of payment success
-		return paymentSuccess ? "TXN-" + System.currentTimeMillis() : null;
+	@Scheduled(fixedDelayString = "${payments.pending-check-interval-ms:60000}")
+	public void voidExpiredPurchases() {
+		List<Purchase> expired = purchaseRepository.findPendingReservedBefore(
+				LocalDateTime.now().minusMinutes(Constants.PENDING_PURCHASE_EXPIRY_MINUTES));
+		for (Purchase purchase : expired) {
+			// skipped if it was completed or voided since it was read
+			if (Boolean.TRUE.equals(transactionTemplate.execute(status -> voidPurchase(purchase.getPurchaseId())))) {
+				paymentProcessor.voidAuthorization(purchase.getTransactionId());
+				log.warn("Voided purchase {} pending since {}", purchase.getPurchaseId(), purchase.getReservedAt());
+			}
+		}
 	}
 
 	/**
-	 * Creates and saves a new purchase record.
+	 * Removes the idempotency keys older than IDEMPOTENCY_KEY_TTL_HOURS, after
+	 * which a request is not expected to be retried.
+	 */
+	@Scheduled(cron = "${purchases.idempotency-keys.purge-cron:0 15 * * * *}")
+	@Transactional
+	public void purgeIdempotencyKeys() {
+		int purged = idempotencyKeyRepository
+				.deleteCreatedBefore(LocalDateTime.now().minusHours(Constants.IDEMPOTENCY_KEY_TTL_HOURS));
+		log.debug("Purged {} idempotency keys", purged);
+	}
+
+	/**
+	 * Creates and saves a new pending purchase record.
 	 * 
 	 * @param dto           The purchase request data transfer object.
 	 * @param user          The user making the purchase.
@@ -200,51 +483,67 @@ public class PurchaseServiceImpl implements PurchaseService {
 		purchase.setPurchaseDate(LocalDate.now());
 		purchase.setTransactionId(transactionId);
 		purchase.setTotalPrice(totalPrice);
+		purchase.setStatus(Constants.PURCHASE_PENDING);
+		purchase.setReservedAt(LocalDateTime.now());
 		purchase = purchaseRepository.save(purchase);
 		return purchase;
 	}
 
 	/**
-	 * Saves the details of the movies purchased.
+	 * Saves the details of the movies purchased with one batch of inserts, with
+	 * the price, title and genre they were purchased with.
 	 * 
 	 * @param movies   The list of movies purchased.
 	 * @param purchase The purchase entity associated with the details.
 	 */
 	private void savePurchaseDetails(List<Movie> movies, Purchase purchase) {
-		movies.forEach(movie -> {
-			PurchaseDetail purchaseDetail = new PurchaseDetail();
-			purchaseDetail.setPurchase(purchase);
-			purchaseDetail.setMovie(movie);
-			purchaseDetailRepository.save(purchaseDetail);
+		jdbcTemplate.batchUpdate(INSERT_PURCHASE_DETAIL, movies, movies.size(), (statement, movie) -> {
+			statement.setInt(1, purchase.getPurchaseId());
+			statement.setInt(2, movie.getMovieId());
+			statement.setDouble(3, movie.getPrice());
+			statement.setString(4, movie.getTitle());
+			statement.setString(5, movie.getGenre());
 		});
 	}
 
 	/**
-	 * Sends a confirmation email to the user after a successful purchase.
+	 * Sends a confirmation email with the invoice to the user after a successful
+	 * purchase. The invoice is rendered on the email executor.
 	 * 
-	 * @param user          The user to send the email to.
-	 * @param transactionId The transaction ID of the purchase.
+	 * @param user     The user to send the email to.
+	 * @param purchase The completed purchase.
 	 */
-	private void sendConfirmationEmail(User user, String transactionId) {
-		new Thread(() -> {
-			try {
-				emailService.sendEmail(user.getEmail(), "Confirmation Mail for Transaction Id : " + transactionId,
-						"Thanks for purchasing the movie from GXMovies.");
-			} catch (Exception e) {
-				log.error("Failed to send email: " + e.getMessage());
-			}
-		}).start();
+	private void sendConfirmationEmail(User user, Purchase purchase) {
+		String transactionId = purchase.getTransactionId();
+		emailService.sendEmailAsync(user.getEmail(), "Confirmation Mail for Transaction Id : " + transactionId,
+				"Thanks for purchasing the movie from GXMovies.", "invoice_" + transactionId + ".pdf",
+				() -> transactionTemplate.execute(status -> generateInvoicePdf(purchase.getPurchaseId())));
+	}
+
+	// runs the action once the surrounding transaction has committed
+	private static void afterCommit(Runnable action) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					action.run();
+				}
+			});
+		} else {
+			action.run();
+		}
 	}
 
 	/**
-	 * Retrieves a purchase record for the given purchase ID.
+	 * Retrieves a completed purchase record for the given purchase ID.
 	 * 
 	 * @param purchaseId The ID of the purchase.
 	 * @return The purchase record.
-	 * @throws ResourceNotFoundException If no purchase is found for the given ID.
+	 * @throws ResourceNotFoundException If no completed purchase is found for the
+	 *                                   given ID.
 	 */
 	Purchase getPurchase(int purchaseId) {
-		return purchaseRepository.findById(purchaseId)
+		return purchaseRepository.findByPurchaseIdAndStatus(purchaseId, Constants.PURCHASE_COMPLETED)
 				.orElseThrow(() -> new ResourceNotFoundException("No Purchase Record for this id."));
 	}
 
@@ -329,7 +628,8 @@ public class PurchaseServiceImpl implements PurchaseService {
 
 	/**
 	 * Adds a table containing the details of the purchased movies (e.g., movie ID,
-	 * title, price) to the document.
+	 * title, price) to the document. The title, price and genre are the ones the
+	 * movies were purchased with, the movies themselves are not loaded.
 	 * 
 	 * @param purchaseDetails The list of PurchaseDetail objects containing movie
 	 *                        details.
@@ -354,9 +654,9 @@ public class PurchaseServiceImpl implements PurchaseService {
 		// Adding movie details to the table
 		Font tableBodyFont = new Font(Font.FontFamily.HELVETICA, 12, Font.NORMAL);
 		for (PurchaseDetail detail : purchaseDetails) {
-			table.addCell(new PdfPCell(new Paragraph(detail.getMovie().getTitle(), tableBodyFont)));
-			table.addCell(new PdfPCell(new Paragraph("₹" + detail.getMovie().getPrice(), tableBodyFont)));
-			table.addCell(new PdfPCell(new Paragraph(detail.getMovie().getGenre(), tableBodyFont)));
+			table.addCell(new PdfPCell(new Paragraph(detail.getTitle(), tableBodyFont)));
+			table.addCell(new PdfPCell(new Paragraph("₹" + detail.getUnitPrice(), tableBodyFont)));
+			table.addCell(new PdfPCell(new Paragraph(detail.getGenre(), tableBodyFont)));
 
 		}
 
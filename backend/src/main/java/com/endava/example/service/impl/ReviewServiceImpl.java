@@ -1,27 +1,52 @@
 package com.endava.example.service.impl;
 
-import java.util.Comparator;
+import java.time.LocalDateTime;
 import java.util.List;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import com.endava.example.cache.ReviewGuard;
+import com.endava.example.constants.Constants;
+import com.endava.example.controller.NotificationController;
+import com.endava.example.dto.ReportedReviewDTO;
+import com.endava.example.dto.ReportedReviewPageDTO;
 import com.endava.example.dto.ReviewDTO;
-import com.endava.example.entity.Movie;
+import com.endava.example.dto.ReviewPageDTO;
 import com.endava.example.entity.Review;
-import com.endava.example.entity.User;
+import com.endava.example.exceptions.ResourceAlreadyExistsException;
 import com.endava.example.exceptions.ResourceNotFoundException;
-import com.endava.example.mapper.ReviewMapper;
+import com.endava.example.exceptions.TooManyRequestsException;
 import com.endava.example.repository.MovieRepository;
+import com.endava.example.repository.ReviewReportRepository;
 import com.endava.example.repository.ReviewRepository;
 import com.endava.example.repository.UserRepository;
 import com.endava.example.service.ReviewService;
 
+import lombok.extern.slf4j.Slf4j;
+
 /**
  * Implementation of the ReviewService interface that handles business logic
  * related to reviews. This service provides methods for creating, deleting,
  * fetching, and reporting reviews associated with movies and users.
+ * 
+ * The rating statistics of a movie are updated with one statement in the same
+ * transaction as the review, so reading a movie's average never needs an
+ * aggregate query over its reviews. They are recomputed from the reviews
+ * periodically to correct any drift, e.g. from reviews deleted directly in the
+ * database.
+ * 
+ * Reported reviews form a moderation queue which admins page through and
+ * approve or delete in bulk, each action being a single statement.
  */
 @Service
+@Slf4j
 public class ReviewServiceImpl implements ReviewService {
 
 	private ReviewRepository reviewRepository;
@@ -30,108 +55,299 @@ public class ReviewServiceImpl implements ReviewService {
 
 	private MovieRepository movieRepository;
 
-	private ReviewMapper reviewMapper;
+	private ReviewReportRepository reviewReportRepository;
+
+	private ReviewGuard reviewGuard;
+
+	private NotificationController notificationController;
 
 	public ReviewServiceImpl(ReviewRepository reviewRepository, UserRepository userRepository,
-			MovieRepository movieRepository, ReviewMapper reviewMapper) {
+			MovieRepository movieRepository, ReviewReportRepository reviewReportRepository,
+			ReviewGuard reviewGuard, NotificationController notificationController) {
 		super();
 		this.reviewRepository = reviewRepository;
 		this.userRepository = userRepository;
 		this.movieRepository = movieRepository;
-		this.reviewMapper = reviewMapper;
+		this.reviewReportRepository = reviewReportRepository;
+		this.reviewGuard = reviewGuard;
+		this.notificationController = notificationController;
 	}
 
 	/**
-	 * Creates a new review for a movie by a user.
+	 * Creates a new review for a movie by a user. The review guard rejects
+	 * throttled users, second reviews of a movie and copied texts without a
+	 * query; an admitted review is inserted with one statement, which also checks
+	 * the user and the movie, and added to the movie's rating statistics with
+	 * another.
 	 * 
 	 * @param dto The details of the review to be created.
 	 * @return The created review's details as a ReviewDTO.
-	 * @throws IllegalArgumentException  if the review DTO is null or invalid.
-	 * @throws ResourceNotFoundException if the user or movie does not exist.
+	 * @throws IllegalArgumentException       if the review DTO is null or invalid,
+	 *                                        or the rating is not 1 to 5 stars.
+	 * @throws TooManyRequestsException       if the user writes reviews too fast.
+	 * @throws ResourceAlreadyExistsException if the user has reviewed the movie
+	 *                                        already or the text copies a review.
+	 * @throws ResourceNotFoundException      if the user or movie does not exist.
 	 */
 	@Override
+	@Transactional
 	public ReviewDTO createReview(ReviewDTO dto) {
 
 		if (dto == null) {
 			throw new IllegalArgumentException("Review DTO can't be null");
 		}
+		if (dto.getRating() == null || dto.getRating() < 1 || dto.getRating() > Constants.MAX_RATING) {
+			throw new IllegalArgumentException("Rating must be between 1 and " + Constants.MAX_RATING);
+		}
 
-		User user = userRepository.findById(dto.getUserId()).orElseThrow(
-				() -> new ResourceNotFoundException("User with this ID does not exist: " + dto.getUserId()));
-
-		Movie movie = movieRepository.findById(dto.getMovieId()).orElseThrow(
-				() -> new ResourceNotFoundException("Movie with this ID does not exist: " + dto.getMovieId()));
+		reviewGuard.admit(dto.getUserId(), dto.getMovieId(), dto.getReviewText());
 
-		Review review = reviewMapper.toEntity(dto, user, movie);
-		review = reviewRepository.save(review);
+		List<Object[]> inserted = reviewRepository.insertReview(dto.getUserId(), dto.getMovieId(),
+				dto.getReviewText(), dto.getRating());
+		if (inserted.isEmpty()) {
+			if (!userRepository.existsById(dto.getUserId())) {
+				throw new ResourceNotFoundException("User with this ID does not exist: " + dto.getUserId());
+			}
+			throw new ResourceNotFoundException("Movie with this ID does not exist: " + dto.getMovieId());
+		}
+		movieRepository.addRating(dto.getMovieId(), dto.getRating());
 
-		return reviewMapper.toDto(review);
+		Object[] row = inserted.get(0);
+		ReviewDTO review = new ReviewDTO();
+		review.setReviewId((Integer) row[0]);
+		review.setUserId(dto.getUserId());
+		review.setMovieId(dto.getMovieId());
+		review.setUsername((String) row[1]);
+		review.setMoviename((String) row[2]);
+		review.setReviewText(dto.getReviewText());
+		review.setRating(dto.getRating());
+		return review;
 	}
 
 	/**
-	 * Deletes the review from the repository based on reviewId.
+	 * Deletes the review from the repository based on reviewId, and its rating
+	 * from the movie's rating statistics.
 	 * 
 	 * @param reviewId The ID of the review to be deleted.
 	 * @throws ResourceNotFoundException if the review does not exist.
 	 */
 	@Override
+	@Transactional
 	public void deleteReview(int reviewId) {
-		if (!reviewRepository.existsById(reviewId)) {
-			throw new ResourceNotFoundException("Review with this ID doesn't exist: " + reviewId);
+		Review review = reviewRepository.findById(reviewId)
+				.orElseThrow(() -> new ResourceNotFoundException("Review with this ID doesn't exist: " + reviewId));
+		reviewRepository.delete(review);
+		reviewGuard.removed(review.getUser().getUserId(), review.getMovie().getMovieId(), review.getReviewText());
+		if (review.getRating() != null) {
+			movieRepository.removeRating(review.getMovie().getMovieId(), review.getRating());
+		}
+	}
+
+	/**
+	 * Recomputes the rating statistics of all movies from their reviews. Runs at
+	 * startup, which also replaces the ratings typed in before they were computed,
+	 * and then at the reconcile interval.
+	 */
+	@Scheduled(fixedDelayString = "${reviews.rating.reconcile-interval-ms:3600000}")
+	@Transactional
+	public void reconcileRatings() {
+		long startTime = System.nanoTime();
+		int corrected = movieRepository.reconcileRatings();
+		if (corrected > 0) {
+			log.info("Rating statistics of {} movies corrected", corrected);
 		}
-		reviewRepository.deleteById(reviewId);
+		log.debug("Rating statistics reconciled in {} ms", (System.nanoTime() - startTime) / 1_000_000);
 	}
 
 	/**
-	 * Fetches all reviews for a specific movie by movieId.
+	 * Fetches one page of the reviews of a movie, newest first. The page is read
+	 * with a keyset query on the (movieId, reviewId) index that joins the user's
+	 * name and the movie's title, so its cost depends on the page size and not on
+	 * how many reviews the movie has.
 	 * 
 	 * @param movieId The ID of the movie for which reviews are fetched.
-	 * @return A list of ReviewDTO containing all reviews for the specified movie.
-	 * @throws ResourceNotFoundException if no reviews exist for the provided movie.
+	 * @param cursor  The nextCursor of the previous page, null for the first page.
+	 * @param size    The number of reviews per page.
+	 * @return The reviews of the page, empty when there are none, and the cursor
+	 *         of the next page.
+	 * @throws IllegalArgumentException if the size is not between 1 and
+	 *                                  MAX_REVIEW_PAGE_SIZE.
 	 */
 	@Override
-	public List<ReviewDTO> getAllReviewsOfMovie(int movieId) {
-		List<ReviewDTO> reviews = reviewRepository.findByMovie_MovieId(movieId).stream().map(reviewMapper::toDto)
-				.sorted(Comparator.comparing(ReviewDTO::getReviewId).reversed()).toList();
-
-		if (reviews.isEmpty()) {
-			throw new ResourceNotFoundException("No reviews found for movie with ID: " + movieId);
+	public ReviewPageDTO getReviewsOfMovie(int movieId, Integer cursor, int size) {
+		if (size < 1 || size > Constants.MAX_REVIEW_PAGE_SIZE) {
+			throw new IllegalArgumentException(
+					"Page size must be between 1 and " + Constants.MAX_REVIEW_PAGE_SIZE);
 		}
+		// one row more than the page tells whether there is a next page
+		List<Object[]> rows = reviewRepository.findPageOfMovie(movieId, cursor == null ? Integer.MAX_VALUE : cursor,
+				Limit.of(size + 1));
 
-		return reviews;
+		ReviewPageDTO page = new ReviewPageDTO();
+		for (Object[] row : rows.subList(0, Math.min(size, rows.size()))) {
+			ReviewDTO dto = new ReviewDTO();
+			dto.setReviewId((Integer) row[0]);
+			dto.setUserId((Integer) row[1]);
+			dto.setMovieId(movieId);
+			dto.setUsername((String) row[2]);
+			dto.setMoviename((String) row[3]);
+			dto.setReviewText((String) row[4]);
+			dto.setRating((Integer) row[5]);
+			dto.setReported((Boolean) row[6]);
+			page.getReviews().add(dto);
+		}
+		if (rows.size() > size) {
+			page.setNextCursor(page.getReviews().get(size - 1).getReviewId());
+		}
+		return page;
 	}
 
 	/**
-	 * Fetches all reported reviews.
+	 * Fetches one page of the moderation queue: the reported reviews, most
+	 * reported first, with their report counts and first and last report times.
 	 * 
-	 * @return A list of ReviewDTO containing all reported reviews.
+	 * @param title    Part of the movie title to filter by, empty for all.
+	 * @param username Part of the author's name to filter by, empty for all.
+	 * @param page     The page number, starting at 0.
+	 * @param size     The number of reviews per page.
+	 * @return The reviews of the page and the number of reviews in the queue
+	 *         matching the filters.
+	 * @throws IllegalArgumentException if the page is negative or the size is not
+	 *                                  between 1 and MAX_REVIEW_PAGE_SIZE.
 	 */
 	@Override
-	public List<ReviewDTO> getAllReportedReviews() {
-		return reviewRepository.findAll().stream().filter(Review::isReported).map(reviewMapper::toDto).toList();
+	public ReportedReviewPageDTO getReportedReviews(String title, String username, int page, int size) {
+		if (page < 0 || size < 1 || size > Constants.MAX_REVIEW_PAGE_SIZE) {
+			throw new IllegalArgumentException(
+					"Page must be 0 or more and size between 1 and " + Constants.MAX_REVIEW_PAGE_SIZE);
+		}
+		Page<Object[]> rows = reviewRepository.findReported(containing(title), containing(username),
+				PageRequest.of(page, size));
+
+		ReportedReviewPageDTO dto = new ReportedReviewPageDTO();
+		for (Object[] row : rows.getContent()) {
+			ReportedReviewDTO review = new ReportedReviewDTO();
+			review.setReviewId((Integer) row[0]);
+			review.setUserId((Integer) row[1]);
+			review.setUsername((String) row[2]);
+			review.setMovieId((Integer) row[3]);
+			review.setMoviename((String) row[4]);
+			review.setReviewText((String) row[5]);
+			review.setRating((Integer) row[6]);
+			review.setReportCount((Integer) row[7]);
+			review.setFirstReportedAt((LocalDateTime) row[8]);
+			review.setLastReportedAt((LocalDateTime) row[9]);
+			dto.getReviews().add(review);
+		}
+		dto.setTotalCount(rows.getTotalElements());
+		return dto;
 	}
 
 	/**
-	 * Reports a review by marking it as reported.
+	 * Reports a review on behalf of a user. Every user's report is counted once:
+	 * the report is recorded and the review's report count and times updated with
+	 * one statement each, and connected admins are notified once the report has
+	 * committed.
 	 * 
 	 * @param reviewId The ID of the review to be reported.
+	 * @param userId   The ID of the user reporting the review.
 	 * @return A message indicating whether the review was reported or already
-	 *         reported.
-	 * @throws ResourceNotFoundException if the review does not exist.
+	 *         reported by the user.
+	 * @throws ResourceNotFoundException if the review or the user does not exist.
 	 */
 	@Override
-	public String reportReview(int reviewId) {
-
-		Review review = reviewRepository.findById(reviewId)
-				.orElseThrow(() -> new ResourceNotFoundException("Review with this ID doesn't exist: " + reviewId));
+	@Transactional
+	public String reportReview(int reviewId, int userId) {
+		LocalDateTime now = LocalDateTime.now();
 
-		if (review.isReported()) {
+		if (reviewReportRepository.addReport(reviewId, userId, now) == 0) {
+			if (!reviewRepository.existsById(reviewId)) {
+				throw new ResourceNotFoundException("Review with this ID doesn't exist: " + reviewId);
+			}
+			if (!userRepository.existsById(userId)) {
+				throw new ResourceNotFoundException("User with this ID does not exist: " + userId);
+			}
 			return "This review is already reported. We will take further action.";
 		}
 
-		review.setReported(true);
-		reviewRepository.save(review);
+		reviewRepository.addReport(reviewId, now);
+		afterCommit(() -> notificationController.sendEventToAdmins("review-reported", reviewId));
 
 		return "Review reported successfully.";
 	}
+
+	/**
+	 * Approves reported reviews: they are kept and leave the moderation queue, and
+	 * their reports are removed, with one statement each.
+	 * 
+	 * @param reviewIds The IDs of the reviews to approve.
+	 * @return The number of reviews taken out of the queue.
+	 * @throws IllegalArgumentException if no or more than MAX_MODERATION_REVIEW_IDS
+	 *                                  ids are given.
+	 */
+	@Override
+	@Transactional
+	public int approveReviews(List<Integer> reviewIds) {
+		validateModerationIds(reviewIds);
+
+		reviewReportRepository.deleteByReviewIds(reviewIds);
+		int approved = reviewRepository.approveReported(reviewIds);
+
+		afterCommit(() -> notificationController.sendEventToAdmins("reviews-moderated", reviewIds));
+		return approved;
+	}
+
+	/**
+	 * Deletes reviews, e.g. reported ones, with one statement. The rating
+	 * statistics of their movies are recomputed from the remaining reviews with
+	 * one statement.
+	 * 
+	 * @param reviewIds The IDs of the reviews to delete.
+	 * @return The number of reviews deleted.
+	 * @throws IllegalArgumentException if no or more than MAX_MODERATION_REVIEW_IDS
+	 *                                  ids are given.
+	 */
+	@Override
+	@Transactional
+	public int deleteReviews(List<Integer> reviewIds) {
+		validateModerationIds(reviewIds);
+
+		List<Integer> ratedMovieIds = reviewRepository.findRatedMovieIds(reviewIds);
+		int deleted = reviewRepository.deleteByReviewIds(reviewIds);
+		if (!ratedMovieIds.isEmpty()) {
+			movieRepository.recomputeRatings(ratedMovieIds);
+		}
+
+		afterCommit(() -> {
+			reviewGuard.invalidate();
+			notificationController.sendEventToAdmins("reviews-moderated", reviewIds);
+		});
+		return deleted;
+	}
+
+	private static void validateModerationIds(List<Integer> reviewIds) {
+		if (reviewIds == null || reviewIds.isEmpty() || reviewIds.size() > Constants.MAX_MODERATION_REVIEW_IDS) {
+			throw new IllegalArgumentException(
+					"Between 1 and " + Constants.MAX_MODERATION_REVIEW_IDS + " review ids are required");
+		}
+	}
+
+	// LIKE pattern matching values containing the term, in lower case
+	private static String containing(String term) {
+		return "%" + (term == null ? "" : term.trim().toLowerCase()) + "%";
+	}
+
+	// runs the action once the surrounding transaction has committed
+	private static void afterCommit(Runnable action) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					action.run();
+				}
+			});
+		} else {
+			action.run();
+		}
+	}
 }
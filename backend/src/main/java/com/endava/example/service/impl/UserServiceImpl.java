@@ -7,6 +7,8 @@ import java.util.concurrent.ConcurrentHashMap;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import com.endava.example.analytics.DashboardAggregates;
+import com.endava.example.cache.UserDirectory;
 import com.endava.example.dto.LoginDTO;
 import com.endava.example.dto.UserDTO;
 import com.endava.example.dto.UserRegistrationDTO;
@@ -38,13 +40,19 @@ public class UserServiceImpl implements UserService {
 
 	private PasswordEncoder passwordEncoder;
 
+	private DashboardAggregates dashboardAggregates;
+
+	private UserDirectory userDirectory;
+
 	public UserServiceImpl(UserRepository userRepository, UserMapper userMapper, EmailService emailService,
-			PasswordEncoder passwordEncoder) {
+			PasswordEncoder passwordEncoder, DashboardAggregates dashboardAggregates, UserDirectory userDirectory) {
 		super();
 		this.userRepository = userRepository;
 		this.userMapper = userMapper;
 		this.emailService = emailService;
 		this.passwordEncoder = passwordEncoder;
+		this.dashboardAggregates = dashboardAggregates;
+		this.userDirectory = userDirectory;
 	}
 
 	// Temporary storage for OTP during registration
@@ -105,6 +113,7 @@ public class UserServiceImpl implements UserService {
 		User user = userMapper.toEntity(dto);
 		user.setPassword(passwordEncoder.encode(dto.getPassword()));
 		userRepository.save(user);
+		dashboardAggregates.userRegistered();
 
 		return userMapper.toDto(user);
 	}
@@ -240,6 +249,7 @@ public class UserServiceImpl implements UserService {
 		user.setUpdatedAt(LocalDate.now());
 
 		userRepository.save(user);
+		userDirectory.evict(userId);
 
 		return userMapper.toDto(user);
 	}
@@ -257,6 +267,7 @@ public class UserServiceImpl implements UserService {
 
 		user.setStatus("BLOCKED");
 		userRepository.save(user);
+		userDirectory.evict(userId);
 	}
 
 	/**
@@ -272,6 +283,7 @@ public class UserServiceImpl implements UserService {
 
 		user.setStatus("ACTIVE");
 		userRepository.save(user);
+		userDirectory.evict(userId);
 	}
 
 }
@@ -0,0 +1,110 @@
+package com.endava.example.utils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * ApplicationMetrics is the single place where the business and hot-path
+ * meters of the application are defined. Services, filters and controllers
+ * report through this class so metric names and tags stay consistent, and the
+ * meters are exposed for scraping on the actuator prometheus endpoint.
+ */
+@Component
+public class ApplicationMetrics {
+
+	private final MeterRegistry meterRegistry;
+
+	private final Timer purchaseSuccessTimer;
+	private final Timer purchasePaymentFailedTimer;
+	private final Timer jwtParseTimer;
+	private final Timer invoiceRenderTimer;
+	private final Counter rateLimitRejections;
+
+	public ApplicationMetrics(MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+		this.purchaseSuccessTimer = checkoutTimer("success");
+		this.purchasePaymentFailedTimer = checkoutTimer("payment_failed");
+		this.jwtParseTimer = Timer.builder("gxmovies.jwt.parse").description("Time spent parsing and verifying JWTs")
+				.publishPercentileHistogram().register(meterRegistry);
+		this.invoiceRenderTimer = Timer.builder("gxmovies.invoice.render")
+				.description("Time spent rendering invoice PDFs").publishPercentileHistogram().register(meterRegistry);
+		this.rateLimitRejections = Counter.builder("gxmovies.ratelimit.rejections")
+				.description("Requests rejected by the rate limiter").register(meterRegistry);
+	}
+
+	/**
+	 * Records a completed checkout.
+	 *
+	 * @param startNanos the System.nanoTime value taken when the checkout started
+	 */
+	public void recordPurchaseSuccess(long startNanos) {
+		purchaseSuccessTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Records a checkout which failed because the payment was declined.
+	 *
+	 * @param startNanos the System.nanoTime value taken when the checkout started
+	 */
+	public void recordPaymentFailure(long startNanos) {
+		purchasePaymentFailedTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Counts cart writes.
+	 *
+	 * @param operation the kind of mutation (add, remove, clear ...)
+	 * @param items     the number of cart rows affected
+	 */
+	public void recordCartMutation(String operation, int items) {
+		meterRegistry.counter("gxmovies.cart.mutations", "operation", operation).increment(items);
+	}
+
+	/**
+	 * Counts favorite writes.
+	 *
+	 * @param operation the kind of mutation (add, remove)
+	 */
+	public void recordFavoriteMutation(String operation) {
+		meterRegistry.counter("gxmovies.favorite.mutations", "operation", operation).increment();
+	}
+
+	public void recordJwtParse(long startNanos) {
+		jwtParseTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+	}
+
+	public void recordInvoiceRender(long startNanos) {
+		invoiceRenderTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+	}
+
+	public void recordRateLimitRejection() {
+		rateLimitRejections.increment();
+	}
+
+	/**
+	 * Registers a gauge which samples the given object whenever metrics are
+	 * scraped.
+	 *
+	 * @param name          the name of the gauge
+	 * @param description   what the gauge measures
+	 * @param target        the object to sample
+	 * @param valueFunction function returning the current value of the gauge
+	 */
+	public <T> void registerGauge(String name, String description, T target, ToDoubleFunction<T> valueFunction) {
+		Gauge.builder(name, target, valueFunction).description(description).strongReference(true)
+				.register(meterRegistry);
+	}
+
+	private Timer checkoutTimer(String outcome) {
+		return Timer.builder("gxmovies.purchase.checkout").description("Checkout latency by outcome")
+				.tag("outcome", outcome).publishPercentileHistogram().register(meterRegistry);
+	}
+
+}
@@ -0,0 +1,90 @@
+package com.endava.example.utils;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CsvReader reads CSV (RFC 4180) from a reader one row at a time, so imports
+ * never hold more than a row in memory. Quoted fields may contain commas,
+ * escaped quotes ("") and line breaks. Rows may end with CRLF or LF.
+ */
+public class CsvReader {
+
+	private final Reader reader;
+
+	private int next = -2; // -2 until the first character is read, -1 at the end
+
+	public CsvReader(Reader reader) {
+		this.reader = reader;
+	}
+
+	/**
+	 * Reads the next row.
+	 * 
+	 * @return the fields of the row, or null at the end of the input.
+	 * @throws UncheckedIOException if reading fails.
+	 */
+	public List<String> readRow() {
+		if (peek() == -1) {
+			return null;
+		}
+		List<String> fields = new ArrayList<>();
+		StringBuilder field = new StringBuilder();
+		boolean quoted = false;
+		while (true) {
+			int c = read();
+			if (quoted) {
+				if (c == -1) {
+					break;
+				}
+				if (c == '"') {
+					if (peek() == '"') {
+						field.append((char) read());
+					} else {
+						quoted = false;
+					}
+				} else {
+					field.append((char) c);
+				}
+			} else if (c == '"' && field.isEmpty()) {
+				quoted = true;
+			} else if (c == ',') {
+				fields.add(field.toString());
+				field.setLength(0);
+			} else if (c == '\r' && peek() == '\n') {
+				read();
+				break;
+			} else if (c == '\n' || c == -1) {
+				break;
+			} else {
+				field.append((char) c);
+			}
+		}
+		fields.add(field.toString());
+		return fields;
+	}
+
+	private int peek() {
+		if (next == -2) {
+			next = readChar();
+		}
+		return next;
+	}
+
+	private int read() {
+		int c = peek();
+		next = c == -1 ? -1 : readChar();
+		return c;
+	}
+
+	private int readChar() {
+		try {
+			return reader.read();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
@@ -0,0 +1,68 @@
+package com.endava.example.utils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+/**
+ * CsvWriter writes rows of values as CSV (RFC 4180) to a writer, one row at a
+ * time, so exports never hold more than a row in memory.
+ * 
+ * Values are quoted when they contain a comma, a quote or a line break. Text
+ * starting with =, +, - or @ is prefixed with a single quote so spreadsheet
+ * programs do not evaluate user supplied text (e.g. review texts) as formulas.
+ */
+public class CsvWriter {
+
+	private final Writer writer;
+
+	public CsvWriter(Writer writer) {
+		this.writer = writer;
+	}
+
+	/**
+	 * Writes one row. Null values are written as empty fields.
+	 * 
+	 * @throws UncheckedIOException if writing fails, e.g. because the client
+	 *                              disconnected.
+	 */
+	public void writeRow(Object... values) {
+		try {
+			for (int i = 0; i < values.length; i++) {
+				if (i > 0) {
+					writer.write(',');
+				}
+				writeField(values[i]);
+			}
+			writer.write("\r\n");
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	public void flush() {
+		try {
+			writer.flush();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private void writeField(Object value) throws IOException {
+		if (value == null) {
+			return;
+		}
+		String text = value.toString();
+		if (value instanceof String && !text.isEmpty() && "=+-@".indexOf(text.charAt(0)) >= 0) {
+			text = "'" + text;
+		}
+		if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0
+				|| text.indexOf('\r') >= 0) {
+			writer.write('"');
+			writer.write(text.replace("\"", "\"\""));
+			writer.write('"');
+		} else {
+			writer.write(text);
+		}
+	}
+}
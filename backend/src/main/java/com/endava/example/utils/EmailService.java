@@ -1,16 +1,49 @@
 package com.endava.example.utils;
 
+import java.util.function.Supplier;
+
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+
 @Service
+@Slf4j
 public class EmailService {
 	private JavaMailSender mailSender;
 
-	public EmailService(JavaMailSender mailSender) {
+	// bounded pool for emails sent in the background, so slow SMTP round trips
+	// never hold request threads and the backlog stays measurable
+	private final ThreadPoolTaskExecutor emailExecutor;
+
+	private final ObservationRegistry observationRegistry;
+
+	public EmailService(JavaMailSender mailSender, ApplicationMetrics applicationMetrics,
+			ObservationRegistry observationRegistry) {
 		super();
 		this.mailSender = mailSender;
+		this.observationRegistry = observationRegistry;
+		this.emailExecutor = new ThreadPoolTaskExecutor();
+		emailExecutor.setCorePoolSize(2);
+		emailExecutor.setMaxPoolSize(2);
+		emailExecutor.setQueueCapacity(1000);
+		emailExecutor.setThreadNamePrefix("email-");
+		// carries the caller's trace context (and its MDC ids) over to the email thread
+		emailExecutor.setTaskDecorator(new ContextPropagatingTaskDecorator());
+		emailExecutor.initialize();
+		applicationMetrics.registerGauge("gxmovies.email.queue.depth", "Emails waiting to be sent", emailExecutor,
+				ThreadPoolTaskExecutor::getQueueSize);
 	}
 
 	public void sendEmail(String to, String subject, String body) {
@@ -20,4 +53,58 @@ public class EmailService {
 		message.setText(body);
 		mailSender.send(message);
 	}
+
+	public void sendEmail(String to, String subject, String body, String attachmentName, byte[] attachment)
+			throws MessagingException {
+		MimeMessage message = mailSender.createMimeMessage();
+		MimeMessageHelper helper = new MimeMessageHelper(message, true);
+		helper.setTo(to);
+		helper.setSubject(subject);
+		helper.setText(body);
+		helper.addAttachment(attachmentName, new ByteArrayResource(attachment));
+		mailSender.send(message);
+	}
+
+	/**
+	 * Queues the email to be sent on the email executor. Failures are logged and
+	 * never reach the caller.
+	 */
+	public void sendEmailAsync(String to, String subject, String body) {
+		queue(subject, () -> sendEmail(to, subject, body));
+	}
+
+	/**
+	 * Queues the email with an attachment to be sent on the email executor. The
+	 * attachment, e.g. a rendered document, is created on the executor as well,
+	 * right before sending. Failures are logged and never reach the caller.
+	 */
+	public void sendEmailAsync(String to, String subject, String body, String attachmentName,
+			Supplier<byte[]> attachment) {
+		queue(subject, () -> sendEmail(to, subject, body, attachmentName, attachment.get()));
+	}
+
+	private void queue(String subject, Email email) {
+		try {
+			emailExecutor.execute(() -> {
+				try {
+					Observation.createNotStarted("gxmovies.email.send", observationRegistry)
+							.observeChecked(email::send);
+				} catch (Exception e) {
+					log.error("Failed to send email: {}", e.getMessage());
+				}
+			});
+		} catch (TaskRejectedException e) {
+			log.error("Email queue is full, dropping email with subject: {}", subject);
+		}
+	}
+
+	@FunctionalInterface
+	private interface Email {
+		void send() throws MessagingException;
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		emailExecutor.shutdown();
+	}
 }
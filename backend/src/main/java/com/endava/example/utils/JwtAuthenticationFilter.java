@@ -16,6 +16,8 @@ import com.endava.example.entity.User;
 import com.endava.example.repository.UserRepository;
 
 import io.jsonwebtoken.JwtException;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -26,9 +28,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtils jwtUtils;
     private final UserRepository userRepository;
-    public JwtAuthenticationFilter(JwtUtils jwtUtils, UserRepository userRepository) {
+    private final ObservationRegistry observationRegistry;
+    public JwtAuthenticationFilter(JwtUtils jwtUtils, UserRepository userRepository,
+            ObservationRegistry observationRegistry) {
         this.jwtUtils = jwtUtils;
         this.userRepository = userRepository;
+        this.observationRegistry = observationRegistry;
     }
 
     @Override
@@ -45,38 +50,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         String token = getTokenFromRequest(request);
 
-        // Proceed only if the token is present and valid
+        // Proceed only if the token is present and valid, traced as its own span
         if (token != null) {
-            try {
-                // Validate token
-                if (jwtUtils.validateToken(token)) {
-                    // Extract userId and role from token
-                    Integer userId = jwtUtils.extractUserId(token);
-                    String role = jwtUtils.extractRole(token);
-
-                    // Check if the user exists in the database and is not blocked
-                    Optional<User> optionalUser = userRepository.findById(userId);
-
-                    if (optionalUser.isPresent()) {
-                        User user = optionalUser.get();
-                        if ("BLOCKED".equals(user.getStatus())) {
-                            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-                            response.getWriter().write("User is blocked.");
-                            return;
-                        }
-
-                        // Set authorities (e.g., ROLE_USER or ROLE_ADMIN)
-                        SimpleGrantedAuthority authority = new SimpleGrantedAuthority("ROLE_" + role);
-                        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                                userId, null, Collections.singletonList(authority));
-
-                        authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                        SecurityContextHolder.getContext().setAuthentication(authentication);
-                    }
-                }
-            } catch (JwtException e) {
-                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-                response.getWriter().write("Invalid or expired token.");
+            boolean authenticated = Observation.createNotStarted("gxmovies.filter.jwt", observationRegistry)
+                    .observeChecked(() -> authenticate(token, request, response));
+            if (!authenticated) {
                 return;
             }
         }
@@ -85,6 +63,48 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Validates the token and sets the authentication of the request.
+     *
+     * @return false if the request was rejected and the response already written
+     */
+    private boolean authenticate(String token, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        try {
+            // Validate token
+            if (jwtUtils.validateToken(token)) {
+                // Extract userId and role from token
+                Integer userId = jwtUtils.extractUserId(token);
+                String role = jwtUtils.extractRole(token);
+
+                // Check if the user exists in the database and is not blocked
+                Optional<User> optionalUser = userRepository.findById(userId);
+
+                if (optionalUser.isPresent()) {
+                    User user = optionalUser.get();
+                    if ("BLOCKED".equals(user.getStatus())) {
+                        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+                        response.getWriter().write("User is blocked.");
+                        return false;
+                    }
+
+                    // Set authorities (e.g., ROLE_USER or ROLE_ADMIN)
+                    SimpleGrantedAuthority authority = new SimpleGrantedAuthority("ROLE_" + role);
+                    UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                            userId, null, Collections.singletonList(authority));
+
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                }
+            }
+        } catch (JwtException e) {
+            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+            response.getWriter().write("Invalid or expired token.");
+            return false;
+        }
+        return true;
+    }
+
     /**
      * Extracts JWT token from the Authorization header
      */
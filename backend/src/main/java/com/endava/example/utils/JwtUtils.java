@@ -19,6 +19,12 @@ public class JwtUtils {
 
 	private static final long EXPIRATION_TIME =(long) 1000 * 60 * 60 * 24; // 24 hours
 
+	private final ApplicationMetrics applicationMetrics;
+
+	public JwtUtils(ApplicationMetrics applicationMetrics) {
+		this.applicationMetrics = applicationMetrics;
+	}
+
 	private Key getSecretKey() {
 		if (secretKey == null) {
 			this.secretKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
@@ -68,6 +74,11 @@ public class JwtUtils {
 	 * Private method to parse the token and get Claims
 	 */
 	private Jws<Claims> parseToken(String token) {
-		return Jwts.parserBuilder().setSigningKey(getSecretKey()).build().parseClaimsJws(token);
+		long startTime = System.nanoTime();
+		try {
+			return Jwts.parserBuilder().setSigningKey(getSecretKey()).build().parseClaimsJws(token);
+		} finally {
+			applicationMetrics.recordJwtParse(startTime);
+		}
 	}
 }
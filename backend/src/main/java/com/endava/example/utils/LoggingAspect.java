@@ -1,26 +1,37 @@
 package com.endava.example.utils;
 
+import java.lang.reflect.Method;
 import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
-import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.ProceedingJoinPoint;
-import org.aspectj.lang.annotation.After;
-import org.aspectj.lang.annotation.AfterReturning;
-import org.aspectj.lang.annotation.AfterThrowing;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
-import org.aspectj.lang.annotation.Before;
 import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
 /**
- * LoggingAspect class provides AOP-based logging for controllers and service
- * implementation classes. It logs method entry, method exit with and without
- * result, and exceptions. Logging is applied to: - All methods inside
+ * LoggingAspect class provides low-overhead AOP instrumentation for controllers
+ * and service implementation classes. Applied to: - All methods inside
  * `com.endava.example.controller` package and its sub-packages - All methods
  * inside `com.endava.example.service.impl` package and its sub-packages
+ *
+ * Every call is timed with System.nanoTime and recorded into a per-method
+ * latency histogram (Micrometer timer "gxmovies.method.execution"). Log output
+ * is kept off the hot path: only a sampled fraction of calls and calls slower
+ * than the configured threshold are logged, arguments and results are logged
+ * only at DEBUG level and truncated, and exceptions are logged once per call
+ * instead of frame by frame.
  */
 
 @Aspect
@@ -32,6 +43,31 @@ public class LoggingAspect {
 	 */
 	private static final Logger logger = LoggerFactory.getLogger(LoggingAspect.class);
 
+	private static final String TIMER_NAME = "gxmovies.method.execution";
+
+	private final MeterRegistry meterRegistry;
+
+	// fraction of successful calls (0.0 - 1.0) whose execution time is logged
+	private final double sampleRate;
+
+	// calls slower than this are always logged at WARN level
+	private final long slowThresholdNanos;
+
+	// maximum number of characters printed for arguments and results at DEBUG
+	private final int maxArgumentLength;
+
+	// timers are cached per method so the meter registry is hit only once
+	private final Map<Method, MethodTimers> timers = new ConcurrentHashMap<>();
+
+	public LoggingAspect(MeterRegistry meterRegistry, @Value("${logging.aspect.sample-rate:0.01}") double sampleRate,
+			@Value("${logging.aspect.slow-threshold-ms:500}") long slowThresholdMs,
+			@Value("${logging.aspect.max-argument-length:200}") int maxArgumentLength) {
+		this.meterRegistry = meterRegistry;
+		this.sampleRate = sampleRate;
+		this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMs);
+		this.maxArgumentLength = maxArgumentLength;
+	}
+
 	/**
 	 * PointCut that matches all methods in controller and service implementation
 	 * classes.
@@ -41,88 +77,93 @@ public class LoggingAspect {
 	}
 
 	/**
-	 * Logs method entry details - name and arguments before execution.
+	 * Times the method execution and records it in the method's latency histogram.
+	 * Logging is sampled, and argument/result details are only rendered when DEBUG
+	 * is enabled.
 	 *
-	 * @param joinPoint Contains details of the current intercepted method.
+	 * @param proceedingJoinPoint The actual method being called.
+	 * @return The result of the method execution.
+	 * @throws Throwable If the method execution throws an exception.
 	 */
-	@Before(value = "applicationPointcut()")
-	public void logBeforeMethod(JoinPoint joinPoint) {
-		logger.info("Entering method: {} with arguments: {}", joinPoint.getSignature(),
-				Arrays.toString(joinPoint.getArgs()));
+	@Around(value = "applicationPointcut()")
+	public Object logAroundMethod(ProceedingJoinPoint proceedingJoinPoint) throws Throwable {
+		boolean debug = logger.isDebugEnabled();
+		if (debug) {
+			logger.debug("Entering method: {} with arguments: {}", proceedingJoinPoint.getSignature().toShortString(),
+					abbreviate(Arrays.toString(proceedingJoinPoint.getArgs())));
+		}
+
+		long startTime = System.nanoTime();
+		try {
+			Object result = proceedingJoinPoint.proceed();
+			long elapsed = System.nanoTime() - startTime;
+			timersFor(proceedingJoinPoint).success.record(elapsed, TimeUnit.NANOSECONDS);
+
+			if (elapsed >= slowThresholdNanos) {
+				logger.warn("Slow method [{}] completed in {} ms", proceedingJoinPoint.getSignature().toShortString(),
+						TimeUnit.NANOSECONDS.toMillis(elapsed));
+			} else if (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+				logger.info("Method [{}] completed in {} µs", proceedingJoinPoint.getSignature().toShortString(),
+						TimeUnit.NANOSECONDS.toMicros(elapsed));
+			}
+			if (debug) {
+				logger.debug("Method returned : {} with result: {}", proceedingJoinPoint.getSignature().toShortString(),
+						abbreviate(String.valueOf(result)));
+			}
+			return result;
+		} catch (Throwable e) {
+			long elapsed = System.nanoTime() - startTime;
+			timersFor(proceedingJoinPoint).failure.record(elapsed, TimeUnit.NANOSECONDS);
+
+			// one line per failure; the full stack trace only when debugging
+			if (debug) {
+				logger.debug("Method [{}] failed after {} ms", proceedingJoinPoint.getSignature().toShortString(),
+						TimeUnit.NANOSECONDS.toMillis(elapsed), e);
+			} else {
+				logger.warn("Method [{}] failed after {} ms with cause: {}",
+						proceedingJoinPoint.getSignature().toShortString(), TimeUnit.NANOSECONDS.toMillis(elapsed),
+						e.toString());
+			}
+			throw e; // Re-throw exception after logging
+		}
 	}
 
 	/**
-	 * Logs method exit details after execution completes , regardless of whether it
-	 * returns successfully or throws an exception
-	 *
-	 * @param joinPoint Contains details of the current intercepted method.
+	 * Returns the cached success/failure timers of the intercepted method,
+	 * registering them on first use.
 	 */
-
-	@After(value = "applicationPointcut()")
-	public void logAfterMethodCompletes(JoinPoint joinPoint) {
-		logger.info("Exiting method : {} ", joinPoint.getSignature());
+	private MethodTimers timersFor(ProceedingJoinPoint joinPoint) {
+		Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+		MethodTimers methodTimers = timers.get(method);
+		if (methodTimers == null) {
+			methodTimers = timers.computeIfAbsent(method, this::registerTimers);
+		}
+		return methodTimers;
 	}
 
-	/**
-	 * Logs method exit details after successful execution.
-	 *
-	 * @param joinPoint Contains details of the intercepted method.
-	 * @param result    The returned object from the method.
-	 */
-	@AfterReturning(value = "applicationPointcut()", returning = "result")
-	public void logAfterMethodReturns(JoinPoint joinPoint, Object result) {
-		logger.info("Method returned : {} with result: {}", joinPoint.getSignature(), result);
+	private MethodTimers registerTimers(Method method) {
+		String className = method.getDeclaringClass().getSimpleName();
+		return new MethodTimers(buildTimer(className, method.getName(), "success"),
+				buildTimer(className, method.getName(), "failure"));
 	}
 
-	/**
-	 * Logs exception details if a method throws an exception.
-	 *
-	 * @param joinPoint Contains details of the intercepted method.
-	 * @param exception The thrown exception.
-	 */
-	@AfterThrowing(value = "applicationPointcut()", throwing = "exception")
-	public void logException(JoinPoint joinPoint, Exception exception) {
-		logger.error("Exception in method: {} with cause: {}", joinPoint.getSignature(), exception.getMessage(),
-				exception);
+	private Timer buildTimer(String className, String methodName, String outcome) {
+		return Timer.builder(TIMER_NAME).description("Execution time of controller and service methods")
+				.tag("class", className).tag("method", methodName).tag("outcome", outcome)
+				.publishPercentileHistogram().register(meterRegistry);
 	}
 
 	/**
-	 * Logs method execution with timestamp and calculates execution time.
-	 * 
-	 * @param joinPoint           Contains details of the intercepted method.
-	 * @param proceedingJoinPoint The actual method being called.
-	 * @return The result of the method execution.
-	 * @throws Throwable If the method execution throws an exception.
+	 * Caps the rendered text to the configured maximum length.
 	 */
-	@Around(value = "applicationPointcut()")
-	public Object logAroundMethod(JoinPoint joinPoint, ProceedingJoinPoint proceedingJoinPoint)
-			throws Throwable {
-		long startTime = System.currentTimeMillis(); // Capture start time
-		logger.info("Method [{}] started at: {}", joinPoint.getSignature(), startTime);
-
-		Object result = null;
-		try {
-			// Proceed with the actual method execution
-			result = proceedingJoinPoint.proceed();
-			long endTime = System.currentTimeMillis(); // Capture end time
-			logger.info("Method [{}] completed at: {}. Execution time: {} ms", joinPoint.getSignature(), endTime,
-					(endTime - startTime));
-		} catch (Exception e) {
-			long endTime = System.currentTimeMillis();
-			logger.error("Method [{}] failed at: {}. Execution time: {} ms", joinPoint.getSignature(), endTime,
-					(endTime - startTime));
-
-			// Log the stack trace to identify the exact origin of the exception
-			for (StackTraceElement element : e.getStackTrace()) {
-				// Log the full stack trace for better insight
-				logger.error("Exception originated from: at {} in {} (line {})", element.getMethodName(),
-						element.getClassName(), element.getLineNumber());
-			}
-
-			throw e; // Re-throw exception after logging
+	private String abbreviate(String text) {
+		if (text.length() <= maxArgumentLength) {
+			return text;
 		}
+		return text.substring(0, maxArgumentLength) + "...(" + text.length() + " chars)";
+	}
 
-		return result;
+	private record MethodTimers(Timer success, Timer failure) {
 	}
 
 }
@@ -14,6 +14,8 @@ import io.github.bucket4j.Bandwidth;
 import io.github.bucket4j.Bucket;
 import io.github.bucket4j.Refill;
 import io.jsonwebtoken.JwtException;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -26,13 +28,19 @@ public class RateLimitFilter extends OncePerRequestFilter {
 	@Autowired
 	private JwtUtils jwtUtils;
 
+	@Autowired
+	private ApplicationMetrics applicationMetrics;
+
+	@Autowired
+	private ObservationRegistry observationRegistry;
+
 	// Store rate-limiting buckets per user ID
 	private final Map<Integer, Bucket> buckets = new ConcurrentHashMap<>();
 
 	// list of endPoints to exclude from rate limiting
-	// Excludes all paths under api/users/auth/ and /notifications
+	// Excludes all paths under api/users/auth/, /notifications and the actuator
 	// I am excluding this entry level paths
-	private static final List<String> EXCLUDE_ENDPOINTS = List.of("/api/users/auth/", "/notifications");
+	private static final List<String> EXCLUDE_ENDPOINTS = List.of("/api/users/auth/", "/notifications", "/actuator/");
 
 	@Override
 	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
@@ -55,17 +63,25 @@ public class RateLimitFilter extends OncePerRequestFilter {
 			return;
 		}
 
-		// Extract user ID from the token
-		Integer userId = extractUserIdFromJwt(token.substring(7));
+		// Bucket lookup is traced as its own span
+		boolean allowed = Observation
+				.createNotStarted("gxmovies.filter.ratelimit", observationRegistry)
+				.observe(() -> {
+					// Extract user ID from the token
+					Integer userId = extractUserIdFromJwt(token.substring(7));
+
+					// Get or create a bucket for the user
+					Bucket bucket = buckets.computeIfAbsent(userId, k -> createNewBucket());
 
-		// Get or create a bucket for the user
-		Bucket bucket = buckets.computeIfAbsent(userId, k -> createNewBucket());
+					// Try consuming a token (user's request)
+					return bucket.tryConsume(1);
+				});
 
-		// Try consuming a token (user's request)
-		if (bucket.tryConsume(1)) {
+		if (allowed) {
 			chain.doFilter(request, response);
 //			System.out.println(bucket.getAvailableTokens());
 		} else {
+			applicationMetrics.recordRateLimitRejection();
 			response.setStatus(429); // HTTP 429 Too Many Requests Error
 			response.getWriter().write("Too many requests.");
 		}
@@ -0,0 +1,58 @@
+package com.endava.example.utils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+
+/**
+ * RepositoryObservationAspect wraps every Spring Data repository call in an
+ * observation, so each query shows up as its own span (e.g.
+ * "MovieRepository.findAllById") under the request trace, together with a
+ * latency timer per repository method.
+ */
+@Aspect
+@Component
+public class RepositoryObservationAspect {
+
+	private final ObservationRegistry observationRegistry;
+
+	// repository interface name per proxy class, resolved once
+	private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+	public RepositoryObservationAspect(ObservationRegistry observationRegistry) {
+		this.observationRegistry = observationRegistry;
+	}
+
+	/**
+	 * Observes the repository call, including the methods inherited from
+	 * JpaRepository.
+	 *
+	 * @param joinPoint the intercepted repository call.
+	 * @return the result of the repository method.
+	 * @throws Throwable whatever the repository method throws.
+	 */
+	@Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+	public Object observeRepositoryCall(ProceedingJoinPoint joinPoint) throws Throwable {
+		String repository = repositoryNames.computeIfAbsent(joinPoint.getThis().getClass(),
+				proxyClass -> repositoryName(joinPoint.getThis()));
+		String method = joinPoint.getSignature().getName();
+
+		return Observation.createNotStarted("gxmovies.repository", observationRegistry)
+				.contextualName(repository + "." + method).lowCardinalityKeyValue("repository", repository)
+				.lowCardinalityKeyValue("method", method)
+				.observeChecked((Observation.CheckedCallable<Object, Throwable>) joinPoint::proceed);
+	}
+
+	private String repositoryName(Object proxy) {
+		Class<?>[] interfaces = AopProxyUtils.proxiedUserInterfaces(proxy);
+		return interfaces.length > 0 ? interfaces[0].getSimpleName() : proxy.getClass().getSimpleName();
+	}
+}
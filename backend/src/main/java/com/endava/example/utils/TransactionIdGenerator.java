@@ -0,0 +1,73 @@
+package com.endava.example.utils;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * TransactionIdGenerator creates unique transaction IDs without a round trip
+ * to the database, in the layout of Snowflake IDs: the milliseconds since
+ * EPOCH_MILLIS in the upper 41 bits, the node ID in the next 10 bits and a
+ * sequence number of the millisecond in the lower 12 bits.
+ *
+ * Up to 4096 IDs are created per millisecond and node, further requests wait
+ * for the next millisecond. Every instance of the application must be
+ * configured with its own node ID. If the clock moves backwards, IDs keep being
+ * created from the last millisecond used and the ones after it, so they stay
+ * unique and increasing.
+ */
+@Component
+public class TransactionIdGenerator {
+
+	// 2025-01-01T00:00:00Z, the 41 bits of milliseconds last about 69 years
+	static final long EPOCH_MILLIS = 1_735_689_600_000L;
+
+	static final int NODE_BITS = 10;
+	static final int SEQUENCE_BITS = 12;
+
+	private static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+	private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+	private final long nodeId;
+
+	private long lastMillis = -1;
+	private long sequence;
+
+	public TransactionIdGenerator(@Value("${purchases.transaction-id.node-id:0}") long nodeId) {
+		if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+			throw new IllegalArgumentException("Transaction ID node ID must be between 0 and " + MAX_NODE_ID);
+		}
+		this.nodeId = nodeId;
+	}
+
+	/**
+	 * @return a new transaction ID, e.g. TXN-2587064320655360.
+	 */
+	public String nextTransactionId() {
+		return "TXN-" + nextId();
+	}
+
+	synchronized long nextId() {
+		long millis = Math.max(currentMillis(), lastMillis);
+		if (millis == lastMillis) {
+			sequence = (sequence + 1) & SEQUENCE_MASK;
+			if (sequence == 0) {
+				// the sequence of this millisecond is used up, wait for the next one
+				// unless the clock is behind
+				long now = currentMillis();
+				while (now == lastMillis) {
+					Thread.onSpinWait();
+					now = currentMillis();
+				}
+				millis = Math.max(now, lastMillis + 1);
+			}
+		} else {
+			sequence = 0;
+		}
+		lastMillis = millis;
+		return ((millis - EPOCH_MILLIS) << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | sequence;
+	}
+
+	long currentMillis() {
+		return System.currentTimeMillis();
+	}
+}
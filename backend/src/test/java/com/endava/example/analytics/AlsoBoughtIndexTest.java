@@ -0,0 +1,135 @@
+package com.endava.example.analytics;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.endava.example.dto.MovieDTO;
+import com.endava.example.entity.Movie;
+import com.endava.example.mapper.MovieMapper;
+import com.endava.example.repository.MovieAlsoBoughtRepository;
+import com.endava.example.repository.MovieRepository;
+import com.endava.example.repository.PurchaseDetailRepository;
+
+@ExtendWith(MockitoExtension.class)
+class AlsoBoughtIndexTest {
+
+	@Mock
+	private PurchaseDetailRepository purchaseDetailRepository;
+
+	@Mock
+	private MovieAlsoBoughtRepository movieAlsoBoughtRepository;
+
+	@Mock
+	private MovieRepository movieRepository;
+
+	@Mock
+	private MovieMapper movieMapper;
+
+	@Mock
+	private JdbcTemplate jdbcTemplate;
+
+	private AlsoBoughtIndex alsoBoughtIndex;
+
+	@BeforeEach
+	void setUp() {
+		alsoBoughtIndex = new AlsoBoughtIndex(purchaseDetailRepository, movieAlsoBoughtRepository, movieRepository,
+				movieMapper, jdbcTemplate, new TransactionTemplate(mock(PlatformTransactionManager.class)));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void testRebuild_WritesTopMoviesOfEachMovie() {
+		// purchase 3 has a single movie and is skipped, purchase 4 lists movie 3 twice
+		when(purchaseDetailRepository.streamAllByPurchase()).thenReturn(Stream.of(new Object[] { 1, 1 },
+				new Object[] { 1, 2 }, new Object[] { 1, 3 }, new Object[] { 2, 2 }, new Object[] { 2, 1 },
+				new Object[] { 3, 4 }, new Object[] { 4, 2 }, new Object[] { 4, 3 }, new Object[] { 4, 3 }));
+		when(movieAlsoBoughtRepository.findAllRanked()).thenReturn(List.<Object[]>of(new Object[] { 1, 2 }));
+		when(movieRepository.findAllById(anyList())).thenReturn(List.of());
+
+		alsoBoughtIndex.rebuild();
+
+		ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+		verify(movieAlsoBoughtRepository).deleteAllRows();
+		verify(jdbcTemplate).batchUpdate(eq(MovieAlsoBoughtRepository.INSERT), rows.capture());
+		List<Object[]> written = rows.getValue();
+		assertEquals(6, written.size());
+		assertArrayEquals(new Object[] { 1, 1, 2, 2 }, written.get(0));
+		assertArrayEquals(new Object[] { 1, 2, 3, 1 }, written.get(1));
+		// equal counts are ranked by movie id
+		assertArrayEquals(new Object[] { 2, 1, 1, 2 }, written.get(2));
+		assertArrayEquals(new Object[] { 2, 2, 3, 2 }, written.get(3));
+		assertArrayEquals(new Object[] { 3, 1, 2, 2 }, written.get(4));
+		assertArrayEquals(new Object[] { 3, 2, 1, 1 }, written.get(5));
+	}
+
+	@Test
+	void testLoad_ServesAvailableMovies() {
+		when(movieAlsoBoughtRepository.findAllRanked()).thenReturn(List.of(new Object[] { 1, 3 },
+				new Object[] { 1, 9 }, new Object[] { 1, 2 }, new Object[] { 2, 1 }));
+		when(movieRepository.findAllById(List.of(3, 9, 2, 1)))
+				.thenReturn(List.of(movie(1, "AVAILABLE"), movie(2, "AVAILABLE"), movie(3, "AVAILABLE"),
+						movie(9, "UNAVAILABLE")));
+		when(movieMapper.toDto(any(Movie.class))).thenAnswer(invocation -> {
+			MovieDTO dto = new MovieDTO();
+			dto.setMovieId(invocation.<Movie>getArgument(0).getMovieId());
+			return dto;
+		});
+
+		alsoBoughtIndex.load();
+
+		assertEquals(List.of(3, 2), movieIds(alsoBoughtIndex.getAlsoBought(1)));
+		assertEquals(List.of(1), movieIds(alsoBoughtIndex.getAlsoBought(2)));
+		assertTrue(alsoBoughtIndex.getAlsoBought(0).isEmpty());
+		assertTrue(alsoBoughtIndex.getAlsoBought(99).isEmpty());
+		assertTrue(alsoBoughtIndex.getAlsoBought(-1).isEmpty());
+	}
+
+	@Test
+	void testCountPairs_SplitsAndMergesLargeInputs() {
+		int[][] purchases = new int[27_000][];
+		for (int i = 0; i < purchases.length; i++) {
+			// 25000 purchases of movies 1 and 2, then 2000 distinct pairs
+			purchases[i] = i < 25_000 ? new int[] { 1, 2 } : new int[] { 10 + i, 100_000 + i };
+		}
+
+		AlsoBoughtIndex.PairCounts pairs = ForkJoinPool.commonPool()
+				.invoke(new AlsoBoughtIndex.CountPairs(purchases, 0, purchases.length));
+		List<Object[]> rows = AlsoBoughtIndex.topRows(pairs);
+
+		assertEquals(2001, pairs.size);
+		assertEquals(4002, rows.size());
+		assertArrayEquals(new Object[] { 1, 1, 2, 25_000 }, rows.get(0));
+	}
+
+	private static Movie movie(int movieId, String status) {
+		Movie movie = new Movie();
+		movie.setMovieId(movieId);
+		movie.setStatus(status);
+		return movie;
+	}
+
+	private static List<Integer> movieIds(List<MovieDTO> movies) {
+		return movies.stream().map(MovieDTO::getMovieId).toList();
+	}
+}
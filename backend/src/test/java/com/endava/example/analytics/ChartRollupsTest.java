@@ -0,0 +1,66 @@
+package com.endava.example.analytics;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.endava.example.repository.DailySalesRepository;
+import com.endava.example.repository.GenreDailyMoviesRepository;
+
+@ExtendWith(MockitoExtension.class)
+class ChartRollupsTest {
+
+	@Mock
+	private DailySalesRepository dailySalesRepository;
+
+	@Mock
+	private GenreDailyMoviesRepository genreDailyMoviesRepository;
+
+	private ChartRollups chartRollups;
+
+	@BeforeEach
+	void setUp() {
+		chartRollups = new ChartRollups(List.of(dailySalesRepository, genreDailyMoviesRepository));
+	}
+
+	@Test
+	void testRefreshRecomputesFromLatestDay() {
+		when(dailySalesRepository.findLatestDay()).thenReturn(LocalDate.of(2025, 6, 1));
+		when(genreDailyMoviesRepository.findLatestDay()).thenReturn(LocalDate.of(2025, 5, 20));
+
+		chartRollups.refresh();
+
+		verify(dailySalesRepository).deleteFrom(LocalDate.of(2025, 6, 1));
+		verify(dailySalesRepository).insertFrom(LocalDate.of(2025, 6, 1));
+		verify(genreDailyMoviesRepository).deleteFrom(LocalDate.of(2025, 5, 20));
+		verify(genreDailyMoviesRepository).insertFrom(LocalDate.of(2025, 5, 20));
+	}
+
+	@Test
+	void testRefreshOfEmptyTableComputesAllDays() {
+		when(genreDailyMoviesRepository.findLatestDay()).thenReturn(LocalDate.of(2025, 5, 20));
+
+		chartRollups.refresh();
+
+		verify(dailySalesRepository).deleteFrom(LocalDate.EPOCH);
+		verify(dailySalesRepository).insertFrom(LocalDate.EPOCH);
+	}
+
+	@Test
+	void testRebuildComputesAllDays() {
+		chartRollups.rebuild();
+
+		verify(dailySalesRepository).deleteFrom(LocalDate.EPOCH);
+		verify(dailySalesRepository).insertFrom(LocalDate.EPOCH);
+		verify(genreDailyMoviesRepository).deleteFrom(LocalDate.EPOCH);
+		verify(genreDailyMoviesRepository).insertFrom(LocalDate.EPOCH);
+	}
+}
@@ -0,0 +1,158 @@
+package com.endava.example.analytics;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.endava.example.dto.SummaryDTO;
+import com.endava.example.entity.Movie;
+import com.endava.example.entity.User;
+import com.endava.example.repository.MovieRepository;
+import com.endava.example.repository.PurchaseRepository;
+import com.endava.example.repository.UserRepository;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardAggregatesTest {
+
+	@Mock
+	private UserRepository userRepository;
+
+	@Mock
+	private MovieRepository movieRepository;
+
+	@Mock
+	private PurchaseRepository purchaseRepository;
+
+	@InjectMocks
+	private DashboardAggregates dashboardAggregates;
+
+	@BeforeEach
+	void setUp() {
+		when(userRepository.count()).thenReturn(100L);
+		when(movieRepository.count()).thenReturn(50L);
+		when(purchaseRepository.getTotalRevenue()).thenReturn(2000.0);
+		when(movieRepository.countMoviesByGenre()).thenReturn(rows(new Object[] { "Action", 30L }));
+		when(purchaseRepository.getRevenueByGenre()).thenReturn(rows(new Object[] { "Action", 2000.0 }));
+		when(purchaseRepository.getPurchaseCountPerUser()).thenReturn(rows(new Object[] { 1, "John", 3L },
+				new Object[] { 2, "Jane", 5L }, new Object[] { 3, "Bob", 1L }, new Object[] { 4, "Alice", 2L },
+				new Object[] { 5, "Eve", 4L }, new Object[] { 6, "Mallory", 1L }));
+	}
+
+	@Test
+	void testGetSummary() {
+		SummaryDTO summary = dashboardAggregates.getSummary();
+
+		assertEquals(100L, summary.getNumberOfUsers());
+		assertEquals(50L, summary.getNumberOfMovies());
+		assertEquals(2000.0, summary.getTotalRevenue());
+	}
+
+	@Test
+	void testGetSummaryWithNullRevenue() {
+		when(purchaseRepository.getTotalRevenue()).thenReturn(null);
+
+		assertEquals(0.0, dashboardAggregates.getSummary().getTotalRevenue());
+	}
+
+	@Test
+	void testLoadsOnlyOnce() {
+		dashboardAggregates.getSummary();
+		dashboardAggregates.getTopUsers();
+
+		verify(userRepository, times(1)).count();
+	}
+
+	@Test
+	void testGetTopUsers() {
+		List<Object[]> topUsers = dashboardAggregates.getTopUsers();
+
+		assertEquals(5, topUsers.size());
+		assertArrayEquals(new Object[] { "Jane", 5L }, topUsers.get(0));
+		assertArrayEquals(new Object[] { "Bob", 1L }, topUsers.get(4));
+	}
+
+	@Test
+	void testEventsUpdateAggregates() {
+		dashboardAggregates.getSummary();
+
+		dashboardAggregates.userRegistered();
+		dashboardAggregates.movieAdded("Comedy");
+		dashboardAggregates.movieGenreChanged("Action", "Comedy");
+		dashboardAggregates.purchaseCompleted(user(6, "Mallory"), 300.0, List.of(movie("Action", 100.0),
+				movie("Comedy", 200.0)));
+		dashboardAggregates.purchaseCompleted(user(6, "Mallory"), 0.0, List.of());
+
+		SummaryDTO summary = dashboardAggregates.getSummary();
+		assertEquals(101L, summary.getNumberOfUsers());
+		assertEquals(51L, summary.getNumberOfMovies());
+		assertEquals(2300.0, summary.getTotalRevenue());
+		assertEquals(29L, valueOf(dashboardAggregates.getMoviesByGenre(), "Action"));
+		assertEquals(2L, valueOf(dashboardAggregates.getMoviesByGenre(), "Comedy"));
+		assertEquals(2100.0, valueOf(dashboardAggregates.getRevenueByGenre(), "Action"));
+		assertEquals(200.0, valueOf(dashboardAggregates.getRevenueByGenre(), "Comedy"));
+		assertArrayEquals(new Object[] { "Mallory", 3L }, dashboardAggregates.getTopUsers().get(3));
+	}
+
+	@Test
+	void testMoviesAdded() {
+		dashboardAggregates.getSummary();
+
+		dashboardAggregates.moviesAdded(Map.of("Action", 2, "Drama", 3));
+
+		assertEquals(55L, dashboardAggregates.getSummary().getNumberOfMovies());
+		assertEquals(32L, valueOf(dashboardAggregates.getMoviesByGenre(), "Action"));
+		assertEquals(3L, valueOf(dashboardAggregates.getMoviesByGenre(), "Drama"));
+	}
+
+	@Test
+	void testEventsBeforeLoadAreLeftToTheLoad() {
+		dashboardAggregates.userRegistered();
+
+		assertEquals(100L, dashboardAggregates.getSummary().getNumberOfUsers());
+	}
+
+	@Test
+	void testReconcileReplacesDriftedAggregates() {
+		dashboardAggregates.getSummary();
+		dashboardAggregates.userRegistered();
+
+		dashboardAggregates.reconcile();
+
+		assertEquals(100L, dashboardAggregates.getSummary().getNumberOfUsers());
+	}
+
+	private static List<Object[]> rows(Object[]... rows) {
+		return new ArrayList<>(List.of(rows));
+	}
+
+	private static Object valueOf(List<Object[]> series, String label) {
+		return series.stream().filter(row -> row[0].equals(label)).findFirst().map(row -> row[1]).orElse(null);
+	}
+
+	private static User user(int userId, String fullName) {
+		User user = new User();
+		user.setUserId(userId);
+		user.setFullName(fullName);
+		return user;
+	}
+
+	private static Movie movie(String genre, double price) {
+		Movie movie = new Movie();
+		movie.setGenre(genre);
+		movie.setPrice(price);
+		return movie;
+	}
+}
@@ -0,0 +1,115 @@
+package com.endava.example.analytics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.endava.example.dto.MovieStatusDTO;
+import com.endava.example.repository.PurchaseDetailRepository;
+
+@ExtendWith(MockitoExtension.class)
+class MovieSimilarityTest {
+
+	@Mock
+	private PurchaseDetailRepository purchaseDetailRepository;
+
+	private MovieSimilarity movieSimilarity;
+
+	@BeforeEach
+	void setUp() {
+		movieSimilarity = new MovieSimilarity(purchaseDetailRepository,
+				new TransactionTemplate(mock(PlatformTransactionManager.class)), 50);
+		// users 1 and 2 share movies 1 and 2, user 2 also has movie 3 in the cart,
+		// user 3 has unrelated movies
+		when(purchaseDetailRepository.streamAllInteractions()).thenAnswer(invocation -> Stream.of(
+				new Object[] { 1, 1, 3 }, new Object[] { 1, 2, 3 }, new Object[] { 2, 1, 3 },
+				new Object[] { 2, 2, 2 }, new Object[] { 2, 3, 1 }, new Object[] { 3, 4, 3 },
+				new Object[] { 3, 5, 3 }));
+	}
+
+	@Test
+	void testRecommend_EmptyUntilBuilt() {
+		assertTrue(movieSimilarity.recommend(List.of(purchased(1)), 10).isEmpty());
+
+		movieSimilarity.refresh();
+
+		assertEquals(2, movieSimilarity.recommend(List.of(purchased(1)), 10).size());
+	}
+
+	@Test
+	void testRecommend_RankedBySimilarity() {
+		movieSimilarity.refresh();
+
+		assertEquals(List.of(2, 3), movieSimilarity.recommend(List.of(purchased(1)), 10));
+		assertEquals(List.of(2), movieSimilarity.recommend(List.of(purchased(1)), 1));
+		assertEquals(List.of(4), movieSimilarity.recommend(List.of(purchased(5)), 10));
+		assertTrue(movieSimilarity.recommend(List.of(purchased(99)), 10).isEmpty());
+	}
+
+	@Test
+	void testRecommend_SkipsOwnMovies() {
+		movieSimilarity.refresh();
+
+		MovieStatusDTO favorite = new MovieStatusDTO();
+		favorite.setMovieId(2);
+		favorite.setFavorite(true);
+
+		assertEquals(List.of(3), movieSimilarity.recommend(List.of(purchased(1), favorite), 10));
+	}
+
+	@Test
+	void testRefresh_AppliesCommittedPurchases() {
+		movieSimilarity.refresh();
+
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			movieSimilarity.purchased(4, List.of(4, 6));
+			movieSimilarity.refresh();
+
+			assertTrue(movieSimilarity.recommend(List.of(purchased(6)), 10).isEmpty());
+
+			TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+		movieSimilarity.refresh();
+
+		assertEquals(List.of(4), movieSimilarity.recommend(List.of(purchased(6)), 10));
+		verify(purchaseDetailRepository, times(1)).streamAllInteractions();
+	}
+
+	@Test
+	void testRebuild_ReadsAllInteractions() {
+		movieSimilarity.refresh();
+		movieSimilarity.purchased(4, List.of(6));
+
+		movieSimilarity.rebuild();
+		movieSimilarity.refresh();
+
+		assertTrue(movieSimilarity.recommend(List.of(purchased(6)), 10).isEmpty());
+		verify(purchaseDetailRepository, times(2)).streamAllInteractions();
+	}
+
+	private static MovieStatusDTO purchased(int movieId) {
+		MovieStatusDTO status = new MovieStatusDTO();
+		status.setMovieId(movieId);
+		status.setPurchased(true);
+		return status;
+	}
+}
@@ -0,0 +1,118 @@
+package com.endava.example.analytics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.lenient;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.endava.example.dto.MovieDTO;
+import com.endava.example.entity.Movie;
+import com.endava.example.mapper.MovieMapper;
+import com.endava.example.repository.MovieRepository;
+
+@ExtendWith(MockitoExtension.class)
+class MovieTrendsTest {
+
+	@Mock
+	private MovieRepository movieRepository;
+
+	@Mock
+	private MovieMapper movieMapper;
+
+	private MovieTrends movieTrends;
+
+	@BeforeEach
+	void setUp() {
+		movieTrends = new MovieTrends(movieRepository, movieMapper, 21_600_000);
+		// movie 9 is unavailable
+		lenient().when(movieRepository.findAllById(anyList())).thenAnswer(invocation -> {
+			List<Integer> movieIds = invocation.getArgument(0);
+			return movieIds.stream().map(movieId -> {
+				Movie movie = new Movie();
+				movie.setMovieId(movieId);
+				movie.setStatus(movieId == 9 ? "UNAVAILABLE" : "AVAILABLE");
+				return movie;
+			}).toList();
+		});
+		lenient().when(movieMapper.toDto(any(Movie.class))).thenAnswer(invocation -> {
+			MovieDTO dto = new MovieDTO();
+			dto.setMovieId(invocation.<Movie>getArgument(0).getMovieId());
+			return dto;
+		});
+	}
+
+	@Test
+	void testSnapshot_RankedByWeightedEvents() {
+		movieTrends.viewed(1);
+		movieTrends.viewed(1);
+		movieTrends.addedToCart(3);
+		movieTrends.purchased(List.of(2, 9));
+		movieTrends.addedToFavorites(3);
+
+		assertTrue(movieTrends.getTrending(10).isEmpty());
+
+		movieTrends.snapshot();
+
+		assertEquals(List.of(3, 2, 1), movieIds(movieTrends.getTrending(10)));
+		assertEquals(List.of(3), movieIds(movieTrends.getTrending(1)));
+	}
+
+	@Test
+	void testSnapshot_KeepsScoresOfEarlierSnapshots() {
+		movieTrends.purchased(List.of(2));
+		movieTrends.snapshot();
+		movieTrends.viewed(1);
+		movieTrends.viewed(1);
+		movieTrends.viewed(5000);
+		movieTrends.snapshot();
+
+		assertEquals(List.of(2, 1, 5000), movieIds(movieTrends.getTrending(10)));
+	}
+
+	@Test
+	void testSnapshot_ScoresDecay() throws InterruptedException {
+		movieTrends = new MovieTrends(movieRepository, movieMapper, 1);
+		movieTrends.purchased(List.of(2));
+		movieTrends.snapshot();
+
+		assertEquals(List.of(2), movieIds(movieTrends.getTrending(10)));
+
+		Thread.sleep(20);
+		movieTrends.snapshot();
+
+		assertTrue(movieTrends.getTrending(10).isEmpty());
+	}
+
+	@Test
+	void testPurchased_CountedAfterCommit() {
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			movieTrends.purchased(List.of(2));
+			movieTrends.snapshot();
+
+			assertTrue(movieTrends.getTrending(10).isEmpty());
+
+			TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+		movieTrends.snapshot();
+
+		assertEquals(List.of(2), movieIds(movieTrends.getTrending(10)));
+	}
+
+	private static List<Integer> movieIds(List<MovieDTO> movies) {
+		return movies.stream().map(MovieDTO::getMovieId).toList();
+	}
+}
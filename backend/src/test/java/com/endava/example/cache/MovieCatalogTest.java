@@ -0,0 +1,98 @@
+package com.endava.example.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.endava.example.entity.Movie;
+import com.endava.example.repository.MovieRepository;
+
+@ExtendWith(MockitoExtension.class)
+class MovieCatalogTest {
+
+	@Mock
+	private MovieRepository movieRepository;
+
+	private MovieCatalog movieCatalog;
+
+	@BeforeEach
+	void setUp() {
+		movieCatalog = new MovieCatalog(movieRepository);
+	}
+
+	@Test
+	void testGetMovies_LoadsMissingMoviesOnce() {
+		Movie movie1 = movie(1);
+		Movie movie2 = movie(2);
+		Movie movie3 = movie(3);
+		when(movieRepository.findAllById(List.of(2, 1))).thenReturn(List.of(movie1, movie2));
+		when(movieRepository.findAllById(List.of(3))).thenReturn(List.of(movie3));
+
+		assertEquals(List.of(movie2, movie1), movieCatalog.getMovies(List.of(2, 1)));
+		assertEquals(List.of(movie1, movie2, movie3), movieCatalog.getMovies(List.of(1, 2, 3)));
+		assertSame(movie3, movieCatalog.getMovies(List.of(3)).get(0));
+
+		verify(movieRepository, times(1)).findAllById(List.of(2, 1));
+		verify(movieRepository, times(1)).findAllById(List.of(3));
+	}
+
+	@Test
+	void testGetMovies_SkipsMoviesNotFound() {
+		Movie movie1 = movie(1);
+		when(movieRepository.findAllById(List.of(1, 9))).thenReturn(List.of(movie1));
+
+		assertEquals(List.of(movie1), movieCatalog.getMovies(List.of(1, 9)));
+	}
+
+	@Test
+	void testEvict_ReloadsMovie() {
+		Movie movie1 = movie(1);
+		Movie changed = movie(1);
+		changed.setPrice(250.0);
+		when(movieRepository.findAllById(List.of(1))).thenReturn(List.of(movie1), List.of(changed));
+
+		movieCatalog.getMovies(List.of(1));
+		movieCatalog.evict(List.of(1));
+
+		assertEquals(250.0, movieCatalog.getMovies(List.of(1)).get(0).getPrice());
+	}
+
+	@Test
+	void testEvict_AppliedAfterCommit() {
+		Movie movie1 = movie(1);
+		when(movieRepository.findAllById(List.of(1))).thenReturn(List.of(movie1));
+		movieCatalog.getMovies(List.of(1));
+
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			movieCatalog.evict(List.of(1));
+			movieCatalog.getMovies(List.of(1));
+			verify(movieRepository, times(1)).findAllById(List.of(1));
+
+			TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+		movieCatalog.getMovies(List.of(1));
+		verify(movieRepository, times(2)).findAllById(List.of(1));
+	}
+
+	private static Movie movie(int movieId) {
+		Movie movie = new Movie();
+		movie.setMovieId(movieId);
+		movie.setPrice(100.0);
+		return movie;
+	}
+}
@@ -0,0 +1,158 @@
+package com.endava.example.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.endava.example.exceptions.ResourceAlreadyExistsException;
+import com.endava.example.exceptions.TooManyRequestsException;
+import com.endava.example.repository.ReviewRepository;
+
+@ExtendWith(MockitoExtension.class)
+class ReviewGuardTest {
+
+	private static final String LONG_TEXT = "A slow start, but the last hour is one of the best I have seen this year.";
+
+	@Mock
+	private ReviewRepository reviewRepository;
+
+	private ReviewGuard reviewGuard;
+
+	@BeforeEach
+	void setUp() {
+		reviewGuard = new ReviewGuard(reviewRepository, 5);
+		when(reviewRepository.streamAllForIngestion())
+				.thenAnswer(invocation -> Stream.<Object[]>of(new Object[] { 1, 1, LONG_TEXT }));
+	}
+
+	@Test
+	void testAdmit_LoadsReviewsOnce() {
+		reviewGuard.admit(2, 2, "Great movie!");
+		reviewGuard.admit(3, 2, "Great movie!");
+
+		verify(reviewRepository, times(1)).streamAllForIngestion();
+	}
+
+	@Test
+	void testAdmit_AlreadyReviewed() {
+		ResourceAlreadyExistsException exception = assertThrows(ResourceAlreadyExistsException.class,
+				() -> reviewGuard.admit(1, 1, "Great movie!"));
+
+		assertEquals("You have already reviewed this movie.", exception.getMessage());
+	}
+
+	@Test
+	void testAdmit_CopiedText() {
+		// the same text by another user on the same movie, with other case and spacing
+		assertThrows(ResourceAlreadyExistsException.class, () -> reviewGuard.admit(2, 1, LONG_TEXT.toUpperCase()));
+		// the same text by the same user on another movie
+		assertThrows(ResourceAlreadyExistsException.class, () -> reviewGuard.admit(1, 2, LONG_TEXT));
+
+		// another user on another movie may write it, and the rejections kept nothing
+		reviewGuard.admit(2, 2, LONG_TEXT);
+		reviewGuard.admit(1, 3, "Something else entirely, and long enough to be fingerprinted.");
+	}
+
+	@Test
+	void testAdmit_ShortTextsNotFingerprinted() {
+		assertEquals(0, ReviewGuard.fingerprints(1, 1, "Great movie!").length);
+		assertEquals(0, ReviewGuard.fingerprints(1, 1, null).length);
+		assertEquals(2, ReviewGuard.fingerprints(1, 1, LONG_TEXT).length);
+
+		reviewGuard.admit(2, 2, "Great movie!");
+		reviewGuard.admit(3, 2, "Great movie!");
+	}
+
+	@Test
+	void testAdmit_Throttled() {
+		for (int movieId = 10; movieId < 15; movieId++) {
+			reviewGuard.admit(2, movieId, null);
+		}
+
+		assertThrows(TooManyRequestsException.class, () -> reviewGuard.admit(2, 15, null));
+		reviewGuard.admit(3, 15, null);
+	}
+
+	@Test
+	void testEvictIdle_KeepsBucketsInUse() {
+		for (int movieId = 10; movieId < 15; movieId++) {
+			reviewGuard.admit(2, movieId, null);
+		}
+		reviewGuard.admit(3, 10, null);
+
+		reviewGuard.evictIdle();
+
+		// buckets still refilling are kept, so the throttled user stays throttled
+		assertThrows(TooManyRequestsException.class, () -> reviewGuard.admit(2, 15, null));
+		reviewGuard.admit(3, 11, null);
+	}
+
+	@Test
+	void testAdmit_ReleasedOnRollback() {
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			reviewGuard.admit(2, 2, LONG_TEXT.replace("year", "decade"));
+
+			TransactionSynchronizationManager.getSynchronizations().forEach(
+					synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+
+		reviewGuard.admit(2, 2, LONG_TEXT.replace("year", "decade"));
+	}
+
+	@Test
+	void testRemoved_AllowsNewReview() {
+		assertThrows(ResourceAlreadyExistsException.class, () -> reviewGuard.admit(1, 1, null));
+
+		reviewGuard.removed(1, 1, LONG_TEXT);
+
+		reviewGuard.admit(1, 1, LONG_TEXT);
+	}
+
+	@Test
+	void testRebuild_KeepsUncommittedReviews() {
+		String text = LONG_TEXT.replace("year", "decade");
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			reviewGuard.admit(2, 2, text);
+
+			// the database does not have the review yet
+			reviewGuard.rebuild();
+			reviewGuard.invalidate();
+
+			assertThrows(ResourceAlreadyExistsException.class, () -> reviewGuard.admit(2, 2, null));
+			assertThrows(ResourceAlreadyExistsException.class, () -> reviewGuard.admit(3, 2, text));
+			TransactionSynchronizationManager.getSynchronizations().forEach(
+					synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+
+		reviewGuard.rebuild();
+		reviewGuard.admit(2, 2, text);
+	}
+
+	@Test
+	void testInvalidate_ReloadsReviews() {
+		reviewGuard.admit(2, 2, null);
+
+		reviewGuard.invalidate();
+		reviewGuard.admit(3, 3, null);
+
+		verify(reviewRepository, times(2)).streamAllForIngestion();
+	}
+}
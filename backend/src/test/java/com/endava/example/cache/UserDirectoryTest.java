@@ -0,0 +1,79 @@
+package com.endava.example.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.endava.example.entity.User;
+import com.endava.example.repository.UserRepository;
+
+@ExtendWith(MockitoExtension.class)
+class UserDirectoryTest {
+
+	@Mock
+	private UserRepository userRepository;
+
+	@Test
+	void testFindById_LoadsUserOnce() {
+		UserDirectory userDirectory = new UserDirectory(userRepository, 1_800_000);
+		User user = user(1);
+		when(userRepository.findById(1)).thenReturn(Optional.of(user));
+
+		assertEquals(user, userDirectory.findById(1).orElseThrow());
+		assertEquals(user, userDirectory.findById(1).orElseThrow());
+
+		verify(userRepository, times(1)).findById(1);
+	}
+
+	@Test
+	void testFindById_UnknownUserNotHeld() {
+		UserDirectory userDirectory = new UserDirectory(userRepository, 1_800_000);
+		when(userRepository.findById(9)).thenReturn(Optional.empty());
+
+		assertTrue(userDirectory.findById(9).isEmpty());
+		assertTrue(userDirectory.findById(9).isEmpty());
+
+		verify(userRepository, times(2)).findById(9);
+	}
+
+	@Test
+	void testEvict_ReloadsUser() {
+		UserDirectory userDirectory = new UserDirectory(userRepository, 1_800_000);
+		User changed = user(1);
+		changed.setEmail("changed@example.com");
+		when(userRepository.findById(1)).thenReturn(Optional.of(user(1)), Optional.of(changed));
+
+		userDirectory.findById(1);
+		userDirectory.evict(1);
+
+		assertEquals("changed@example.com", userDirectory.findById(1).orElseThrow().getEmail());
+	}
+
+	@Test
+	void testEvictIdle() {
+		UserDirectory userDirectory = new UserDirectory(userRepository, -1);
+		when(userRepository.findById(1)).thenReturn(Optional.of(user(1)));
+
+		userDirectory.findById(1);
+		userDirectory.evictIdle();
+		userDirectory.findById(1);
+
+		verify(userRepository, times(2)).findById(1);
+	}
+
+	private static User user(int userId) {
+		User user = new User();
+		user.setUserId(userId);
+		user.setEmail("user" + userId + "@example.com");
+		return user;
+	}
+}
@@ -0,0 +1,135 @@
+package com.endava.example.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.endava.example.dto.MovieStatusDTO;
+import com.endava.example.repository.CartRepository;
+import com.endava.example.repository.FavoriteRepository;
+import com.endava.example.repository.PurchaseDetailRepository;
+
+@ExtendWith(MockitoExtension.class)
+class UserEntitlementsTest {
+
+	@Mock
+	private PurchaseDetailRepository purchaseDetailRepository;
+
+	@Mock
+	private CartRepository cartRepository;
+
+	@Mock
+	private FavoriteRepository favoriteRepository;
+
+	private UserEntitlements userEntitlements;
+
+	@BeforeEach
+	void setUp() {
+		userEntitlements = new UserEntitlements(purchaseDetailRepository, cartRepository, favoriteRepository,
+				1_800_000);
+		when(purchaseDetailRepository.findPurchasedMovieIdsByUserId(1)).thenReturn(List.of(1, 5));
+		when(cartRepository.findMovieIdsByUserId(1)).thenReturn(List.of(2));
+		when(favoriteRepository.findMovieIdsByUserId(1)).thenReturn(List.of(2, 7));
+	}
+
+	@Test
+	void testChecks_LoadUserOnce() {
+		assertTrue(userEntitlements.isPurchased(1, 5));
+		assertFalse(userEntitlements.isPurchased(1, 2));
+		assertTrue(userEntitlements.isInCart(1, 2));
+		assertTrue(userEntitlements.isFavorite(1, 7));
+		assertFalse(userEntitlements.isFavorite(1, 1000));
+
+		verify(purchaseDetailRepository, times(1)).findPurchasedMovieIdsByUserId(1);
+		verify(cartRepository, times(1)).findMovieIdsByUserId(1);
+		verify(favoriteRepository, times(1)).findMovieIdsByUserId(1);
+	}
+
+	@Test
+	void testGetStatuses() {
+		List<MovieStatusDTO> statuses = userEntitlements.getStatuses(1, List.of(2, 1, 9));
+
+		assertEquals(3, statuses.size());
+		assertEquals(2, statuses.get(0).getMovieId());
+		assertFalse(statuses.get(0).isPurchased());
+		assertTrue(statuses.get(0).isInCart());
+		assertTrue(statuses.get(0).isFavorite());
+		assertTrue(statuses.get(1).isPurchased());
+		assertFalse(statuses.get(2).isPurchased() || statuses.get(2).isInCart() || statuses.get(2).isFavorite());
+	}
+
+	@Test
+	void testGetStatuses_AllFlaggedMovies() {
+		List<MovieStatusDTO> statuses = userEntitlements.getStatuses(1);
+
+		assertEquals(List.of(1, 2, 5, 7), statuses.stream().map(MovieStatusDTO::getMovieId).toList());
+		assertTrue(statuses.get(1).isInCart() && statuses.get(1).isFavorite());
+		assertFalse(statuses.get(1).isPurchased());
+		assertTrue(statuses.get(2).isPurchased());
+	}
+
+	@Test
+	void testWrites_UpdateLoadedUser() {
+		userEntitlements.isPurchased(1, 1);
+
+		userEntitlements.addedToCart(1, List.of(3, 4));
+		userEntitlements.removedFromCart(1, List.of(2));
+		userEntitlements.purchased(1, List.of(3));
+		userEntitlements.addedToFavorites(1, 9);
+		userEntitlements.removedFromFavorites(1, 7);
+
+		assertTrue(userEntitlements.isPurchased(1, 3));
+		assertFalse(userEntitlements.isInCart(1, 3));
+		assertTrue(userEntitlements.isInCart(1, 4));
+		assertFalse(userEntitlements.isInCart(1, 2));
+		assertTrue(userEntitlements.isFavorite(1, 9));
+		assertFalse(userEntitlements.isFavorite(1, 7));
+
+		userEntitlements.cartCleared(1);
+
+		assertFalse(userEntitlements.isInCart(1, 4));
+		verify(cartRepository, times(1)).findMovieIdsByUserId(1);
+	}
+
+	@Test
+	void testWrites_AppliedAfterCommit() {
+		userEntitlements.isPurchased(1, 1);
+
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			userEntitlements.purchased(1, List.of(3));
+
+			assertFalse(userEntitlements.isPurchased(1, 3));
+
+			TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+
+		assertTrue(userEntitlements.isPurchased(1, 3));
+	}
+
+	@Test
+	void testEvictIdle_ReloadsUser() {
+		userEntitlements = new UserEntitlements(purchaseDetailRepository, cartRepository, favoriteRepository, -1);
+		userEntitlements.isPurchased(1, 1);
+
+		userEntitlements.evictIdle();
+		userEntitlements.isPurchased(1, 1);
+
+		verify(purchaseDetailRepository, times(2)).findPurchasedMovieIdsByUserId(1);
+	}
+}
@@ -5,8 +5,10 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.junit.jupiter.api.Test;
@@ -19,9 +21,12 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import com.endava.example.dto.SummaryDTO;
 import com.endava.example.service.AdminService;
+import com.endava.example.utils.ApplicationMetrics;
 import com.endava.example.utils.JwtAuthenticationFilter;
 import com.endava.example.utils.JwtUtils;
 
+import io.micrometer.observation.ObservationRegistry;
+
 @WebMvcTest(AdminController.class)
 @AutoConfigureMockMvc(addFilters = false)
 class AdminControllerTest {
@@ -35,6 +40,12 @@ class AdminControllerTest {
 	@MockitoBean
 	private JwtUtils jwtUtils;
 
+	@MockitoBean
+	private ApplicationMetrics applicationMetrics;
+
+	@MockitoBean
+	private ObservationRegistry observationRegistry;
+
 	@MockitoBean
 	private JwtAuthenticationFilter jwtAuthenticationFilter;
 
@@ -68,7 +79,7 @@ class AdminControllerTest {
 		Map<String, Object> data = new HashMap<>();
 		data.put("series", Arrays.asList(10, 20, 30));
 
-		when(adminService.getChartData("moviesByGenre")).thenReturn(data);
+		when(adminService.getChartData("moviesByGenre", null, null, null)).thenReturn(data);
 
 		mockMvc.perform(get("/api/admin/chart").param("type", "moviesByGenre").contentType(MediaType.APPLICATION_JSON))
 				.andExpect(status().isOk()).andExpect(jsonPath("$.success").value(true))
@@ -79,7 +90,7 @@ class AdminControllerTest {
 
 	@Test
 	void testGetChartData_InvalidType() throws Exception {
-		when(adminService.getChartData("invalidType"))
+		when(adminService.getChartData("invalidType", null, null, null))
 				.thenThrow(new IllegalArgumentException("Invalid chart type: invalidType"));
 
 		mockMvc.perform(get("/api/admin/chart").param("type", "invalidType").contentType(MediaType.APPLICATION_JSON))
@@ -87,4 +98,32 @@ class AdminControllerTest {
 				.andExpect(jsonPath("$.message").value("Invalid chart type: invalidType"));
 	}
 
+	@Test
+	void testGetChartData_WithDateRange() throws Exception {
+		Map<String, Object> data = new HashMap<>();
+		data.put("series", Arrays.asList(10, 20));
+
+		when(adminService.getChartData("revenueByGenre", LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31), null))
+				.thenReturn(data);
+
+		mockMvc.perform(get("/api/admin/chart").param("type", "revenueByGenre").param("from", "2025-01-01")
+				.param("to", "2025-12-31").contentType(MediaType.APPLICATION_JSON)).andExpect(status().isOk())
+				.andExpect(jsonPath("$.success").value(true)).andExpect(jsonPath("$.data.series[1]").value(20));
+	}
+
+	@Test
+	void testGetChartData_Columnar() throws Exception {
+		Map<String, Object> data = new HashMap<>();
+		data.put("interval", "month");
+		data.put("labels", List.of("2025-01-01", "2025-02-01"));
+		data.put("revenue", new double[] { 100.0, 250.0 });
+
+		when(adminService.getChartData("revenueOverTime", null, null, "month")).thenReturn(data);
+
+		mockMvc.perform(get("/api/admin/chart").param("type", "revenueOverTime").param("interval", "month")
+				.contentType(MediaType.APPLICATION_JSON)).andExpect(status().isOk())
+				.andExpect(jsonPath("$.data.labels[1]").value("2025-02-01"))
+				.andExpect(jsonPath("$.data.revenue[1]").value(250.0));
+	}
+
 }
@@ -24,10 +24,13 @@ import org.springframework.test.web.servlet.MockMvc;
 import com.endava.example.dto.CartDTO;
 import com.endava.example.exceptions.ResourceNotFoundException;
 import com.endava.example.service.CartService;
+import com.endava.example.utils.ApplicationMetrics;
 import com.endava.example.utils.JwtAuthenticationFilter;
 import com.endava.example.utils.JwtUtils;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import io.micrometer.observation.ObservationRegistry;
+
 @WebMvcTest(CartController.class)
 @AutoConfigureMockMvc(addFilters = false)
 class CartControllerTest {
@@ -47,6 +50,12 @@ class CartControllerTest {
 	@MockitoBean
 	private JwtUtils jwtUtils;
 
+	@MockitoBean
+	private ApplicationMetrics applicationMetrics;
+
+	@MockitoBean
+	private ObservationRegistry observationRegistry;
+
 	@Test
 	void testAddToCart_Success() throws Exception {
 		CartDTO dto = new CartDTO();
@@ -79,11 +88,12 @@ class CartControllerTest {
 
 	@Test
 	void testRemoveFromCart_Success() throws Exception {
-		doNothing().when(cartService).removeFromCartOfUser(1, 100);
+		when(cartService.removeFromCartOfUser(1, 100)).thenReturn(List.of(new CartDTO()));
 
 		mockMvc.perform(delete("/api/carts/user/1/movie/100")).andExpect(status().isOk())
 				.andExpect(jsonPath("$.success").value(true))
-				.andExpect(jsonPath("$.message").value("Movie removed from cart"));
+				.andExpect(jsonPath("$.message").value("Movie removed from cart"))
+				.andExpect(jsonPath("$.data.length()").value(1));
 	}
 
 	@Test
@@ -97,11 +107,34 @@ class CartControllerTest {
 	@Test
 	void testRemoveMultipleMovies_Success() throws Exception {
 		List<Integer> movieIds = Arrays.asList(100, 101);
-		doNothing().when(cartService).removeMultipleMoviesFromCartOfUser(1, movieIds);
+		when(cartService.removeMultipleMoviesFromCartOfUser(1, movieIds)).thenReturn(List.of());
 
 		mockMvc.perform(delete("/api/carts/user/remove-multiple-cartItems").param("userId", "1")
 				.contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(movieIds)))
-				.andExpect(status().isOk()).andExpect(jsonPath("$.success").value(true));
+				.andExpect(status().isOk()).andExpect(jsonPath("$.success").value(true))
+				.andExpect(jsonPath("$.data.length()").value(0));
+	}
+
+	@Test
+	void testAddMoviesToCart_Success() throws Exception {
+		List<Integer> movieIds = Arrays.asList(100, 101);
+		when(cartService.addMoviesToCartOfUser(1, movieIds)).thenReturn(List.of(new CartDTO(), new CartDTO()));
+
+		mockMvc.perform(post("/api/carts/user/1/movies").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(movieIds))).andExpect(status().isOk())
+				.andExpect(jsonPath("$.message").value("Movies added to cart"))
+				.andExpect(jsonPath("$.data.length()").value(2));
+	}
+
+	@Test
+	void testAddMoviesToCart_UserNotFound() throws Exception {
+		List<Integer> movieIds = Arrays.asList(100);
+		when(cartService.addMoviesToCartOfUser(999, movieIds))
+				.thenThrow(new ResourceNotFoundException("User not found with ID: 999"));
+
+		mockMvc.perform(post("/api/carts/user/999/movies").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(movieIds))).andExpect(status().isNotFound())
+				.andExpect(jsonPath("$.message").value("User not found with ID: 999"));
 	}
 
 	@Test
@@ -0,0 +1,87 @@
+package com.endava.example.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.Writer;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.endava.example.service.ExportService;
+import com.endava.example.utils.ApplicationMetrics;
+import com.endava.example.utils.JwtAuthenticationFilter;
+import com.endava.example.utils.JwtUtils;
+
+import io.micrometer.observation.ObservationRegistry;
+
+@WebMvcTest(ExportController.class)
+@AutoConfigureMockMvc(addFilters = false)
+class ExportControllerTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@MockitoBean
+	private ExportService exportService;
+
+	@MockitoBean
+	private JwtUtils jwtUtils;
+
+	@MockitoBean
+	private ApplicationMetrics applicationMetrics;
+
+	@MockitoBean
+	private ObservationRegistry observationRegistry;
+
+	@MockitoBean
+	private JwtAuthenticationFilter jwtAuthenticationFilter;
+
+	@Test
+	void testExportPurchases() throws Exception {
+		doAnswer(invocation -> {
+			Writer writer = invocation.getArgument(0);
+			writer.write("purchaseId,transactionId\r\n1,TXN-1\r\n");
+			return null;
+		}).when(exportService).exportPurchases(any(Writer.class));
+
+		mockMvc.perform(get("/api/admin/exports/purchases")).andExpect(status().isOk())
+				.andExpect(content().contentType("text/csv;charset=UTF-8"))
+				.andExpect(header().string("Content-Disposition",
+						"attachment; filename=\"purchases-" + LocalDate.now() + ".csv\""))
+				.andExpect(content().string("purchaseId,transactionId\r\n1,TXN-1\r\n"));
+	}
+
+	@Test
+	void testExportPurchaseDetails() throws Exception {
+		mockMvc.perform(get("/api/admin/exports/purchase-details")).andExpect(status().isOk()).andExpect(
+				header().string("Content-Disposition", "attachment; filename=\"purchase-details-" + LocalDate.now() + ".csv\""));
+	}
+
+	@Test
+	void testExportUsers() throws Exception {
+		doAnswer(invocation -> {
+			Writer writer = invocation.getArgument(0);
+			writer.write("userId\r\n1\r\n");
+			return null;
+		}).when(exportService).exportUsers(any(Writer.class));
+
+		mockMvc.perform(get("/api/admin/exports/users")).andExpect(status().isOk())
+				.andExpect(content().string("userId\r\n1\r\n"));
+	}
+
+	@Test
+	void testExportReviews() throws Exception {
+		mockMvc.perform(get("/api/admin/exports/reviews")).andExpect(status().isOk())
+				.andExpect(content().contentType("text/csv;charset=UTF-8"));
+	}
+}
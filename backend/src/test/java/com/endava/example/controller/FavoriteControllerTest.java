@@ -24,10 +24,13 @@ import com.endava.example.dto.FavoriteDTO;
 import com.endava.example.exceptions.ResourceAlreadyExistsException;
 import com.endava.example.exceptions.ResourceNotFoundException;
 import com.endava.example.service.FavoriteService;
+import com.endava.example.utils.ApplicationMetrics;
 import com.endava.example.utils.JwtAuthenticationFilter;
 import com.endava.example.utils.JwtUtils;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import io.micrometer.observation.ObservationRegistry;
+
 @WebMvcTest(FavoriteController.class)
 @AutoConfigureMockMvc(addFilters = false)
 class FavoriteControllerTest {
@@ -44,6 +47,12 @@ class FavoriteControllerTest {
 	@MockitoBean
 	private JwtUtils jwtUtils;
 
+	@MockitoBean
+	private ApplicationMetrics applicationMetrics;
+
+	@MockitoBean
+	private ObservationRegistry observationRegistry;
+
 	@Autowired
 	private ObjectMapper objectMapper;
 
@@ -7,11 +7,13 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -20,17 +22,23 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 import com.endava.example.dto.MovieDTO;
+import com.endava.example.dto.MovieImportResultDTO;
 import com.endava.example.exceptions.ResourceAlreadyExistsException;
 import com.endava.example.exceptions.ResourceNotFoundException;
+import com.endava.example.service.MovieImportService;
 import com.endava.example.service.MovieService;
+import com.endava.example.utils.ApplicationMetrics;
 import com.endava.example.utils.JwtAuthenticationFilter;
 import com.endava.example.utils.JwtUtils;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import io.micrometer.observation.ObservationRegistry;
+
 @WebMvcTest(MovieController.class)
 @AutoConfigureMockMvc(addFilters = false)
 class MovieControllerTest {
@@ -44,12 +52,21 @@ class MovieControllerTest {
 	@MockitoBean
 	private MovieService movieService;
 
+	@MockitoBean
+	private MovieImportService movieImportService;
+
 	@MockitoBean
 	private JwtAuthenticationFilter jwtAuthenticationFilter;
 
 	@MockitoBean
 	private JwtUtils jwtUtils;
 
+	@MockitoBean
+	private ApplicationMetrics applicationMetrics;
+
+	@MockitoBean
+	private ObservationRegistry observationRegistry;
+
 	@Test
 	void testAddMovie_Success() throws Exception {
 		MovieDTO movieDTO = new MovieDTO();
@@ -262,7 +279,7 @@ class MovieControllerTest {
 		moviesByGenre.add(movie1);
 		moviesByGenre.add(movie2);
 
-		when(movieService.getMoviesByGenre(genre)).thenReturn(moviesByGenre);
+		when(movieService.getRecommendedMovies(null, genre)).thenReturn(moviesByGenre);
 
 		mockMvc.perform(get("/api/movies/recommended").param("genre", genre).contentType(MediaType.APPLICATION_JSON))
 				.andExpect(status().isOk()).andExpect(jsonPath("$.success").value(true))
@@ -272,20 +289,96 @@ class MovieControllerTest {
 				.andExpect(jsonPath("$.data[1].movieId").value(2))
 				.andExpect(jsonPath("$.data[1].title").value("Action Movie 2"));
 
-		verify(movieService).getMoviesByGenre(genre);
+		verify(movieService).getRecommendedMovies(null, genre);
+	}
+
+	@Test
+	void testGetRecommendedMovies_ForUser() throws Exception {
+		MovieDTO movie = new MovieDTO();
+		movie.setMovieId(7);
+		movie.setTitle("Recommended Movie");
+		when(movieService.getRecommendedMovies(3, "Action")).thenReturn(List.of(movie));
+
+		mockMvc.perform(get("/api/movies/recommended").param("userId", "3").param("genre", "Action")
+				.contentType(MediaType.APPLICATION_JSON)).andExpect(status().isOk())
+				.andExpect(jsonPath("$.success").value(true)).andExpect(jsonPath("$.data[0].movieId").value(7));
+
+		verify(movieService).getRecommendedMovies(3, "Action");
+	}
+
+	@Test
+	void testGetTrendingMovies_DefaultLimit() throws Exception {
+		MovieDTO movie = new MovieDTO();
+		movie.setMovieId(4);
+		when(movieService.getTrendingMovies(10)).thenReturn(List.of(movie));
+
+		mockMvc.perform(get("/api/movies/trending").contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk()).andExpect(jsonPath("$.data[0].movieId").value(4));
+
+		verify(movieService).getTrendingMovies(10);
+	}
+
+	@Test
+	void testGetAlsoBoughtMovies() throws Exception {
+		MovieDTO movie = new MovieDTO();
+		movie.setMovieId(8);
+		when(movieService.getAlsoBoughtMovies(5)).thenReturn(List.of(movie));
+
+		mockMvc.perform(get("/api/movies/5/also-bought").contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk()).andExpect(jsonPath("$.success").value(true))
+				.andExpect(jsonPath("$.data[0].movieId").value(8));
+
+		verify(movieService).getAlsoBoughtMovies(5);
 	}
 
 	@Test
 	void testGetMoviesByGenre_Failure_NoMoviesFound() throws Exception {
 		String genre = "NonExistentGenre";
-		when(movieService.getMoviesByGenre(genre))
+		when(movieService.getRecommendedMovies(null, genre))
 				.thenThrow(new ResourceNotFoundException("No movies found for this genre."));
 
 		mockMvc.perform(get("/api/movies/recommended").param("genre", genre).contentType(MediaType.APPLICATION_JSON))
 				.andExpect(status().isNotFound()).andExpect(jsonPath("$.success").value(false))
 				.andExpect(jsonPath("$.message").value("No movies found for this genre."));
 
-		verify(movieService).getMoviesByGenre(genre);
+		verify(movieService).getRecommendedMovies(null, genre);
 	}
 
+
+	@Test
+	void testImportMovies_FormatFromFileName() throws Exception {
+		MovieImportResultDTO result = new MovieImportResultDTO();
+		result.setRows(2);
+		result.setImported(2);
+		when(movieImportService.importMovies(any(InputStream.class), eq("jsonl"))).thenReturn(result);
+
+		mockMvc.perform(multipart("/api/movies/import")
+				.file(new MockMultipartFile("file", "catalog.jsonl", "application/x-ndjson", "{}\n{}\n".getBytes())))
+				.andExpect(status().isOk()).andExpect(jsonPath("$.success").value(true))
+				.andExpect(jsonPath("$.data.imported").value(2));
+	}
+
+	@Test
+	void testImportMovies_ExplicitFormat() throws Exception {
+		when(movieImportService.importMovies(any(InputStream.class), eq("csv")))
+				.thenReturn(new MovieImportResultDTO());
+
+		mockMvc.perform(multipart("/api/movies/import")
+				.file(new MockMultipartFile("file", "catalog.txt", "text/plain", "title\n".getBytes()))
+				.param("format", "csv"))
+				.andExpect(status().isOk());
+
+		verify(movieImportService).importMovies(any(InputStream.class), eq("csv"));
+	}
+
+	@Test
+	void testImportMovies_UnsupportedFormat() throws Exception {
+		when(movieImportService.importMovies(any(InputStream.class), eq("xlsx")))
+				.thenThrow(new IllegalArgumentException("Unsupported import format: xlsx"));
+
+		mockMvc.perform(multipart("/api/movies/import")
+				.file(new MockMultipartFile("file", "catalog.xlsx", "application/octet-stream", new byte[0])))
+				.andExpect(status().isInternalServerError())
+				.andExpect(jsonPath("$.message").value("Unsupported import format: xlsx"));
+	}
 }
@@ -0,0 +1,75 @@
+package com.endava.example.controller;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.endava.example.dto.MovieStatusDTO;
+import com.endava.example.service.MovieStatusService;
+import com.endava.example.utils.ApplicationMetrics;
+import com.endava.example.utils.JwtAuthenticationFilter;
+import com.endava.example.utils.JwtUtils;
+
+import io.micrometer.observation.ObservationRegistry;
+
+@WebMvcTest(MovieStatusController.class)
+@AutoConfigureMockMvc(addFilters = false)
+class MovieStatusControllerTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@MockitoBean
+	private MovieStatusService movieStatusService;
+
+	@MockitoBean
+	private JwtAuthenticationFilter jwtAuthenticationFilter;
+
+	@MockitoBean
+	private JwtUtils jwtUtils;
+
+	@MockitoBean
+	private ApplicationMetrics applicationMetrics;
+
+	@MockitoBean
+	private ObservationRegistry observationRegistry;
+
+	@Test
+	void testGetMovieStatuses_Success() throws Exception {
+		MovieStatusDTO owned = new MovieStatusDTO();
+		owned.setMovieId(1);
+		owned.setPurchased(true);
+		MovieStatusDTO carted = new MovieStatusDTO();
+		carted.setMovieId(2);
+		carted.setInCart(true);
+		carted.setFavorite(true);
+		when(movieStatusService.getMovieStatuses(1, List.of(1, 2))).thenReturn(List.of(owned, carted));
+
+		mockMvc.perform(get("/api/users/1/movie-status").param("movieIds", "1,2")).andExpect(status().isOk())
+				.andExpect(jsonPath("$.message").value("Movie status fetched successfully"))
+				.andExpect(jsonPath("$.data[0].movieId").value(1)).andExpect(jsonPath("$.data[0].purchased").value(true))
+				.andExpect(jsonPath("$.data[0].inCart").value(false))
+				.andExpect(jsonPath("$.data[1].inCart").value(true))
+				.andExpect(jsonPath("$.data[1].favorite").value(true));
+	}
+
+	@Test
+	void testGetMovieStatuses_TooManyMovies() throws Exception {
+		when(movieStatusService.getMovieStatuses(1, List.of(1)))
+				.thenThrow(new IllegalArgumentException("At most 500 movie IDs can be checked at once."));
+
+		mockMvc.perform(get("/api/users/1/movie-status").param("movieIds", "1"))
+				.andExpect(status().isInternalServerError())
+				.andExpect(jsonPath("$.message").value("At most 500 movie IDs can be checked at once."));
+	}
+}
@@ -10,9 +10,12 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import com.endava.example.utils.ApplicationMetrics;
 import com.endava.example.utils.JwtAuthenticationFilter;
 import com.endava.example.utils.JwtUtils;
 
+import io.micrometer.observation.ObservationRegistry;
+
 @WebMvcTest(NotificationController.class)
 @AutoConfigureMockMvc(addFilters = false)
 class NotificationControllerTest {
@@ -26,6 +29,12 @@ class NotificationControllerTest {
 	@MockitoBean
 	private JwtUtils jwtUtils;
 
+	@MockitoBean
+	private ApplicationMetrics applicationMetrics;
+
+	@MockitoBean
+	private ObservationRegistry observationRegistry;
+
 	@Test
 	void testSubscribeToNotifications_Success() throws Exception {
 		mockMvc.perform(get("/notifications")).andExpect(status().isOk());
@@ -1,6 +1,8 @@
 package com.endava.example.controller;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -24,10 +26,13 @@ import com.endava.example.dto.PurchaseRequestDTO;
 import com.endava.example.dto.PurchasedMovieDTO;
 import com.endava.example.exceptions.ResourceNotFoundException;
 import com.endava.example.service.PurchaseService;
+import com.endava.example.utils.ApplicationMetrics;
 import com.endava.example.utils.JwtAuthenticationFilter;
 import com.endava.example.utils.JwtUtils;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import io.micrometer.observation.ObservationRegistry;
+
 @WebMvcTest(PurchaseController.class)
 @AutoConfigureMockMvc(addFilters = false)
 class PurchaseControllerTest {
@@ -47,6 +52,12 @@ class PurchaseControllerTest {
 	@MockitoBean
 	private JwtUtils jwtUtils;
 
+	@MockitoBean
+	private ApplicationMetrics applicationMetrics;
+
+	@MockitoBean
+	private ObservationRegistry observationRegistry;
+
 	@Test
 	void testCreatePurchaseSuccess() throws Exception {
 		PurchaseRequestDTO requestDTO = new PurchaseRequestDTO();
@@ -58,7 +69,7 @@ class PurchaseControllerTest {
 		createdPurchase.setUserId(requestDTO.getUserId());
 		createdPurchase.setTotalPrice(requestDTO.getTotalPrice());
 
-		when(purchaseService.createPurchase(any(PurchaseRequestDTO.class))).thenReturn(createdPurchase);
+		when(purchaseService.createPurchase(any(PurchaseRequestDTO.class), isNull())).thenReturn(createdPurchase);
 
 		mockMvc.perform(post("/api/purchases").contentType(MediaType.APPLICATION_JSON)
 				.content(objectMapper.writeValueAsString(requestDTO))).andExpect(status().isOk())
@@ -67,7 +78,25 @@ class PurchaseControllerTest {
 				.andExpect(jsonPath("$.data.purchaseId").value(1)).andExpect(jsonPath("$.data.userId").value(1))
 				.andExpect(jsonPath("$.data.totalPrice").value(49.99));
 
-		verify(purchaseService).createPurchase(any(PurchaseRequestDTO.class));
+		verify(purchaseService).createPurchase(any(PurchaseRequestDTO.class), isNull());
+	}
+
+	@Test
+	void testCreatePurchase_WithIdempotencyKey() throws Exception {
+		PurchaseRequestDTO requestDTO = new PurchaseRequestDTO();
+		requestDTO.setUserId(1);
+
+		PurchaseDTO createdPurchase = new PurchaseDTO();
+		createdPurchase.setPurchaseId(3);
+
+		when(purchaseService.createPurchase(any(PurchaseRequestDTO.class), eq("checkout-1")))
+				.thenReturn(createdPurchase);
+
+		mockMvc.perform(post("/api/purchases").header("Idempotency-Key", "checkout-1")
+				.contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(requestDTO)))
+				.andExpect(status().isOk()).andExpect(jsonPath("$.data.purchaseId").value(3));
+
+		verify(purchaseService).createPurchase(any(PurchaseRequestDTO.class), eq("checkout-1"));
 	}
 
 	@Test
@@ -76,7 +105,7 @@ class PurchaseControllerTest {
 		requestDTO.setUserId(999);
 		requestDTO.setTotalPrice(19.99);
 
-		when(purchaseService.createPurchase(any(PurchaseRequestDTO.class)))
+		when(purchaseService.createPurchase(any(PurchaseRequestDTO.class), isNull()))
 				.thenThrow(new ResourceNotFoundException("User not found for purchase."));
 
 		mockMvc.perform(post("/api/purchases").contentType(MediaType.APPLICATION_JSON)
@@ -84,7 +113,7 @@ class PurchaseControllerTest {
 				.andExpect(jsonPath("$.success").value(false))
 				.andExpect(jsonPath("$.message").value("User not found for purchase."));
 
-		verify(purchaseService).createPurchase(any(PurchaseRequestDTO.class));
+		verify(purchaseService).createPurchase(any(PurchaseRequestDTO.class), isNull());
 	}
 
 	@Test
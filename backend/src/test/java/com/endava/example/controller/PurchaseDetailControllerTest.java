@@ -19,9 +19,12 @@ import com.endava.example.dto.MovieDTO;
 import com.endava.example.dto.PurchaseDetailDTO;
 import com.endava.example.exceptions.ResourceNotFoundException;
 import com.endava.example.service.PurchaseDetailService;
+import com.endava.example.utils.ApplicationMetrics;
 import com.endava.example.utils.JwtAuthenticationFilter;
 import com.endava.example.utils.JwtUtils;
 
+import io.micrometer.observation.ObservationRegistry;
+
 @WebMvcTest(PurchaseDetailController.class)
 @AutoConfigureMockMvc(addFilters = false)
 class PurchaseDetailControllerTest {
@@ -38,6 +41,12 @@ class PurchaseDetailControllerTest {
 	@MockitoBean
 	private JwtUtils jwtUtils;
 
+	@MockitoBean
+	private ApplicationMetrics applicationMetrics;
+
+	@MockitoBean
+	private ObservationRegistry observationRegistry;
+
 	@Test
 	void testGetPurchaseDetailsByPurchaseId_Success() throws Exception {
 		int purchaseId = 1;
@@ -21,14 +21,21 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import com.endava.example.dto.ReportedReviewDTO;
+import com.endava.example.dto.ReportedReviewPageDTO;
 import com.endava.example.dto.ReviewDTO;
+import com.endava.example.dto.ReviewPageDTO;
 import com.endava.example.exceptions.ResourceAlreadyExistsException;
 import com.endava.example.exceptions.ResourceNotFoundException;
+import com.endava.example.exceptions.TooManyRequestsException;
 import com.endava.example.service.ReviewService;
+import com.endava.example.utils.ApplicationMetrics;
 import com.endava.example.utils.JwtAuthenticationFilter;
 import com.endava.example.utils.JwtUtils;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import io.micrometer.observation.ObservationRegistry;
+
 @WebMvcTest(ReviewController.class)
 @AutoConfigureMockMvc(addFilters = false)
 class ReviewControllerTest {
@@ -48,6 +55,12 @@ class ReviewControllerTest {
 	@MockitoBean
 	private JwtUtils jwtUtils;
 
+	@MockitoBean
+	private ApplicationMetrics applicationMetrics;
+
+	@MockitoBean
+	private ObservationRegistry observationRegistry;
+
 	@Test
 	void testCreateReview_Success() throws Exception {
 		ReviewDTO reviewDTO = new ReviewDTO();
@@ -77,37 +90,52 @@ class ReviewControllerTest {
 	}
 
 	@Test
-	void testGetAllReviewsOfMovie_Success() throws Exception {
+	void testCreateReview_Failure_TooManyReviews() throws Exception {
+		ReviewDTO reviewDTO = new ReviewDTO();
+		reviewDTO.setReviewText("Another review");
+		when(reviewService.createReview(any(ReviewDTO.class)))
+				.thenThrow(new TooManyRequestsException("Too many reviews"));
+
+		mockMvc.perform(post("/api/reviews/add").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(reviewDTO))).andExpect(status().isTooManyRequests())
+				.andExpect(jsonPath("$.success").value(false))
+				.andExpect(jsonPath("$.message").value("Too many reviews"));
+	}
+
+	@Test
+	void testGetReviewsOfMovie_Success() throws Exception {
 		int movieId = 1;
 		ReviewDTO review1 = new ReviewDTO();
-		review1.setReviewId(1);
+		review1.setReviewId(9);
 		review1.setReviewText("Great movie!");
 		ReviewDTO review2 = new ReviewDTO();
-		review2.setReviewId(2);
+		review2.setReviewId(7);
 		review2.setReviewText("Awesome!");
-		List<ReviewDTO> reviews = List.of(review1, review2);
+		ReviewPageDTO page = new ReviewPageDTO();
+		page.setReviews(List.of(review1, review2));
+		page.setNextCursor(7);
 
-		when(reviewService.getAllReviewsOfMovie(movieId)).thenReturn(reviews);
+		when(reviewService.getReviewsOfMovie(movieId, 12, 2)).thenReturn(page);
 
-		mockMvc.perform(get("/api/reviews/movie/{movieId}", movieId)).andExpect(status().isOk())
-				.andExpect(jsonPath("$.success").value(true))
-				.andExpect(jsonPath("$.data[0].reviewText").value("Great movie!"))
-				.andExpect(jsonPath("$.data[1].reviewText").value("Awesome!"));
+		mockMvc.perform(get("/api/reviews/movie/{movieId}", movieId).param("cursor", "12").param("size", "2"))
+				.andExpect(status().isOk()).andExpect(jsonPath("$.success").value(true))
+				.andExpect(jsonPath("$.data.reviews[0].reviewText").value("Great movie!"))
+				.andExpect(jsonPath("$.data.reviews[1].reviewText").value("Awesome!"))
+				.andExpect(jsonPath("$.data.nextCursor").value(7));
 
-		verify(reviewService).getAllReviewsOfMovie(movieId);
+		verify(reviewService).getReviewsOfMovie(movieId, 12, 2);
 	}
 
 	@Test
-	void testGetAllReviewsOfMovie_NoReviews() throws Exception {
+	void testGetReviewsOfMovie_NoReviews() throws Exception {
 		int movieId = 1;
-		when(reviewService.getAllReviewsOfMovie(movieId))
-				.thenThrow(new ResourceNotFoundException("No reviews found for this movie."));
+		when(reviewService.getReviewsOfMovie(movieId, null, 10)).thenReturn(new ReviewPageDTO());
 
-		mockMvc.perform(get("/api/reviews/movie/{movieId}", movieId)).andExpect(status().isNotFound())
-				.andExpect(jsonPath("$.success").value(false))
-				.andExpect(jsonPath("$.message").value("No reviews found for this movie."));
+		mockMvc.perform(get("/api/reviews/movie/{movieId}", movieId)).andExpect(status().isOk())
+				.andExpect(jsonPath("$.success").value(true)).andExpect(jsonPath("$.data.reviews").isEmpty())
+				.andExpect(jsonPath("$.data.nextCursor").doesNotExist());
 
-		verify(reviewService).getAllReviewsOfMovie(movieId);
+		verify(reviewService).getReviewsOfMovie(movieId, null, 10);
 	}
 
 	@Test
@@ -135,40 +163,76 @@ class ReviewControllerTest {
 	}
 
 	@Test
-	void testGetAllReportedReviews_Success() throws Exception {
-		ReviewDTO review1 = new ReviewDTO();
+	void testGetReportedReviews_Success() throws Exception {
+		ReportedReviewDTO review1 = new ReportedReviewDTO();
 		review1.setReviewId(1);
 		review1.setReviewText("Inappropriate content");
-		review1.setReported(true);
+		review1.setReportCount(3);
 
-		ReviewDTO review2 = new ReviewDTO();
+		ReportedReviewDTO review2 = new ReportedReviewDTO();
 		review2.setReviewId(2);
 		review2.setReviewText("Spam");
-		review2.setReported(true);
+		review2.setReportCount(1);
 
-		List<ReviewDTO> reportedReviews = List.of(review1, review2);
+		ReportedReviewPageDTO page = new ReportedReviewPageDTO();
+		page.setReviews(List.of(review1, review2));
+		page.setTotalCount(12);
 
-		when(reviewService.getAllReportedReviews()).thenReturn(reportedReviews);
+		when(reviewService.getReportedReviews("incep", "", 1, 2)).thenReturn(page);
 
-		mockMvc.perform(get("/api/reviews/reported")).andExpect(status().isOk())
-				.andExpect(jsonPath("$.success").value(true))
+		mockMvc.perform(get("/api/reviews/reported").param("title", "incep").param("page", "1").param("size", "2"))
+				.andExpect(status().isOk()).andExpect(jsonPath("$.success").value(true))
 				.andExpect(jsonPath("$.message").value("Reported reviews fetched successfully"))
-				.andExpect(jsonPath("$.data[0].reviewText").value("Inappropriate content"))
-				.andExpect(jsonPath("$.data[1].reviewText").value("Spam"));
+				.andExpect(jsonPath("$.data.reviews[0].reviewText").value("Inappropriate content"))
+				.andExpect(jsonPath("$.data.reviews[0].reportCount").value(3))
+				.andExpect(jsonPath("$.data.reviews[1].reviewText").value("Spam"))
+				.andExpect(jsonPath("$.data.totalCount").value(12));
 
-		verify(reviewService).getAllReportedReviews();
+		verify(reviewService).getReportedReviews("incep", "", 1, 2);
 	}
 
 	@Test
-	void testGetAllReportedReviews_NoReports() throws Exception {
-		when(reviewService.getAllReportedReviews()).thenReturn(List.of());
+	void testGetReportedReviews_NoReports() throws Exception {
+		when(reviewService.getReportedReviews("", "", 0, 10)).thenReturn(new ReportedReviewPageDTO());
 
 		mockMvc.perform(get("/api/reviews/reported")).andExpect(status().isOk())
 				.andExpect(jsonPath("$.success").value(true))
 				.andExpect(jsonPath("$.message").value("Reported reviews fetched successfully"))
-				.andExpect(jsonPath("$.data").isEmpty());
+				.andExpect(jsonPath("$.data.reviews").isEmpty()).andExpect(jsonPath("$.data.totalCount").value(0));
+
+		verify(reviewService).getReportedReviews("", "", 0, 10);
+	}
+
+	@Test
+	void testApproveReviews_Success() throws Exception {
+		when(reviewService.approveReviews(List.of(1, 2))).thenReturn(2);
+
+		mockMvc.perform(patch("/api/reviews/reported/approve").contentType(MediaType.APPLICATION_JSON)
+				.content("[1,2]")).andExpect(status().isOk()).andExpect(jsonPath("$.success").value(true))
+				.andExpect(jsonPath("$.message").value("2 reviews approved")).andExpect(jsonPath("$.data").value(2));
+
+		verify(reviewService).approveReviews(List.of(1, 2));
+	}
+
+	@Test
+	void testDeleteReviews_Success() throws Exception {
+		when(reviewService.deleteReviews(List.of(3))).thenReturn(1);
+
+		mockMvc.perform(delete("/api/reviews/reported").contentType(MediaType.APPLICATION_JSON).content("[3]"))
+				.andExpect(status().isOk()).andExpect(jsonPath("$.success").value(true))
+				.andExpect(jsonPath("$.message").value("1 reviews deleted")).andExpect(jsonPath("$.data").value(1));
+
+		verify(reviewService).deleteReviews(List.of(3));
+	}
+
+	@Test
+	void testDeleteReviews_NoIds() throws Exception {
+		when(reviewService.deleteReviews(List.of()))
+				.thenThrow(new IllegalArgumentException("Between 1 and 500 review ids are required"));
 
-		verify(reviewService).getAllReportedReviews();
+		mockMvc.perform(delete("/api/reviews/reported").contentType(MediaType.APPLICATION_JSON).content("[]"))
+				.andExpect(status().isInternalServerError()).andExpect(jsonPath("$.success").value(false))
+				.andExpect(jsonPath("$.message").value("Between 1 and 500 review ids are required"));
 	}
 
 	@Test
@@ -176,26 +240,26 @@ class ReviewControllerTest {
 		int reviewId = 1;
 		String successMessage = "Review reported successfully";
 
-		when(reviewService.reportReview(reviewId)).thenReturn(successMessage);
+		when(reviewService.reportReview(reviewId, 2)).thenReturn(successMessage);
 
-		mockMvc.perform(patch("/api/reviews/report/{reviewId}", reviewId)).andExpect(status().isOk())
-				.andExpect(jsonPath("$.success").value(true))
+		mockMvc.perform(patch("/api/reviews/report/{reviewId}", reviewId).param("userId", "2"))
+				.andExpect(status().isOk()).andExpect(jsonPath("$.success").value(true))
 				.andExpect(jsonPath("$.message").value("Review reported successfully"))
 				.andExpect(jsonPath("$.data").isEmpty());
 
-		verify(reviewService).reportReview(reviewId);
+		verify(reviewService).reportReview(reviewId, 2);
 	}
 
 	@Test
 	void testReportReview_ReviewNotFound() throws Exception {
 		int reviewId = 99;
-		when(reviewService.reportReview(reviewId)).thenThrow(new ResourceNotFoundException("Review not found"));
+		when(reviewService.reportReview(reviewId, 2)).thenThrow(new ResourceNotFoundException("Review not found"));
 
-		mockMvc.perform(patch("/api/reviews/report/{reviewId}", reviewId)).andExpect(status().isNotFound())
-				.andExpect(jsonPath("$.success").value(false))
+		mockMvc.perform(patch("/api/reviews/report/{reviewId}", reviewId).param("userId", "2"))
+				.andExpect(status().isNotFound()).andExpect(jsonPath("$.success").value(false))
 				.andExpect(jsonPath("$.message").value("Review not found"));
 
-		verify(reviewService).reportReview(reviewId);
+		verify(reviewService).reportReview(reviewId, 2);
 	}
 
 }
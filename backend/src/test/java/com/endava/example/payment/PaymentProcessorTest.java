@@ -0,0 +1,99 @@
+package com.endava.example.payment;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentProcessorTest {
+
+	private static final PaymentRequest REQUEST = new PaymentRequest("TXN-1", 1, 300.0, "CARD");
+
+	@Mock
+	private PaymentGateway paymentGateway;
+
+	private PaymentProcessor paymentProcessor;
+
+	@BeforeEach
+	void setUp() {
+		paymentProcessor = new PaymentProcessor(paymentGateway, 50);
+	}
+
+	@Test
+	void testAuthorize_Approved() {
+		when(paymentGateway.authorize(REQUEST))
+				.thenReturn(CompletableFuture.completedFuture(PaymentAuthorization.approved("TXN-1")));
+
+		assertTrue(paymentProcessor.authorize(REQUEST).approved());
+		verify(paymentGateway, never()).voidAuthorization(any());
+	}
+
+	@Test
+	void testAuthorize_Declined() {
+		when(paymentGateway.authorize(REQUEST))
+				.thenReturn(CompletableFuture.completedFuture(PaymentAuthorization.declined("TXN-1", "No funds")));
+
+		PaymentAuthorization authorization = paymentProcessor.authorize(REQUEST);
+
+		assertFalse(authorization.approved());
+		assertEquals("No funds", authorization.declineReason());
+	}
+
+	@Test
+	void testAuthorize_TimedOutIsVoided() {
+		when(paymentGateway.authorize(REQUEST)).thenReturn(new CompletableFuture<>());
+		when(paymentGateway.voidAuthorization("TXN-1")).thenReturn(CompletableFuture.completedFuture(null));
+
+		PaymentAuthorization authorization = paymentProcessor.authorize(REQUEST);
+
+		assertFalse(authorization.approved());
+		assertEquals("Authorization timed out", authorization.declineReason());
+		verify(paymentGateway).voidAuthorization("TXN-1");
+	}
+
+	@Test
+	void testAuthorize_GatewayFailureIsVoided() {
+		when(paymentGateway.authorize(REQUEST))
+				.thenReturn(CompletableFuture.failedFuture(new IllegalStateException("Connection refused")));
+		when(paymentGateway.voidAuthorization("TXN-1")).thenReturn(CompletableFuture.completedFuture(null));
+
+		assertFalse(paymentProcessor.authorize(REQUEST).approved());
+		verify(paymentGateway).voidAuthorization("TXN-1");
+	}
+
+	@Test
+	void testAuthorize_RefusedInTransaction() {
+		TransactionSynchronizationManager.setActualTransactionActive(true);
+		try {
+			assertThrows(IllegalStateException.class, () -> paymentProcessor.authorize(REQUEST));
+		} finally {
+			TransactionSynchronizationManager.setActualTransactionActive(false);
+		}
+		verify(paymentGateway, never()).authorize(any());
+	}
+
+	@Test
+	void testCapture_FailureIsNotThrown() {
+		PaymentAuthorization authorization = PaymentAuthorization.approved("TXN-1");
+		when(paymentGateway.capture(authorization))
+				.thenReturn(CompletableFuture.failedFuture(new IllegalStateException("Connection refused")));
+
+		paymentProcessor.capture(authorization);
+
+		verify(paymentGateway).capture(authorization);
+	}
+}
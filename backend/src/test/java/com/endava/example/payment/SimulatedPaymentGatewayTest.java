@@ -0,0 +1,37 @@
+package com.endava.example.payment;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+
+class SimulatedPaymentGatewayTest {
+
+	private static final PaymentRequest REQUEST = new PaymentRequest("TXN-1", 1, 300.0, "CARD");
+
+	@Test
+	void testAuthorize_FailureRate() {
+		assertTrue(new SimulatedPaymentGateway(0, 0).authorize(REQUEST).join().approved());
+		assertFalse(new SimulatedPaymentGateway(0, 1).authorize(REQUEST).join().approved());
+	}
+
+	@Test
+	void testAuthorize_CompletesAfterLatency() {
+		long startTime = System.nanoTime();
+		CompletableFuture<PaymentAuthorization> authorization = new SimulatedPaymentGateway(40, 0).authorize(REQUEST);
+
+		// the caller is not blocked while the payment is in flight
+		assertFalse(authorization.isDone());
+		assertEquals("TXN-1", authorization.join().reference());
+		assertTrue(System.nanoTime() - startTime >= 20_000_000);
+	}
+
+	@Test
+	void testInvalidFailureRate() {
+		assertThrows(IllegalArgumentException.class, () -> new SimulatedPaymentGateway(0, 1.5));
+	}
+}
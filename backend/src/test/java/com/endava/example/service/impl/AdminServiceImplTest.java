@@ -1,11 +1,15 @@
 package com.endava.example.service.impl;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
@@ -15,31 +19,51 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import com.endava.example.analytics.DashboardAggregates;
 import com.endava.example.dto.SummaryDTO;
-import com.endava.example.repository.MovieRepository;
-import com.endava.example.repository.PurchaseRepository;
-import com.endava.example.repository.UserRepository;
+import com.endava.example.entity.CartDailyAdds;
+import com.endava.example.entity.DailySales;
+import com.endava.example.repository.CartDailyAddsRepository;
+import com.endava.example.repository.DailySalesRepository;
+import com.endava.example.repository.GenreDailyMoviesRepository;
+import com.endava.example.repository.GenreDailyRevenueRepository;
+import com.endava.example.repository.MovieDailySalesRepository;
+import com.endava.example.repository.UserDailyPurchasesRepository;
 
 @ExtendWith(MockitoExtension.class)
 class AdminServiceImplTest {
 
 	@Mock
-	private UserRepository userRepository;
+	private DashboardAggregates dashboardAggregates;
 
 	@Mock
-	private MovieRepository movieRepository;
+	private GenreDailyMoviesRepository genreDailyMoviesRepository;
 
 	@Mock
-	private PurchaseRepository purchaseRepository;
+	private GenreDailyRevenueRepository genreDailyRevenueRepository;
+
+	@Mock
+	private UserDailyPurchasesRepository userDailyPurchasesRepository;
+
+	@Mock
+	private DailySalesRepository dailySalesRepository;
+
+	@Mock
+	private MovieDailySalesRepository movieDailySalesRepository;
+
+	@Mock
+	private CartDailyAddsRepository cartDailyAddsRepository;
 
 	@InjectMocks
 	private AdminServiceImpl adminService;
 
 	@Test
 	void testGetSummary() {
-		when(userRepository.count()).thenReturn(100L);
-		when(movieRepository.count()).thenReturn(50L);
-		when(purchaseRepository.getTotalRevenue()).thenReturn(2000.0);
+		SummaryDTO dto = new SummaryDTO();
+		dto.setNumberOfUsers(100L);
+		dto.setNumberOfMovies(50L);
+		dto.setTotalRevenue(2000.0);
+		when(dashboardAggregates.getSummary()).thenReturn(dto);
 
 		SummaryDTO summary = adminService.getSummary();
 
@@ -49,24 +73,10 @@ class AdminServiceImplTest {
 		assertEquals(2000.0, summary.getTotalRevenue());
 	}
 
-	@Test
-	void testGetSummaryWithNullRevenue() {
-		when(userRepository.count()).thenReturn(100L);
-		when(movieRepository.count()).thenReturn(50L);
-		when(purchaseRepository.getTotalRevenue()).thenReturn(null);
-
-		SummaryDTO summary = adminService.getSummary();
-
-		assertNotNull(summary);
-		assertEquals(100L, summary.getNumberOfUsers());
-		assertEquals(50L, summary.getNumberOfMovies());
-		assertEquals(0.0, summary.getTotalRevenue());
-	}
-
 	@Test
 	void testGetChartDataMoviesByGenre() {
 		List<Object[]> moviesByGenre = List.of(new Object[] { "Action", 10L }, new Object[] { "Comedy", 5L });
-		when(movieRepository.countMoviesByGenre()).thenReturn(moviesByGenre);
+		when(dashboardAggregates.getMoviesByGenre()).thenReturn(moviesByGenre);
 
 		Map<String, Object> chartData = adminService.getChartData("moviesByGenre");
 
@@ -78,7 +88,7 @@ class AdminServiceImplTest {
 	@Test
 	void testGetChartDataRevenueByGenre() {
 		List<Object[]> revenueByGenre = List.of(new Object[] { "Action", 200.0 }, new Object[] { "Comedy", 150.0 });
-		when(purchaseRepository.getRevenueByGenre()).thenReturn(revenueByGenre);
+		when(dashboardAggregates.getRevenueByGenre()).thenReturn(revenueByGenre);
 
 		Map<String, Object> chartData = adminService.getChartData("revenueByGenre");
 
@@ -90,7 +100,7 @@ class AdminServiceImplTest {
 	@Test
 	void testGetChartDataTopUsers() {
 		List<Object[]> topUsers = List.of(new Object[] { "John", 5L }, new Object[] { "Jane", 3L });
-		when(purchaseRepository.getTopUsers()).thenReturn(topUsers);
+		when(dashboardAggregates.getTopUsers()).thenReturn(topUsers);
 
 		Map<String, Object> chartData = adminService.getChartData("topUsers");
 
@@ -116,4 +126,177 @@ class AdminServiceImplTest {
 
 		assertEquals("Chart type cannot be null or empty.", exception.getMessage());
 	}
+
+	@Test
+	void testGetChartDataWithoutRangeUsesAggregates() {
+		List<Object[]> topUsers = List.<Object[]>of(new Object[] { "John", 5L });
+		when(dashboardAggregates.getTopUsers()).thenReturn(topUsers);
+
+		Map<String, Object> chartData = adminService.getChartData("topUsers", null, null, null);
+
+		assertEquals(topUsers, chartData.get("series"));
+		verifyNoInteractions(userDailyPurchasesRepository);
+	}
+
+	@Test
+	void testGetChartDataRevenueByGenreInRange() {
+		LocalDate from = LocalDate.of(2025, 1, 1);
+		LocalDate to = LocalDate.of(2025, 12, 31);
+		List<Object[]> revenueByGenre = List.<Object[]>of(new Object[] { "Action", 200.0 });
+		when(genreDailyRevenueRepository.getRevenueByGenre(from, to)).thenReturn(revenueByGenre);
+
+		Map<String, Object> chartData = adminService.getChartData("revenueByGenre", from, to, null);
+
+		assertEquals(revenueByGenre, chartData.get("series"));
+	}
+
+	@Test
+	void testGetChartDataMoviesByGenreFromOnly() {
+		LocalDate from = LocalDate.of(2025, 1, 1);
+		List<Object[]> moviesByGenre = List.<Object[]>of(new Object[] { "Action", 3L });
+		when(genreDailyMoviesRepository.countMoviesByGenre(from, LocalDate.now())).thenReturn(moviesByGenre);
+
+		Map<String, Object> chartData = adminService.getChartData("moviesByGenre", from, null, null);
+
+		assertEquals(moviesByGenre, chartData.get("series"));
+	}
+
+	@Test
+	void testGetChartDataTopUsersToOnly() {
+		LocalDate to = LocalDate.of(2025, 12, 31);
+		List<Object[]> topUsers = List.<Object[]>of(new Object[] { "John", 5L });
+		when(userDailyPurchasesRepository.getTopUsers(LocalDate.EPOCH, to)).thenReturn(topUsers);
+
+		Map<String, Object> chartData = adminService.getChartData("topUsers", null, to, null);
+
+		assertEquals(topUsers, chartData.get("series"));
+	}
+
+	@Test
+	void testGetChartDataInvertedRange() {
+		IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
+			adminService.getChartData("topUsers", LocalDate.of(2025, 12, 31), LocalDate.of(2025, 1, 1), null);
+		});
+
+		assertEquals("Start date cannot be after end date.", exception.getMessage());
+	}
+
+	@Test
+	void testGetChartDataRevenueOverTimeByWeek() {
+		LocalDate from = LocalDate.of(2025, 6, 2);
+		LocalDate to = LocalDate.of(2025, 6, 22);
+		when(dailySalesRepository.findBetween(from, to)).thenReturn(List.of(dailySales(LocalDate.of(2025, 6, 3), 2, 300.0),
+				dailySales(LocalDate.of(2025, 6, 5), 1, 100.0), dailySales(LocalDate.of(2025, 6, 20), 1, 50.0)));
+
+		Map<String, Object> chartData = adminService.getChartData("revenueOverTime", from, to, "week");
+
+		assertEquals("week", chartData.get("interval"));
+		assertEquals(List.of("2025-06-02", "2025-06-09", "2025-06-16"), chartData.get("labels"));
+		assertArrayEquals(new double[] { 400.0, 0.0, 50.0 }, (double[]) chartData.get("revenue"));
+		assertArrayEquals(new double[] { 3.0, 0.0, 1.0 }, (double[]) chartData.get("purchases"));
+	}
+
+	@Test
+	void testGetChartDataRevenueOverTimeWithoutRangeStartsAtFirstSale() {
+		LocalDate today = LocalDate.now();
+		when(dailySalesRepository.findBetween(LocalDate.EPOCH, today))
+				.thenReturn(List.of(dailySales(today.minusDays(1), 1, 100.0)));
+
+		Map<String, Object> chartData = adminService.getChartData("revenueOverTime", null, null, null);
+
+		assertEquals(List.of(today.minusDays(1).toString(), today.toString()), chartData.get("labels"));
+		assertArrayEquals(new double[] { 100.0, 0.0 }, (double[]) chartData.get("revenue"));
+	}
+
+	@Test
+	void testGetChartDataAverageBasketSizeByMonth() {
+		LocalDate from = LocalDate.of(2025, 1, 1);
+		LocalDate to = LocalDate.of(2025, 2, 28);
+		when(dailySalesRepository.findBetween(from, to)).thenReturn(List.of(dailySales(LocalDate.of(2025, 1, 3), 2, 300.0),
+				dailySales(LocalDate.of(2025, 1, 20), 1, 100.0)));
+		when(genreDailyRevenueRepository.getMoviesSoldPerDay(from, to)).thenReturn(
+				List.of(new Object[] { LocalDate.of(2025, 1, 3), 3L }, new Object[] { LocalDate.of(2025, 1, 20), 2L }));
+
+		Map<String, Object> chartData = adminService.getChartData("averageBasketSize", from, to, "month");
+
+		assertEquals(List.of("2025-01-01", "2025-02-01"), chartData.get("labels"));
+		assertArrayEquals(new double[] { 133.33, 0.0 }, (double[]) chartData.get("averageValue"));
+		assertArrayEquals(new double[] { 1.67, 0.0 }, (double[]) chartData.get("averageMovies"));
+		assertFalse(chartData.containsKey("purchases"));
+	}
+
+	@Test
+	void testGetChartDataCartConversion() {
+		LocalDate from = LocalDate.of(2025, 1, 1);
+		LocalDate to = LocalDate.of(2025, 1, 2);
+		when(cartDailyAddsRepository.findBetween(from, to)).thenReturn(List.of(cartDailyAdds(LocalDate.of(2025, 1, 1), 4)));
+		when(genreDailyRevenueRepository.getMoviesSoldPerDay(from, to))
+				.thenReturn(List.<Object[]>of(new Object[] { LocalDate.of(2025, 1, 1), 3L }));
+
+		Map<String, Object> chartData = adminService.getChartData("cartConversion", from, to, "day");
+
+		assertArrayEquals(new double[] { 4.0, 0.0 }, (double[]) chartData.get("cartAdds"));
+		assertArrayEquals(new double[] { 3.0, 0.0 }, (double[]) chartData.get("moviesPurchased"));
+		assertArrayEquals(new double[] { 0.75, 0.0 }, (double[]) chartData.get("conversionRate"));
+	}
+
+	@Test
+	void testGetChartDataBestSellingMovies() {
+		when(movieDailySalesRepository.getBestSellingMovies(LocalDate.EPOCH, LocalDate.now())).thenReturn(
+				List.of(new Object[] { 7, "Inception", 12L, 1200.0 }, new Object[] { 3, "Up", 5L, 250.0 }));
+
+		Map<String, Object> chartData = adminService.getChartData("bestSellingMovies", null, null, null);
+
+		assertEquals(List.of("Inception", "Up"), chartData.get("labels"));
+		assertEquals(List.of(7, 3), chartData.get("movieIds"));
+		assertEquals(List.of(12L, 5L), chartData.get("copiesSold"));
+		assertEquals(List.of(1200.0, 250.0), chartData.get("revenue"));
+	}
+
+	@Test
+	void testGetChartDataInvalidInterval() {
+		IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
+			adminService.getChartData("revenueOverTime", null, null, "hour");
+		});
+
+		assertEquals("Invalid chart interval: hour", exception.getMessage());
+	}
+
+	@Test
+	void testGetChartDataRangeTooLongForInterval() {
+		LocalDate from = LocalDate.of(1, 1, 1);
+		LocalDate to = LocalDate.of(2025, 12, 31);
+
+		IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
+			adminService.getChartData("revenueOverTime", from, to, "day");
+		});
+
+		assertEquals("Date range cannot exceed 5 years for interval day.", exception.getMessage());
+	}
+
+	@Test
+	void testGetChartDataLongRangeByMonth() {
+		LocalDate from = LocalDate.of(2000, 1, 1);
+		LocalDate to = LocalDate.of(2025, 12, 31);
+		when(dailySalesRepository.findBetween(from, to)).thenReturn(List.of());
+
+		Map<String, Object> chartData = adminService.getChartData("revenueOverTime", from, to, "month");
+
+		assertEquals(312, ((List<?>) chartData.get("labels")).size());
+	}
+
+	private static DailySales dailySales(LocalDate day, long purchases, double revenue) {
+		DailySales dailySales = new DailySales();
+		dailySales.setDay(day);
+		dailySales.setPurchases(purchases);
+		dailySales.setRevenue(revenue);
+		return dailySales;
+	}
+
+	private static CartDailyAdds cartDailyAdds(LocalDate day, long adds) {
+		CartDailyAdds cartDailyAdds = new CartDailyAdds();
+		cartDailyAdds.setDay(day);
+		cartDailyAdds.setAdds(adds);
+		return cartDailyAdds;
+	}
 }
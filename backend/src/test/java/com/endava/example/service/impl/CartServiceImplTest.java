@@ -4,6 +4,10 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -18,7 +22,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 
+import com.endava.example.analytics.CartActivity;
+import com.endava.example.analytics.MovieTrends;
+import com.endava.example.cache.UserEntitlements;
 import com.endava.example.dto.CartDTO;
 import com.endava.example.entity.Cart;
 import com.endava.example.entity.Movie;
@@ -29,6 +37,7 @@ import com.endava.example.mapper.CartMapper;
 import com.endava.example.repository.CartRepository;
 import com.endava.example.repository.MovieRepository;
 import com.endava.example.repository.UserRepository;
+import com.endava.example.utils.ApplicationMetrics;
 
 @ExtendWith(MockitoExtension.class)
 class CartServiceImplTest {
@@ -45,6 +54,18 @@ class CartServiceImplTest {
 	@Mock
 	private CartMapper cartMapper;
 
+	@Mock
+	private ApplicationMetrics applicationMetrics;
+
+	@Mock
+	private CartActivity cartActivity;
+
+	@Mock
+	private UserEntitlements userEntitlements;
+
+	@Mock
+	private MovieTrends movieTrends;
+
 	@InjectMocks
 	private CartServiceImpl cartService;
 
@@ -73,9 +94,8 @@ class CartServiceImplTest {
 
 	@Test
 	void testAddToCart_Success() {
-		when(userRepository.findById(1)).thenReturn(Optional.of(user));
 		when(movieRepository.findById(1)).thenReturn(Optional.of(movie));
-		when(cartRepository.existsByUser_UserIdAndMovie_MovieId(1, 1)).thenReturn(false);
+		when(userRepository.getReferenceById(1)).thenReturn(user);
 		when(cartMapper.toEntity(cartDTO, user, movie)).thenReturn(cart);
 		when(cartRepository.save(cart)).thenReturn(cart);
 		when(cartMapper.toDto(cart)).thenReturn(cartDTO);
@@ -84,109 +104,163 @@ class CartServiceImplTest {
 
 		assertEquals(cartDTO, result);
 		verify(cartRepository).save(cart);
+		verify(applicationMetrics).recordCartMutation("add", 1);
+		verify(userEntitlements).addedToCart(1, List.of(1));
+		verify(movieTrends).addedToCart(1);
+		verify(cartActivity).movieAdded();
 	}
 
 	@Test
 	void testAddToCart_MovieAlreadyInCart() {
-		when(userRepository.findById(1)).thenReturn(Optional.of(user));
 		when(movieRepository.findById(1)).thenReturn(Optional.of(movie));
-		when(cartRepository.existsByUser_UserIdAndMovie_MovieId(1, 1)).thenReturn(true);
+		when(userRepository.getReferenceById(1)).thenReturn(user);
+		when(cartMapper.toEntity(cartDTO, user, movie)).thenReturn(cart);
+		when(cartRepository.save(cart)).thenThrow(new DataIntegrityViolationException("uk_carts_user_movie"));
+		when(userRepository.existsById(1)).thenReturn(true);
 
 		assertThrows(ResourceAlreadyExistsException.class, () -> cartService.addToCart(cartDTO));
+		verify(cartActivity, never()).movieAdded();
 	}
 
 	@Test
 	void testAddToCart_UserNotFound() {
-		when(userRepository.findById(1)).thenReturn(Optional.empty());
+		when(movieRepository.findById(1)).thenReturn(Optional.of(movie));
+		when(userRepository.getReferenceById(1)).thenReturn(user);
+		when(cartMapper.toEntity(cartDTO, user, movie)).thenReturn(cart);
+		when(cartRepository.save(cart)).thenThrow(new DataIntegrityViolationException("fk_carts_user"));
+		when(userRepository.existsById(1)).thenReturn(false);
 
 		assertThrows(ResourceNotFoundException.class, () -> cartService.addToCart(cartDTO));
 	}
 
 	@Test
 	void testAddToCart_MovieNotFound() {
-		when(userRepository.findById(1)).thenReturn(Optional.of(user));
 		when(movieRepository.findById(1)).thenReturn(Optional.empty());
 
 		assertThrows(ResourceNotFoundException.class, () -> cartService.addToCart(cartDTO));
+		verify(cartRepository, never()).save(any(Cart.class));
+	}
+
+	@Test
+	void testAddMoviesToCartOfUser_Success() {
+		List<Integer> movieIds = Arrays.asList(1, 2, 3);
+		when(userRepository.existsById(1)).thenReturn(true);
+		when(cartRepository.addMoviesToCart(1, movieIds)).thenReturn(2);
+		when(cartRepository.findAvailableByUserId(1)).thenReturn(Arrays.asList(cart));
+		when(cartMapper.toDto(cart)).thenReturn(cartDTO);
+
+		List<CartDTO> result = cartService.addMoviesToCartOfUser(1, movieIds);
+
+		assertEquals(List.of(cartDTO), result);
+		verify(applicationMetrics).recordCartMutation("add", 2);
+		verify(cartActivity).moviesAdded(2);
+		verify(userEntitlements).addedToCart(1, List.of(1));
+	}
+
+	@Test
+	void testAddMoviesToCartOfUser_AllAlreadyInCart() {
+		when(userRepository.existsById(1)).thenReturn(true);
+		when(cartRepository.addMoviesToCart(1, List.of(1))).thenReturn(0);
+		when(cartRepository.findAvailableByUserId(1)).thenReturn(Arrays.asList(cart));
+		when(cartMapper.toDto(cart)).thenReturn(cartDTO);
+
+		assertEquals(1, cartService.addMoviesToCartOfUser(1, List.of(1)).size());
+		verify(cartActivity, never()).moviesAdded(anyInt());
+	}
+
+	@Test
+	void testAddMoviesToCartOfUser_UserNotFound() {
+		when(userRepository.existsById(1)).thenReturn(false);
+
+		assertThrows(ResourceNotFoundException.class, () -> cartService.addMoviesToCartOfUser(1, List.of(1)));
+		verify(cartRepository, never()).addMoviesToCart(anyInt(), anyList());
+	}
+
+	@Test
+	void testAddMoviesToCartOfUser_NoMovies() {
+		assertThrows(IllegalArgumentException.class, () -> cartService.addMoviesToCartOfUser(1, List.of()));
 	}
 
 	@Test
 	void testRemoveFromCartOfUser_Success() {
-		when(cartRepository.findByUser_UserIdAndMovie_MovieId(1, 1)).thenReturn(Optional.of(cart));
+		when(cartRepository.deleteByUserIdAndMovieIds(1, List.of(1))).thenReturn(1);
+		when(cartRepository.findAvailableByUserId(1)).thenReturn(Collections.emptyList());
 
-		cartService.removeFromCartOfUser(1, 1);
+		List<CartDTO> result = cartService.removeFromCartOfUser(1, 1);
 
-		verify(cartRepository).delete(cart);
+		assertTrue(result.isEmpty());
+		verify(applicationMetrics).recordCartMutation("remove", 1);
+		verify(userEntitlements).removedFromCart(1, List.of(1));
 	}
 
 	@Test
 	void testRemoveFromCartOfUser_NotFound() {
-		when(cartRepository.findByUser_UserIdAndMovie_MovieId(1, 1)).thenReturn(Optional.empty());
+		when(cartRepository.deleteByUserIdAndMovieIds(1, List.of(1))).thenReturn(0);
 
 		assertThrows(ResourceNotFoundException.class, () -> cartService.removeFromCartOfUser(1, 1));
 	}
 
 	@Test
 	void testRemoveMultipleMoviesFromCartOfUser_Success() {
-		List<Integer> movieIds = Arrays.asList(1);
-		when(cartRepository.findByUser_UserIdAndMovie_MovieIdIn(1, movieIds)).thenReturn(Arrays.asList(cart));
+		List<Integer> movieIds = Arrays.asList(1, 2, 2);
+		when(cartRepository.deleteByUserIdAndMovieIds(1, List.of(1, 2))).thenReturn(2);
+		when(cartRepository.findAvailableByUserId(1)).thenReturn(Collections.emptyList());
+
 		cartService.removeMultipleMoviesFromCartOfUser(1, movieIds);
-		verify(cartRepository).deleteAll(Arrays.asList(cart));
+
+		verify(cartRepository).deleteByUserIdAndMovieIds(1, List.of(1, 2));
+		verify(applicationMetrics).recordCartMutation("remove", 2);
+		verify(userEntitlements).removedFromCart(1, List.of(1, 2));
 	}
 
 	@Test
 	void testRemoveMultipleMoviesFromCartOfUser_NotFound() {
 		List<Integer> movieIds = Arrays.asList(1, 2);
-		when(cartRepository.findByUser_UserIdAndMovie_MovieIdIn(1, movieIds)).thenReturn(Collections.emptyList());
+		when(cartRepository.deleteByUserIdAndMovieIds(1, movieIds)).thenReturn(0);
 
 		assertThrows(ResourceNotFoundException.class,
 				() -> cartService.removeMultipleMoviesFromCartOfUser(1, movieIds));
 	}
 
 	@Test
-	void testGetAllCartItemsOfUser() {
-
-		Cart availableCart = new Cart();
-		availableCart.setUser(user);
-		availableCart.setMovie(movie);
-
-		Movie unavailableMovie = new Movie();
-		unavailableMovie.setMovieId(2);
-		unavailableMovie.setStatus("UNAVAILABLE");
-
-		Cart unavailableCart = new Cart();
-		unavailableCart.setUser(user);
-		unavailableCart.setMovie(unavailableMovie);
+	void testRemoveMultipleMoviesFromCartOfUser_SomeNotFound() {
+		List<Integer> movieIds = Arrays.asList(1, 2);
+		when(cartRepository.deleteByUserIdAndMovieIds(1, movieIds)).thenReturn(1);
 
-		when(cartRepository.findByUser_UserId(1)).thenReturn(Arrays.asList(availableCart, unavailableCart));
+		assertThrows(ResourceNotFoundException.class,
+				() -> cartService.removeMultipleMoviesFromCartOfUser(1, movieIds));
+	}
 
-		when(cartMapper.toDto(availableCart)).thenReturn(cartDTO);
+	@Test
+	void testGetAllCartItemsOfUser() {
+		when(cartRepository.findAvailableByUserId(1)).thenReturn(Arrays.asList(cart));
+		when(cartMapper.toDto(cart)).thenReturn(cartDTO);
 
 		List<CartDTO> result = cartService.getAllCartItemsOfUser(1);
 
 		assertEquals(1, result.size());
-
 	}
 
 	@Test
 	void testClearCartOfUser_Success() {
-		when(cartRepository.findByUser_UserId(1)).thenReturn(Collections.singletonList(cart));
+		when(cartRepository.deleteByUserId(1)).thenReturn(3);
 
 		cartService.clearCartOfUser(1);
 
-		verify(cartRepository).deleteAll(Collections.singletonList(cart));
+		verify(applicationMetrics).recordCartMutation("clear", 3);
+		verify(userEntitlements).cartCleared(1);
 	}
 
 	@Test
 	void testClearCartOfUser_AlreadyEmpty() {
-		when(cartRepository.findByUser_UserId(1)).thenReturn(Collections.emptyList());
+		when(cartRepository.deleteByUserId(1)).thenReturn(0);
 
 		assertThrows(ResourceNotFoundException.class, () -> cartService.clearCartOfUser(1));
 	}
 
 	@Test
 	void testCheckMovieInCartOfUser_True() {
-		when(cartRepository.existsByUser_UserIdAndMovie_MovieId(1, 1)).thenReturn(true);
+		when(userEntitlements.isInCart(1, 1)).thenReturn(true);
 
 		boolean result = cartService.checkMovieInCartOfUser(1, 1);
 
@@ -195,7 +269,7 @@ class CartServiceImplTest {
 
 	@Test
 	void testCheckMovieInCartOfUser_False() {
-		when(cartRepository.existsByUser_UserIdAndMovie_MovieId(1, 1)).thenReturn(false);
+		when(userEntitlements.isInCart(1, 1)).thenReturn(false);
 
 		boolean result = cartService.checkMovieInCartOfUser(1, 1);
 
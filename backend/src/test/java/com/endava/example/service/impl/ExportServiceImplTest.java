@@ -0,0 +1,118 @@
+package com.endava.example.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.endava.example.repository.PurchaseDetailRepository;
+import com.endava.example.repository.PurchaseRepository;
+import com.endava.example.repository.ReviewRepository;
+import com.endava.example.repository.UserRepository;
+
+@ExtendWith(MockitoExtension.class)
+class ExportServiceImplTest {
+
+	@Mock
+	private PurchaseRepository purchaseRepository;
+
+	@Mock
+	private PurchaseDetailRepository purchaseDetailRepository;
+
+	@Mock
+	private UserRepository userRepository;
+
+	@Mock
+	private ReviewRepository reviewRepository;
+
+	@InjectMocks
+	private ExportServiceImpl exportService;
+
+	@Test
+	void testExportPurchases() {
+		when(purchaseRepository.streamAllForExport()).thenReturn(Stream.of(
+				new Object[] { 1, "TXN-1", 7, "UPI", 300.0, LocalDate.of(2025, 1, 2) },
+				new Object[] { 2, "TXN-2", 8, null, 150.5, LocalDate.of(2025, 1, 3) }));
+		StringWriter writer = new StringWriter();
+
+		exportService.exportPurchases(writer);
+
+		assertEquals("purchaseId,transactionId,userId,paymentMethod,totalPrice,purchaseDate\r\n"
+				+ "1,TXN-1,7,UPI,300.0,2025-01-02\r\n" + "2,TXN-2,8,,150.5,2025-01-03\r\n", writer.toString());
+	}
+
+	@Test
+	void testExportPurchaseDetails() {
+		when(purchaseDetailRepository.streamAllForExport())
+				.thenReturn(Stream.<Object[]>of(new Object[] { 1, 1, 5, "Crouching Tiger, Hidden Dragon", 99.0 }));
+		StringWriter writer = new StringWriter();
+
+		exportService.exportPurchaseDetails(writer);
+
+		assertEquals("purchaseDetailId,purchaseId,movieId,title,price\r\n"
+				+ "1,1,5,\"Crouching Tiger, Hidden Dragon\",99.0\r\n", writer.toString());
+	}
+
+	@Test
+	void testExportUsers() {
+		when(userRepository.streamAllForExport()).thenReturn(Stream.<Object[]>of(new Object[] { 1, "Rishabh Jain",
+				"rishabh@gmail.com", 24, "USER", "ACTIVE", LocalDate.of(2025, 1, 1), null }));
+		StringWriter writer = new StringWriter();
+
+		exportService.exportUsers(writer);
+
+		assertEquals("userId,fullName,email,age,role,status,createdAt,updatedAt\r\n"
+				+ "1,Rishabh Jain,rishabh@gmail.com,24,USER,ACTIVE,2025-01-01,\r\n", writer.toString());
+	}
+
+	@Test
+	void testExportReviewsEscapesTextAndFormulas() {
+		when(reviewRepository.streamAllForExport())
+				.thenReturn(Stream.of(new Object[] { 1, 2, 3, "Said \"wow\"\nthen left", false },
+						new Object[] { 2, 2, 4, "=HYPERLINK(\"http://x\")", true }));
+		StringWriter writer = new StringWriter();
+
+		exportService.exportReviews(writer);
+
+		assertEquals("reviewId,userId,movieId,reviewText,reported\r\n" + "1,2,3,\"Said \"\"wow\"\"\nthen left\",false\r\n"
+				+ "2,2,4,\"'=HYPERLINK(\"\"http://x\"\")\",true\r\n", writer.toString());
+	}
+
+	@Test
+	void testExportClosesStreamWhenWritingFails() {
+		AtomicBoolean closed = new AtomicBoolean();
+		when(reviewRepository.streamAllForExport()).thenReturn(
+				Stream.<Object[]>of(new Object[] { 1, 2, 3, "text", false }).onClose(() -> closed.set(true)));
+		Writer failingWriter = new Writer() {
+			@Override
+			public void write(char[] cbuf, int off, int len) throws IOException {
+				throw new IOException("Broken pipe");
+			}
+
+			@Override
+			public void flush() {
+			}
+
+			@Override
+			public void close() {
+			}
+		};
+
+		assertThrows(UncheckedIOException.class, () -> exportService.exportReviews(failingWriter));
+		assertTrue(closed.get());
+	}
+}
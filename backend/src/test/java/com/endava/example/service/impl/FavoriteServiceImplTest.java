@@ -17,6 +17,8 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import com.endava.example.analytics.MovieTrends;
+import com.endava.example.cache.UserEntitlements;
 import com.endava.example.dto.FavoriteDTO;
 import com.endava.example.entity.Favorite;
 import com.endava.example.entity.Movie;
@@ -26,6 +28,7 @@ import com.endava.example.mapper.FavoriteMapper;
 import com.endava.example.repository.FavoriteRepository;
 import com.endava.example.repository.MovieRepository;
 import com.endava.example.repository.UserRepository;
+import com.endava.example.utils.ApplicationMetrics;
 
 @ExtendWith(MockitoExtension.class)
 class FavoriteServiceImplTest {
@@ -42,6 +45,15 @@ class FavoriteServiceImplTest {
 	@Mock
 	private FavoriteMapper favoriteMapper;
 
+	@Mock
+	private ApplicationMetrics applicationMetrics;
+
+	@Mock
+	private UserEntitlements userEntitlements;
+
+	@Mock
+	private MovieTrends movieTrends;
+
 	@InjectMocks
 	private FavoriteServiceImpl favoriteService;
 
@@ -103,6 +115,8 @@ class FavoriteServiceImplTest {
 		FavoriteDTO actualFavoriteDTO = favoriteService.createFavorite(dto);
 
 		assertEquals(expectedFavoriteDTO, actualFavoriteDTO);
+		verify(userEntitlements).addedToFavorites(1, 1);
+		verify(movieTrends).addedToFavorites(1);
 	}
 
 	@Test
@@ -135,13 +149,20 @@ class FavoriteServiceImplTest {
 	@Test
 	void testRemoveFavoriteById_Success() {
 		int favoriteId = 1;
+		User user = new User();
+		user.setUserId(1);
+		Movie movie = new Movie();
+		movie.setMovieId(2);
 		Favorite favorite = new Favorite();
+		favorite.setUser(user);
+		favorite.setMovie(movie);
 
 		when(favoriteRepository.findById(favoriteId)).thenReturn(Optional.of(favorite));
 
 		favoriteService.removeFavoriteById(favoriteId);
 
 		verify(favoriteRepository, times(1)).delete(favorite);
+		verify(userEntitlements).removedFromFavorites(1, 2);
 	}
 
 	@Test
@@ -158,8 +179,7 @@ class FavoriteServiceImplTest {
 		int userId = 1;
 		int movieId = 2;
 
-		when(favoriteRepository.findByUser_UserIdAndMovie_MovieId(userId, movieId))
-				.thenReturn(Optional.of(new Favorite()));
+		when(userEntitlements.isFavorite(userId, movieId)).thenReturn(true);
 
 		boolean result = favoriteService.checkMovieInFavoriteOfUser(userId, movieId);
 
@@ -177,6 +197,7 @@ class FavoriteServiceImplTest {
 		favoriteService.removeFromFavorites(userId, movieId);
 
 		verify(favoriteRepository, times(1)).delete(favorite);
+		verify(userEntitlements).removedFromFavorites(userId, movieId);
 	}
 
 	@Test
@@ -0,0 +1,229 @@
+package com.endava.example.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowMapper;
+
+import com.endava.example.analytics.DashboardAggregates;
+import com.endava.example.controller.NotificationController;
+import com.endava.example.dto.MovieImportResultDTO;
+import com.endava.example.repository.MovieRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@ExtendWith(MockitoExtension.class)
+class MovieImportServiceImplTest {
+
+	private static final String CSV_HEADER = "title,description,genre,releaseDate,price,posterURL,trailerURL\n";
+
+	@Mock
+	private MovieRepository movieRepository;
+
+	@Mock
+	private JdbcTemplate jdbcTemplate;
+
+	@Mock
+	private NotificationController notificationController;
+
+	@Mock
+	private DashboardAggregates dashboardAggregates;
+
+	private MovieImportServiceImpl movieImportService;
+
+	@BeforeEach
+	void setUp() {
+		movieImportService = new MovieImportServiceImpl(movieRepository, jdbcTemplate,
+				new ObjectMapper().findAndRegisterModules(), notificationController, dashboardAggregates);
+	}
+
+	@Test
+	void testImportMovies_Csv() throws SQLException {
+		when(movieRepository.findAllTitlesInLowerCase()).thenReturn(List.of("inception"));
+		insertsSucceed();
+
+		MovieImportResultDTO result = movieImportService.importMovies(input(CSV_HEADER
+				+ "Interstellar,\"Space, time and \"\"love\"\"\",Sci-Fi,2014-11-07,199,p.jpg,t.mp4\n"
+				+ "INCEPTION,Dreams,Sci-Fi,2010-07-16,149,p.jpg,t.mp4\n"
+				+ "Tenet,Time,Action,2020-08-26,249,p.jpg,t.mp4\n"), "csv");
+
+		assertEquals(3, result.getRows());
+		assertEquals(2, result.getImported());
+		assertEquals(1, result.getDuplicates());
+		assertEquals(0, result.getInvalid());
+
+		List<Object[]> columns = insertedColumns();
+		assertEquals(2, columns.get(0).length);
+		assertEquals("Interstellar", columns.get(0)[0]);
+		assertEquals("Space, time and \"love\"", columns.get(1)[0]);
+		assertEquals("AVAILABLE", columns.get(7)[0]);
+		verify(dashboardAggregates).moviesAdded(Map.of("Sci-Fi", 1, "Action", 1));
+		verify(notificationController, times(1))
+				.sendNotificationToAllClients("2 new movies have been added to the catalog");
+	}
+
+	@Test
+	void testImportMovies_CsvInvalidRows() {
+		when(movieRepository.findAllTitlesInLowerCase()).thenReturn(List.of());
+		insertsSucceed();
+
+		MovieImportResultDTO result = movieImportService.importMovies(input(CSV_HEADER
+				+ "Tenet,Time,Action,26-08-2020,249,p.jpg,t.mp4\n" + ",Time,Action,2020-08-26,249,p.jpg,t.mp4\n"
+				+ "Dune,Spice,Sci-Fi,2021-10-22,-5,p.jpg,t.mp4\n" + "\n"
+				+ "Up,Balloons,Animation,2009-05-29,99,p.jpg,t.mp4\n"), "CSV");
+
+		assertEquals(4, result.getRows());
+		assertEquals(1, result.getImported());
+		assertEquals(3, result.getInvalid());
+		assertEquals(List.of("Row 2: invalid releaseDate or price",
+				"Row 3: title, description, genre, releaseDate, posterURL and trailerURL are required",
+				"Row 4: price must be zero or more"), result.getErrors());
+	}
+
+	@Test
+	void testImportMovies_CsvMissingColumn() {
+		when(movieRepository.findAllTitlesInLowerCase()).thenReturn(List.of());
+
+		IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+				() -> movieImportService.importMovies(input("title,description,genre\nUp,Balloons,Animation\n"),
+						"csv"));
+
+		assertEquals("Missing CSV column: releaseDate", exception.getMessage());
+		verifyNoInserts();
+	}
+
+	@Test
+	void testImportMovies_JsonLines() throws SQLException {
+		when(movieRepository.findAllTitlesInLowerCase()).thenReturn(List.of());
+		insertsSucceed();
+
+		MovieImportResultDTO result = movieImportService.importMovies(input(
+				"{\"title\":\"Up\",\"description\":\"Balloons\",\"genre\":\"Animation\",\"releaseDate\":\"2009-05-29\","
+						+ "\"price\":99,\"posterURL\":\"p.jpg\",\"trailerURL\":\"t.mp4\",\"status\":\"unavailable\"}\n"
+						+ "{not json\n" + "\n"
+						+ "{\"title\":\"up\",\"description\":\"Again\",\"genre\":\"Animation\",\"releaseDate\":\"2009-05-29\","
+						+ "\"price\":99,\"posterURL\":\"p.jpg\",\"trailerURL\":\"t.mp4\"}\n"),
+				"jsonl");
+
+		assertEquals(3, result.getRows());
+		assertEquals(1, result.getImported());
+		assertEquals(1, result.getDuplicates());
+		assertEquals(List.of("Row 2: malformed JSON"), result.getErrors());
+
+		assertEquals("UNAVAILABLE", insertedColumns().get(7)[0]);
+	}
+
+	@Test
+	void testImportMovies_InsertsInBatchesAndCountsConflicts() {
+		when(movieRepository.findAllTitlesInLowerCase()).thenReturn(List.of());
+		// the first movie of every batch was added by someone else in the meantime, so it is not returned
+		when(jdbcTemplate.query(anyString(), any(PreparedStatementSetter.class),
+				ArgumentMatchers.<RowMapper<String>>any())).thenAnswer(invocation -> {
+					List<Object> genres = Arrays.asList(columns(invocation.getArgument(1)).get(2));
+					return genres.subList(1, genres.size());
+				});
+		StringBuilder csv = new StringBuilder(CSV_HEADER);
+		for (int i = 0; i < 2500; i++) {
+			csv.append("Movie ").append(i).append(",Description,Drama,2020-01-01,99,p.jpg,t.mp4\n");
+		}
+
+		MovieImportResultDTO result = movieImportService.importMovies(input(csv.toString()), "csv");
+
+		verify(jdbcTemplate, times(3)).query(anyString(), any(PreparedStatementSetter.class),
+				ArgumentMatchers.<RowMapper<String>>any());
+		assertEquals(2500, result.getRows());
+		assertEquals(2497, result.getImported());
+		assertEquals(3, result.getDuplicates());
+		verify(dashboardAggregates).moviesAdded(Map.of("Drama", 2497));
+	}
+
+	@Test
+	void testImportMovies_NothingImported() {
+		when(movieRepository.findAllTitlesInLowerCase()).thenReturn(List.of("up"));
+
+		MovieImportResultDTO result = movieImportService
+				.importMovies(input(CSV_HEADER + "Up,Balloons,Animation,2009-05-29,99,p.jpg,t.mp4\n"), "csv");
+
+		assertEquals(1, result.getDuplicates());
+		assertTrue(result.getErrors().isEmpty());
+		verifyNoInserts();
+		verify(dashboardAggregates, never()).moviesAdded(anyMap());
+		verify(notificationController, never()).sendNotificationToAllClients(anyString());
+	}
+
+	@Test
+	void testImportMovies_UnsupportedFormat() {
+		when(movieRepository.findAllTitlesInLowerCase()).thenReturn(List.of());
+
+		IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+				() -> movieImportService.importMovies(input(""), "xlsx"));
+
+		assertEquals("Unsupported import format: xlsx", exception.getMessage());
+	}
+
+	// every movie is inserted, so the insert returns the genres of all of them
+	private void insertsSucceed() {
+		when(jdbcTemplate.query(anyString(), any(PreparedStatementSetter.class),
+				ArgumentMatchers.<RowMapper<String>>any()))
+				.thenAnswer(invocation -> Arrays.asList(columns(invocation.getArgument(1)).get(2)));
+	}
+
+	private void verifyNoInserts() {
+		verify(jdbcTemplate, never()).query(anyString(), any(PreparedStatementSetter.class),
+				ArgumentMatchers.<RowMapper<String>>any());
+	}
+
+	// the column arrays of the last inserted batch
+	private List<Object[]> insertedColumns() throws SQLException {
+		ArgumentCaptor<PreparedStatementSetter> setter = ArgumentCaptor.forClass(PreparedStatementSetter.class);
+		verify(jdbcTemplate).query(anyString(), setter.capture(), ArgumentMatchers.<RowMapper<String>>any());
+		return columns(setter.getValue());
+	}
+
+	// the column arrays the setter binds to the insert
+	private static List<Object[]> columns(PreparedStatementSetter setter) throws SQLException {
+		List<Object[]> columns = new ArrayList<>();
+		PreparedStatement statement = mock(PreparedStatement.class);
+		Connection connection = mock(Connection.class);
+		when(statement.getConnection()).thenReturn(connection);
+		when(connection.createArrayOf(anyString(), any())).thenAnswer(invocation -> {
+			columns.add(invocation.getArgument(1));
+			return mock(Array.class);
+		});
+		setter.setValues(statement);
+		return columns;
+	}
+
+	private static InputStream input(String content) {
+		return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -3,6 +3,8 @@ package com.endava.example.service.impl;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -18,8 +20,15 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import com.endava.example.analytics.AlsoBoughtIndex;
+import com.endava.example.analytics.DashboardAggregates;
+import com.endava.example.analytics.MovieSimilarity;
+import com.endava.example.analytics.MovieTrends;
+import com.endava.example.cache.MovieCatalog;
+import com.endava.example.cache.UserEntitlements;
 import com.endava.example.controller.NotificationController;
 import com.endava.example.dto.MovieDTO;
+import com.endava.example.dto.MovieStatusDTO;
 import com.endava.example.entity.Movie;
 import com.endava.example.exceptions.ResourceAlreadyExistsException;
 import com.endava.example.exceptions.ResourceNotFoundException;
@@ -38,6 +47,24 @@ class MovieServiceImplTest {
     @Mock
     private MovieMapper movieMapper;
 
+    @Mock
+    private DashboardAggregates dashboardAggregates;
+
+    @Mock
+    private MovieSimilarity movieSimilarity;
+
+    @Mock
+    private UserEntitlements userEntitlements;
+
+    @Mock
+    private MovieTrends movieTrends;
+
+    @Mock
+    private AlsoBoughtIndex alsoBoughtIndex;
+
+    @Mock
+    private MovieCatalog movieCatalog;
+
     @InjectMocks
     private MovieServiceImpl movieService;
 
@@ -71,6 +98,7 @@ class MovieServiceImplTest {
         assertEquals(movieDTO.getTitle(), result.getTitle());
         verify(notificationController, times(1))
                 .sendNotificationToAllClients("A new movie has been added: Inception");
+        verify(dashboardAggregates).movieAdded("Sci-Fi");
     }
 
     @Test
@@ -96,6 +124,7 @@ class MovieServiceImplTest {
         MovieDTO result = movieService.updateMovie(movieId, movieDTO);
 
         assertEquals(movieDTO.getTitle(), result.getTitle());
+        verify(movieCatalog).evict(List.of(movieId));
     }
 
     @Test
@@ -135,6 +164,7 @@ class MovieServiceImplTest {
 
         assertEquals("UNAVAILABLE", movie.getStatus());
         verify(movieRepository, times(1)).save(movie);
+        verify(movieCatalog).evict(List.of(movieId));
     }
 
     @Test
@@ -186,6 +216,7 @@ class MovieServiceImplTest {
         MovieDTO result = movieService.getMovieById(movieId);
 
         assertEquals(movieDTO.getTitle(), result.getTitle());
+        verify(movieTrends).viewed(movieId);
     }
 
     @Test
@@ -194,6 +225,7 @@ class MovieServiceImplTest {
         when(movieRepository.findById(movieId)).thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () -> movieService.getMovieById(movieId));
+        verify(movieTrends, never()).viewed(anyInt());
     }
 
     // getAllAvailableMovies() Test Cases
@@ -244,4 +276,76 @@ class MovieServiceImplTest {
         assertThrows(IllegalArgumentException.class, () -> movieService.getMoviesByGenre(""));
     }
 
+    // getRecommendedMovies() Test Cases
+    @Test
+    void testGetRecommendedMovies_RankedThenFilledByGenre() {
+        MovieStatusDTO owned = new MovieStatusDTO();
+        owned.setMovieId(1);
+        owned.setPurchased(true);
+        List<MovieStatusDTO> history = List.of(owned);
+        Movie ranked = movieWithId(5, "AVAILABLE");
+        Movie unavailable = movieWithId(6, "UNAVAILABLE");
+        Movie genreMovie = movieWithId(8, "AVAILABLE");
+        MovieDTO rankedDTO = new MovieDTO();
+        MovieDTO genreDTO = new MovieDTO();
+
+        when(userEntitlements.getStatuses(3)).thenReturn(history);
+        when(movieSimilarity.recommend(history, 24)).thenReturn(List.of(6, 5));
+        when(movieRepository.findAllById(List.of(6, 5))).thenReturn(List.of(ranked, unavailable));
+        when(movieRepository.findByGenre("Sci-Fi")).thenReturn(List.of(movieWithId(1, "AVAILABLE"), ranked, genreMovie));
+        when(movieMapper.toDto(ranked)).thenReturn(rankedDTO);
+        when(movieMapper.toDto(genreMovie)).thenReturn(genreDTO);
+
+        List<MovieDTO> result = movieService.getRecommendedMovies(3, "Sci-Fi");
+
+        assertEquals(List.of(rankedDTO, genreDTO), result);
+    }
+
+    @Test
+    void testGetRecommendedMovies_NoUser() {
+        when(movieRepository.findByGenre("Sci-Fi")).thenReturn(List.of(movie));
+        when(movieMapper.toDto(movie)).thenReturn(movieDTO);
+
+        assertEquals(List.of(movieDTO), movieService.getRecommendedMovies(null, "Sci-Fi"));
+        verify(movieSimilarity, never()).recommend(any(), anyInt());
+    }
+
+    @Test
+    void testGetRecommendedMovies_NothingToRecommend() {
+        when(userEntitlements.getStatuses(3)).thenReturn(List.of());
+        when(movieSimilarity.recommend(List.of(), 24)).thenReturn(List.of());
+        when(movieRepository.findAllById(List.of())).thenReturn(List.of());
+
+        assertThrows(ResourceNotFoundException.class, () -> movieService.getRecommendedMovies(3, null));
+    }
+
+    // getTrendingMovies() Test Cases
+    @Test
+    void testGetTrendingMovies() {
+        when(movieTrends.getTrending(5)).thenReturn(List.of(movieDTO));
+
+        assertEquals(List.of(movieDTO), movieService.getTrendingMovies(5));
+    }
+
+    @Test
+    void testGetTrendingMovies_InvalidLimit() {
+        assertThrows(IllegalArgumentException.class, () -> movieService.getTrendingMovies(0));
+        assertThrows(IllegalArgumentException.class, () -> movieService.getTrendingMovies(21));
+    }
+
+    // getAlsoBoughtMovies() Test Cases
+    @Test
+    void testGetAlsoBoughtMovies() {
+        when(alsoBoughtIndex.getAlsoBought(1)).thenReturn(List.of(movieDTO));
+
+        assertEquals(List.of(movieDTO), movieService.getAlsoBoughtMovies(1));
+    }
+
+    private static Movie movieWithId(int movieId, String status) {
+        Movie movie = new Movie();
+        movie.setMovieId(movieId);
+        movie.setStatus(status);
+        return movie;
+    }
+
 }
@@ -0,0 +1,53 @@
+package com.endava.example.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.endava.example.cache.UserEntitlements;
+import com.endava.example.dto.MovieStatusDTO;
+
+@ExtendWith(MockitoExtension.class)
+class MovieStatusServiceImplTest {
+
+	@Mock
+	private UserEntitlements userEntitlements;
+
+	@InjectMocks
+	private MovieStatusServiceImpl movieStatusService;
+
+	@Test
+	void testGetMovieStatuses_Success() {
+		List<MovieStatusDTO> statuses = List.of(new MovieStatusDTO(), new MovieStatusDTO());
+		when(userEntitlements.getStatuses(1, List.of(3, 1))).thenReturn(statuses);
+
+		assertEquals(statuses, movieStatusService.getMovieStatuses(1, List.of(3, 1, 3)));
+	}
+
+	@Test
+	void testGetMovieStatuses_NoMovies() {
+		assertThrows(IllegalArgumentException.class, () -> movieStatusService.getMovieStatuses(1, List.of()));
+		verify(userEntitlements, never()).getStatuses(anyInt(), anyList());
+	}
+
+	@Test
+	void testGetMovieStatuses_TooManyMovies() {
+		List<Integer> movieIds = IntStream.rangeClosed(1, 501).boxed().toList();
+
+		assertThrows(IllegalArgumentException.class, () -> movieStatusService.getMovieStatuses(1, movieIds));
+		verify(userEntitlements, never()).getStatuses(anyInt(), anyList());
+	}
+}
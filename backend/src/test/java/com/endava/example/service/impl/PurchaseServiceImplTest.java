@@ -5,13 +5,18 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.Mockito.doReturn;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import java.sql.PreparedStatement;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
@@ -19,26 +24,50 @@ import java.util.Optional;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.endava.example.analytics.DashboardAggregates;
+import com.endava.example.analytics.MovieSimilarity;
+import com.endava.example.analytics.MovieTrends;
+import com.endava.example.cache.MovieCatalog;
+import com.endava.example.cache.UserDirectory;
+import com.endava.example.cache.UserEntitlements;
+import com.endava.example.controller.NotificationController;
 import com.endava.example.dto.PurchaseDTO;
 import com.endava.example.dto.PurchaseRequestDTO;
 import com.endava.example.dto.PurchasedMovieDTO;
+import com.endava.example.entity.Cart;
 import com.endava.example.entity.Movie;
 import com.endava.example.entity.Purchase;
 import com.endava.example.entity.PurchaseDetail;
 import com.endava.example.entity.User;
 import com.endava.example.exceptions.PaymentFailedException;
+import com.endava.example.exceptions.ResourceAlreadyExistsException;
 import com.endava.example.exceptions.ResourceNotFoundException;
 import com.endava.example.mapper.PurchaseMapper;
+import com.endava.example.payment.PaymentAuthorization;
+import com.endava.example.payment.PaymentProcessor;
+import com.endava.example.payment.PaymentRequest;
+import com.endava.example.repository.CartRepository;
+import com.endava.example.repository.IdempotencyKeyRepository;
 import com.endava.example.repository.MovieRepository;
 import com.endava.example.repository.PurchaseDetailRepository;
 import com.endava.example.repository.PurchaseRepository;
 import com.endava.example.repository.UserRepository;
+import com.endava.example.utils.ApplicationMetrics;
 import com.endava.example.utils.EmailService;
+import com.endava.example.utils.TransactionIdGenerator;
 
 @ExtendWith(MockitoExtension.class)
 class PurchaseServiceImplTest {
@@ -46,21 +75,64 @@ class PurchaseServiceImplTest {
 	@Mock
 	private PurchaseRepository purchaseRepository;
 
+	@Mock
+	private UserDirectory userDirectory;
+
 	@Mock
 	private UserRepository userRepository;
 
+	@Mock
+	private MovieCatalog movieCatalog;
+
 	@Mock
 	private MovieRepository movieRepository;
 
 	@Mock
 	private PurchaseDetailRepository purchaseDetailRepository;
 
+	@Mock
+	private CartRepository cartRepository;
+
 	@Mock
 	private EmailService emailService;
 
 	@Mock
 	private PurchaseMapper purchaseMapper;
 
+	@Mock
+	private ApplicationMetrics applicationMetrics;
+
+	@Mock
+	private DashboardAggregates dashboardAggregates;
+
+	@Mock
+	private UserEntitlements userEntitlements;
+
+	@Mock
+	private MovieSimilarity movieSimilarity;
+
+	@Mock
+	private MovieTrends movieTrends;
+
+	@Mock
+	private IdempotencyKeyRepository idempotencyKeyRepository;
+
+	@Mock
+	private TransactionIdGenerator transactionIdGenerator;
+
+	@Mock
+	private PaymentProcessor paymentProcessor;
+
+	@Spy
+	private TransactionTemplate transactionTemplate = new TransactionTemplate(
+			Mockito.mock(PlatformTransactionManager.class));
+
+	@Mock
+	private JdbcTemplate jdbcTemplate;
+
+	@Mock
+	private NotificationController notificationController;
+
 	@InjectMocks
 	private PurchaseServiceImpl purchaseService;
 
@@ -86,6 +158,8 @@ class PurchaseServiceImplTest {
 
 		Purchase purchase = new Purchase();
 		purchase.setPurchaseId(1);
+		purchase.setTransactionId("txn-123");
+		purchase.setTotalPrice(300.0);
 
 		PurchaseDTO purchaseDTO = new PurchaseDTO();
 		purchaseDTO.setPurchaseId(1);
@@ -97,19 +171,133 @@ class PurchaseServiceImplTest {
 		mappedPurchase.setTotalPrice(300.0);
 		when(purchaseMapper.toEntity(dto, user)).thenReturn(mappedPurchase);
 
-		when(userRepository.findById(1)).thenReturn(Optional.of(user));
-		when(movieRepository.findAllById(dto.getMovieIds())).thenReturn(movies);
+		when(userDirectory.findById(1)).thenReturn(Optional.of(user));
+		when(movieCatalog.getMovies(dto.getMovieIds())).thenReturn(movies);
 		when(purchaseRepository.save(any(Purchase.class))).thenReturn(purchase);
 		when(purchaseMapper.toDto(purchase)).thenReturn(purchaseDTO);
-		purchaseService = Mockito.spy(purchaseService);
-		doReturn("txn-123").when(purchaseService).simulatePayment();
+		when(transactionIdGenerator.nextTransactionId()).thenReturn("txn-123");
+		when(paymentProcessor.authorize(any(PaymentRequest.class)))
+				.thenReturn(PaymentAuthorization.approved("txn-123"));
+		when(movieRepository.findVersions(List.of(1, 2))).thenReturn(versions(1, 2));
+		when(purchaseRepository.updatePendingStatus(1, "COMPLETED")).thenReturn(1);
 
-		PurchaseDTO result = purchaseService.createPurchase(dto);
+		PurchaseDTO result = purchaseService.createPurchase(dto, null);
 
 		assertNotNull(result);
 		assertEquals(1, result.getPurchaseId());
 		assertEquals(300.0, result.getTotalPrice());
 		verify(purchaseRepository, times(1)).save(any(Purchase.class));
+		verify(applicationMetrics).recordPurchaseSuccess(anyLong());
+		verify(dashboardAggregates).purchaseCompleted(user, 300.0, movies);
+		verify(cartRepository).deleteByUserIdAndMovieIds(1, List.of(1, 2));
+		verify(userEntitlements).purchased(1, List.of(1, 2));
+		verify(movieSimilarity).purchased(1, List.of(1, 2));
+		verify(movieTrends).purchased(List.of(1, 2));
+		verify(paymentProcessor).capture(PaymentAuthorization.approved("txn-123"));
+		verify(emailService).sendEmailAsync(eq("rishabh@gmail.com"), anyString(), anyString(), eq("invoice_txn-123.pdf"),
+				any());
+		verify(notificationController).sendEventToAdmins("purchase-completed", 1);
+	}
+
+	@Test
+	void testCreatePurchase_FromCart() throws Exception {
+		PurchaseRequestDTO dto = new PurchaseRequestDTO();
+		dto.setUserId(1);
+		dto.setPaymentMethod("UPI");
+
+		User user = new User();
+		user.setUserId(1);
+		user.setEmail("rishabh@gmail.com");
+
+		Movie movie1 = new Movie();
+		movie1.setMovieId(1);
+		movie1.setTitle("Movie 1");
+		movie1.setGenre("Action");
+		movie1.setPrice(100.0);
+
+		Movie movie2 = new Movie();
+		movie2.setMovieId(2);
+		movie2.setPrice(250.0);
+
+		Cart cart1 = new Cart();
+		cart1.setMovie(movie1);
+		Cart cart2 = new Cart();
+		cart2.setMovie(movie2);
+
+		Purchase purchase = new Purchase();
+		purchase.setPurchaseId(1);
+
+		when(userDirectory.findById(1)).thenReturn(Optional.of(user));
+		when(cartRepository.findAvailableByUserId(1)).thenReturn(List.of(cart1, cart2));
+		when(purchaseDetailRepository.findPurchasedMovieIds(1, List.of(1, 2))).thenReturn(List.of());
+		when(purchaseMapper.toEntity(dto, user)).thenReturn(new Purchase());
+		when(purchaseRepository.save(any(Purchase.class))).thenReturn(purchase);
+		when(purchaseMapper.toDto(purchase)).thenReturn(new PurchaseDTO());
+		when(transactionIdGenerator.nextTransactionId()).thenReturn("txn-123");
+		when(paymentProcessor.authorize(any(PaymentRequest.class)))
+				.thenReturn(PaymentAuthorization.approved("txn-123"));
+		when(movieRepository.findVersions(List.of(1, 2))).thenReturn(versions(1, 2));
+		when(purchaseRepository.updatePendingStatus(1, "COMPLETED")).thenReturn(1);
+
+		purchaseService.createPurchase(dto, null);
+
+		ArgumentCaptor<Purchase> saved = ArgumentCaptor.forClass(Purchase.class);
+		verify(purchaseRepository).save(saved.capture());
+		assertEquals(350.0, saved.getValue().getTotalPrice());
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<ParameterizedPreparedStatementSetter<Movie>> setter = ArgumentCaptor
+				.forClass(ParameterizedPreparedStatementSetter.class);
+		verify(jdbcTemplate).batchUpdate(anyString(), eq(List.of(movie1, movie2)), eq(2), setter.capture());
+		PreparedStatement statement = Mockito.mock(PreparedStatement.class);
+		setter.getValue().setValues(statement, movie1);
+		verify(statement).setInt(1, 1);
+		verify(statement).setInt(2, 1);
+		verify(statement).setDouble(3, 100.0);
+		verify(statement).setString(4, "Movie 1");
+		verify(statement).setString(5, "Action");
+		verify(cartRepository).deleteByUserIdAndMovieIds(1, List.of(1, 2));
+		verify(movieCatalog, never()).getMovies(any());
+	}
+
+	@Test
+	void testCreatePurchase_EmptyCart() {
+		PurchaseRequestDTO dto = new PurchaseRequestDTO();
+		dto.setUserId(1);
+
+		User user = new User();
+		user.setUserId(1);
+
+		when(userDirectory.findById(1)).thenReturn(Optional.of(user));
+		when(cartRepository.findAvailableByUserId(1)).thenReturn(List.of());
+
+		assertThrows(ResourceNotFoundException.class, () -> purchaseService.createPurchase(dto, null));
+		verify(purchaseRepository, never()).save(any(Purchase.class));
+	}
+
+	@Test
+	void testCreatePurchase_MovieAlreadyOwned() {
+		PurchaseRequestDTO dto = new PurchaseRequestDTO();
+		dto.setUserId(1);
+		dto.setMovieIds(List.of(1, 2));
+
+		User user = new User();
+		user.setUserId(1);
+
+		Movie movie1 = new Movie();
+		movie1.setMovieId(1);
+		Movie movie2 = new Movie();
+		movie2.setMovieId(2);
+
+		when(userDirectory.findById(1)).thenReturn(Optional.of(user));
+		when(movieCatalog.getMovies(List.of(1, 2))).thenReturn(List.of(movie1, movie2));
+		when(purchaseDetailRepository.findPurchasedMovieIds(1, List.of(1, 2))).thenReturn(List.of(2));
+
+		ResourceAlreadyExistsException exception = assertThrows(ResourceAlreadyExistsException.class,
+				() -> purchaseService.createPurchase(dto, null));
+
+		assertEquals("Movies already purchased: [2]", exception.getMessage());
+		verify(paymentProcessor, never()).authorize(any(PaymentRequest.class));
+		verify(cartRepository, never()).deleteByUserIdAndMovieIds(anyInt(), any());
 	}
 
 	@Test
@@ -117,9 +305,9 @@ class PurchaseServiceImplTest {
 		PurchaseRequestDTO dto = new PurchaseRequestDTO();
 		dto.setUserId(999);
 
-		when(userRepository.findById(dto.getUserId())).thenReturn(Optional.empty());
+		when(userDirectory.findById(dto.getUserId())).thenReturn(Optional.empty());
 
-		assertThrows(ResourceNotFoundException.class, () -> purchaseService.createPurchase(dto));
+		assertThrows(ResourceNotFoundException.class, () -> purchaseService.createPurchase(dto, null));
 	}
 
 	@Test
@@ -136,10 +324,10 @@ class PurchaseServiceImplTest {
 
 		List<Movie> foundMovies = Arrays.asList(movie1);
 
-		when(userRepository.findById(requestDTO.getUserId())).thenReturn(Optional.of(user));
-		when(movieRepository.findAllById(requestDTO.getMovieIds())).thenReturn(foundMovies);
+		when(userDirectory.findById(requestDTO.getUserId())).thenReturn(Optional.of(user));
+		when(movieCatalog.getMovies(requestDTO.getMovieIds())).thenReturn(foundMovies);
 
-		assertThrows(ResourceNotFoundException.class, () -> purchaseService.createPurchase(requestDTO));
+		assertThrows(ResourceNotFoundException.class, () -> purchaseService.createPurchase(requestDTO, null));
 		verify(purchaseRepository, never()).save(any(Purchase.class));
 		verify(emailService, never()).sendEmail(anyString(), anyString(), anyString());
 	}
@@ -161,13 +349,295 @@ class PurchaseServiceImplTest {
 		movie2.setMovieId(2);
 		movie2.setPrice(200.0);
 
-		when(userRepository.findById(dto.getUserId())).thenReturn(Optional.of(user));
-		when(movieRepository.findAllById(dto.getMovieIds())).thenReturn(List.of(movie1, movie2));
+		when(userDirectory.findById(dto.getUserId())).thenReturn(Optional.of(user));
+		when(movieCatalog.getMovies(dto.getMovieIds())).thenReturn(List.of(movie1, movie2));
 
-		purchaseService = Mockito.spy(purchaseService);
-		doReturn(null).when(purchaseService).simulatePayment();
+		Purchase purchase = new Purchase();
+		purchase.setPurchaseId(4);
+		when(purchaseMapper.toEntity(dto, user)).thenReturn(new Purchase());
+		when(purchaseRepository.save(any(Purchase.class))).thenReturn(purchase);
+		when(paymentProcessor.authorize(any(PaymentRequest.class)))
+				.thenReturn(PaymentAuthorization.declined("txn-123", "Declined"));
+		when(purchaseRepository.updatePendingStatus(4, "VOIDED")).thenReturn(1);
+
+		PaymentFailedException exception = assertThrows(PaymentFailedException.class,
+				() -> purchaseService.createPurchase(dto, null));
+		assertEquals("Payment failed. Purchase 4 was voided.", exception.getMessage());
+		verify(applicationMetrics).recordPaymentFailure(anyLong());
+		verify(purchaseRepository).updatePendingStatus(4, "VOIDED");
+		verify(idempotencyKeyRepository).deleteByPurchaseId(4);
+		verifyNoInteractions(jdbcTemplate);
+		verify(cartRepository, never()).deleteByUserIdAndMovieIds(anyInt(), any());
+	}
+
+	@Test
+	void testCreatePurchase_ReservedAsPendingBeforePayment() {
+		PurchaseRequestDTO dto = new PurchaseRequestDTO();
+		dto.setUserId(1);
+		dto.setMovieIds(List.of(1));
+		dto.setPaymentMethod("CARD");
 
-		assertThrows(PaymentFailedException.class, () -> purchaseService.createPurchase(dto));
+		User user = new User();
+		user.setUserId(1);
+
+		Movie movie = new Movie();
+		movie.setMovieId(1);
+		movie.setPrice(150.0);
+
+		Purchase purchase = new Purchase();
+		purchase.setPurchaseId(6);
+
+		when(userDirectory.findById(1)).thenReturn(Optional.of(user));
+		when(movieCatalog.getMovies(List.of(1))).thenReturn(List.of(movie));
+		when(purchaseMapper.toEntity(dto, user)).thenAnswer(invocation -> {
+			Purchase mapped = new Purchase();
+			mapped.setPaymentMethod("CARD");
+			return mapped;
+		});
+		when(transactionIdGenerator.nextTransactionId()).thenReturn("TXN-6");
+		when(purchaseRepository.save(any(Purchase.class))).thenAnswer(invocation -> {
+			Purchase saved = invocation.getArgument(0);
+			assertEquals("PENDING", saved.getStatus());
+			assertNotNull(saved.getReservedAt());
+			saved.setPurchaseId(6);
+			return saved;
+		});
+		when(paymentProcessor.authorize(new PaymentRequest("TXN-6", 1, 150.0, "CARD")))
+				.thenReturn(PaymentAuthorization.approved("TXN-6"));
+		when(movieRepository.findVersions(List.of(1))).thenReturn(versions(1));
+		when(purchaseRepository.updatePendingStatus(6, "COMPLETED")).thenReturn(1);
+		when(purchaseMapper.toDto(any(Purchase.class))).thenAnswer(invocation -> {
+			PurchaseDTO result = new PurchaseDTO();
+			result.setStatus(invocation.<Purchase>getArgument(0).getStatus());
+			return result;
+		});
+
+		assertEquals("COMPLETED", purchaseService.createPurchase(dto, null).getStatus());
+	}
+
+	@Test
+	void testCreatePurchase_ExpiredBeforeCompletion() {
+		PurchaseRequestDTO dto = new PurchaseRequestDTO();
+		dto.setUserId(1);
+		dto.setMovieIds(List.of(1));
+
+		User user = new User();
+		user.setUserId(1);
+
+		Movie movie = new Movie();
+		movie.setMovieId(1);
+
+		Purchase purchase = new Purchase();
+		purchase.setPurchaseId(7);
+
+		when(userDirectory.findById(1)).thenReturn(Optional.of(user));
+		when(movieCatalog.getMovies(List.of(1))).thenReturn(List.of(movie));
+		when(purchaseMapper.toEntity(dto, user)).thenReturn(new Purchase());
+		when(transactionIdGenerator.nextTransactionId()).thenReturn("TXN-7");
+		when(purchaseRepository.save(any(Purchase.class))).thenReturn(purchase);
+		when(paymentProcessor.authorize(any(PaymentRequest.class)))
+				.thenReturn(PaymentAuthorization.approved("TXN-7"));
+		when(movieRepository.findVersions(List.of(1))).thenReturn(versions(1));
+		// voided by the expiry, which also voided its payment
+		when(purchaseRepository.updatePendingStatus(7, "COMPLETED")).thenReturn(0);
+		when(purchaseRepository.updatePendingStatus(7, "VOIDED")).thenReturn(0);
+
+		assertThrows(PaymentFailedException.class, () -> purchaseService.createPurchase(dto, null));
+		verify(idempotencyKeyRepository, never()).deleteByPurchaseId(7);
+		verify(paymentProcessor, never()).voidAuthorization("TXN-7");
+		verify(paymentProcessor, never()).capture(any(PaymentAuthorization.class));
+		verifyNoInteractions(jdbcTemplate);
+	}
+
+	@Test
+	void testCreatePurchase_MovieChangedDuringCheckout() {
+		PurchaseRequestDTO dto = new PurchaseRequestDTO();
+		dto.setUserId(1);
+		dto.setMovieIds(List.of(1));
+
+		User user = new User();
+		user.setUserId(1);
+
+		Movie movie = new Movie();
+		movie.setMovieId(1);
+		movie.setPrice(100.0);
+
+		Purchase purchase = new Purchase();
+		purchase.setPurchaseId(8);
+
+		when(userDirectory.findById(1)).thenReturn(Optional.of(user));
+		when(movieCatalog.getMovies(List.of(1))).thenReturn(List.of(movie));
+		when(purchaseMapper.toEntity(dto, user)).thenReturn(new Purchase());
+		when(transactionIdGenerator.nextTransactionId()).thenReturn("TXN-8");
+		when(purchaseRepository.save(any(Purchase.class))).thenReturn(purchase);
+		when(paymentProcessor.authorize(any(PaymentRequest.class)))
+				.thenReturn(PaymentAuthorization.approved("TXN-8"));
+		// the price was changed since the movie was cached
+		when(movieRepository.findVersions(List.of(1))).thenReturn(List.<Object[]>of(new Object[] { 1, 1L }));
+		when(purchaseRepository.updatePendingStatus(8, "VOIDED")).thenReturn(1);
+
+		assertThrows(OptimisticLockingFailureException.class, () -> purchaseService.createPurchase(dto, null));
+		verify(purchaseRepository, never()).updatePendingStatus(8, "COMPLETED");
+		verify(purchaseRepository).updatePendingStatus(8, "VOIDED");
+		verify(idempotencyKeyRepository).deleteByPurchaseId(8);
+		verify(paymentProcessor).voidAuthorization("TXN-8");
+		verify(paymentProcessor, never()).capture(any(PaymentAuthorization.class));
+		verify(movieCatalog).evict(List.of(1));
+		verifyNoInteractions(jdbcTemplate, emailService);
+	}
+
+	@Test
+	void testCreatePurchase_MoviePurchasedConcurrently() {
+		PurchaseRequestDTO dto = new PurchaseRequestDTO();
+		dto.setUserId(1);
+		dto.setMovieIds(List.of(1));
+
+		User user = new User();
+		user.setUserId(1);
+
+		Movie movie = new Movie();
+		movie.setMovieId(1);
+		movie.setPrice(100.0);
+
+		Purchase purchase = new Purchase();
+		purchase.setPurchaseId(9);
+
+		when(userDirectory.findById(1)).thenReturn(Optional.of(user));
+		when(movieCatalog.getMovies(List.of(1))).thenReturn(List.of(movie));
+		// another checkout of the movie completes while this payment is authorized
+		when(purchaseDetailRepository.findPurchasedMovieIds(1, List.of(1))).thenReturn(List.of(), List.of(1));
+		when(purchaseMapper.toEntity(dto, user)).thenReturn(new Purchase());
+		when(transactionIdGenerator.nextTransactionId()).thenReturn("TXN-9");
+		when(purchaseRepository.save(any(Purchase.class))).thenReturn(purchase);
+		when(paymentProcessor.authorize(any(PaymentRequest.class)))
+				.thenReturn(PaymentAuthorization.approved("TXN-9"));
+		when(purchaseRepository.updatePendingStatus(9, "VOIDED")).thenReturn(1);
+
+		assertThrows(ResourceAlreadyExistsException.class, () -> purchaseService.createPurchase(dto, null));
+		InOrder completion = inOrder(userRepository, purchaseDetailRepository);
+		completion.verify(userRepository).lockById(1);
+		completion.verify(purchaseDetailRepository).findPurchasedMovieIds(1, List.of(1));
+		verify(purchaseRepository, never()).updatePendingStatus(9, "COMPLETED");
+		verify(purchaseRepository).updatePendingStatus(9, "VOIDED");
+		verify(paymentProcessor).voidAuthorization("TXN-9");
+		verify(paymentProcessor, never()).capture(any(PaymentAuthorization.class));
+		verifyNoInteractions(jdbcTemplate, emailService);
+	}
+
+	@Test
+	void testCreatePurchase_ClaimsIdempotencyKey() {
+		PurchaseRequestDTO dto = new PurchaseRequestDTO();
+		dto.setUserId(1);
+		dto.setMovieIds(List.of(1));
+
+		User user = new User();
+		user.setUserId(1);
+
+		Movie movie = new Movie();
+		movie.setMovieId(1);
+		movie.setPrice(100.0);
+
+		Purchase purchase = new Purchase();
+		purchase.setPurchaseId(5);
+
+		when(userDirectory.findById(1)).thenReturn(Optional.of(user));
+		when(idempotencyKeyRepository.claim(eq(1), eq("key-1"), any())).thenReturn(1);
+		when(movieCatalog.getMovies(List.of(1))).thenReturn(List.of(movie));
+		when(purchaseMapper.toEntity(dto, user)).thenReturn(new Purchase());
+		when(purchaseRepository.save(any(Purchase.class))).thenReturn(purchase);
+		when(paymentProcessor.authorize(any(PaymentRequest.class))).thenReturn(PaymentAuthorization.approved("TXN-1"));
+		when(movieRepository.findVersions(List.of(1))).thenReturn(versions(1));
+		when(purchaseRepository.updatePendingStatus(5, "COMPLETED")).thenReturn(1);
+
+		purchaseService.createPurchase(dto, "key-1");
+
+		verify(idempotencyKeyRepository).setPurchase(1, "key-1", purchase);
+		verify(purchaseRepository).save(any(Purchase.class));
+	}
+
+	@Test
+	void testCreatePurchase_RepeatedIdempotencyKey() {
+		PurchaseRequestDTO dto = new PurchaseRequestDTO();
+		dto.setUserId(1);
+		dto.setMovieIds(List.of(1));
+
+		User user = new User();
+		user.setUserId(1);
+
+		Purchase purchase = new Purchase();
+		purchase.setPurchaseId(5);
+		PurchaseDTO purchaseDTO = new PurchaseDTO();
+		purchaseDTO.setPurchaseId(5);
+
+		when(userDirectory.findById(1)).thenReturn(Optional.of(user));
+		when(idempotencyKeyRepository.claim(eq(1), eq("key-1"), any())).thenReturn(0);
+		when(idempotencyKeyRepository.findPurchase(1, "key-1")).thenReturn(Optional.of(purchase));
+		when(purchaseMapper.toDto(purchase)).thenReturn(purchaseDTO);
+
+		PurchaseDTO result = purchaseService.createPurchase(dto, "key-1");
+
+		assertEquals(5, result.getPurchaseId());
+		verify(paymentProcessor, never()).authorize(any(PaymentRequest.class));
+		verify(purchaseRepository, never()).save(any(Purchase.class));
+		verify(emailService, never()).sendEmailAsync(anyString(), anyString(), anyString(), anyString(), any());
+	}
+
+	@Test
+	void testCreatePurchase_IdempotencyKeyOfPendingPurchase() {
+		PurchaseRequestDTO dto = new PurchaseRequestDTO();
+		dto.setUserId(1);
+
+		User user = new User();
+		user.setUserId(1);
+
+		Purchase purchase = new Purchase();
+		purchase.setStatus("PENDING");
+
+		when(userDirectory.findById(1)).thenReturn(Optional.of(user));
+		when(idempotencyKeyRepository.claim(eq(1), eq("key-1"), any())).thenReturn(0);
+		when(idempotencyKeyRepository.findPurchase(1, "key-1")).thenReturn(Optional.of(purchase));
+
+		assertThrows(ResourceAlreadyExistsException.class, () -> purchaseService.createPurchase(dto, "key-1"));
+		verify(paymentProcessor, never()).authorize(any(PaymentRequest.class));
+	}
+
+	@Test
+	void testCreatePurchase_InvalidIdempotencyKey() {
+		PurchaseRequestDTO dto = new PurchaseRequestDTO();
+		dto.setUserId(1);
+
+		assertThrows(IllegalArgumentException.class, () -> purchaseService.createPurchase(dto, " "));
+		assertThrows(IllegalArgumentException.class, () -> purchaseService.createPurchase(dto, "k".repeat(101)));
+		verify(userDirectory, never()).findById(anyInt());
+	}
+
+	@Test
+	void testVoidExpiredPurchases() {
+		Purchase purchase = new Purchase();
+		purchase.setPurchaseId(8);
+		purchase.setTransactionId("TXN-8");
+		when(purchaseRepository.findPendingReservedBefore(any())).thenReturn(List.of(purchase));
+		when(purchaseRepository.updatePendingStatus(8, "VOIDED")).thenReturn(1);
+
+		purchaseService.voidExpiredPurchases();
+
+		verify(purchaseRepository).updatePendingStatus(8, "VOIDED");
+		verify(idempotencyKeyRepository).deleteByPurchaseId(8);
+		verify(paymentProcessor).voidAuthorization("TXN-8");
+	}
+
+	@Test
+	void testVoidExpiredPurchases_CompletedMeanwhile() {
+		Purchase purchase = new Purchase();
+		purchase.setPurchaseId(8);
+		purchase.setTransactionId("TXN-8");
+		when(purchaseRepository.findPendingReservedBefore(any())).thenReturn(List.of(purchase));
+		when(purchaseRepository.updatePendingStatus(8, "VOIDED")).thenReturn(0);
+
+		purchaseService.voidExpiredPurchases();
+
+		verify(idempotencyKeyRepository, never()).deleteByPurchaseId(8);
+		verify(paymentProcessor, never()).voidAuthorization("TXN-8");
 	}
 
 	@Test
@@ -189,7 +659,7 @@ class PurchaseServiceImplTest {
 		PurchaseDTO dto2 = new PurchaseDTO();
 		dto2.setPurchaseId(2);
 
-		when(purchaseRepository.findByUser_UserId(userId)).thenReturn(purchases);
+		when(purchaseRepository.findByUser_UserIdAndStatus(userId, "COMPLETED")).thenReturn(purchases);
 		when(purchaseMapper.toDto(purchase1)).thenReturn(dto1);
 		when(purchaseMapper.toDto(purchase2)).thenReturn(dto2);
 
@@ -250,7 +720,7 @@ class PurchaseServiceImplTest {
 		int userId = 1;
 		int movieId = 2;
 
-		when(purchaseDetailRepository.existsByPurchase_User_UserIdAndMovie_MovieId(userId, movieId)).thenReturn(true);
+		when(userEntitlements.isPurchased(userId, movieId)).thenReturn(true);
 
 		boolean result = purchaseService.isMoviePurchasedByUser(userId, movieId);
 
@@ -275,23 +745,21 @@ class PurchaseServiceImplTest {
 		purchase.setPurchaseDate(LocalDate.now());
 		purchase.setUser(user); // Setting User to avoid NullPointerException
 
-		// Mocking Purchase Details
+		// Mocking Purchase Details, the invoice only reads their snapshot of the movie
 		PurchaseDetail detail1 = new PurchaseDetail();
-		Movie movie1 = new Movie();
-		movie1.setTitle("Movie 1");
-		movie1.setPrice(100.0);
-		detail1.setMovie(movie1);
+		detail1.setTitle("Movie 1");
+		detail1.setUnitPrice(100.0);
+		detail1.setGenre("Action");
 
 		PurchaseDetail detail2 = new PurchaseDetail();
-		Movie movie2 = new Movie();
-		movie2.setTitle("Movie 2");
-		movie2.setPrice(200.0);
-		detail2.setMovie(movie2);
+		detail2.setTitle("Movie 2");
+		detail2.setUnitPrice(200.0);
+		detail2.setGenre("Drama");
 
 		List<PurchaseDetail> purchaseDetails = List.of(detail1, detail2);
 
 		// Mocking the repository calls
-		when(purchaseRepository.findById(purchaseId)).thenReturn(Optional.of(purchase));
+		when(purchaseRepository.findByPurchaseIdAndStatus(purchaseId, "COMPLETED")).thenReturn(Optional.of(purchase));
 		when(purchaseDetailRepository.findByPurchase_PurchaseId(purchaseId)).thenReturn(purchaseDetails);
 
 		// Calling the method under test
@@ -302,8 +770,12 @@ class PurchaseServiceImplTest {
 		assertTrue(pdfBytes.length > 0);
 
 		// Verifications
-		verify(purchaseRepository, times(1)).findById(purchaseId);
+		verify(purchaseRepository, times(1)).findByPurchaseIdAndStatus(purchaseId, "COMPLETED");
 		verify(purchaseDetailRepository, times(1)).findByPurchase_PurchaseId(purchaseId);
 	}
 
+	// the ids and versions of unchanged movies, as read by findVersions
+	private static List<Object[]> versions(Integer... movieIds) {
+		return Arrays.stream(movieIds).map(movieId -> new Object[] { movieId, 0L }).toList();
+	}
 }
@@ -2,13 +2,19 @@ package com.endava.example.service.impl;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -18,14 +24,23 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import com.endava.example.cache.ReviewGuard;
+import com.endava.example.controller.NotificationController;
+import com.endava.example.dto.ReportedReviewDTO;
+import com.endava.example.dto.ReportedReviewPageDTO;
 import com.endava.example.dto.ReviewDTO;
+import com.endava.example.dto.ReviewPageDTO;
 import com.endava.example.entity.Movie;
 import com.endava.example.entity.Review;
 import com.endava.example.entity.User;
+import com.endava.example.exceptions.ResourceAlreadyExistsException;
 import com.endava.example.exceptions.ResourceNotFoundException;
-import com.endava.example.mapper.ReviewMapper;
 import com.endava.example.repository.MovieRepository;
+import com.endava.example.repository.ReviewReportRepository;
 import com.endava.example.repository.ReviewRepository;
 import com.endava.example.repository.UserRepository;
 
@@ -42,7 +57,13 @@ class ReviewServiceImplTest {
 	private MovieRepository movieRepository;
 
 	@Mock
-	private ReviewMapper reviewMapper;
+	private ReviewReportRepository reviewReportRepository;
+
+	@Mock
+	private ReviewGuard reviewGuard;
+
+	@Mock
+	private NotificationController notificationController;
 
 	@InjectMocks
 	private ReviewServiceImpl reviewService;
@@ -51,23 +72,61 @@ class ReviewServiceImplTest {
 	void testCreateReview_Success() {
 		ReviewDTO dto = new ReviewDTO();
 		dto.setUserId(1);
-		dto.setMovieId(1);
+		dto.setMovieId(2);
+		dto.setReviewText("Great movie!");
+		dto.setRating(4);
 
-		User user = new User();
-		Movie movie = new Movie();
-		Review review = new Review();
-
-		when(userRepository.findById(1)).thenReturn(Optional.of(user));
-		when(movieRepository.findById(1)).thenReturn(Optional.of(movie));
-		when(reviewMapper.toEntity(dto, user, movie)).thenReturn(review);
-		when(reviewRepository.save(review)).thenReturn(review);
-		when(reviewMapper.toDto(review)).thenReturn(dto);
+		when(reviewRepository.insertReview(1, 2, "Great movie!", 4))
+				.thenReturn(Collections.singletonList(new Object[] { 10, "Jane", "Inception" }));
 
 		ReviewDTO result = reviewService.createReview(dto);
 
 		assertNotNull(result);
-		assertEquals(dto, result);
-		verify(reviewRepository, times(1)).save(review);
+		assertEquals(10, result.getReviewId());
+		assertEquals("Jane", result.getUsername());
+		assertEquals("Inception", result.getMoviename());
+		assertEquals(4, result.getRating());
+		verify(reviewGuard).admit(1, 2, "Great movie!");
+		verify(movieRepository).addRating(2, 4);
+	}
+
+	@Test
+	void testCreateReview_Rejected() {
+		ReviewDTO dto = new ReviewDTO();
+		dto.setUserId(1);
+		dto.setMovieId(2);
+		dto.setRating(4);
+
+		doThrow(new ResourceAlreadyExistsException("You have already reviewed this movie.")).when(reviewGuard)
+				.admit(1, 2, null);
+
+		assertThrows(ResourceAlreadyExistsException.class, () -> reviewService.createReview(dto));
+		verify(reviewRepository, never()).insertReview(anyInt(), anyInt(), any(), anyInt());
+		verify(movieRepository, never()).addRating(anyInt(), anyInt());
+	}
+
+	@Test
+	void testCreateReview_InvalidRating() {
+		ReviewDTO dto = new ReviewDTO();
+		dto.setUserId(1);
+		dto.setMovieId(1);
+		dto.setRating(6);
+
+		IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+				() -> reviewService.createReview(dto));
+
+		assertEquals("Rating must be between 1 and 5", exception.getMessage());
+		verify(reviewGuard, never()).admit(anyInt(), anyInt(), any());
+	}
+
+	@Test
+	void testCreateReview_NoRating() {
+		ReviewDTO dto = new ReviewDTO();
+		dto.setUserId(1);
+		dto.setMovieId(1);
+
+		assertThrows(IllegalArgumentException.class, () -> reviewService.createReview(dto));
+		verify(movieRepository, never()).addRating(anyInt(), anyInt());
 	}
 
 	@Test
@@ -84,8 +143,10 @@ class ReviewServiceImplTest {
 		ReviewDTO dto = new ReviewDTO();
 		dto.setUserId(999);
 		dto.setMovieId(1);
+		dto.setRating(3);
 
-		when(userRepository.findById(999)).thenReturn(Optional.empty());
+		when(reviewRepository.insertReview(999, 1, null, 3)).thenReturn(Collections.emptyList());
+		when(userRepository.existsById(999)).thenReturn(false);
 
 		ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> {
 			reviewService.createReview(dto);
@@ -99,10 +160,10 @@ class ReviewServiceImplTest {
 		ReviewDTO dto = new ReviewDTO();
 		dto.setUserId(1);
 		dto.setMovieId(999);
+		dto.setRating(3);
 
-		User user = new User();
-		when(userRepository.findById(1)).thenReturn(Optional.of(user));
-		when(movieRepository.findById(999)).thenReturn(Optional.empty());
+		when(reviewRepository.insertReview(1, 999, null, 3)).thenReturn(Collections.emptyList());
+		when(userRepository.existsById(1)).thenReturn(true);
 
 		ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> {
 			reviewService.createReview(dto);
@@ -114,121 +175,222 @@ class ReviewServiceImplTest {
 	@Test
 	void testDeleteReview_Success() {
 		int reviewId = 1;
-		when(reviewRepository.existsById(reviewId)).thenReturn(true);
+		User user = new User();
+		user.setUserId(3);
+		Movie movie = new Movie();
+		movie.setMovieId(2);
+		Review review = new Review();
+		review.setUser(user);
+		review.setMovie(movie);
+		review.setReviewText("Great movie!");
+		review.setRating(5);
+		when(reviewRepository.findById(reviewId)).thenReturn(Optional.of(review));
+		reviewService.deleteReview(reviewId);
+		verify(reviewRepository).delete(review);
+		verify(reviewGuard).removed(3, 2, "Great movie!");
+		verify(movieRepository).removeRating(2, 5);
+	}
+
+	@Test
+	void testDeleteReview_WithoutRating() {
+		int reviewId = 1;
+		Review review = new Review();
+		review.setUser(new User());
+		review.setMovie(new Movie());
+		when(reviewRepository.findById(reviewId)).thenReturn(Optional.of(review));
 		reviewService.deleteReview(reviewId);
-		verify(reviewRepository).deleteById(reviewId);
+		verify(reviewRepository).delete(review);
+		verify(movieRepository, never()).removeRating(anyInt(), anyInt());
 	}
 
 	@Test
 	void testDeleteReview_ReviewNotFound() {
 		int reviewId = 999;
-		when(reviewRepository.existsById(reviewId)).thenReturn(false);
+		when(reviewRepository.findById(reviewId)).thenReturn(Optional.empty());
 		assertThrows(ResourceNotFoundException.class, () -> reviewService.deleteReview(reviewId));
 	}
 
 	@Test
-	void testGetAllReviewsOfMovie_Success() {
+	void testGetReviewsOfMovie_FirstPage() {
 		int movieId = 1;
+		List<Object[]> rows = List.of(new Object[] { 9, 2, "Jane", "Inception", "Great", 5, false },
+				new Object[] { 7, 3, "John", "Inception", "Good", null, false },
+				new Object[] { 4, 4, "Ann", "Inception", "Fine", 3, true });
+		when(reviewRepository.findPageOfMovie(movieId, Integer.MAX_VALUE, Limit.of(3))).thenReturn(rows);
+
+		ReviewPageDTO page = reviewService.getReviewsOfMovie(movieId, null, 2);
+
+		assertEquals(2, page.getReviews().size());
+		ReviewDTO first = page.getReviews().get(0);
+		assertEquals(9, first.getReviewId());
+		assertEquals(2, first.getUserId());
+		assertEquals(movieId, first.getMovieId());
+		assertEquals("Jane", first.getUsername());
+		assertEquals("Inception", first.getMoviename());
+		assertEquals(5, first.getRating());
+		assertEquals(7, page.getReviews().get(1).getReviewId());
+		assertEquals(7, page.getNextCursor());
+	}
 
-		Review review1 = new Review();
-		review1.setReviewId(1);
-		Review review2 = new Review();
-		review2.setReviewId(2);
-		List<Review> reviews = List.of(review1, review2);
-
-		ReviewDTO dto1 = new ReviewDTO();
-		dto1.setReviewId(1);
-		ReviewDTO dto2 = new ReviewDTO();
-		dto2.setReviewId(2);
+	@Test
+	void testGetReviewsOfMovie_LastPage() {
+		int movieId = 1;
+		List<Object[]> rows = Collections.singletonList(new Object[] { 4, 4, "Ann", "Inception", "Fine", 3, true });
+		when(reviewRepository.findPageOfMovie(movieId, 7, Limit.of(3))).thenReturn(rows);
 
-		when(reviewRepository.findByMovie_MovieId(movieId)).thenReturn(reviews);
-		when(reviewMapper.toDto(review1)).thenReturn(dto1);
-		when(reviewMapper.toDto(review2)).thenReturn(dto2);
+		ReviewPageDTO page = reviewService.getReviewsOfMovie(movieId, 7, 2);
 
-		List<ReviewDTO> expected = List.of(dto2, dto1);
-		List<ReviewDTO> result = reviewService.getAllReviewsOfMovie(movieId);
-		assertEquals(result, expected);
+		assertEquals(1, page.getReviews().size());
+		assertTrue(page.getReviews().get(0).isReported());
+		assertNull(page.getNextCursor());
 	}
 
 	@Test
-	void getAllReviewsOfMovie_EmptyList() {
+	void testGetReviewsOfMovie_NoReviews() {
 		int movieId = 99;
-		List<Review> emptyList = Collections.emptyList();
-		when(reviewRepository.findByMovie_MovieId(movieId)).thenReturn(emptyList);
+		when(reviewRepository.findPageOfMovie(movieId, Integer.MAX_VALUE, Limit.of(11)))
+				.thenReturn(Collections.emptyList());
 
-		ResourceNotFoundException thrownException = assertThrows(ResourceNotFoundException.class,
-				() -> reviewService.getAllReviewsOfMovie(movieId));
+		ReviewPageDTO page = reviewService.getReviewsOfMovie(movieId, null, 10);
 
-		assertEquals("No reviews found for movie with ID: " + movieId, thrownException.getMessage());
+		assertTrue(page.getReviews().isEmpty());
+		assertNull(page.getNextCursor());
+	}
+
+	@Test
+	void testGetReviewsOfMovie_InvalidSize() {
+		IllegalArgumentException thrownException = assertThrows(IllegalArgumentException.class,
+				() -> reviewService.getReviewsOfMovie(1, null, 51));
 
+		assertEquals("Page size must be between 1 and 50", thrownException.getMessage());
+		verify(reviewRepository, never()).findPageOfMovie(anyInt(), anyInt(), any());
 	}
 
 	@Test
-	void testGetAllReportedReviews_Success() {
-		Review review1 = new Review();
-		review1.setReviewId(1);
-		review1.setReported(true);
+	void testGetReportedReviews_Success() {
+		LocalDateTime first = LocalDateTime.of(2025, 3, 1, 10, 0);
+		LocalDateTime last = LocalDateTime.of(2025, 3, 2, 12, 30);
+		List<Object[]> rows = Collections.singletonList(
+				new Object[] { 4, 2, "Jane", 7, "Inception", "Spam", 1, 3, first, last });
+		when(reviewRepository.findReported("%incep%", "%%", PageRequest.of(1, 10)))
+				.thenReturn(new PageImpl<>(rows, PageRequest.of(1, 10), 11));
+
+		ReportedReviewPageDTO page = reviewService.getReportedReviews(" Incep ", null, 1, 10);
+
+		assertEquals(11, page.getTotalCount());
+		assertEquals(1, page.getReviews().size());
+		ReportedReviewDTO review = page.getReviews().get(0);
+		assertEquals(4, review.getReviewId());
+		assertEquals("Jane", review.getUsername());
+		assertEquals(7, review.getMovieId());
+		assertEquals("Inception", review.getMoviename());
+		assertEquals(3, review.getReportCount());
+		assertEquals(first, review.getFirstReportedAt());
+		assertEquals(last, review.getLastReportedAt());
+	}
 
-		Review review2 = new Review();
-		review2.setReviewId(2);
-		review2.setReported(true);
+	@Test
+	void testGetReportedReviews_InvalidPage() {
+		assertThrows(IllegalArgumentException.class, () -> reviewService.getReportedReviews("", "", -1, 10));
+		verify(reviewRepository, never()).findReported(any(), any(), any());
+	}
 
-		List<Review> reportedReviews = List.of(review1, review2);
+	@Test
+	void testReportReview_Success() {
+		int reviewId = 1;
+		when(reviewReportRepository.addReport(eq(reviewId), eq(2), any(LocalDateTime.class))).thenReturn(1);
 
-		ReviewDTO dto1 = new ReviewDTO();
-		dto1.setReviewId(1);
+		String result = reviewService.reportReview(reviewId, 2);
 
-		ReviewDTO dto2 = new ReviewDTO();
-		dto2.setReviewId(2);
+		assertEquals("Review reported successfully.", result);
+		verify(reviewRepository).addReport(eq(reviewId), any(LocalDateTime.class));
+		verify(notificationController).sendEventToAdmins("review-reported", reviewId);
+	}
 
-		when(reviewRepository.findAll()).thenReturn(reportedReviews);
-		when(reviewMapper.toDto(review1)).thenReturn(dto1);
-		when(reviewMapper.toDto(review2)).thenReturn(dto2);
+	@Test
+	void testReportReview_AlreadyReported() {
+		int reviewId = 1;
+		when(reviewReportRepository.addReport(eq(reviewId), eq(2), any(LocalDateTime.class))).thenReturn(0);
+		when(reviewRepository.existsById(reviewId)).thenReturn(true);
+		when(userRepository.existsById(2)).thenReturn(true);
 
-		List<ReviewDTO> result = reviewService.getAllReportedReviews();
+		String result = reviewService.reportReview(reviewId, 2);
 
-		List<ReviewDTO> expected = List.of(dto1, dto2);
-		assertEquals(expected, result);
+		assertEquals("This review is already reported. We will take further action.", result);
+		verify(reviewRepository, never()).addReport(anyInt(), any());
+		verify(notificationController, never()).sendEventToAdmins(any(), any());
 	}
 
 	@Test
-	void testReportReview_Success() {
+	void testReportReview_NotFound() {
 		int reviewId = 1;
-		Review review = new Review();
-		review.setReviewId(reviewId);
-		review.setReported(false);
+		when(reviewReportRepository.addReport(eq(reviewId), eq(2), any(LocalDateTime.class))).thenReturn(0);
+		when(reviewRepository.existsById(reviewId)).thenReturn(false);
 
-		when(reviewRepository.findById(reviewId)).thenReturn(Optional.of(review));
-		when(reviewRepository.save(any(Review.class))).thenReturn(review);
+		assertThrows(ResourceNotFoundException.class, () -> reviewService.reportReview(reviewId, 2));
+	}
 
-		String result = reviewService.reportReview(reviewId);
+	@Test
+	void testReportReview_UserNotFound() {
+		int reviewId = 1;
+		when(reviewReportRepository.addReport(eq(reviewId), eq(2), any(LocalDateTime.class))).thenReturn(0);
+		when(reviewRepository.existsById(reviewId)).thenReturn(true);
+		when(userRepository.existsById(2)).thenReturn(false);
 
-		assertEquals("Review reported successfully.", result);
-		assertTrue(review.isReported());
+		ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
+				() -> reviewService.reportReview(reviewId, 2));
+		assertEquals("User with this ID does not exist: 2", exception.getMessage());
+	}
 
+	@Test
+	void testApproveReviews() {
+		List<Integer> reviewIds = List.of(4, 5);
+		when(reviewRepository.approveReported(reviewIds)).thenReturn(2);
+
+		assertEquals(2, reviewService.approveReviews(reviewIds));
+
+		verify(reviewReportRepository).deleteByReviewIds(reviewIds);
+		verify(notificationController).sendEventToAdmins("reviews-moderated", reviewIds);
 	}
 
 	@Test
-	void testReportReview_AlreadyReported() {
-		int reviewId = 1;
-		Review review = new Review();
-		review.setReviewId(reviewId);
-		review.setReported(true);
+	void testDeleteReviews_RecomputesRatings() {
+		List<Integer> reviewIds = List.of(4, 5, 6);
+		when(reviewRepository.findRatedMovieIds(reviewIds)).thenReturn(List.of(7));
+		when(reviewRepository.deleteByReviewIds(reviewIds)).thenReturn(3);
 
-		when(reviewRepository.findById(reviewId)).thenReturn(Optional.of(review));
+		assertEquals(3, reviewService.deleteReviews(reviewIds));
 
-		String result = reviewService.reportReview(reviewId);
+		verify(movieRepository).recomputeRatings(List.of(7));
+		verify(reviewGuard).invalidate();
+	}
 
-		assertEquals("This review is already reported. We will take further action.", result);
+	@Test
+	void testDeleteReviews_WithoutRatings() {
+		List<Integer> reviewIds = List.of(4);
+		when(reviewRepository.findRatedMovieIds(reviewIds)).thenReturn(List.of());
+		when(reviewRepository.deleteByReviewIds(reviewIds)).thenReturn(1);
+
+		assertEquals(1, reviewService.deleteReviews(reviewIds));
 
+		verify(movieRepository, never()).recomputeRatings(any());
 	}
 
 	@Test
-	void testReportReview_NotFound() {
-		int reviewId = 1;
-		when(reviewRepository.findById(reviewId)).thenReturn(Optional.empty());
+	void testDeleteReviews_NoIds() {
+		IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+				() -> reviewService.deleteReviews(List.of()));
 
-		assertThrows(ResourceNotFoundException.class, () -> reviewService.reportReview(reviewId));
+		assertEquals("Between 1 and 500 review ids are required", exception.getMessage());
+		verify(reviewRepository, never()).deleteByReviewIds(any());
 	}
 
+	@Test
+	void testReconcileRatings() {
+		when(movieRepository.reconcileRatings()).thenReturn(3);
+
+		reviewService.reconcileRatings();
+
+		verify(movieRepository).reconcileRatings();
+	}
 }
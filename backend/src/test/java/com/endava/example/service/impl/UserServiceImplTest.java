@@ -27,6 +27,8 @@ import org.mockito.MockitoAnnotations;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import com.endava.example.analytics.DashboardAggregates;
+import com.endava.example.cache.UserDirectory;
 import com.endava.example.dto.LoginDTO;
 import com.endava.example.dto.UserDTO;
 import com.endava.example.dto.UserRegistrationDTO;
@@ -54,6 +56,12 @@ class UserServiceImplTest {
 	@Mock
 	private PasswordEncoder passwordEncoder;
 
+	@Mock
+	private DashboardAggregates dashboardAggregates;
+
+	@Mock
+	private UserDirectory userDirectory;
+
 	@InjectMocks
 	private UserServiceImpl userService;
 
@@ -133,6 +141,7 @@ class UserServiceImplTest {
 
 		verify(userRepository, times(1)).save(user);
 		verify(userMapper, times(1)).toDto(user);
+		verify(dashboardAggregates).userRegistered();
 	}
 
 	@Test
@@ -561,6 +570,7 @@ class UserServiceImplTest {
 
 		assertEquals("BLOCKED", user.getStatus());
 		verify(userRepository).save(user);
+		verify(userDirectory).evict(userId);
 	}
 
 	@Test
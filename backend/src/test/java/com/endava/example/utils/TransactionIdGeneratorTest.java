@@ -0,0 +1,82 @@
+package com.endava.example.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class TransactionIdGeneratorTest {
+
+	@Test
+	void testNextId_Layout() {
+		TransactionIdGenerator generator = new FixedClockGenerator(7, TransactionIdGenerator.EPOCH_MILLIS + 1000);
+
+		long id = generator.nextId();
+
+		assertEquals(1000, id >>> (TransactionIdGenerator.NODE_BITS + TransactionIdGenerator.SEQUENCE_BITS));
+		assertEquals(7, (id >>> TransactionIdGenerator.SEQUENCE_BITS) & 1023);
+		assertEquals(1, generator.nextId() - id);
+		assertTrue(generator.nextTransactionId().startsWith("TXN-"));
+	}
+
+	@Test
+	void testNextId_SequenceUsedUpWhileClockBehind() {
+		FixedClockGenerator generator = new FixedClockGenerator(0, TransactionIdGenerator.EPOCH_MILLIS + 1000);
+
+		long last = 0;
+		for (int i = 0; i < 4096 * 3; i++) {
+			long id = generator.nextId();
+			assertTrue(id > last);
+			last = id;
+			generator.millis = TransactionIdGenerator.EPOCH_MILLIS + 999;
+		}
+		// the later ids were taken from the milliseconds following the last one used
+		assertEquals(1002, last >>> (TransactionIdGenerator.NODE_BITS + TransactionIdGenerator.SEQUENCE_BITS));
+	}
+
+	@Test
+	void testNextId_ClockMovedBackwards() {
+		FixedClockGenerator generator = new FixedClockGenerator(0, TransactionIdGenerator.EPOCH_MILLIS + 1000);
+
+		long first = generator.nextId();
+		generator.millis -= 500;
+
+		assertTrue(generator.nextId() > first);
+	}
+
+	@Test
+	void testNextId_UniqueAcrossThreads() {
+		TransactionIdGenerator generator = new TransactionIdGenerator(1);
+		Set<Long> ids = ConcurrentHashMap.newKeySet();
+
+		IntStream.range(0, 100_000).parallel().forEach(i -> ids.add(generator.nextId()));
+
+		assertEquals(100_000, ids.size());
+	}
+
+	@Test
+	void testInvalidNodeId() {
+		assertThrows(IllegalArgumentException.class, () -> new TransactionIdGenerator(1024));
+		assertThrows(IllegalArgumentException.class, () -> new TransactionIdGenerator(-1));
+	}
+
+	private static final class FixedClockGenerator extends TransactionIdGenerator {
+
+		long millis;
+
+		FixedClockGenerator(long nodeId, long millis) {
+			super(nodeId);
+			this.millis = millis;
+		}
+
+		@Override
+		long currentMillis() {
+			return millis;
+		}
+	}
+}
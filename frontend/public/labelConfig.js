@@ -79,6 +79,7 @@ window.labelConfig = {
     sortDefaultLabel: "Sort By",
     sortRatingLabel: "Rating - High to Low",
     sortPriceLabel: "Price - Low to High",
+    sortTrendingLabel: "Trending Now",
     noMoviesFoundText: "No movies found.",
     fetchMoviesError:
       "Sorry , We couln't load movies at the moment. Please try again later.",
@@ -90,6 +91,7 @@ window.labelConfig = {
       fetchMoviesError:
         "Sorry, we couldn't load your purchased movies. Please try again later.",
       addReviewError: "Review cannot be empty. Please share your thoughts!",
+      ratingRequiredError: "Please rate the movie from 1 to 5 stars.",
       noMoviesText:
         "You haven't purchased any movies yet. Start exploring and add your favorites to your collection!",
     },
@@ -124,6 +126,7 @@ window.labelConfig = {
     loadingText: "Loading your favorite movies...",
     noFavoritesText: "You don't have any favorite movies yet...",
     noFavoritesSubText: "Start adding your favorites now.",
+    addAllToCartSuccess: "Favorites added to cart",
 
     buttonText: {
       continueBrowsingButton: "Continue Browsing",
@@ -131,6 +134,7 @@ window.labelConfig = {
       watchButton: "Watch Now",
       alreadyInCartButton: "Already In Cart",
       addtoCartButton: "Add to Cart",
+      addAllToCartButton: "Add All to Cart",
     },
   },
 
@@ -183,6 +187,26 @@ window.labelConfig = {
       moviesByGenre: "Movies by Genre",
       revenueByGenre: "Revenue by Genre",
       topUsers: "Top 5 Users",
+      revenueOverTime: "Revenue over Time",
+      bestSellingMovies: "Best Selling Movies",
+      cartConversion: "Cart to Purchase Conversion",
+      averageBasketSize: "Average Basket Value",
+    },
+    intervals: {
+      day: "Daily",
+      week: "Weekly",
+      month: "Monthly",
+    },
+    dateRange: {
+      from: "From",
+      to: "To",
+    },
+    exports: {
+      title: "Export CSV:",
+      purchases: "Purchases",
+      "purchase-details": "Purchase Details",
+      users: "Users",
+      reviews: "Reviews",
     },
     chartColors: ["#F44336", "#E91E63", "#9C27B0"],
   },
@@ -194,6 +218,7 @@ window.labelConfig = {
     filterGenrePlaceholder: "All Genres",
     filterStatusPlaceholder: "All Status",
     addMovieTooltip: "Add Movie",
+    importMoviesTooltip: "Import Movies (CSV / JSON lines)",
     loadingText: "Loading Movies...",
 
     tableHeaders: {
@@ -218,6 +243,10 @@ window.labelConfig = {
       updateTitle: "Updated!",
       addSuccess: "Movie added successfully.",
       addTitle: "Added!",
+      importTitle: "Imported!",
+      importSummary:
+        "{imported} movies imported, {duplicates} duplicates and {invalid} invalid rows skipped.",
+      importError: "Failed to import the movies.",
     },
     buttonText: {
       editButton: "Edit",
@@ -238,11 +267,15 @@ window.labelConfig = {
       username: "User Name",
       movieTitle: "Movie Title",
       reviewText: "Review Text",
+      reports: "Reports",
       actions: "Actions",
     },
 
     buttonText: {
       deleteButton: "Delete",
+      approveButton: "Approve",
+      approveSelectedButton: "Approve Selected",
+      deleteSelectedButton: "Delete Selected",
     },
 
     pagination: {
@@ -260,6 +293,8 @@ window.labelConfig = {
       deleteSuccessText: "Review deleted successfully.",
       deleteCancelledTitle: "Cancelled",
       deleteCancelledText: "The review is not deleted.",
+      approveSuccessTitle: "Approved!",
+      approveSuccessText: "The reviews are kept and removed from the queue.",
     },
   },
 
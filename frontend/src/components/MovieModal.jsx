@@ -11,7 +11,6 @@ const MovieModal = ({ movieId, isEdit, closeModal, handleUpdateMovie }) => {
     description: "",
     genre: "",
     releaseDate: "",
-    averageRating: "",
     price: "",
     posterURL: "",
     trailerURL: "",
@@ -68,12 +67,6 @@ const MovieModal = ({ movieId, isEdit, closeModal, handleUpdateMovie }) => {
       valid = false;
     }
 
-    // Average Rating validation
-    if (formData.averageRating < 0 || formData.averageRating > 10) {
-      formErrors.averageRating = "Rating must be between 0 and 10.";
-      valid = false;
-    }
-
     setErrors(formErrors);
     return valid;
   };
@@ -253,32 +246,6 @@ const MovieModal = ({ movieId, isEdit, closeModal, handleUpdateMovie }) => {
               )}
             </div>
 
-            {/* Average Rating */}
-            <div>
-              <label className="text-sm text-gray-700 font-medium">
-                Average Rating
-              </label>
-              <input
-                type="number"
-                name="averageRating"
-                value={formData.averageRating}
-                onChange={handleChange}
-                placeholder="Enter rating"
-                required
-                min="1"
-                max="10"
-                step="0.1"
-                className={`w-full mt-1 px-3 py-2 border rounded-md focus:ring focus:ring-blue-500 ${
-                  errors.averageRating ? "border-red-500" : "border-gray-300"
-                }`}
-              />
-              {errors.averageRating && (
-                <p className="text-red-500 text-xs mt-1">
-                  {errors.averageRating}
-                </p>
-              )}
-            </div>
-
             {/* Poster URL */}
             <div>
               <label className="text-sm text-gray-700 font-medium">
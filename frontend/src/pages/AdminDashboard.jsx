@@ -1,12 +1,36 @@
 /* eslint-disable no-unused-vars */
 import React, { useEffect, useState } from "react";
 import Chart from "react-apexcharts";
-import { getSummary, getChartData } from "../services/AdminService";
+import {
+  getSummary,
+  getChartData,
+  downloadExport,
+} from "../services/AdminService";
+
+// columnar chart types and the column they plot
+const COLUMNAR_CHARTS = {
+  revenueOverTime: "revenue",
+  averageBasketSize: "averageValue",
+  cartConversion: "conversionRate",
+  bestSellingMovies: "copiesSold",
+};
+
+// chart types bucketed by day, week or month
+const TIME_SERIES_CHARTS = [
+  "revenueOverTime",
+  "averageBasketSize",
+  "cartConversion",
+];
+
+// tables offered as CSV downloads
+const EXPORT_TABLES = ["purchases", "purchase-details", "users", "reviews"];
 
 const AdminDashboard = () => {
   const [summaryData, setSummaryData] = useState({});
   const [selectedChart, setSelectedChart] = useState("moviesByGenre");
   const [chartData, setChartData] = useState({ options: {}, series: [] });
+  const [dateRange, setDateRange] = useState({ from: "", to: "" });
+  const [chartInterval, setChartInterval] = useState("day");
   const labelConfig = window.labelConfig;
 
   useEffect(() => {
@@ -16,7 +40,7 @@ const AdminDashboard = () => {
   useEffect(() => {
     fetchChartData(selectedChart);
     // eslint-disable-next-line react-hooks/exhaustive-deps
-  }, [selectedChart]);
+  }, [selectedChart, dateRange, chartInterval]);
 
   const fetchSummary = async () => {
     try {
@@ -27,19 +51,38 @@ const AdminDashboard = () => {
     }
   };
 
+  const handleExport = async (table) => {
+    try {
+      await downloadExport(table);
+    } catch (error) {
+      console.error("Error downloading export", error);
+    }
+  };
+
   const fetchChartData = async (chartType) => {
     try {
-      const response = await getChartData(chartType);
-      console.log(response);
+      const isTimeSeries = TIME_SERIES_CHARTS.includes(chartType);
+      const response = await getChartData(
+        chartType,
+        dateRange.from,
+        dateRange.to,
+        isTimeSeries ? chartInterval : undefined
+      );
 
-      // Prepare the data
-      const categories = response.series.map((item) => item[0]);
-      const values = response.series.map((item) => Number(item[1].toFixed(2)));
+      // Prepare the data, columnar charts hold a labels array and one array per column
+      const column = COLUMNAR_CHARTS[chartType];
+      const categories = column
+        ? response.labels
+        : response.series.map((item) => item[0]);
+      const values = column
+        ? response[column].map((value) => Number(value.toFixed(2)))
+        : response.series.map((item) => Number(item[1].toFixed(2)));
 
       setChartData({
+        type: isTimeSeries ? "line" : "bar",
         options: {
           chart: {
-            type: "bar",
+            type: isTimeSeries ? "line" : "bar",
           },
           xaxis: {
             categories: categories,
@@ -90,7 +133,7 @@ const AdminDashboard = () => {
       </div>
 
       {/* Chart Dropdown Selector */}
-      <div className="flex justify-center">
+      <div className="flex flex-wrap justify-center items-center gap-4">
         <select
           className="p-2 border rounded"
           value={selectedChart}
@@ -105,7 +148,58 @@ const AdminDashboard = () => {
           <option value="topUsers">
             {labelConfig.adminDashboard.charts.topUsers}
           </option>
+          <option value="revenueOverTime">
+            {labelConfig.adminDashboard.charts.revenueOverTime}
+          </option>
+          <option value="bestSellingMovies">
+            {labelConfig.adminDashboard.charts.bestSellingMovies}
+          </option>
+          <option value="cartConversion">
+            {labelConfig.adminDashboard.charts.cartConversion}
+          </option>
+          <option value="averageBasketSize">
+            {labelConfig.adminDashboard.charts.averageBasketSize}
+          </option>
         </select>
+        {TIME_SERIES_CHARTS.includes(selectedChart) && (
+          <select
+            className="p-2 border rounded"
+            value={chartInterval}
+            onChange={(e) => setChartInterval(e.target.value)}
+          >
+            <option value="day">
+              {labelConfig.adminDashboard.intervals.day}
+            </option>
+            <option value="week">
+              {labelConfig.adminDashboard.intervals.week}
+            </option>
+            <option value="month">
+              {labelConfig.adminDashboard.intervals.month}
+            </option>
+          </select>
+        )}
+        <label className="flex items-center gap-2">
+          {labelConfig.adminDashboard.dateRange.from}
+          <input
+            type="date"
+            className="p-2 border rounded"
+            value={dateRange.from}
+            max={dateRange.to || undefined}
+            onChange={(e) =>
+              setDateRange({ ...dateRange, from: e.target.value })
+            }
+          />
+        </label>
+        <label className="flex items-center gap-2">
+          {labelConfig.adminDashboard.dateRange.to}
+          <input
+            type="date"
+            className="p-2 border rounded"
+            value={dateRange.to}
+            min={dateRange.from || undefined}
+            onChange={(e) => setDateRange({ ...dateRange, to: e.target.value })}
+          />
+        </label>
       </div>
 
       {/* Chart Display */}
@@ -113,10 +207,26 @@ const AdminDashboard = () => {
         <Chart
           options={chartData.options}
           series={chartData.series}
-          type="bar"
+          type={chartData.type || "bar"}
           height={350}
         />
       </div>
+
+      {/* CSV Exports */}
+      <div className="flex flex-wrap justify-center items-center gap-4">
+        <span className="font-semibold">
+          {labelConfig.adminDashboard.exports.title}
+        </span>
+        {EXPORT_TABLES.map((table) => (
+          <button
+            key={table}
+            className="px-4 py-2 bg-gray-800 text-white rounded hover:bg-gray-700"
+            onClick={() => handleExport(table)}
+          >
+            {labelConfig.adminDashboard.exports[table]}
+          </button>
+        ))}
+      </div>
     </div>
   );
 };
@@ -1,5 +1,5 @@
 /* eslint-disable no-unused-vars */
-import React, { useEffect, useState } from "react";
+import React, { useEffect, useRef, useState } from "react";
 import { useNavigate } from "react-router-dom";
 import Swal from "sweetalert2";
 import PaymentModal from "../components/PaymentModal";
@@ -27,13 +27,20 @@ const Cart = () => {
   const userId = user.userId;
   const navigate = useNavigate();
   const labelConfig = window.labelConfig;
+  // kept until a purchase succeeds, so retrying a checkout whose response was
+  // lost cannot buy twice
+  const checkoutKey = useRef(null);
+
+  const showCartItems = (items) => {
+    setCartItems(items.reverse());
+    calculateTotalPrice(items);
+  };
 
   const fetchCartItems = async () => {
     try {
       setLoading(true);
       const response = await getAllItemsInCartOfUser(userId);
-      setCartItems(response.reverse());
-      calculateTotalPrice(response);
+      showCartItems(response);
     } catch (error) {
       setError("Error fetching cart items.");
       console.error("Error fetching cart items", error);
@@ -67,15 +74,17 @@ const Cart = () => {
 
   const handlePurchase = async (paymentMethod) => {
     try {
-      const movieIds = cartItems.map((item) => item.movieDTO.movieId);
+      // without movie ids the server buys the whole cart and empties it
       const requestData = {
         userId,
-        movieIds,
-        totalPrice,
         paymentMethod: paymentMethod,
       };
 
-      const response = await createPurchase(requestData);
+      if (!checkoutKey.current) {
+        checkoutKey.current = crypto.randomUUID();
+      }
+      const response = await createPurchase(requestData, checkoutKey.current);
+      checkoutKey.current = null;
 
       if (response.transactionId) {
         Swal.fire(
@@ -83,7 +92,6 @@ const Cart = () => {
           `Your Transaction Id is ${response.transactionId}`,
           "success"
         );
-        await clearCartOfUser(userId);
         navigate("/user/orders");
       }
     } catch (error) {
@@ -107,7 +115,7 @@ const Cart = () => {
         secondary: "#000000",
       },
     });
-    fetchCartItems();
+    showCartItems(response);
   };
 
   const handleSelectItem = (movieId) => {
@@ -128,10 +136,13 @@ const Cart = () => {
     }
 
     try {
-      await removeMultipleCartItemsOfUser(userId, selectedMovies);
+      const response = await removeMultipleCartItemsOfUser(
+        userId,
+        selectedMovies
+      );
       toast.success("Selected Items removed successfully!");
       setSelectedItems({});
-      fetchCartItems();
+      showCartItems(response);
     } catch (error) {
       toast.error("Error : ", error);
     }
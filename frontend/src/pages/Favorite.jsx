@@ -6,12 +6,12 @@ import React, { useEffect, useState } from "react";
 import { useNavigate } from "react-router-dom";
 import UserNavbar from "../components/UserNavbar";
 import { useAuth } from "../context/AuthContext";
-import { addToCart, checkMovieInCartOfUser } from "../services/CartService";
+import { addMoviesToCartOfUser, addToCart } from "../services/CartService";
 import {
   getFavoritesOfUser,
   removeFromFavorites,
 } from "../services/FavoriteService";
-import { getAllMoviesPurchasedByUser } from "../services/PurchaseService";
+import { getMovieStatusesOfUser } from "../services/UserService";
 import toast, { Toaster } from "react-hot-toast";
 import PacmanLoader from "react-spinners/PacmanLoader";
 
@@ -21,7 +21,7 @@ const Favorite = () => {
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState(null);
   const [cartError, setCartError] = useState(null);
-  const [purchasedMovies, setPurchasedMovies] = useState([]);
+  const [purchaseStatus, setPurchaseStatus] = useState({});
   const { user } = useAuth();
   const userId = user.userId;
   const navigate = useNavigate();
@@ -46,35 +46,29 @@ const Favorite = () => {
     }
   }, [userId]);
 
-  useEffect(() => {
-    if (userId) {
-      const fetchPurchasedMovies = async () => {
-        const response = await getAllMoviesPurchasedByUser(userId);
-        setPurchasedMovies(response);
-      };
-      fetchPurchasedMovies();
-    }
-  }, [userId]);
-
+  // one request for the cart and purchase status of all favorites
   useEffect(() => {
     if (userId && favorites.length > 0) {
-      const fetchCartStatus = async () => {
-        const newCartStatus = {};
-        for (const fav of favorites) {
-          try {
-            const isInCart = await checkMovieInCartOfUser(
-              userId,
-              fav.movieDTO.movieId
-            );
-            newCartStatus[fav.movieDTO.movieId] = isInCart;
-          } catch (error) {
-            setCartError(labelConfig.favorites.errors.fetchCartStatus);
-            console.error("Error fetching cart status", error);
-          }
+      const fetchMovieStatus = async () => {
+        try {
+          const statuses = await getMovieStatusesOfUser(
+            userId,
+            favorites.map((fav) => fav.movieDTO.movieId)
+          );
+          const newCartStatus = {};
+          const newPurchaseStatus = {};
+          statuses.forEach((status) => {
+            newCartStatus[status.movieId] = status.inCart;
+            newPurchaseStatus[status.movieId] = status.purchased;
+          });
+          setCartStatus(newCartStatus);
+          setPurchaseStatus(newPurchaseStatus);
+        } catch (error) {
+          setCartError(labelConfig.favorites.errors.fetchCartStatusError);
+          console.error("Error fetching cart status", error);
         }
-        setCartStatus(newCartStatus);
       };
-      fetchCartStatus();
+      fetchMovieStatus();
     }
   }, [userId, favorites]);
 
@@ -95,8 +89,28 @@ const Favorite = () => {
     }
   };
 
-  const isPurchased = (movieId) =>
-    purchasedMovies.some((movie) => movie.movieId === movieId);
+  // adds every favorite that is neither bought nor in the cart with one request
+  const handleAddAllToCart = async () => {
+    const movieIds = favorites
+      .map((fav) => fav.movieDTO.movieId)
+      .filter((movieId) => !cartStatus[movieId] && !isPurchased(movieId));
+    if (movieIds.length === 0) return;
+
+    try {
+      const cartItems = await addMoviesToCartOfUser(userId, movieIds);
+      const newCartStatus = { ...cartStatus };
+      cartItems.forEach((item) => {
+        newCartStatus[item.movieId] = true;
+      });
+      setCartStatus(newCartStatus);
+      toast.success(labelConfig.favorites.addAllToCartSuccess);
+    } catch (error) {
+      setCartError(labelConfig.favorites.errors.addtoCartError);
+      console.error("Error adding favorites to cart", error);
+    }
+  };
+
+  const isPurchased = (movieId) => !!purchaseStatus[movieId];
 
   const handleWatchNow = (movieId) =>
     navigate(`/movie/watch`, { state: { movieId } });
@@ -150,6 +164,18 @@ const Favorite = () => {
             </div>
           )}
 
+          {!loading && !error && favorites.length > 0 && (
+            <div className="flex justify-end mb-4">
+              <button
+                onClick={handleAddAllToCart}
+                className="bg-blue-600 text-white py-2 px-4 rounded-lg hover:bg-blue-700 transition duration-300"
+              >
+                <FontAwesomeIcon icon={faShoppingCart} className="mr-2" />
+                {labelConfig.favorites.buttonText.addAllToCartButton}
+              </button>
+            </div>
+          )}
+
           {!loading && !error && favorites.length > 0 && (
             <div className="grid grid-cols-1 sm:grid-cols-2 md:grid-cols-3 lg:grid-cols-4 gap-6">
               {favorites.map((fav) => (
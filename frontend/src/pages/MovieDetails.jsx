@@ -2,15 +2,18 @@
 import React, { useEffect, useState } from "react";
 import { useLocation, useNavigate } from "react-router-dom";
 import { useAuth } from "../context/AuthContext";
-import { addToCart, checkMovieInCartOfUser } from "../services/CartService";
+import { addToCart } from "../services/CartService";
 import {
   addToFavorites,
-  checkFavoriteStatus,
   removeFromFavorites,
 } from "../services/FavoriteService";
-import { getMovieById, getRecommendedMovies } from "../services/MovieService";
-import { checkIfMoviePurchased } from "../services/PurchaseService";
+import {
+  getAlsoBoughtMovies,
+  getMovieById,
+  getRecommendedMovies,
+} from "../services/MovieService";
 import { getMovieReviews, handleReportReview } from "../services/ReviewService";
+import { getMovieStatusesOfUser } from "../services/UserService";
 
 import {
   faFlag,
@@ -22,7 +25,6 @@ import {
 } from "@fortawesome/free-solid-svg-icons";
 import { FontAwesomeIcon } from "@fortawesome/react-fontawesome";
 import toast, { Toaster } from "react-hot-toast";
-import ReactPaginate from "react-paginate";
 import ConfettiAroundIcon from "../components/Confetti";
 
 const MovieDetails = () => {
@@ -36,7 +38,10 @@ const MovieDetails = () => {
   const [isInCart, setIsInCart] = useState(false);
   const [isPurchased, setIsPurchased] = useState(false);
   const [recommendedMovies, setRecommendedMovies] = useState([]);
-  const [currentPage, setCurrentPage] = useState(0);
+  const [alsoBoughtMovies, setAlsoBoughtMovies] = useState([]);
+  // cursors of the review pages visited so far, the last one is shown
+  const [reviewCursors, setReviewCursors] = useState([null]);
+  const [nextReviewCursor, setNextReviewCursor] = useState(null);
   const [reviewsPerPage] = useState(4);
   const [showShareOptions, setShowShareOptions] = useState(false);
   const [showConfetti, setShowConfetti] = useState(false);
@@ -44,20 +49,39 @@ const MovieDetails = () => {
 
   useEffect(() => {
     getMovieById(movieId).then(setMovie);
-    getMovieReviews(movieId).then(setReviews);
-    checkFavoriteStatus(userId, movieId).then(setIsFavorite);
-    checkMovieInCartOfUser(userId, movieId).then(setIsInCart);
-    checkIfMoviePurchased(userId, movieId).then(setIsPurchased);
+    getMovieStatusesOfUser(userId, [movieId]).then(([status]) => {
+      setIsFavorite(status.favorite);
+      setIsInCart(status.inCart);
+      setIsPurchased(status.purchased);
+    });
   }, [movieId, userId]);
 
+  useEffect(() => {
+    setReviewCursors([null]);
+  }, [movieId]);
+
+  useEffect(() => {
+    const cursor = reviewCursors[reviewCursors.length - 1];
+    getMovieReviews(movieId, cursor, reviewsPerPage).then((page) => {
+      setReviews(page?.reviews || []);
+      setNextReviewCursor(page?.nextCursor ?? null);
+    });
+  }, [movieId, reviewCursors, reviewsPerPage]);
+
   useEffect(() => {
     if (movie?.genre) {
-      getRecommendedMovies(movie.genre).then((movies) => {
+      getRecommendedMovies(userId, movie.genre).then((movies) => {
         const filteredMovies = movies.filter((m) => m.movieId != movieId);
         setRecommendedMovies(filteredMovies);
       });
     }
-  }, [movie?.genre, movieId]);
+  }, [movie?.genre, movieId, userId]);
+
+  useEffect(() => {
+    getAlsoBoughtMovies(movieId)
+      .then(setAlsoBoughtMovies)
+      .catch(() => setAlsoBoughtMovies([]));
+  }, [movieId]);
 
   const handleAddToFavorites = () => {
     if (isFavorite) {
@@ -162,13 +186,13 @@ const MovieDetails = () => {
     window.open(teamsUrl, "_blank");
   };
 
-  const handlePageClick = ({ selected }) => {
-    setCurrentPage(selected);
+  const handleNextReviews = () => {
+    setReviewCursors([...reviewCursors, nextReviewCursor]);
   };
 
-  const offset = currentPage * reviewsPerPage;
-  const currentReviews = reviews.slice(offset, offset + reviewsPerPage);
-  const pageCount = Math.ceil(reviews.length / reviewsPerPage);
+  const handlePreviousReviews = () => {
+    setReviewCursors(reviewCursors.slice(0, -1));
+  };
 
   return (
     <>
@@ -265,7 +289,8 @@ const MovieDetails = () => {
                     <strong>Price:</strong> Rs. {movie?.price}
                   </p>
                   <p className="text-lg mb-1">
-                    <strong>Rating:</strong> {movie?.averageRating} ⭐
+                    <strong>Rating:</strong> {movie?.averageRating} ⭐ (
+                    {movie?.ratingCount} ratings)
                   </p>
                 </div>
               </div>
@@ -276,8 +301,8 @@ const MovieDetails = () => {
                 🌟 Reviews
               </h2>
               <div className="space-y-2 max-h-100">
-                {currentReviews.length > 0 ? (
-                  currentReviews.map((review) => (
+                {reviews.length > 0 ? (
+                  reviews.map((review) => (
                     <div
                       key={review.reviewId}
                       className="bg-white border border-gray-300 rounded-lg p-4 shadow-md"
@@ -285,10 +310,15 @@ const MovieDetails = () => {
                       <p className="text-sm text-gray-700 mb-2 flex items-center">
                         <FontAwesomeIcon icon={faUser} className="mr-2" />{" "}
                         {review.username}
+                        {review.rating && (
+                          <span className="ml-2 text-yellow-500">
+                            {"★".repeat(review.rating)}
+                          </span>
+                        )}
                         {review.userId !== userId ? (
                           <button
                             className="ml-auto text-red-500 hover:text-red-700 flex items-center transition-transform transform hover:scale-105"
-                            onClick={() => handleReportReview(review.reviewId)}
+                            onClick={() => handleReportReview(review.reviewId, userId)}
                           >
                             <FontAwesomeIcon icon={faFlag} className="mr-1" />{" "}
                             Report
@@ -311,39 +341,65 @@ const MovieDetails = () => {
                   </p>
                 )}
               </div>
-              {reviews.length > 0 && pageCount > 1 && (
-                <ReactPaginate
-                  previousLabel={"Previous"}
-                  nextLabel={"Next"}
-                  breakLabel={"..."}
-                  breakClassName={"text-gray-500"}
-                  pageCount={pageCount}
-                  marginPagesDisplayed={1}
-                  pageRangeDisplayed={3}
-                  onPageChange={handlePageClick}
-                  containerClassName={
-                    "flex items-center justify-center space-x-1 mt-2"
-                  }
-                  activeClassName={"bg-red-600 rounded-lg text-white"}
-                  pageLinkClassName={
-                    "text-gray-800 border border-gray-300 rounded-lg px-3 py-2 transition duration-300 hover:bg-red-500 hover:text-white block w-full text-center"
-                  }
-                  previousClassName={`border border-gray-300 rounded-lg px-2 hover:bg-red-500 py-2 transition duration-300 ${
-                    currentPage === 0
-                      ? "cursor-not-allowed opacity-50"
-                      : "hover:bg-gray-200"
-                  }`}
-                  nextClassName={`border border-gray-300 rounded-lg px-2 py-2 hover:bg-red-500 transition duration-300 ${
-                    currentPage === pageCount - 1
-                      ? "cursor-not-allowed opacity-50"
-                      : "hover:bg-gray-200"
-                  }`}
-                  disabledClassName={"pointer-events-none opacity-50"}
-                />
+              {(reviewCursors.length > 1 || nextReviewCursor !== null) && (
+                <div className="flex items-center justify-center space-x-1 mt-2">
+                  <button
+                    className="text-gray-800 border border-gray-300 rounded-lg px-3 py-2 transition duration-300 hover:bg-red-500 hover:text-white disabled:pointer-events-none disabled:opacity-50"
+                    onClick={handlePreviousReviews}
+                    disabled={reviewCursors.length === 1}
+                  >
+                    Previous
+                  </button>
+                  <button
+                    className="text-gray-800 border border-gray-300 rounded-lg px-3 py-2 transition duration-300 hover:bg-red-500 hover:text-white disabled:pointer-events-none disabled:opacity-50"
+                    onClick={handleNextReviews}
+                    disabled={nextReviewCursor === null}
+                  >
+                    Next
+                  </button>
+                </div>
               )}
             </div>
           </div>
 
+          {alsoBoughtMovies.length > 0 && (
+            <div className="mt-20">
+              <h2 className="text-3xl font-bold text-center m-6">
+                🛒 Customers Who Bought This Also Bought
+              </h2>
+              <div className="grid grid-cols-1 sm:grid-cols-2 md:grid-cols-3 lg:grid-cols-4 gap-6 mb-8 mt-8">
+                {alsoBoughtMovies.map((alsoBoughtMovie) => (
+                  <div
+                    key={alsoBoughtMovie.movieId}
+                    className="bg-white rounded-lg overflow-hidden shadow-xl transition-transform transform hover:scale-105 hover:shadow-2xl pb-2 cursor-pointer"
+                    onClick={() => {
+                      navigate(`/movies`, {
+                        state: {
+                          movieId: alsoBoughtMovie.movieId,
+                        },
+                      });
+                    }}
+                  >
+                    <img
+                      src={alsoBoughtMovie.posterURL}
+                      alt={alsoBoughtMovie.title}
+                      className="w-full h-64 object-cover rounded-3xl mb-4 p-2"
+                    />
+                    <h3 className="text-xl font-semibold pl-4">
+                      {alsoBoughtMovie.title}
+                    </h3>
+                    <p className="text-gray-700 pl-4">
+                      {alsoBoughtMovie.genre}
+                    </p>
+                    <p className="text-gray-700 pl-4">
+                      Rs. {alsoBoughtMovie.price}
+                    </p>
+                  </div>
+                ))}
+              </div>
+            </div>
+          )}
+
           <div className="mt-20">
             <h2 className="text-3xl font-bold text-center m-6 truncate whitespace-nowrap overflow-hidden text-ellipsis">
               🎬✨ Cinematic Gems Inspired by {`"${movie?.title}"`} 🌟📽️
@@ -2,8 +2,8 @@
 import React, { useEffect, useState } from "react";
 import ReactPaginate from "react-paginate";
 import MovieModal from "../components/MovieModal";
-import { getMovies } from "../services/MovieService";
-import { FaEdit, FaPlus } from "react-icons/fa";
+import { getMovies, importMovies } from "../services/MovieService";
+import { FaEdit, FaFileUpload, FaPlus } from "react-icons/fa";
 import Swal from "sweetalert2";
 import toast from "react-hot-toast";
 
@@ -18,6 +18,7 @@ const MovieManagement = () => {
   const [selectedMovieId, setSelectedMovieId] = useState(null);
   const [currentPage, setCurrentPage] = useState(0);
   const [moviesPerPage] = useState(5);
+  const [importing, setImporting] = useState(false);
   const labelConfig = window.labelConfig;
 
   useEffect(() => {
@@ -39,6 +40,33 @@ const MovieManagement = () => {
     }
   };
 
+  const handleImport = async (e) => {
+    const file = e.target.files[0];
+    e.target.value = "";
+    if (!file) return;
+
+    setImporting(true);
+    try {
+      const result = await importMovies(file);
+      Swal.fire(
+        labelConfig.movieManagement.swal.importTitle,
+        labelConfig.movieManagement.swal.importSummary
+          .replace("{imported}", result.imported)
+          .replace("{duplicates}", result.duplicates)
+          .replace("{invalid}", result.invalid),
+        result.invalid > 0 ? "warning" : "success"
+      );
+      fetchMovies();
+    } catch (error) {
+      toast.error(
+        error.response?.data?.message ||
+          labelConfig.movieManagement.swal.importError
+      );
+    } finally {
+      setImporting(false);
+    }
+  };
+
   const openModal = (movieId = null) => {
     setSelectedMovieId(movieId);
     setShowModal(true);
@@ -161,6 +189,26 @@ const MovieManagement = () => {
             </div>
           </button>
         </div>
+
+        <div className="relative group">
+          <label
+            className={`bg-blue-600 text-white px-3 py-3 rounded-md shadow-lg hover:bg-blue-500 transition transform hover:scale-105 flex items-center space-x-2 ${
+              importing ? "opacity-50 cursor-wait" : "cursor-pointer"
+            }`}
+          >
+            <FaFileUpload />
+            <input
+              type="file"
+              accept=".csv,.jsonl,.ndjson"
+              className="hidden"
+              disabled={importing}
+              onChange={handleImport}
+            />
+            <div className="absolute left-full top-1/2 transform -translate-y-1/2 mb-2 hidden group-hover:block bg-gray-800 text-white text-xs rounded py-3 w-28 z-10">
+              <p>{labelConfig.movieManagement.importMoviesTooltip}</p>
+            </div>
+          </label>
+        </div>
       </div>
 
       {loading ? (
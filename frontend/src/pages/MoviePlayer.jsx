@@ -104,7 +104,7 @@ const MoviePlayer = () => {
                   </p>
                   <p className="text-gray-700 mb-4">
                     <span className="font-semibold">Rating:</span>{" "}
-                    {movie.averageRating} / 10
+                    {movie.averageRating} / 5
                   </p>
                 </div>
                 <div className="text-center mt-6 mb-4">
@@ -1,27 +1,43 @@
 /* eslint-disable no-unused-vars */
-import { faTrash } from "@fortawesome/free-solid-svg-icons";
+import { faCheck, faTrash } from "@fortawesome/free-solid-svg-icons";
 import { FontAwesomeIcon } from "@fortawesome/react-fontawesome";
 import React, { useEffect, useState } from "react";
 import ReactPaginate from "react-paginate";
 import Swal from "sweetalert2";
-import { deleteReview, getReportedReviews } from "../services/ReviewService";
+import {
+  approveReviews,
+  deleteReviews,
+  getReportedReviews,
+  subscribeToModerationEvents,
+} from "../services/ReviewService";
 
 const ReviewManagement = () => {
   const [reportedReviews, setReportedReviews] = useState([]);
+  const [totalCount, setTotalCount] = useState(0);
+  const [selectedIds, setSelectedIds] = useState([]);
   const [loading, setLoading] = useState(false);
   const [error, setError] = useState(null);
   const [currentPage, setCurrentPage] = useState(0);
   const [reviewsPerPage] = useState(4);
   const [searchMovieTerm, setSearchMovieTerm] = useState("");
   const [searchUsernameTerm, setSearchUsernameTerm] = useState("");
+  // bumped by the moderation events to reload the current page
+  const [refreshCount, setRefreshCount] = useState(0);
   const labelConfig = window.labelConfig;
 
   useEffect(() => {
     const fetchReportedReviews = async () => {
       setLoading(true);
       try {
-        const response = await getReportedReviews();
-        setReportedReviews(response.reverse());
+        const response = await getReportedReviews(
+          currentPage,
+          reviewsPerPage,
+          searchMovieTerm,
+          searchUsernameTerm
+        );
+        setReportedReviews(response.reviews);
+        setTotalCount(response.totalCount);
+        setSelectedIds([]);
       } catch (error) {
         setError("Failed to fetch reported reviews.");
         console.error("Error fetching reported reviews:", error);
@@ -31,9 +47,37 @@ const ReviewManagement = () => {
     };
 
     fetchReportedReviews();
-  }, []);
+  }, [
+    currentPage,
+    reviewsPerPage,
+    searchMovieTerm,
+    searchUsernameTerm,
+    refreshCount,
+  ]);
+
+  // reload when a review is reported or moderated by another admin
+  useEffect(
+    () => subscribeToModerationEvents(() => setRefreshCount((c) => c + 1)),
+    []
+  );
+
+  const toggleSelected = (reviewId) => {
+    setSelectedIds(
+      selectedIds.includes(reviewId)
+        ? selectedIds.filter((id) => id !== reviewId)
+        : [...selectedIds, reviewId]
+    );
+  };
+
+  const toggleAllSelected = () => {
+    setSelectedIds(
+      selectedIds.length === reportedReviews.length
+        ? []
+        : reportedReviews.map((review) => review.reviewId)
+    );
+  };
 
-  const handleDeleteReview = async (reviewId) => {
+  const handleDeleteReviews = async (reviewIds) => {
     try {
       const result = await Swal.fire({
         title: labelConfig.reviewManagement.swal.deleteConfirmTitle,
@@ -47,15 +91,13 @@ const ReviewManagement = () => {
       });
 
       if (result.isConfirmed) {
-        await deleteReview(reviewId);
+        await deleteReviews(reviewIds);
         Swal.fire(
           labelConfig.reviewManagement.swal.deleteSuccessTitle,
           labelConfig.reviewManagement.swal.deleteSuccessText,
           "success"
         );
-        setReportedReviews(
-          reportedReviews.filter((review) => review.reviewId !== reviewId)
-        );
+        setRefreshCount((c) => c + 1);
       } else {
         Swal.fire(
           labelConfig.reviewManagement.swal.deleteCancelledTitle,
@@ -64,7 +106,21 @@ const ReviewManagement = () => {
         );
       }
     } catch (error) {
-      console.error("Error deleting review:", error);
+      console.error("Error deleting reviews:", error);
+    }
+  };
+
+  const handleApproveReviews = async (reviewIds) => {
+    try {
+      await approveReviews(reviewIds);
+      Swal.fire(
+        labelConfig.reviewManagement.swal.approveSuccessTitle,
+        labelConfig.reviewManagement.swal.approveSuccessText,
+        "success"
+      );
+      setRefreshCount((c) => c + 1);
+    } catch (error) {
+      console.error("Error approving reviews:", error);
     }
   };
 
@@ -72,14 +128,12 @@ const ReviewManagement = () => {
     setCurrentPage(selected);
   };
 
-  const offset = currentPage * reviewsPerPage;
-  const filteredReviews = reportedReviews.filter(
-    (review) =>
-      review.moviename.toLowerCase().includes(searchMovieTerm.toLowerCase()) &&
-      review.username.toLowerCase().includes(searchUsernameTerm.toLowerCase())
-  );
-  const currentReviews = filteredReviews.slice(offset, offset + reviewsPerPage);
-  const pageCount = Math.ceil(filteredReviews.length / reviewsPerPage);
+  const handleSearchChange = (setSearchTerm) => (e) => {
+    setSearchTerm(e.target.value);
+    setCurrentPage(0);
+  };
+
+  const pageCount = Math.ceil(totalCount / reviewsPerPage);
 
   return (
     <div className="container p-6 min-h-screen bg-gray-100 flex flex-col">
@@ -98,15 +152,31 @@ const ReviewManagement = () => {
           placeholder={labelConfig.reviewManagement.searchMoviePlaceholder}
           className="border border-gray-300 mr-2 px-3 py-2 rounded-md w-full md:w-1/4 bg-white text-gray-900 placeholder-gray-500 focus:outline-none focus:ring-2 focus:ring-blue-500"
           value={searchMovieTerm}
-          onChange={(e) => setSearchMovieTerm(e.target.value)}
+          onChange={handleSearchChange(setSearchMovieTerm)}
         />
         <input
           type="text"
           placeholder={labelConfig.reviewManagement.searchUsernamePlaceholder}
           className="border border-gray-300  mr-2 px-3 py-2 rounded-md w-full md:w-1/4 bg-white text-gray-900 placeholder-gray-500 focus:outline-none focus:ring-2 focus:ring-blue-500"
           value={searchUsernameTerm}
-          onChange={(e) => setSearchUsernameTerm(e.target.value)}
+          onChange={handleSearchChange(setSearchUsernameTerm)}
         />
+        <button
+          onClick={() => handleApproveReviews(selectedIds)}
+          disabled={selectedIds.length === 0}
+          className="bg-green-500 text-white py-2 px-3 rounded-lg hover:bg-green-600 transition m-1 disabled:opacity-50"
+        >
+          <FontAwesomeIcon icon={faCheck} className="mr-1" />
+          {labelConfig.reviewManagement.buttonText.approveSelectedButton}
+        </button>
+        <button
+          onClick={() => handleDeleteReviews(selectedIds)}
+          disabled={selectedIds.length === 0}
+          className="bg-red-500 text-white py-2 px-3 rounded-lg hover:bg-red-600 transition m-1 disabled:opacity-50"
+        >
+          <FontAwesomeIcon icon={faTrash} className="mr-1" />
+          {labelConfig.reviewManagement.buttonText.deleteSelectedButton}
+        </button>
       </div>
 
       {loading ? (
@@ -115,7 +185,7 @@ const ReviewManagement = () => {
         </div>
       ) : error ? (
         <span className="text-center text-red-500">{error}</span>
-      ) : filteredReviews.length === 0 ? (
+      ) : reportedReviews.length === 0 ? (
         <p className="text-center text-red-500 text-lg flex-grow flex items-start justify-center">
           {labelConfig.reviewManagement.noReportsText}
         </p>
@@ -124,6 +194,13 @@ const ReviewManagement = () => {
           <table className="table-fixed w-full h-full text-gray-900 rounded-lg overflow-hidden">
             <thead className="bg-gray-200 text-gray-700">
               <tr>
+                <th className="px-2 py-3 text-center text-sm font-semibold w-1/12">
+                  <input
+                    type="checkbox"
+                    checked={selectedIds.length === reportedReviews.length}
+                    onChange={toggleAllSelected}
+                  />
+                </th>
                 <th className="px-6 py-3 text-center text-sm font-semibold w-1.5/12">
                   {labelConfig.reviewManagement.tableHeaders.reviewId}
                 </th>
@@ -133,20 +210,30 @@ const ReviewManagement = () => {
                 <th className="px-6 py-3 text-center text-sm font-semibold w-2/12">
                   {labelConfig.reviewManagement.tableHeaders.movieTitle}
                 </th>
-                <th className="px-6 py-3 text-center text-sm font-semibold w-4/12">
+                <th className="px-6 py-3 text-center text-sm font-semibold w-3/12">
                   {labelConfig.reviewManagement.tableHeaders.reviewText}
                 </th>
+                <th className="px-6 py-3 text-center text-sm font-semibold w-1.5/12">
+                  {labelConfig.reviewManagement.tableHeaders.reports}
+                </th>
                 <th className="px-6 py-3 text-center text-sm font-semibold w-2.5/12">
                   {labelConfig.reviewManagement.tableHeaders.actions}
                 </th>
               </tr>
             </thead>
             <tbody>
-              {currentReviews.map((review) => (
+              {reportedReviews.map((review) => (
                 <tr
                   key={review.reviewId}
                   className="border-b border-gray-200 hover:bg-gray-50 transition"
                 >
+                  <td className="px-2 py-4 text-sm text-center">
+                    <input
+                      type="checkbox"
+                      checked={selectedIds.includes(review.reviewId)}
+                      onChange={() => toggleSelected(review.reviewId)}
+                    />
+                  </td>
                   <td className="px-6 py-4 text-sm text-center text-gray-700">
                     {review.reviewId}
                   </td>
@@ -168,9 +255,29 @@ const ReviewManagement = () => {
                   >
                     {review.reviewText}
                   </td>
+                  <td
+                    className="px-6 py-4 text-sm text-center text-gray-700"
+                    title={
+                      review.firstReportedAt &&
+                      `${new Date(
+                        review.firstReportedAt
+                      ).toLocaleString()} - ${new Date(
+                        review.lastReportedAt
+                      ).toLocaleString()}`
+                    }
+                  >
+                    {review.reportCount}
+                  </td>
                   <td className="px-6 py-4 text-sm text-center space-x-2">
                     <button
-                      onClick={() => handleDeleteReview(review.reviewId)}
+                      onClick={() => handleApproveReviews([review.reviewId])}
+                      className="bg-green-500 text-white py-2 px-2 rounded-lg hover:bg-green-600 transition transform hover:scale-105 m-1 items-center justify-center"
+                    >
+                      <FontAwesomeIcon icon={faCheck} className="mr-1" />
+                      {labelConfig.reviewManagement.buttonText.approveButton}
+                    </button>
+                    <button
+                      onClick={() => handleDeleteReviews([review.reviewId])}
                       className="bg-red-500 text-white py-2 px-2 rounded-lg hover:bg-red-600 transition transform hover:scale-105 m-1 items-center justify-center"
                     >
                       <FontAwesomeIcon icon={faTrash} className="mr-1" />
@@ -182,8 +289,9 @@ const ReviewManagement = () => {
             </tbody>
           </table>
 
-          {currentReviews.length > 0 && pageCount > 1 && (
+          {pageCount > 1 && (
             <ReactPaginate
+              forcePage={currentPage}
               previousLabel={"Previous"}
               nextLabel={"Next"}
               breakLabel={"..."}
@@ -3,7 +3,10 @@
 import React, { useEffect, useState } from "react";
 import { useNavigate } from "react-router-dom";
 import MovieCard from "../components/MovieCard";
-import { getAvailableMovies } from "../services/MovieService";
+import {
+  getAvailableMovies,
+  getTrendingMovies,
+} from "../services/MovieService";
 import ReactPaginate from "react-paginate";
 import PacmanLoader from "react-spinners/PacmanLoader";
 
@@ -12,6 +15,7 @@ const UserHome = () => {
   const navigate = useNavigate();
 
   const [movies, setMovies] = useState([]);
+  const [trendingRanks, setTrendingRanks] = useState({});
   const [searchTerm, setSearchTerm] = useState("");
   const [genre, setGenre] = useState("");
   const [sortBy, setSortBy] = useState("");
@@ -36,6 +40,13 @@ const UserHome = () => {
     };
 
     fetchMovies();
+    getTrendingMovies(20)
+      .then((trending) =>
+        setTrendingRanks(
+          Object.fromEntries(trending.map((movie, rank) => [movie.movieId, rank]))
+        )
+      )
+      .catch((err) => console.error("Error fetching trending movies:", err));
   }, []);
 
   const filteredMovies = movies
@@ -46,6 +57,11 @@ const UserHome = () => {
     .sort((a, b) => {
       if (sortBy === "rating") return b.averageRating - a.averageRating;
       if (sortBy === "price") return a.price - b.price;
+      if (sortBy === "trending")
+        return (
+          (trendingRanks[a.movieId] ?? Number.MAX_SAFE_INTEGER) -
+          (trendingRanks[b.movieId] ?? Number.MAX_SAFE_INTEGER)
+        );
       return 0;
     });
 
@@ -105,6 +121,9 @@ const UserHome = () => {
               {labelConfig.userhome.sortRatingLabel}
             </option>
             <option value="price">{labelConfig.userhome.sortPriceLabel}</option>
+            <option value="trending">
+              {labelConfig.userhome.sortTrendingLabel}
+            </option>
           </select>
         </div>
 
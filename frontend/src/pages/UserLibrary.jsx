@@ -19,6 +19,7 @@ const UserLibrary = () => {
   const [showReviewModal, setShowReviewModal] = useState(false);
   const [selectedMovie, setSelectedMovie] = useState(null);
   const [reviewText, setReviewText] = useState("");
+  const [rating, setRating] = useState(0);
   const [error, setError] = useState("");
   const [loading, setLoading] = useState(true);
   const navigate = useNavigate();
@@ -40,6 +41,10 @@ const UserLibrary = () => {
   }, [userId]);
 
   const handleReviewSubmit = async () => {
+    if (!rating) {
+      setError(labelConfig.library.errors.ratingRequiredError);
+      return;
+    }
     if (!reviewText.trim()) {
       setError(labelConfig.library.errors.addReviewError);
       return;
@@ -53,6 +58,7 @@ const UserLibrary = () => {
         username: currentUser.fullName,
         moviename: selectedMovie.title,
         reviewText,
+        rating,
         reported: false,
       };
 
@@ -66,14 +72,21 @@ const UserLibrary = () => {
 
       setShowReviewModal(false);
       setReviewText("");
+      setRating(0);
     } catch (err) {
+      // already reviewed, copied text or too many reviews in a minute
+      const status = err.response?.status;
+      const rejection =
+        status === 409 || status === 429 ? err.response.data.message : null;
       Swal.fire({
         title: "Oops!",
-        text: "Something went wrong. Please try submitting your review again.",
+        text:
+          rejection ||
+          "Something went wrong. Please try submitting your review again.",
         icon: "error",
         confirmButtonText: "OK",
       });
-      setError("Oops! Something went wrong. Please try again.");
+      setError(rejection || "Oops! Something went wrong. Please try again.");
     }
   };
 
@@ -170,6 +183,20 @@ const UserLibrary = () => {
                   ✍️ {labelConfig.library.reviewModalTitle}{" "}
                   {selectedMovie.title}
                 </h3>
+                <div className="flex justify-center mb-3">
+                  {[1, 2, 3, 4, 5].map((star) => (
+                    <button
+                      key={star}
+                      type="button"
+                      onClick={() => setRating(star)}
+                      className={`text-3xl ${
+                        star <= rating ? "text-yellow-400" : "text-gray-300"
+                      }`}
+                    >
+                      ★
+                    </button>
+                  ))}
+                </div>
                 <textarea
                   value={reviewText}
                   onChange={(e) => setReviewText(e.target.value)}
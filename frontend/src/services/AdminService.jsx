@@ -1,3 +1,4 @@
+import api from "./Api";
 import { handleApiRequest } from "./ApiService";
 
 const ADMIN_API_URL = "/admin";
@@ -6,6 +7,36 @@ const ADMIN_API_URL = "/admin";
 export const getSummary = async () =>
   handleApiRequest("get", `${ADMIN_API_URL}/summary`);
 
-// Get Chart Data by Type
-export const getChartData = async (type) =>
-  handleApiRequest("get", `${ADMIN_API_URL}/chart`, null, { type });
+// Get Chart Data by Type, optionally limited to a date range (yyyy-MM-dd) and
+// bucketed by interval (day, week, month) for the time series charts
+export const getChartData = async (type, from, to, interval) =>
+  handleApiRequest("get", `${ADMIN_API_URL}/chart`, null, {
+    type,
+    from: from || undefined,
+    to: to || undefined,
+    interval: interval || undefined,
+  });
+
+// Download a CSV export of a table (purchases, purchase-details, users, reviews)
+export const downloadExport = async (table) => {
+  try {
+    const response = await api.get(`${ADMIN_API_URL}/exports/${table}`, {
+      responseType: "blob",
+    });
+
+    const url = window.URL.createObjectURL(new Blob([response.data]));
+    const link = document.createElement("a");
+    link.href = url;
+    link.setAttribute(
+      "download",
+      `${table}-${new Date().toISOString().slice(0, 10)}.csv`
+    );
+    document.body.appendChild(link);
+    link.click();
+    document.body.removeChild(link);
+    window.URL.revokeObjectURL(url);
+  } catch (error) {
+    console.error("Error downloading export:", error);
+    throw error;
+  }
+};
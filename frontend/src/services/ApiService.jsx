@@ -4,7 +4,8 @@ export const handleApiRequest = async (
   method,
   url,
   data = null,
-  params = null
+  params = null,
+  headers = null
 ) => {
   try {
     const response = await api({
@@ -12,6 +13,7 @@ export const handleApiRequest = async (
       url,
       data,
       params,
+      ...(headers && { headers }),
     });
 
     if (response.data.success) {
@@ -6,6 +6,10 @@ const CART_API_URL = "/carts";
 export const addToCart = async (cartDTO) =>
   handleApiRequest("post", `${CART_API_URL}`, cartDTO);
 
+// Add several movies to the user's cart at once, returns the updated cart
+export const addMoviesToCartOfUser = async (userId, movieIds) =>
+  handleApiRequest("post", `${CART_API_URL}/user/${userId}/movies`, movieIds);
+
 // Get all cart items of a specific user
 export const getAllItemsInCartOfUser = async (userId) =>
   handleApiRequest("get", `${CART_API_URL}/user/${userId}`);
@@ -14,11 +18,11 @@ export const getAllItemsInCartOfUser = async (userId) =>
 export const removeFromCart = async (cartId) =>
   handleApiRequest("delete", `${CART_API_URL}/${cartId}`);
 
-// Remove a movie from the cart by user ID and movie ID
+// Remove a movie from the cart by user ID and movie ID, returns the updated cart
 export const removeFromCartOfUser = async (userId, movieId) =>
   handleApiRequest("delete", `${CART_API_URL}/user/${userId}/movie/${movieId}`);
 
-// Remove selected movies from cart of user
+// Remove selected movies from cart of user, returns the updated cart
 export const removeMultipleCartItemsOfUser = async (userId, movieIds) =>
   handleApiRequest(
     "delete",
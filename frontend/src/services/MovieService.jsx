@@ -6,6 +6,13 @@ const MOVIE_API_URL = "/movies";
 export const addMovie = async (data) =>
   handleApiRequest("post", `${MOVIE_API_URL}/add`, data);
 
+// Import Movies from a CSV or JSON lines file
+export const importMovies = async (file) => {
+  const formData = new FormData();
+  formData.append("file", file);
+  return handleApiRequest("post", `${MOVIE_API_URL}/import`, formData);
+};
+
 // Update Movie
 export const updateMovie = async (movieId, data) =>
   handleApiRequest("put", `${MOVIE_API_URL}/${movieId}`, data);
@@ -26,6 +33,17 @@ export const getMovies = async () =>
 export const getAvailableMovies = async () =>
   handleApiRequest("get", `${MOVIE_API_URL}/all/available`);
 
-// Get Recommended Movies by Genre
-export const getRecommendedMovies = async (genre) =>
-  handleApiRequest("get", `${MOVIE_API_URL}/recommended`, null, { genre });
+// Get the Movies Most Often Purchased Together with a Movie
+export const getAlsoBoughtMovies = async (movieId) =>
+  handleApiRequest("get", `${MOVIE_API_URL}/${movieId}/also-bought`);
+
+// Get the Movies Users are Most Active with Lately, most trending first
+export const getTrendingMovies = async (limit) =>
+  handleApiRequest("get", `${MOVIE_API_URL}/trending`, null, { limit });
+
+// Get Movies Recommended to the User, filled up with Movies of the Genre
+export const getRecommendedMovies = async (userId, genre) =>
+  handleApiRequest("get", `${MOVIE_API_URL}/recommended`, null, {
+    userId,
+    genre,
+  });
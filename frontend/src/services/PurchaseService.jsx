@@ -3,9 +3,12 @@ import { handleApiRequest } from "./ApiService";
 
 const PURCHASE_API_URL = "/purchases";
 
-// Create a Purchase
-export const createPurchase = async (purchaseRequest) =>
-  handleApiRequest("post", `${PURCHASE_API_URL}`, purchaseRequest);
+// Create a Purchase; a retry with the same idempotency key returns the
+// purchase of the first attempt instead of paying again
+export const createPurchase = async (purchaseRequest, idempotencyKey) =>
+  handleApiRequest("post", `${PURCHASE_API_URL}`, purchaseRequest, null, {
+    "Idempotency-Key": idempotencyKey,
+  });
 
 // Get Purchases of a User
 export const getPurchasesOfUser = async (userId) =>
@@ -8,22 +8,84 @@ const REVIEW_API_URL = "/reviews";
 export const addReview = async (reviewDTO) =>
   handleApiRequest("post", `${REVIEW_API_URL}/add`, reviewDTO);
 
-// Fetch Reviews for a Specific Movie
-export const getMovieReviews = async (movieId) =>
-  handleApiRequest("get", `${REVIEW_API_URL}/movie/${movieId}`);
+// Fetch a Page of Reviews for a Specific Movie, newest first; pass the
+// nextCursor of the previous page to get the next one
+export const getMovieReviews = async (movieId, cursor, size) =>
+  handleApiRequest("get", `${REVIEW_API_URL}/movie/${movieId}`, null, {
+    cursor,
+    size,
+  });
 
-// Get All Reported Reviews
-export const getReportedReviews = async () =>
-  handleApiRequest("get", `${REVIEW_API_URL}/reported`);
+// Get a Page of the Moderation Queue, most reported reviews first
+export const getReportedReviews = async (page, size, title, username) =>
+  handleApiRequest("get", `${REVIEW_API_URL}/reported`, null, {
+    page,
+    size,
+    title,
+    username,
+  });
+
+// Approve Reported Reviews, keeping them
+export const approveReviews = async (reviewIds) =>
+  handleApiRequest("patch", `${REVIEW_API_URL}/reported/approve`, reviewIds);
+
+// Delete Reported Reviews
+export const deleteReviews = async (reviewIds) =>
+  handleApiRequest("delete", `${REVIEW_API_URL}/reported`, reviewIds);
+
+// Subscribe to the moderation events pushed to admins ("review-reported",
+// "reviews-moderated"). EventSource cannot send the token, so the stream is
+// read with fetch. Returns a function closing the subscription.
+export const subscribeToModerationEvents = (onEvent) => {
+  const controller = new AbortController();
+  const url = `${import.meta.env.VITE_API_BASE_URL.replace(
+    /\/api\/?$/,
+    ""
+  )}/notifications/admin`;
+
+  const connect = async () => {
+    try {
+      const response = await fetch(url, {
+        headers: { Authorization: `Bearer ${localStorage.getItem("token")}` },
+        signal: controller.signal,
+      });
+      const reader = response.body.getReader();
+      const decoder = new TextDecoder();
+      let buffer = "";
+      for (;;) {
+        const { value, done } = await reader.read();
+        if (done) break;
+        buffer += decoder.decode(value, { stream: true });
+        const events = buffer.split("\n\n");
+        buffer = events.pop();
+        events.forEach((event) => {
+          const name = event.match(/^event:(.*)$/m)?.[1];
+          if (name) onEvent(name.trim());
+        });
+      }
+    } catch (error) {
+      if (controller.signal.aborted) return;
+    }
+    // reconnect after the stream ended or failed
+    if (!controller.signal.aborted) setTimeout(connect, 5000);
+  };
+
+  connect();
+  return () => controller.abort();
+};
 
 // Delete a Review
 export const deleteReview = async (reviewId) =>
   handleApiRequest("delete", `${REVIEW_API_URL}/${reviewId}`);
 
 // Report a Review
-export const handleReportReview = async (reviewId) => {
+export const handleReportReview = async (reviewId, userId) => {
   try {
-    const response = await api.patch(`${REVIEW_API_URL}/report/${reviewId}`);
+    const response = await api.patch(
+      `${REVIEW_API_URL}/report/${reviewId}`,
+      null,
+      { params: { userId } }
+    );
     toast.success(response.data.message);
   } catch (error) {
     console.error(
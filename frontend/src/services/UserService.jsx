@@ -2,6 +2,12 @@ import { handleApiRequest } from "./ApiService";
 
 const USER_API_URL = "/users";
 
+// Get the purchased, in cart and favorite flags of several movies for the user
+export const getMovieStatusesOfUser = async (userId, movieIds) =>
+  handleApiRequest("get", `${USER_API_URL}/${userId}/movie-status`, null, {
+    movieIds: movieIds.join(","),
+  });
+
 // Send OTP for Registration
 export const sendRegistrationOtp = async (email) =>
   handleApiRequest("post", `${USER_API_URL}/auth/send-registration-otp`, null, {